@@ -1,5 +1,6 @@
 package com.profidata.orderbook;
 
+import com.profidata.orderbook.cli.BatchRunner;
 import com.profidata.orderbook.cli.CommandLineInterface;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +9,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.ApplicationContext;
 
-/** Main application class for FX OrderBook CLI. */
+/**
+ * Main application class for FX OrderBook CLI.
+ *
+ * <p>Starts the interactive CLI, or with {@code --batch <file|->} and optionally {@code
+ * --parallelism N} runs a script of commands instead.
+ */
 @SpringBootApplication
 public class FXOrderBookApplication implements CommandLineRunner {
 
@@ -38,6 +44,12 @@ public class FXOrderBookApplication implements CommandLineRunner {
 
   @Override
   public void run(String... args) throws Exception {
+    BatchRunner.Options batch = BatchRunner.Options.parse(args);
+    if (batch != null) {
+      applicationContext.getBean(BatchRunner.class).run(batch);
+      return;
+    }
+
     CommandLineInterface cli = applicationContext.getBean(CommandLineInterface.class);
     cli.start();
   }
@@ -0,0 +1,403 @@
+package com.profidata.orderbook.cli;
+
+import com.profidata.orderbook.exception.CommandParsingException;
+import com.profidata.orderbook.util.PerformanceUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs a script of CLI commands, one per line, from a file or standard input.
+ *
+ * <p>Lines are read ahead and each command starts as soon as the earlier commands it depends on
+ * have finished, with at most {@code parallelism} running at once. Reads of the whole book wait for
+ * earlier creates and cancels, and those wait for earlier reads of the whole book. Commands naming
+ * the same order ID run in script order, {@code show} waits for earlier creates, and {@code
+ * refresh} waits for everything before it and holds back everything after it. Everything else, such
+ * as rates, creates among themselves and cancels of distinct IDs, runs concurrently.
+ *
+ * <p>Output is printed in script order, each command's output after its prompt line, and a
+ * throughput line closes the run. Blank lines and lines starting with {@code #} are skipped; {@code
+ * exit} or {@code quit} ends the script early.
+ *
+ * @author Profidata Developer
+ */
+@Component
+public class BatchRunner {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchRunner.class);
+
+  public static final int DEFAULT_PARALLELISM = 8;
+
+  private static final String PROMPT = "fx-orderbook> ";
+  private static final String STDIN = "-";
+  private static final int READ_AHEAD_PER_SLOT = 4;
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+  private final CommandParser commandParser;
+
+  public BatchRunner(CommandParser commandParser) {
+    this.commandParser = commandParser;
+  }
+
+  /**
+   * Runs the script named by the options against standard output and error.
+   *
+   * @throws IOException if the script cannot be read
+   */
+  public Report run(Options options) throws IOException {
+    PrintWriter out =
+        new PrintWriter(
+            new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE), false);
+    PrintWriter err = new PrintWriter(System.err, true);
+
+    BufferedReader input =
+        STDIN.equals(options.source())
+            ? new BufferedReader(new InputStreamReader(System.in))
+            : Files.newBufferedReader(Path.of(options.source()));
+    try (input) {
+      Report report = run(input, out, err, options.parallelism());
+      out.println(report);
+      out.flush();
+      return report;
+    }
+  }
+
+  /**
+   * Runs every command of the script and prints their output in script order.
+   *
+   * @throws IOException if the script cannot be read
+   */
+  Report run(BufferedReader input, PrintWriter out, PrintWriter err, int parallelism)
+      throws IOException {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+    }
+    LOGGER.info("Running batch with parallelism {}", parallelism);
+
+    long start = System.nanoTime();
+    Semaphore slots = new Semaphore(parallelism);
+    BlockingQueue<Pending> inOrder = new ArrayBlockingQueue<>(parallelism * READ_AHEAD_PER_SLOT);
+    Schedule schedule = new Schedule();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      CompletableFuture<Report> printing =
+          CompletableFuture.supplyAsync(() -> print(inOrder, out, err, start), executor);
+      try {
+        String line;
+        while ((line = input.readLine()) != null) {
+          String command = line.trim();
+          if (command.isEmpty() || command.startsWith("#")) {
+            continue;
+          }
+          if ("exit".equalsIgnoreCase(command) || "quit".equalsIgnoreCase(command)) {
+            break;
+          }
+          inOrder.put(submit(command, schedule, slots, executor));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while reading batch", e);
+      } finally {
+        putUninterruptibly(inOrder, Pending.END);
+      }
+      return printing.join();
+    }
+  }
+
+  /** Starts the command once the commands it depends on are done. */
+  private Pending submit(
+      String command, Schedule schedule, Semaphore slots, ExecutorService executor) {
+    String[] tokens = command.split("\\s+");
+    Access access = Access.of(tokens);
+    List<String> ids =
+        access.touchesIds() ? Arrays.asList(tokens).subList(1, tokens.length) : List.of();
+
+    CompletableFuture<Outcome> outcome =
+        schedule
+            .dependenciesOf(access, ids)
+            .handle((ignored, failure) -> null)
+            .thenApplyAsync(ignored -> execute(command, slots), executor);
+    schedule.record(access, ids, outcome);
+    return new Pending(command, outcome);
+  }
+
+  private Outcome execute(String command, Semaphore slots) {
+    slots.acquireUninterruptibly();
+    long start = System.nanoTime();
+    StringBuilder output = new StringBuilder();
+    try {
+      commandParser.parseAndExecute(command, output);
+      return new Outcome(output, null, System.nanoTime() - start);
+    } catch (CommandParsingException e) {
+      LOGGER.warn("Batch command failed: {}: {}", command, e.getMessage());
+      return new Outcome(output, "Command error: " + e.getMessage(), System.nanoTime() - start);
+    } catch (RuntimeException e) {
+      LOGGER.error("Unexpected error in batch command: {}", command, e);
+      return new Outcome(output, "Unexpected error: " + e.getMessage(), System.nanoTime() - start);
+    } finally {
+      slots.release();
+    }
+  }
+
+  /** Prints each command's output in script order as it completes; returns the run's figures. */
+  private static Report print(
+      BlockingQueue<Pending> inOrder, PrintWriter out, PrintWriter err, long start) {
+    long[] latencies = new long[64];
+    int commands = 0;
+    int failed = 0;
+
+    try {
+      for (Pending pending = inOrder.take(); pending != Pending.END; pending = inOrder.take()) {
+        Outcome outcome = pending.outcome().join();
+
+        out.append(PROMPT).append(pending.command()).append('\n');
+        out.append(outcome.output());
+        out.println();
+        if (outcome.error() != null) {
+          out.flush();
+          err.println(outcome.error());
+          failed++;
+        }
+        if (inOrder.isEmpty()) {
+          out.flush();
+        }
+
+        if (commands == latencies.length) {
+          latencies = Arrays.copyOf(latencies, commands * 2);
+        }
+        latencies[commands++] = outcome.nanos();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    out.flush();
+
+    long[] sorted = Arrays.copyOf(latencies, commands);
+    Arrays.sort(sorted);
+    return new Report(
+        commands,
+        failed,
+        System.nanoTime() - start,
+        percentile(sorted, 50),
+        percentile(sorted, 99));
+  }
+
+  private static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+  }
+
+  private static void putUninterruptibly(BlockingQueue<Pending> queue, Pending pending) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        queue.put(pending);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** What a command reads or changes, which decides what it must wait for. */
+  private enum Access {
+    /** Touches nothing another command changes: rates, help and unknown commands. */
+    INDEPENDENT,
+    /** Reads the whole book: orders, summary. */
+    BOOK_READ,
+    /** Reads the orders with the given IDs: show. */
+    ID_READ,
+    /** Adds orders: new, import. */
+    CREATE,
+    /** Removes the order with the given ID: cancel. */
+    CANCEL,
+    /** Replaces or sweeps the book: refresh, cancel with filters. */
+    BARRIER;
+
+    static Access of(String[] tokens) {
+      return switch (tokens[0].toLowerCase(Locale.ROOT)) {
+        case "orders", "summary" -> BOOK_READ;
+        case "show" -> ID_READ;
+        case "new", "import" -> CREATE;
+        case "cancel" -> tokens.length > 1 && tokens[1].startsWith("--") ? BARRIER : CANCEL;
+        case "refresh" -> BARRIER;
+        default -> INDEPENDENT;
+      };
+    }
+
+    boolean touchesIds() {
+      return this == ID_READ || this == CANCEL;
+    }
+  }
+
+  /**
+   * Commands still running, by what they touch. Only the reading thread uses it, in script order;
+   * finished commands are dropped as new ones are recorded, so it stays as small as the read-ahead.
+   */
+  private static final class Schedule {
+
+    private static final CompletableFuture<?> DONE = CompletableFuture.completedFuture(null);
+
+    private final List<CompletableFuture<?>> all = new ArrayList<>();
+    private final List<CompletableFuture<?>> bookReads = new ArrayList<>();
+    private final List<CompletableFuture<?>> creates = new ArrayList<>();
+    private final List<CompletableFuture<?>> writes = new ArrayList<>();
+    private final Map<String, CompletableFuture<?>> lastById = new HashMap<>();
+    private CompletableFuture<?> barrier = DONE;
+
+    CompletableFuture<?> dependenciesOf(Access access, List<String> ids) {
+      List<CompletableFuture<?>> dependencies = new ArrayList<>();
+      dependencies.add(barrier);
+      switch (access) {
+        case BOOK_READ -> dependencies.addAll(writes);
+        case ID_READ -> dependencies.addAll(creates);
+        case CREATE, CANCEL -> dependencies.addAll(bookReads);
+        case BARRIER -> dependencies.addAll(all);
+        case INDEPENDENT -> {}
+      }
+      for (String id : ids) {
+        dependencies.add(lastById.getOrDefault(id, DONE));
+      }
+      return CompletableFuture.allOf(dependencies.toArray(CompletableFuture[]::new));
+    }
+
+    void record(Access access, List<String> ids, CompletableFuture<?> completion) {
+      prune();
+      all.add(completion);
+      switch (access) {
+        case BOOK_READ -> bookReads.add(completion);
+        case CREATE -> {
+          creates.add(completion);
+          writes.add(completion);
+        }
+        case CANCEL -> writes.add(completion);
+        case BARRIER -> barrier = completion;
+        case ID_READ, INDEPENDENT -> {}
+      }
+      for (String id : ids) {
+        lastById.put(id, completion);
+      }
+    }
+
+    private void prune() {
+      all.removeIf(CompletableFuture::isDone);
+      bookReads.removeIf(CompletableFuture::isDone);
+      creates.removeIf(CompletableFuture::isDone);
+      writes.removeIf(CompletableFuture::isDone);
+      if (lastById.size() > all.size() * 2 + 64) {
+        lastById.values().removeIf(CompletableFuture::isDone);
+      }
+    }
+  }
+
+  /** A command read from the script and its eventual outcome. */
+  private record Pending(String command, CompletableFuture<Outcome> outcome) {
+    static final Pending END = new Pending("", CompletableFuture.completedFuture(null));
+  }
+
+  /** What a command wrote, the error it failed with if any, and how long it ran. */
+  private record Outcome(CharSequence output, String error, long nanos) {}
+
+  /**
+   * Where the script comes from and how many of its commands may run at once.
+   *
+   * @param source file name, or {@code -} for standard input
+   */
+  public record Options(String source, int parallelism) {
+
+    /**
+     * Reads {@code --batch <file|->} and optionally {@code --parallelism N} from the program
+     * arguments, ignoring any others.
+     *
+     * @return the options, or null if no batch was asked for
+     * @throws IllegalArgumentException if either option is missing its value or is invalid
+     */
+    public static Options parse(String... args) {
+      String source = null;
+      int parallelism = DEFAULT_PARALLELISM;
+
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        if (arg.equals("--batch") || arg.equals("--parallelism")) {
+          if (i + 1 >= args.length) {
+            throw new IllegalArgumentException(arg + " requires a value");
+          }
+          arg = arg + "=" + args[++i];
+        }
+        if (arg.startsWith("--batch=")) {
+          source = arg.substring("--batch=".length());
+        } else if (arg.startsWith("--parallelism=")) {
+          parallelism = positive(arg.substring("--parallelism=".length()));
+        }
+      }
+
+      if (source == null) {
+        return null;
+      }
+      if (source.isBlank()) {
+        throw new IllegalArgumentException("--batch requires a file name, or - for standard input");
+      }
+      return new Options(source, parallelism);
+    }
+
+    private static int positive(String value) {
+      try {
+        int number = Integer.parseInt(value);
+        if (number > 0) {
+          return number;
+        }
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+      throw new IllegalArgumentException("--parallelism must be a positive number, got: " + value);
+    }
+  }
+
+  /** Figures of a finished run; latencies are per command, from start to finish. */
+  public record Report(int commands, int failed, long elapsedNanos, long p50Nanos, long p99Nanos) {
+
+    public double commandsPerSecond() {
+      return elapsedNanos > 0 ? commands * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(
+          Locale.ROOT,
+          "Batch complete: %d commands (%d failed) in %s, %.1f commands/sec, latency p50 %s, p99 %s",
+          commands,
+          failed,
+          PerformanceUtils.formatDuration(elapsedNanos),
+          commandsPerSecond(),
+          PerformanceUtils.formatDuration(p50Nanos),
+          PerformanceUtils.formatDuration(p99Nanos));
+    }
+  }
+}
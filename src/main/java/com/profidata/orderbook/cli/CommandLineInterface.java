@@ -16,6 +16,9 @@ import org.springframework.stereotype.Component;
  * <p>This CLI provides: - Interactive command processing - Graceful shutdown handling - Error
  * recovery and user feedback - Metrics collection - Signal handling for clean termination
  *
+ * <p>Command output is streamed into a buffered writer that is flushed once per command, so large
+ * tables are written as they are produced instead of being built up in memory first.
+ *
  * @author Profidata Developer
  */
 @Component
@@ -36,6 +39,7 @@ public class CommandLineInterface {
             """;
 
   private static final String PROMPT = "fx-orderbook> ";
+  private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
   private static final String GOODBYE_MESSAGE = "Thank you for using FX OrderBook CLI. Goodbye!";
 
   private final CommandParser commandParser;
@@ -47,16 +51,19 @@ public class CommandLineInterface {
   private final Counter commandErrorsCounter;
 
   // I/O streams - configurable for testing
-  private final BufferedReader reader;
+  private final ConsoleInput input;
   private final PrintWriter writer;
   private final PrintWriter errorWriter;
 
   @Autowired
-  public CommandLineInterface(CommandParser commandParser, MeterRegistry meterRegistry) {
+  public CommandLineInterface(
+      CommandParser commandParser, MeterRegistry meterRegistry, ConsoleInput input) {
     this.commandParser = commandParser;
     this.meterRegistry = meterRegistry;
-    this.reader = new BufferedReader(new InputStreamReader(System.in));
-    this.writer = new PrintWriter(System.out, true);
+    this.input = input;
+    this.writer =
+        new PrintWriter(
+            new BufferedWriter(new OutputStreamWriter(System.out), OUTPUT_BUFFER_SIZE), false);
     this.errorWriter = new PrintWriter(System.err, true);
     this.running = new AtomicBoolean(false);
 
@@ -95,15 +102,15 @@ public class CommandLineInterface {
         writer.print(PROMPT);
         writer.flush();
 
-        String input = reader.readLine();
+        String line = input.readLine();
 
-        if (input == null) {
+        if (line == null) {
           writer.println();
           LOGGER.info("EOF received, shutting down CLI");
           break;
         }
 
-        processCommand(input.trim());
+        processCommand(line.trim());
 
       } catch (IOException e) {
         LOGGER.error("I/O error reading command", e);
@@ -122,25 +129,27 @@ public class CommandLineInterface {
     try {
       LOGGER.debug("Processing command: {}", input);
 
-      String result = commandParser.parseAndExecute(input);
-
-      if ("SYSTEM_EXIT".equals(result)) {
+      if (!commandParser.parseAndExecute(input, writer)) {
         writer.println(GOODBYE_MESSAGE);
+        writer.flush();
         stop();
         return;
       }
 
-      writer.println(result);
+      writer.println();
+      writer.flush();
 
       incrementCounter(commandsProcessedCounter);
 
     } catch (CommandParsingException e) {
       LOGGER.warn("Command parsing error: {}", e.getMessage());
+      writer.flush();
       errorWriter.println("Command error: " + e.getMessage());
       incrementCounter(commandErrorsCounter);
 
     } catch (Exception e) {
       LOGGER.error("Unexpected error processing command: {}", input, e);
+      writer.flush();
       errorWriter.println("Unexpected error: " + e.getMessage());
       errorWriter.println("Please try again or type 'help' for available commands.");
       incrementCounter(commandErrorsCounter);
@@ -157,6 +166,7 @@ public class CommandLineInterface {
     writer.println(WELCOME_MESSAGE);
 
     writer.println("Checking connection to order service...");
+    writer.flush();
 
     try {
       commandParser.parseAndExecute("rates");
@@ -181,8 +191,8 @@ public class CommandLineInterface {
     LOGGER.info("Shutting down FX OrderBook CLI");
 
     try {
-      if (reader != null) {
-        reader.close();
+      if (input != null) {
+        input.close();
       }
     } catch (IOException e) {
       LOGGER.warn("Error closing input reader", e);
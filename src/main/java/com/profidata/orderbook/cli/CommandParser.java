@@ -30,7 +30,10 @@ public class CommandParser {
       CancelOrderCommand cancelOrderCommand,
       RatesCommand ratesCommand,
       OrdersCommand ordersCommand,
-      SummaryCommand summaryCommand) {
+      SummaryCommand summaryCommand,
+      RefreshCommand refreshCommand,
+      ShowOrderCommand showOrderCommand,
+      ImportCommand importCommand) {
     this.commands = new HashMap<>();
 
     registerCommand(newOrderCommand);
@@ -38,18 +41,35 @@ public class CommandParser {
     registerCommand(ratesCommand);
     registerCommand(ordersCommand);
     registerCommand(summaryCommand);
+    registerCommand(refreshCommand);
+    registerCommand(showOrderCommand);
+    registerCommand(importCommand);
 
     LOGGER.info("CommandParser initialized with {} commands", commands.size());
   }
 
   /**
-   * Parses and executes a command line input.
+   * Parses and executes a command line input, collecting the result.
    *
    * @param input Raw command line input
-   * @return Command execution result
+   * @return Command execution result, or {@code SYSTEM_EXIT} if the input asks to leave the CLI
    * @throws CommandParsingException if command parsing fails
    */
   public String parseAndExecute(String input) throws CommandParsingException {
+    StringBuilder result = new StringBuilder();
+    return parseAndExecute(input, result) ? result.toString() : "SYSTEM_EXIT";
+  }
+
+  /**
+   * Parses and executes a command line input, writing the result to the output as the command
+   * produces it.
+   *
+   * @param input Raw command line input
+   * @param out Destination of the command result
+   * @return false if the input asks to leave the CLI, true otherwise
+   * @throws CommandParsingException if command parsing or execution fails
+   */
+  public boolean parseAndExecute(String input, Appendable out) throws CommandParsingException {
     if (input == null || input.trim().isEmpty()) {
       throw new CommandParsingException("Empty command provided");
     }
@@ -57,35 +77,44 @@ public class CommandParser {
     String trimmedInput = input.trim();
     LOGGER.debug("Parsing command: {}", trimmedInput);
 
-    if ("help".equalsIgnoreCase(trimmedInput) || "?".equals(trimmedInput)) {
-      return generateHelpText();
+    if ("exit".equalsIgnoreCase(trimmedInput) || "quit".equalsIgnoreCase(trimmedInput)) {
+      return false;
     }
 
-    if ("exit".equalsIgnoreCase(trimmedInput) || "quit".equalsIgnoreCase(trimmedInput)) {
-      return "SYSTEM_EXIT";
+    try {
+      if ("help".equalsIgnoreCase(trimmedInput) || "?".equals(trimmedInput)) {
+        out.append(generateHelpText());
+        return true;
+      }
+
+      String[] tokens = parseTokens(trimmedInput);
+      Command command = lookupCommand(tokens);
+      String[] args = Arrays.copyOfRange(tokens, 1, tokens.length);
+
+      LOGGER.debug("Executing command '{}' with {} arguments", tokens[0], args.length);
+      command.execute(args, out);
+      return true;
+    } catch (CommandParsingException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.error("Command execution failed: {}", trimmedInput, e);
+      throw new CommandParsingException("Command execution failed: " + e.getMessage(), e);
     }
+  }
 
-    String[] tokens = parseTokens(trimmedInput);
+  /** Finds the command named by the first token. */
+  private Command lookupCommand(String[] tokens) throws CommandParsingException {
     if (tokens.length == 0) {
       throw new CommandParsingException("No command specified");
     }
 
     String commandName = tokens[0].toLowerCase();
-    String[] args = Arrays.copyOfRange(tokens, 1, tokens.length);
-
     Command command = commands.get(commandName);
     if (command == null) {
       throw new CommandParsingException(
           "Unknown command: " + commandName + ". Type 'help' to see available commands.");
     }
-
-    try {
-      LOGGER.debug("Executing command '{}' with {} arguments", commandName, args.length);
-      return command.execute(args);
-    } catch (Exception e) {
-      LOGGER.error("Command execution failed: {}", commandName, e);
-      throw new CommandParsingException("Command execution failed: " + e.getMessage(), e);
-    }
+    return command;
   }
 
   /** Parses input into tokens, handling quoted strings properly. */
@@ -110,12 +139,15 @@ public class CommandParser {
     appendCommandHelp(sb, "Order Management:");
     appendCommandDetails(sb, "new");
     appendCommandDetails(sb, "cancel");
+    appendCommandDetails(sb, "import");
 
     sb.append("\n");
     appendCommandHelp(sb, "Information Display:");
     appendCommandDetails(sb, "rates");
     appendCommandDetails(sb, "orders");
+    appendCommandDetails(sb, "show");
     appendCommandDetails(sb, "summary");
+    appendCommandDetails(sb, "refresh");
 
     sb.append("\n");
     appendCommandHelp(sb, "System Commands:");
@@ -126,9 +158,15 @@ public class CommandParser {
     sb.append("---------\n");
     sb.append("  new buy EUR USD 1.10 31.12.2025\n");
     sb.append("  cancel 12345\n");
+    sb.append("  cancel --pair EUR/USD --expires-before 01.01.2026\n");
+    sb.append("  import orders.csv --window 128\n");
     sb.append("  rates\n");
+    sb.append("  rates --watch 5\n");
     sb.append("  orders\n");
+    sb.append("  orders --top 10 --pair EUR/USD\n");
+    sb.append("  show 12345 12346\n");
     sb.append("  summary\n");
+    sb.append("  refresh\n");
 
     return sb.toString();
   }
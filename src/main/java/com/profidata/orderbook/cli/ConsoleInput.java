@@ -0,0 +1,62 @@
+package com.profidata.orderbook.cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import org.springframework.stereotype.Component;
+
+/**
+ * Standard input of the interactive session, shared by the command loop and by commands that run
+ * until Enter is pressed.
+ *
+ * <p>There is a single reader over {@code System.in}, so a line typed while a command runs is
+ * neither lost in a second buffer nor read twice: the command that is waiting for it takes it, and
+ * otherwise the command loop reads it as the next command. Input is interactive only when it comes
+ * from a terminal; piped or redirected input holds the next commands, not keystrokes.
+ */
+@Component
+public class ConsoleInput implements AutoCloseable {
+
+  private final BufferedReader reader;
+  private final boolean interactive;
+
+  public ConsoleInput() {
+    this(new BufferedReader(new InputStreamReader(System.in)), System.console() != null);
+  }
+
+  public ConsoleInput(BufferedReader reader, boolean interactive) {
+    this.reader = reader;
+    this.interactive = interactive;
+  }
+
+  /** Whether input is typed at a terminal rather than piped or redirected. */
+  public boolean isInteractive() {
+    return interactive;
+  }
+
+  /**
+   * Reads the next line, blocking until one is typed.
+   *
+   * @return the line, or null at end of input
+   */
+  public String readLine() throws IOException {
+    return reader.readLine();
+  }
+
+  /**
+   * Whether input is waiting to be read, either already buffered or pending on the stream. Never
+   * blocks; a terminal only passes input on once Enter is pressed.
+   */
+  public boolean hasInputWaiting() {
+    try {
+      return reader.ready();
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -1,12 +1,40 @@
 package com.profidata.orderbook.cli.commands;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.ValidityDate;
 import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.util.PerformanceUtils;
 import com.profidata.orderbook.util.ValidationUtils;
+import java.io.BufferedReader;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-/** Command for cancelling existing FX orders using proper service layer. */
+/**
+ * Command for cancelling existing FX orders using proper service layer.
+ *
+ * <p>{@code cancel <id>} cancels one order. With {@code --pair}, {@code --side}, {@code
+ * --expires-before} or {@code --ids-from} it cancels every order matching all the given filters,
+ * picked from a single snapshot of the book. Those cancellations are pipelined through {@link
+ * OrderService#cancelOrderAsync} with at most {@code --window} in flight, and progress is written
+ * every second while they run.
+ */
 @Component
 public class CancelOrderCommand extends AbstractCommand {
 
@@ -14,6 +42,10 @@ public class CancelOrderCommand extends AbstractCommand {
 
   private static final String COMMAND_NAME = "cancel";
   private static final int EXPECTED_ARGS = 1;
+  private static final String FILTER_USAGE =
+      "cancel [--pair CCY1/CCY2] [--side buy|sell] [--expires-before dd.MM.yyyy]"
+          + " [--ids-from <file>] [--window N]";
+  private static final long PROGRESS_INTERVAL_MILLIS = 1000;
 
   private final OrderService orderService;
 
@@ -23,6 +55,45 @@ public class CancelOrderCommand extends AbstractCommand {
 
   @Override
   public String execute(String[] args) throws Exception {
+    return executeToString(args);
+  }
+
+  @Override
+  public void execute(String[] args, Appendable out) throws Exception {
+    if (isFiltered(args)) {
+      cancelMatching(args, out);
+    } else {
+      out.append(cancelOne(args));
+    }
+  }
+
+  @Override
+  public void validateArguments(String[] args) throws IllegalArgumentException {
+    if (isFiltered(args)) {
+      CancelFilter.parse(args);
+      return;
+    }
+    validateArgumentCount(args, EXPECTED_ARGS, COMMAND_NAME);
+    validateNotEmpty(args[0], "Order ID");
+  }
+
+  @Override
+  public String getCommandName() {
+    return COMMAND_NAME;
+  }
+
+  @Override
+  public String getUsage() {
+    return "cancel <order_id> | " + FILTER_USAGE;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Cancels an existing FX order by its ID, or every order matching the filters."
+        + " Example: cancel 5";
+  }
+
+  private String cancelOne(String[] args) {
     LOGGER.debug("Executing cancel order command with args: {}", (Object) args);
 
     try {
@@ -53,24 +124,295 @@ public class CancelOrderCommand extends AbstractCommand {
     }
   }
 
-  @Override
-  public void validateArguments(String[] args) throws IllegalArgumentException {
-    validateArgumentCount(args, EXPECTED_ARGS, COMMAND_NAME);
-    validateNotEmpty(args[0], "Order ID");
+  private void cancelMatching(String[] args, Appendable out) throws IOException {
+    LOGGER.debug("Executing filtered cancel command with args: {}", (Object) args);
+
+    CancelFilter filter;
+    List<String> matching;
+    int unknownIds;
+    try {
+      filter = CancelFilter.parse(args);
+      Set<String> ids = filter.idsFrom() != null ? readIds(filter.idsFrom()) : null;
+
+      ColumnarOrderBook book = orderService.getOrderBook();
+      matching = new ArrayList<>();
+      unknownIds = 0;
+      if (ids != null) {
+        for (String id : ids) {
+          int row = book.indexOf(id);
+          if (row < 0) {
+            unknownIds++;
+          } else if (filter.matches(book, row)) {
+            matching.add(id);
+          }
+        }
+      } else {
+        for (int row = 0; row < book.size(); row++) {
+          if (filter.matches(book, row)) {
+            matching.add(book.id(row));
+          }
+        }
+      }
+    } catch (Exception e) {
+      String errorMsg = formatError(COMMAND_NAME, describe(e));
+      LOGGER.error("Failed to select orders to cancel", e);
+      out.append(errorMsg);
+      return;
+    }
+
+    if (matching.isEmpty()) {
+      out.append("No orders match ").append(filter.toString());
+      appendUnknownIds(out, filter, unknownIds);
+      return;
+    }
+
+    LOGGER.info(
+        "Cancelling {} orders matching {} with {} in flight",
+        matching.size(),
+        filter,
+        filter.window());
+
+    Progress progress = new Progress(matching.size());
+    try {
+      cancelAll(matching, filter.window(), progress, out);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      out.append(formatError(COMMAND_NAME, "interrupted, " + progress.describe()));
+      return;
+    }
+
+    LOGGER.info(
+        "Cancelled {} of {} orders matching {}", progress.cancelled.get(), matching.size(), filter);
+    out.append(progress.describe());
+    if (progress.refused.get() > 0) {
+      out.append(
+          String.format(
+              "\n%d orders were not found or could not be cancelled", progress.refused.get()));
+    }
+    if (progress.failed.get() > 0) {
+      out.append(
+          String.format(
+              "\n%d cancellations failed, see the log for details", progress.failed.get()));
+    }
+    appendUnknownIds(out, filter, unknownIds);
   }
 
-  @Override
-  public String getCommandName() {
-    return COMMAND_NAME;
+  /**
+   * Sends every cancellation, holding back while {@code window} are awaiting the server, and writes
+   * progress at most once per interval until the last one completes.
+   */
+  private void cancelAll(List<String> ids, int window, Progress progress, Appendable out)
+      throws InterruptedException, IOException {
+    Semaphore inFlight = new Semaphore(window);
+
+    for (String id : ids) {
+      while (!inFlight.tryAcquire(PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        progress.report(out);
+      }
+      progress.reportIfDue(out);
+      CompletableFuture<Boolean> cancellation;
+      try {
+        cancellation = orderService.cancelOrderAsync(id);
+      } catch (RuntimeException e) {
+        cancellation = CompletableFuture.failedFuture(e);
+      }
+      cancellation.whenComplete(
+          (cancelled, failure) -> {
+            try {
+              progress.record(id, cancelled, failure);
+            } finally {
+              inFlight.release();
+            }
+          });
+    }
+
+    while (!inFlight.tryAcquire(window, PROGRESS_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+      progress.report(out);
+    }
   }
 
-  @Override
-  public String getUsage() {
-    return "cancel <order_id>";
+  /** Reads one order ID per line, skipping blank lines and {@code #} comments. */
+  private static Set<String> readIds(Path file) throws IOException {
+    Set<String> ids = new LinkedHashSet<>();
+    try (BufferedReader reader = Files.newBufferedReader(file)) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        String id = line.trim();
+        if (id.isEmpty() || id.startsWith("#")) {
+          continue;
+        }
+        try {
+          ValidationUtils.validateOrderId(id);
+        } catch (IllegalArgumentException e) {
+          throw new IllegalArgumentException(
+              "Line " + lineNumber + " of " + file + ": " + e.getMessage(), e);
+        }
+        ids.add(id);
+      }
+    }
+    return ids;
   }
 
-  @Override
-  public String getDescription() {
-    return "Cancels an existing FX order by its ID. Example: cancel 5";
+  private static void appendUnknownIds(Appendable out, CancelFilter filter, int unknownIds)
+      throws IOException {
+    if (unknownIds > 0) {
+      out.append(
+          String.format(
+              "\n%d IDs from %s are not in the order book", unknownIds, filter.idsFrom()));
+    }
+  }
+
+  private static String describe(Exception e) {
+    return e instanceof NoSuchFileException ? "File not found: " + e.getMessage() : e.getMessage();
+  }
+
+  private static boolean isFiltered(String[] args) {
+    return args.length > 0 && args[0] != null && args[0].trim().startsWith("--");
+  }
+
+  /** Counts of completed cancellations, updated from the completing threads. */
+  private static final class Progress {
+
+    private final int total;
+    private final long start = System.nanoTime();
+    private final AtomicInteger cancelled = new AtomicInteger();
+    private final AtomicInteger refused = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private long nextReport = start + TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS);
+
+    Progress(int total) {
+      this.total = total;
+    }
+
+    void record(String id, Boolean wasCancelled, Throwable failure) {
+      if (failure != null) {
+        failed.incrementAndGet();
+        LOGGER.debug("Failed to cancel order {}", id, failure);
+      } else if (Boolean.TRUE.equals(wasCancelled)) {
+        cancelled.incrementAndGet();
+      } else {
+        refused.incrementAndGet();
+        LOGGER.debug("Order not found or could not be cancelled: {}", id);
+      }
+    }
+
+    void reportIfDue(Appendable out) throws IOException {
+      if (System.nanoTime() - nextReport >= 0) {
+        report(out);
+      }
+    }
+
+    /** Writes a progress line and pushes it out, so it is seen while the command runs. */
+    void report(Appendable out) throws IOException {
+      long now = System.nanoTime();
+      nextReport = now + TimeUnit.MILLISECONDS.toNanos(PROGRESS_INTERVAL_MILLIS);
+      int done = cancelled.get() + refused.get() + failed.get();
+      out.append(
+          String.format(
+              Locale.ROOT,
+              "Processed %d of %d orders (%.1f orders/sec)\n",
+              done,
+              total,
+              perSecond(done, now - start)));
+      if (out instanceof Flushable flushable) {
+        flushable.flush();
+      }
+    }
+
+    String describe() {
+      long elapsed = System.nanoTime() - start;
+      return String.format(
+          Locale.ROOT,
+          "Cancelled %d of %d matching orders in %s (%.1f orders/sec)",
+          cancelled.get(),
+          total,
+          PerformanceUtils.formatDuration(elapsed),
+          perSecond(cancelled.get() + refused.get() + failed.get(), elapsed));
+    }
+
+    private static double perSecond(int count, long nanos) {
+      return nanos > 0 ? count * 1_000_000_000.0 / nanos : 0;
+    }
+  }
+
+  /** Filters of a bulk cancel; null fields match every order. */
+  private record CancelFilter(
+      CurrencyPair pair, Boolean buy, LocalDate expiresBefore, Path idsFrom, int window) {
+
+    static CancelFilter parse(String[] args) {
+      CurrencyPair pair = null;
+      Boolean buy = null;
+      LocalDate expiresBefore = null;
+      Path idsFrom = null;
+      int window = DEFAULT_WINDOW;
+
+      for (int i = 0; i < args.length; i++) {
+        String option = args[i];
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException(
+              "Invalid option: " + option + ". Usage: " + FILTER_USAGE);
+        }
+        String value = args[++i].trim();
+        switch (option.toLowerCase(Locale.ROOT)) {
+          case "--pair" -> pair = CurrencyPair.fromString(value);
+          case "--side" -> buy = parseSide(value);
+          case "--expires-before" -> expiresBefore =
+              ValidationUtils.validateDateFormat(value, "--expires-before");
+          case "--ids-from" -> idsFrom = Path.of(value);
+          case "--window" -> window = parseWindow(value);
+          default -> throw new IllegalArgumentException(
+              "Invalid option: " + option + ". Usage: " + FILTER_USAGE);
+        }
+      }
+
+      if (pair == null && buy == null && expiresBefore == null && idsFrom == null) {
+        throw new IllegalArgumentException(
+            "At least one of --pair, --side, --expires-before or --ids-from is required");
+      }
+      return new CancelFilter(pair, buy, expiresBefore, idsFrom, window);
+    }
+
+    boolean matches(ColumnarOrderBook book, int row) {
+      if (pair != null && !pair.equals(book.pair(row))) {
+        return false;
+      }
+      if (buy != null && buy != book.isBuy(row)) {
+        return false;
+      }
+      if (expiresBefore != null) {
+        int validUntil = book.validUntilEpochDay(row);
+        return validUntil != ValidityDate.INVALID && validUntil < expiresBefore.toEpochDay();
+      }
+      return true;
+    }
+
+    @Override
+    public String toString() {
+      List<String> parts = new ArrayList<>();
+      if (pair != null) {
+        parts.add("pair " + pair.ccy1() + "/" + pair.ccy2());
+      }
+      if (buy != null) {
+        parts.add("side " + (buy ? "buy" : "sell"));
+      }
+      if (expiresBefore != null) {
+        parts.add("expiring before " + ValidityDate.format((int) expiresBefore.toEpochDay()));
+      }
+      if (idsFrom != null) {
+        parts.add("IDs from " + idsFrom);
+      }
+      return String.join(", ", parts);
+    }
+
+    private static boolean parseSide(String value) {
+      return switch (value.toLowerCase(Locale.ROOT)) {
+        case "buy" -> true;
+        case "sell" -> false;
+        default -> throw new IllegalArgumentException(
+            "--side must be either 'buy' or 'sell', got: " + value);
+      };
+    }
   }
 }
@@ -21,6 +21,20 @@ public interface Command {
    */
   String execute(String[] args) throws Exception;
 
+  /**
+   * Executes the command, writing its result to the output as it is produced.
+   *
+   * <p>Commands with large tables override this to write row by row instead of building the whole
+   * result first. By default the synchronous result is written in one piece.
+   *
+   * @param args Command arguments
+   * @param out Destination of the command result
+   * @throws Exception if command execution fails or the output cannot be written
+   */
+  default void execute(String[] args, Appendable out) throws Exception {
+    out.append(execute(args));
+  }
+
   /**
    * Executes the command asynchronously.
    *
@@ -71,6 +85,12 @@ public interface Command {
 /** Abstract base class for commands with common functionality. */
 abstract class AbstractCommand implements Command {
 
+  /** Requests in flight when a bulk command's {@code --window} option is not given. */
+  static final int DEFAULT_WINDOW = 64;
+
+  /** Largest {@code --window} a bulk command accepts. */
+  static final int MAX_WINDOW = 4096;
+
   /**
    * Validates that the correct number of arguments is provided.
    *
@@ -149,6 +169,39 @@ abstract class AbstractCommand implements Command {
     return String.format("Error executing %s: %s", commandName, error);
   }
 
+  /**
+   * Runs the streaming variant into a string, for commands that override it.
+   *
+   * @param args Command arguments
+   * @return Everything the command wrote
+   * @throws Exception if command execution fails
+   */
+  protected String executeToString(String[] args) throws Exception {
+    StringBuilder sb = new StringBuilder();
+    execute(args, sb);
+    return sb.toString();
+  }
+
+  /**
+   * Parses the {@code --window} option of a bulk command.
+   *
+   * @param value Option value
+   * @return Number of requests allowed in flight
+   * @throws IllegalArgumentException if the value is not a number between 1 and {@link #MAX_WINDOW}
+   */
+  static int parseWindow(String value) {
+    try {
+      int window = Integer.parseInt(value.trim());
+      if (window >= 1 && window <= MAX_WINDOW) {
+        return window;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException(
+        "--window must be a number between 1 and " + MAX_WINDOW + ", got: " + value);
+  }
+
   /**
    * Formats success messages consistently.
    *
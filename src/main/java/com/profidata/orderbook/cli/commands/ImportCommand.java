@@ -0,0 +1,267 @@
+package com.profidata.orderbook.cli.commands;
+
+import com.profidata.orderbook.domain.CurrencyPairSet;
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.service.RateService;
+import com.profidata.orderbook.util.PerformanceUtils;
+import com.profidata.orderbook.util.ValidationUtils;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command for creating orders in bulk from a CSV file.
+ *
+ * <p>Each row holds the arguments of {@code new}: {@code buy|sell,CCY1,CCY2,limit,dd.MM.yyyy}. The
+ * file is streamed, rows are validated on the common pool and valid ones are submitted with {@link
+ * OrderService#createOrderAsync}. At most {@code --window} rows are being validated or awaiting the
+ * server at any time; reading stops while the window is full, so memory stays flat and the server
+ * sets the pace. Rejected rows, whether invalid or refused by the server, are written with their
+ * line number and reason to an error file next to the input.
+ */
+@Component
+public class ImportCommand extends AbstractCommand {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ImportCommand.class);
+
+  private static final String COMMAND_NAME = "import";
+  private static final String USAGE = "import <csv file> [--window N]";
+  private static final int COLUMNS = 5;
+  private static final String ERROR_FILE_SUFFIX = ".errors.csv";
+
+  private final OrderService orderService;
+  private final RateService rateService;
+
+  public ImportCommand(OrderService orderService, RateService rateService) {
+    this.orderService = orderService;
+    this.rateService = rateService;
+  }
+
+  @Override
+  public String execute(String[] args) throws Exception {
+    LOGGER.debug("Executing import command with args: {}", (Object) args);
+
+    try {
+      validateArguments(args);
+
+      Path file = Path.of(safeTrim(args[0]));
+      int window = args.length == 3 ? parseWindow(args[2]) : DEFAULT_WINDOW;
+      Path errorFile = Path.of(file + ERROR_FILE_SUFFIX);
+
+      LOGGER.info("Importing orders from {} with {} in flight", file, window);
+
+      ImportResult result = importOrders(file, errorFile, window);
+
+      LOGGER.info(
+          "Imported {}: {} accepted, {} rejected", file, result.accepted(), result.rejected());
+      return result.describe(errorFile);
+
+    } catch (Exception e) {
+      String errorMsg = formatError(COMMAND_NAME, describe(e));
+      LOGGER.error("Failed to import orders", e);
+      return errorMsg;
+    }
+  }
+
+  @Override
+  public void validateArguments(String[] args) throws IllegalArgumentException {
+    if (args.length != 1 && !(args.length == 3 && "--window".equalsIgnoreCase(args[1]))) {
+      throw new IllegalArgumentException("Invalid arguments for import. Usage: " + USAGE);
+    }
+    validateNotEmpty(args[0], "CSV file");
+    if (args.length == 3) {
+      parseWindow(args[2]);
+    }
+  }
+
+  @Override
+  public String getCommandName() {
+    return COMMAND_NAME;
+  }
+
+  @Override
+  public String getUsage() {
+    return USAGE;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Creates orders in bulk from a CSV file of buy|sell,CCY1,CCY2,limit,dd.MM.yyyy rows";
+  }
+
+  private ImportResult importOrders(Path file, Path errorFile, int window)
+      throws IOException, InterruptedException {
+    CurrencyPairSet supportedPairs = rateService.findSupportedPairSet().orElse(null);
+    Semaphore inFlight = new Semaphore(window);
+    AtomicInteger accepted = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    long start = System.nanoTime();
+
+    try (BufferedReader reader = Files.newBufferedReader(file);
+        RejectionLog rejections = new RejectionLog(errorFile)) {
+      try {
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+          lineNumber++;
+          String row = line.trim();
+          if (row.isEmpty() || row.startsWith("#") || (lineNumber == 1 && isHeader(row))) {
+            continue;
+          }
+
+          inFlight.acquire();
+          int rowNumber = lineNumber;
+          CompletableFuture.supplyAsync(() -> parseRow(row, supportedPairs))
+              .thenCompose(orderService::createOrderAsync)
+              .whenComplete(
+                  (created, failure) -> {
+                    try {
+                      if (failure == null) {
+                        accepted.incrementAndGet();
+                      } else {
+                        rejected.incrementAndGet();
+                        rejections.add(rowNumber, row, describe(failure));
+                      }
+                    } finally {
+                      inFlight.release();
+                    }
+                  });
+        }
+      } finally {
+        // Rows still in flight report to the rejection log, so it must outlive them even when
+        // reading stops early on an I/O error or an interrupt
+        inFlight.acquireUninterruptibly(window);
+      }
+    }
+
+    return new ImportResult(accepted.get(), rejected.get(), System.nanoTime() - start);
+  }
+
+  /**
+   * Turns a row into a new order, applying the same rules as {@code new}.
+   *
+   * @throws IllegalArgumentException if the row is invalid
+   */
+  private static Order parseRow(String row, CurrencyPairSet supportedPairs) {
+    String[] columns = row.split(",", -1);
+    if (columns.length != COLUMNS) {
+      throw new IllegalArgumentException(
+          "Expected " + COLUMNS + " columns but found " + columns.length);
+    }
+
+    String orderType = ValidationUtils.safeUpperCase(columns[0]);
+    String investmentCcy = ValidationUtils.safeUpperCase(columns[1]);
+    String counterCcy = ValidationUtils.safeUpperCase(columns[2]);
+    String limitStr = ValidationUtils.safeTrim(columns[3]);
+    String validityStr = ValidationUtils.safeTrim(columns[4]);
+
+    if (!"BUY".equals(orderType) && !"SELL".equals(orderType)) {
+      throw new IllegalArgumentException(
+          "Order type must be either 'buy' or 'sell', got: " + columns[0].trim());
+    }
+    ValidationUtils.validateCurrencyCode(investmentCcy, "Investment currency");
+    ValidationUtils.validateCurrencyCode(counterCcy, "Counter currency");
+    ValidationUtils.validateDifferentCurrencies(investmentCcy, counterCcy);
+    if (supportedPairs != null) {
+      ValidationUtils.validateSupportedCurrencyPair(supportedPairs, investmentCcy, counterCcy);
+    }
+    ValidationUtils.validatePositiveNumber(limitStr, "Limit price");
+    BigDecimal limit = parseLimit(limitStr);
+    ValidationUtils.validateNotInPast(
+        ValidationUtils.validateDateFormat(validityStr, "Validity date"), "Validity date");
+
+    return Order.createNew(investmentCcy, "BUY".equals(orderType), counterCcy, limit, validityStr);
+  }
+
+  private static BigDecimal parseLimit(String limitStr) {
+    try {
+      return new BigDecimal(limitStr);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Limit price must be a valid number, got: " + limitStr);
+    }
+  }
+
+  private static boolean isHeader(String row) {
+    return row.toLowerCase(Locale.ROOT).startsWith("type");
+  }
+
+  /** The message of the exception that actually went wrong, beneath any completion wrappers. */
+  private static String describe(Throwable failure) {
+    Throwable cause = failure;
+    while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+        && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof NoSuchFileException) {
+      return "File not found: " + cause.getMessage();
+    }
+    return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+  }
+
+  /** Error file of rejected rows, created on the first rejection and shared by all callbacks. */
+  private static final class RejectionLog implements AutoCloseable {
+
+    private final Path file;
+    private BufferedWriter writer;
+
+    RejectionLog(Path file) throws IOException {
+      this.file = file;
+      Files.deleteIfExists(file);
+    }
+
+    synchronized void add(int lineNumber, String row, String reason) {
+      try {
+        if (writer == null) {
+          writer = Files.newBufferedWriter(file);
+          writer.write("line,error,row\n");
+        }
+        writer
+            .append(Integer.toString(lineNumber))
+            .append(",\"")
+            .append(reason.replace("\"", "\"\""))
+            .append("\",")
+            .append(row)
+            .append('\n');
+      } catch (IOException e) {
+        LOGGER.warn("Could not record rejected row {} in {}", lineNumber, file, e);
+      }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+      if (writer != null) {
+        writer.close();
+      }
+    }
+  }
+
+  private record ImportResult(int accepted, int rejected, long elapsedNanos) {
+
+    String describe(Path errorFile) {
+      double perSecond = elapsedNanos > 0 ? accepted * 1_000_000_000.0 / elapsedNanos : 0;
+      String summary =
+          String.format(
+              Locale.ROOT,
+              "Import complete: %d accepted, %d rejected in %s (%.1f orders/sec)",
+              accepted,
+              rejected,
+              PerformanceUtils.formatDuration(elapsedNanos),
+              perSecond);
+      return rejected > 0 ? summary + "\nRejected rows written to " + errorFile : summary;
+    }
+  }
+}
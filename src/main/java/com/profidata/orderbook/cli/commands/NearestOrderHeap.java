@@ -0,0 +1,132 @@
+package com.profidata.orderbook.cli.commands;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Keeps the {@code capacity} order rows nearest to market out of any number offered.
+ *
+ * <p>It is a max-heap on distance held in two primitive arrays, so the farthest row kept is always
+ * at the root and a nearer row replaces it in O(log K). Offering n rows costs O(n log K) rather
+ * than the O(n log n) of sorting them all. Distances compare unsigned, so {@code Price.NONE} ranks
+ * last; equal distances keep the lower row first, matching a stable sort of the book. Once offered
+ * every row, the heap is sorted in place and read back with each row's distance, so the caller
+ * never works a distance out twice.
+ */
+final class NearestOrderHeap {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final int capacity;
+  private long[] distances;
+  private int[] rows;
+  private int size;
+  private boolean sorted;
+
+  NearestOrderHeap(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Heap capacity must be positive: " + capacity);
+    }
+    this.capacity = capacity;
+    int initial = Math.min(capacity, INITIAL_CAPACITY);
+    this.distances = new long[initial];
+    this.rows = new int[initial];
+  }
+
+  void offer(int row, long distance) {
+    if (sorted) {
+      throw new IllegalStateException("Heap already sorted");
+    }
+    if (size < capacity) {
+      if (size == rows.length) {
+        int grown = (int) Math.min(capacity, rows.length * 2L);
+        distances = Arrays.copyOf(distances, grown);
+        rows = Arrays.copyOf(rows, grown);
+      }
+      distances[size] = distance;
+      rows[size] = row;
+      siftUp(size++);
+    } else if (isNearer(distance, row, distances[0], rows[0])) {
+      distances[0] = distance;
+      rows[0] = row;
+      siftDown(0, size);
+    }
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Sorts the rows kept nearest first, for reading with {@link #row} and {@link #distance}. */
+  void sortNearestFirst() {
+    for (int end = size - 1; end > 0; end--) {
+      swap(0, end);
+      siftDown(0, end);
+    }
+    sorted = true;
+  }
+
+  /** Row at {@code index} once sorted, 0 being the nearest. */
+  int row(int index) {
+    return rows[checkSorted(index)];
+  }
+
+  /** Distance of the row at {@code index} once sorted. */
+  long distance(int index) {
+    return distances[checkSorted(index)];
+  }
+
+  private int checkSorted(int index) {
+    if (!sorted) {
+      throw new IllegalStateException("Heap not sorted yet");
+    }
+    return Objects.checkIndex(index, size);
+  }
+
+  private void siftUp(int index) {
+    while (index > 0) {
+      int parent = (index - 1) >>> 1;
+      if (!isNearer(distances[parent], rows[parent], distances[index], rows[index])) {
+        return;
+      }
+      swap(index, parent);
+      index = parent;
+    }
+  }
+
+  /** Restores the heap below {@code index}, within the first {@code end} entries. */
+  private void siftDown(int index, int end) {
+    while (true) {
+      int farthest = index;
+      int left = 2 * index + 1;
+      int right = left + 1;
+      if (left < end
+          && isNearer(distances[farthest], rows[farthest], distances[left], rows[left])) {
+        farthest = left;
+      }
+      if (right < end
+          && isNearer(distances[farthest], rows[farthest], distances[right], rows[right])) {
+        farthest = right;
+      }
+      if (farthest == index) {
+        return;
+      }
+      swap(index, farthest);
+      index = farthest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long distance = distances[a];
+    distances[a] = distances[b];
+    distances[b] = distance;
+    int row = rows[a];
+    rows[a] = rows[b];
+    rows[b] = row;
+  }
+
+  private static boolean isNearer(long distance, int row, long otherDistance, int otherRow) {
+    int byDistance = Long.compareUnsigned(distance, otherDistance);
+    return byDistance < 0 || (byDistance == 0 && row < otherRow);
+  }
+}
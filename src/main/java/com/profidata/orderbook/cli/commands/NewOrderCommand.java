@@ -1,11 +1,11 @@
 package com.profidata.orderbook.cli.commands;
 
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.ValidityDate;
 import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.service.RateService;
 import com.profidata.orderbook.util.ValidationUtils;
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -20,9 +20,11 @@ public class NewOrderCommand extends AbstractCommand {
   private static final int EXPECTED_ARGS = 5;
 
   private final OrderService orderService;
+  private final RateService rateService;
 
-  public NewOrderCommand(OrderService orderService) {
+  public NewOrderCommand(OrderService orderService, RateService rateService) {
     this.orderService = orderService;
+    this.rateService = rateService;
   }
 
   @Override
@@ -50,6 +52,15 @@ public class NewOrderCommand extends AbstractCommand {
       BigDecimal limit = parseLimit(limitStr);
       validateDate(validityStr);
 
+      // Reject unsupported pairs before they cost a /createOrder round trip; if the pair list
+      // cannot be loaded, leave the decision to the server. Checked last, as the list may have to
+      // be fetched
+      rateService
+          .findSupportedPairSet()
+          .ifPresent(
+              pairs ->
+                  ValidationUtils.validateSupportedCurrencyPair(pairs, investmentCcy, counterCcy));
+
       boolean isBuy = "BUY".equals(orderType);
 
       Order orderToCreate = Order.createNew(investmentCcy, isBuy, counterCcy, limit, validityStr);
@@ -122,21 +133,14 @@ public class NewOrderCommand extends AbstractCommand {
   }
 
   private void validateDate(String dateStr) {
-    try {
-      DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy");
-      LocalDate validUntil = LocalDate.parse(dateStr, formatter);
-
-      if (validUntil.isBefore(LocalDate.now())) {
-        throw new IllegalArgumentException("Validity date cannot be in the past: " + dateStr);
-      }
-
-    } catch (Exception e) {
-      if (e instanceof IllegalArgumentException) {
-        throw e;
-      }
+    int validUntil = ValidityDate.parseEpochDay(dateStr);
+    if (validUntil == ValidityDate.INVALID) {
       throw new IllegalArgumentException(
-          "Invalid date format: " + dateStr + ". Expected format: dd.MM.yyyy (e.g., 31.12.2025)",
-          e);
+          "Invalid date format: " + dateStr + ". Expected format: dd.MM.yyyy (e.g., 31.12.2025)");
+    }
+
+    if (validUntil < ValidityDate.today()) {
+      throw new IllegalArgumentException("Validity date cannot be in the past: " + dateStr);
     }
   }
 }
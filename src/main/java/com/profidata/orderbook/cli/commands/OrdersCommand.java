@@ -1,28 +1,51 @@
 package com.profidata.orderbook.cli.commands;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.CurrencyPair;
-import com.profidata.orderbook.domain.FXRate;
-import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.Price;
+import com.profidata.orderbook.domain.RateSnapshot;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
 import com.profidata.orderbook.service.OrderService;
 import com.profidata.orderbook.service.RateService;
-import java.math.BigDecimal;
+import com.profidata.orderbook.util.TableWriter;
+import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-/** Command for displaying all orders using proper service layer. */
+/**
+ * Command for displaying all orders using proper service layer.
+ *
+ * <p>Orders and rates are fetched at the same time on virtual threads, under one shared deadline,
+ * so the command takes as long as the slower of the two. If the rates cannot be fetched in time the
+ * orders are still shown, with N/A distances.
+ *
+ * <p>{@code --top N} shows only the N orders nearest to market for each pair, and {@code --page K}
+ * the K-th group of N. Those rows are picked with one bounded heap per pair, so the whole book is
+ * never sorted. {@code --pair} restricts the view to a single currency pair.
+ */
 @Component
-public class OrdersCommand extends AbstractCommand {
+public class OrdersCommand extends AbstractCommand implements AutoCloseable {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OrdersCommand.class);
 
   private static final String COMMAND_NAME = "orders";
-  private static final int EXPECTED_ARGS = 0;
+  private static final int MAX_RANKED_ROWS = 1_000_000;
+  private static final String USAGE = "orders [--top N] [--pair CCY1/CCY2] [--page K]";
+  private static final Duration FETCH_DEADLINE = Duration.ofSeconds(30);
 
   private final OrderService orderService;
   private final RateService rateService;
+  private final ExecutorService fetchExecutor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("orders-fetch-", 0).factory());
 
   public OrdersCommand(OrderService orderService, RateService rateService) {
     this.orderService = orderService;
@@ -31,36 +54,68 @@ public class OrdersCommand extends AbstractCommand {
 
   @Override
   public String execute(String[] args) throws Exception {
+    return executeToString(args);
+  }
+
+  @Override
+  public void execute(String[] args, Appendable out) throws Exception {
     LOGGER.debug("Executing orders command");
 
+    ViewOptions options;
+    ColumnarOrderBook orders;
+    RateSnapshot rates = null;
     try {
-      validateArguments(args);
+      options = ViewOptions.parse(args);
 
       LOGGER.info("Retrieving all orders and current rates");
 
-      List<Order> orders = orderService.getAllOrders();
-      List<FXRate> rates = rateService.getCurrentRates();
+      long deadline = System.nanoTime() + FETCH_DEADLINE.toNanos();
+      Future<ColumnarOrderBook> ordersFetch = fetchExecutor.submit(orderService::getOrderBook);
+      Future<RateSnapshot> ratesFetch = fetchExecutor.submit(rateService::getRateSnapshot);
 
-      if (orders.isEmpty()) {
-        return "No orders found in the order book.";
+      try {
+        orders = await(ordersFetch, deadline, "orders");
+      } catch (Exception e) {
+        ratesFetch.cancel(true);
+        throw e;
       }
 
-      Map<CurrencyPair, FXRate> rateMap = createRateMap(rates);
-      String result = formatOrdersTable(orders, rateMap);
-
-      LOGGER.info("Successfully retrieved {} orders", orders.size());
-      return result;
+      if (orders.isEmpty()) {
+        ratesFetch.cancel(true);
+      } else {
+        rates = awaitRates(ratesFetch, deadline);
+      }
 
     } catch (Exception e) {
       String errorMsg = formatError(COMMAND_NAME, e.getMessage());
       LOGGER.error("Failed to retrieve orders", e);
-      return errorMsg;
+      out.append(errorMsg);
+      return;
     }
+
+    if (orders.isEmpty()) {
+      out.append("No orders found in the order book.");
+      return;
+    }
+
+    TableWriter table = TableWriter.of(out, 6, 4, 4, 10, 15, 10);
+    writeOrdersTable(table, orders, new MarketRates(rates), options);
+    if (rates == null) {
+      table.line("Market rates unavailable, distances shown as N/A");
+    }
+
+    LOGGER.info("Successfully retrieved {} orders", orders.size());
   }
 
   @Override
   public void validateArguments(String[] args) throws IllegalArgumentException {
-    validateArgumentCount(args, EXPECTED_ARGS, COMMAND_NAME);
+    ViewOptions.parse(args);
+  }
+
+  /** Interrupts any fetch still running; called by the container on shutdown. */
+  @Override
+  public void close() {
+    fetchExecutor.shutdownNow();
   }
 
   @Override
@@ -70,105 +125,258 @@ public class OrdersCommand extends AbstractCommand {
 
   @Override
   public String getUsage() {
-    return "orders";
+    return USAGE;
   }
 
   @Override
   public String getDescription() {
-    return "Displays all orders sorted by currency pair and distance to current market rate";
+    return "Displays all orders sorted by currency pair and distance to current market rate,"
+        + " or only the nearest N per pair";
   }
 
-  private Map<CurrencyPair, FXRate> createRateMap(List<FXRate> rates) {
-    Map<CurrencyPair, FXRate> rateMap = new HashMap<>();
+  /**
+   * Waits for a fetch until the deadline.
+   *
+   * @throws ServiceUnavailableException if the deadline passes first
+   * @throws Exception whatever the fetch itself threw
+   */
+  private static <T> T await(Future<T> fetch, long deadline, String what) throws Exception {
+    try {
+      return fetch.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException e) {
+      fetch.cancel(true);
+      throw new ServiceUnavailableException(
+          "Timed out after " + FETCH_DEADLINE.toSeconds() + "s fetching " + what, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception cause) {
+        throw cause;
+      }
+      throw e;
+    } catch (InterruptedException e) {
+      fetch.cancel(true);
+      Thread.currentThread().interrupt();
+      throw e;
+    }
+  }
 
-    for (FXRate rate : rates) {
-      rateMap.put(rate.ccyPair(), rate);
-      rateMap.put(rate.ccyPair().inverse(), rate.inverse());
+  /** Rates fetched by the deadline, or null if they failed or timed out. */
+  private static RateSnapshot awaitRates(Future<RateSnapshot> fetch, long deadline)
+      throws InterruptedException {
+    try {
+      return await(fetch, deadline, "rates");
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception e) {
+      LOGGER.warn("Market rates unavailable, showing orders without distances", e);
+      return null;
     }
+  }
 
-    return rateMap;
+  private void writeOrdersTable(
+      TableWriter table, ColumnarOrderBook orders, MarketRates rates, ViewOptions options)
+      throws IOException {
+    table.line("Current Orders (sorted by currency pair and distance to market):");
+    table.line("===============================================================");
+    table.row("Type", "Inv", "Ctr", "Limit", "Valid Until", "Distance");
+    table.rule(70);
+
+    int shown =
+        options.top() > 0
+            ? writeNearest(table, orders, rates, options)
+            : writeAll(table, orders, rates, options.pair());
+
+    table.rule(70);
+    table.line("Total orders: " + orders.size());
+    if (options.isFiltered()) {
+      table.line("Showing " + shown + " orders: " + options);
+    }
   }
 
-  private BigDecimal findMarketRate(Order order, Map<CurrencyPair, FXRate> rateMap) {
-    CurrencyPair orderPair = order.getCurrencyPair();
+  /** Writes every order, or every order of one pair, after sorting them. */
+  private int writeAll(
+      TableWriter table, ColumnarOrderBook orders, MarketRates rates, CurrencyPair pairFilter)
+      throws IOException {
+    List<OrderWithDistance> ordersWithDistance = new ArrayList<>();
+    for (int row = 0; row < orders.size(); row++) {
+      CurrencyPair pair = orders.pair(row);
+      if (pairFilter != null && !pair.equals(pairFilter)) {
+        continue;
+      }
+      long market = rates.forOrder(pair, orders.isBuy(row));
+      long distance = Price.distance(orders.limitUnits(row), market);
+      ordersWithDistance.add(new OrderWithDistance(row, pair, distance));
+    }
 
-    FXRate rate = rateMap.get(orderPair);
-    if (rate != null) {
-      return rate.getRateForOrder(order.isBuy());
+    ordersWithDistance.sort(OrderWithDistance.BY_PAIR_AND_DISTANCE);
+
+    for (OrderWithDistance orderInfo : ordersWithDistance) {
+      writeRow(table, orders, orderInfo.row, orderInfo.distance);
     }
+    return ordersWithDistance.size();
+  }
 
-    rate = rateMap.get(orderPair.inverse());
-    if (rate != null) {
-      return rate.getRateForOrder(!order.isBuy());
+  /**
+   * Writes the requested page of nearest orders for each pair. Each pair keeps a heap of the {@code
+   * top * page} nearest rows and only those are sorted and formatted.
+   */
+  private int writeNearest(
+      TableWriter table, ColumnarOrderBook orders, MarketRates rates, ViewOptions options)
+      throws IOException {
+    int kept = options.top() * options.page();
+    Map<CurrencyPair, NearestOrderHeap> heaps = new HashMap<>();
+
+    for (int row = 0; row < orders.size(); row++) {
+      CurrencyPair pair = orders.pair(row);
+      if (options.pair() != null && !pair.equals(options.pair())) {
+        continue;
+      }
+      long market = rates.forOrder(pair, orders.isBuy(row));
+      long distance = Price.distance(orders.limitUnits(row), market);
+      heaps.computeIfAbsent(pair, key -> new NearestOrderHeap(kept)).offer(row, distance);
     }
 
-    LOGGER.warn("No market rate found for currency pair: {}", orderPair);
-    return BigDecimal.ZERO;
+    List<CurrencyPair> pairs = new ArrayList<>(heaps.keySet());
+    Collections.sort(pairs);
+
+    int shown = 0;
+    int skip = options.top() * (options.page() - 1);
+    for (CurrencyPair pair : pairs) {
+      NearestOrderHeap nearest = heaps.get(pair);
+      nearest.sortNearestFirst();
+      for (int i = skip; i < nearest.size(); i++) {
+        writeRow(table, orders, nearest.row(i), nearest.distance(i));
+        shown++;
+      }
+    }
+    return shown;
   }
 
-  private String formatOrdersTable(List<Order> orders, Map<CurrencyPair, FXRate> rateMap) {
-    StringBuilder sb = new StringBuilder();
+  private static void writeRow(TableWriter table, ColumnarOrderBook orders, int row, long distance)
+      throws IOException {
+    table
+        .cell(orders.orderType(row))
+        .cell(orders.investmentCcy(row))
+        .cell(orders.counterCcy(row))
+        .cell(orders.limit(row), "N/A")
+        .cell(orders.validUntil(row))
+        .cell(distance == Price.NONE ? "N/A" : Price.toBigDecimal(distance).toPlainString())
+        .endRow();
+  }
 
-    sb.append("Current Orders (sorted by currency pair and distance to market):\n");
-    sb.append("===============================================================\n");
-    sb.append(
-        String.format(
-            "%-6s %-4s %-4s %-10s %-15s %-10s%n",
-            "Type", "Inv", "Ctr", "Limit", "Valid Until", "Distance"));
-    sb.append("-".repeat(70)).append("\n");
+  /** Options of the command; {@code top} is 0 when every order is shown. */
+  private record ViewOptions(int top, CurrencyPair pair, int page) {
+
+    static ViewOptions parse(String[] args) {
+      int top = 0;
+      CurrencyPair pair = null;
+      int page = 0;
+
+      for (int i = 0; i < args.length; i++) {
+        String option = args[i];
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Invalid option: " + option + ". Usage: " + USAGE);
+        }
+        String value = args[++i];
+        switch (option.toLowerCase()) {
+          case "--top" -> top = positive(option, value);
+          case "--page" -> page = positive(option, value);
+          case "--pair" -> pair = CurrencyPair.fromString(value);
+          default -> throw new IllegalArgumentException(
+              "Invalid option: " + option + ". Usage: " + USAGE);
+        }
+      }
 
-    List<OrderWithDistance> ordersWithDistance =
-        orders.stream()
-            .map(
-                order -> {
-                  BigDecimal marketRate = findMarketRate(order, rateMap);
-                  String distanceStr;
-                  BigDecimal distanceForSort;
+      if (page > 0 && top == 0) {
+        throw new IllegalArgumentException("--page requires --top");
+      }
+      page = Math.max(page, 1);
+      if ((long) top * page > MAX_RANKED_ROWS) {
+        throw new IllegalArgumentException(
+            "--top multiplied by --page cannot exceed " + MAX_RANKED_ROWS);
+      }
+      return new ViewOptions(top, pair, page);
+    }
 
-                  if (marketRate.compareTo(BigDecimal.ZERO) == 0) {
-                    distanceStr = "N/A";
-                    distanceForSort = new BigDecimal(Long.MAX_VALUE);
-                  } else {
-                    BigDecimal distance = order.calculateDistanceFromMarket(marketRate);
-                    distanceStr = distance.toPlainString();
-                    distanceForSort = distance;
-                  }
-                  return new OrderWithDistance(order, distanceStr, distanceForSort);
-                })
-            .collect(Collectors.toList());
+    boolean isFiltered() {
+      return top > 0 || pair != null;
+    }
 
-    ordersWithDistance.sort(
-        Comparator.comparing((OrderWithDistance o) -> o.order.getCurrencyPair().toString())
-            .thenComparing(o -> o.distanceForSort));
+    @Override
+    public String toString() {
+      StringBuilder description = new StringBuilder();
+      if (top > 0) {
+        description.append("top ").append(top).append(" per pair, page ").append(page);
+      }
+      if (pair != null) {
+        description.append(top > 0 ? ", " : "").append(pair.ccy1()).append('/').append(pair.ccy2());
+      }
+      return description.toString();
+    }
 
-    for (OrderWithDistance orderInfo : ordersWithDistance) {
-      Order order = orderInfo.order;
-      sb.append(
-          String.format(
-              "%-6s %-4s %-4s %-10s %-15s %-10s%n",
-              order.getOrderType(),
-              order.investmentCcy(),
-              order.counterCcy(),
-              order.limit() != null ? order.limit().toPlainString() : "N/A",
-              order.validUntil(),
-              orderInfo.distance));
+    private static int positive(String option, String value) {
+      try {
+        int number = Integer.parseInt(value);
+        if (number > 0) {
+          return number;
+        }
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+      throw new IllegalArgumentException(option + " must be a positive number, got: " + value);
     }
+  }
 
-    sb.append("-".repeat(70)).append("\n");
-    sb.append(String.format("Total orders: %d%n", orders.size()));
+  /**
+   * Market rates of one run of the command. Without a snapshot every rate is {@link Price#NONE},
+   * the failed fetch having been logged once already; an unquoted pair is logged once, not per
+   * order.
+   */
+  private static class MarketRates {
 
-    return sb.toString();
+    private final RateSnapshot snapshot;
+    private final Set<CurrencyPair> unquoted = new HashSet<>();
+
+    MarketRates(RateSnapshot snapshot) {
+      this.snapshot = snapshot;
+    }
+
+    /** Market rate the order would be filled at, in {@link Price} units, or NONE if not quoted. */
+    long forOrder(CurrencyPair orderPair, boolean buy) {
+      if (snapshot == null) {
+        return Price.NONE;
+      }
+      long rate = snapshot.rateUnitsForOrder(orderPair, buy);
+      if (rate == Price.NONE && unquoted.add(orderPair)) {
+        LOGGER.warn("No market rate found for currency pair: {}", orderPair);
+      }
+      return rate;
+    }
   }
 
+  /** Row with its pair and distance worked out once, so sorting only compares ints. */
   private static class OrderWithDistance {
-    final Order order;
-    final String distance;
-    final BigDecimal distanceForSort;
 
-    OrderWithDistance(Order order, String distance, BigDecimal distanceForSort) {
-      this.order = order;
+    /**
+     * By pair, then nearest to market first. {@link Price#NONE} is the largest unsigned value, so
+     * orders without a distance sort last.
+     */
+    static final Comparator<OrderWithDistance> BY_PAIR_AND_DISTANCE =
+        (a, b) -> {
+          int byPair = a.pair.compareTo(b.pair);
+          if (byPair != 0) {
+            return byPair;
+          }
+          return Long.compareUnsigned(a.distance, b.distance);
+        };
+
+    final int row;
+    final CurrencyPair pair;
+    final long distance;
+
+    OrderWithDistance(int row, CurrencyPair pair, long distance) {
+      this.row = row;
+      this.pair = pair;
       this.distance = distance;
-      this.distanceForSort = distanceForSort;
     }
   }
 }
@@ -0,0 +1,95 @@
+package com.profidata.orderbook.cli.commands;
+
+import com.profidata.orderbook.domain.FXRate;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Polls the rates on a fixed schedule with at most one fetch in flight.
+ *
+ * <p>A tick that comes round while the previous fetch is still running is dropped rather than
+ * queued, so a slow service is polled as fast as it answers and no faster. Results are handed over
+ * through a single slot that a newer result replaces, so a reader that falls behind only ever sees
+ * the latest rates. Nothing is kept between polls, and the one scheduler thread goes away on {@link
+ * #close()}.
+ */
+final class RateWatcher implements AutoCloseable {
+
+  private final Supplier<CompletableFuture<List<FXRate>>> fetch;
+  private final Duration interval;
+  private final ScheduledExecutorService scheduler;
+  private final AtomicBoolean inFlight = new AtomicBoolean();
+  private final AtomicLong conflated = new AtomicLong();
+  private final BlockingQueue<Poll> latest = new ArrayBlockingQueue<>(1);
+
+  RateWatcher(Supplier<CompletableFuture<List<FXRate>>> fetch, Duration interval) {
+    if (interval.isZero() || interval.isNegative()) {
+      throw new IllegalArgumentException("Watch interval must be positive: " + interval);
+    }
+    this.fetch = fetch;
+    this.interval = interval;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "rates-watch");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Polls now and then once every interval. */
+  void start() {
+    scheduler.scheduleAtFixedRate(this::poll, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Waits for the next poll to complete.
+   *
+   * @return the newest poll not yet taken, or null if none completed within the timeout
+   */
+  Poll next(long timeout, TimeUnit unit) throws InterruptedException {
+    return latest.poll(timeout, unit);
+  }
+
+  /** Ticks dropped because a fetch was still in flight. */
+  long conflated() {
+    return conflated.get();
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  void poll() {
+    if (!inFlight.compareAndSet(false, true)) {
+      conflated.incrementAndGet();
+      return;
+    }
+    CompletableFuture<List<FXRate>> request;
+    try {
+      request = fetch.get();
+    } catch (RuntimeException e) {
+      request = CompletableFuture.failedFuture(e);
+    }
+    request.whenComplete(
+        (rates, failure) -> {
+          // Only one fetch is ever in flight, so nothing else offers between clear and offer
+          latest.clear();
+          latest.offer(new Poll(rates, failure));
+          inFlight.set(false);
+        });
+  }
+
+  /** Rates of one poll, or the reason it failed. */
+  record Poll(List<FXRate> rates, Throwable failure) {}
+}
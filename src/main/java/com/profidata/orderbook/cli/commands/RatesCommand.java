@@ -1,58 +1,103 @@
 package com.profidata.orderbook.cli.commands;
 
+import com.profidata.orderbook.cli.ConsoleInput;
+import com.profidata.orderbook.domain.CurrencyPair;
 import com.profidata.orderbook.domain.FXRate;
 import com.profidata.orderbook.service.RateService;
+import com.profidata.orderbook.util.TableWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-/** Command for displaying current FX rates using proper service layer. */
+/**
+ * Command for displaying current FX rates using proper service layer.
+ *
+ * <p>{@code rates --watch [seconds]} keeps polling with a {@link RateWatcher} until Enter is
+ * pressed, or for {@code --count} polls. The first poll is shown as the full table; after that only
+ * the pairs whose bid or ask changed are written, and a poll that changed nothing writes nothing.
+ * Only the previous poll is kept to diff against, so watching for hours does not grow memory.
+ *
+ * <p>Enter can only stop a watch typed at a terminal whose output is written as it goes. Piped
+ * input holds the next commands rather than keystrokes, and batch output is collected in memory
+ * until the command ends, so there a watch needs {@code --count}.
+ */
 @Component
 public class RatesCommand extends AbstractCommand {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RatesCommand.class);
 
   private static final String COMMAND_NAME = "rates";
-  private static final int EXPECTED_ARGS = 0;
+  private static final String USAGE = "rates [--watch [seconds]] [--count N]";
+  private static final Duration DEFAULT_WATCH_INTERVAL = Duration.ofSeconds(1);
+  private static final int MAX_WATCH_SECONDS = 3600;
+  private static final int MAX_WATCH_POLLS = 1_000_000;
+  private static final long STOP_CHECK_MILLIS = 100;
+  private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+  private static final Comparator<FXRate> BY_PAIR =
+      (r1, r2) -> r1.ccyPair().toString().compareTo(r2.ccyPair().toString());
 
   private final RateService rateService;
+  private final ConsoleInput console;
 
-  public RatesCommand(RateService rateService) {
+  public RatesCommand(RateService rateService, ConsoleInput console) {
     this.rateService = rateService;
+    this.console = console;
   }
 
   @Override
   public String execute(String[] args) throws Exception {
+    return executeToString(args);
+  }
+
+  @Override
+  public void execute(String[] args, Appendable out) throws Exception {
     LOGGER.debug("Executing rates command");
 
+    List<FXRate> rates;
     try {
-      validateArguments(args);
-
-      LOGGER.info("Retrieving current FX rates");
-
-      List<FXRate> rates = rateService.getCurrentRates();
-
-      if (rates.isEmpty()) {
-        return "No FX rates available at this time.";
+      WatchOptions watch = WatchOptions.parse(args);
+      if (watch != null) {
+        watch(watch, out);
+        return;
       }
 
-      String result = formatRatesTable(rates);
+      LOGGER.info("Retrieving current FX rates");
 
-      LOGGER.info("Successfully retrieved {} FX rates", rates.size());
-      return result;
+      rates = rateService.getCurrentRates();
 
     } catch (Exception e) {
       String errorMsg = formatError(COMMAND_NAME, e.getMessage());
       LOGGER.error("Failed to retrieve FX rates", e);
-      return errorMsg;
+      out.append(errorMsg);
+      return;
+    }
+
+    if (rates.isEmpty()) {
+      out.append("No FX rates available at this time.");
+      return;
     }
+
+    writeRatesTable(rates, out);
+
+    LOGGER.info("Successfully retrieved {} FX rates", rates.size());
   }
 
   @Override
   public void validateArguments(String[] args) throws IllegalArgumentException {
-    validateArgumentCount(args, EXPECTED_ARGS, COMMAND_NAME);
+    WatchOptions.parse(args);
   }
 
   @Override
@@ -62,39 +107,235 @@ public class RatesCommand extends AbstractCommand {
 
   @Override
   public String getUsage() {
-    return "rates";
+    return USAGE;
   }
 
   @Override
   public String getDescription() {
-    return "Displays current FX exchange rates with bid/ask spreads";
+    return "Displays current FX exchange rates with bid/ask spreads, or keeps them up to date with"
+        + " --watch";
   }
 
-  private String formatRatesTable(List<FXRate> rates) {
-    StringBuilder sb = new StringBuilder();
+  private void writeRatesTable(List<FXRate> rates, Appendable out) throws IOException {
+    TableWriter table = TableWriter.of(out, 10, 12, 12, 12, 10);
 
-    sb.append("Current FX Exchange Rates:\n");
-    sb.append("=========================\n");
-    sb.append(
-        String.format("%-10s %-12s %-12s %-12s %-10s%n", "Pair", "Bid", "Ask", "Mid", "Spread %"));
-    sb.append("-".repeat(65)).append("\n");
+    table.line("Current FX Exchange Rates:");
+    table.line("=========================");
+    table.row("Pair", "Bid", "Ask", "Mid", "Spread %");
+    table.rule(65);
 
-    List<FXRate> sortedRates =
-        rates.stream()
-            .sorted((r1, r2) -> r1.ccyPair().toString().compareTo(r2.ccyPair().toString()))
-            .collect(Collectors.toList());
+    List<FXRate> sortedRates = rates.stream().sorted(BY_PAIR).collect(Collectors.toList());
 
     for (FXRate rate : sortedRates) {
-      sb.append(
-          String.format(
-              "%-10s %-12s %-12s %-12s %-10s%n",
-              rate.ccyPair().toString(),
-              rate.bid().toPlainString(),
-              rate.ask().toPlainString(),
-              rate.getMidPrice().toPlainString(),
-              rate.getSpreadPercentage().toPlainString()));
+      writeRateRow(table, rate);
     }
+  }
 
-    return sb.toString();
+  private static void writeRateRow(TableWriter table, FXRate rate) throws IOException {
+    table
+        .cell(rate.ccyPair().toString())
+        .cell(rate.bid().toPlainString())
+        .cell(rate.ask().toPlainString())
+        .cell(rate.getMidPrice().toPlainString())
+        .cell(rate.getSpreadPercentage().toPlainString())
+        .endRow();
+  }
+
+  /** Polls until stopped, writing the first table in full and then only what changed. */
+  private void watch(WatchOptions options, Appendable out) throws IOException {
+    boolean stoppable = console.isInteractive() && out instanceof Flushable;
+    if (options.count() == 0 && !stoppable) {
+      throw new IllegalArgumentException(
+          "--watch needs --count N when not typed at a terminal. Usage: " + USAGE);
+    }
+
+    out.append("Watching FX rates every ")
+        .append(Long.toString(options.interval().toSeconds()))
+        .append('s');
+    if (options.count() > 0) {
+      out.append(" for ").append(Integer.toString(options.count())).append(" polls");
+    }
+    out.append(stoppable ? ", press Enter to stop\n" : "\n");
+    flush(out);
+
+    LOGGER.info("Watching FX rates every {}", options.interval());
+
+    RateDiff diff = new RateDiff();
+    int polls = 0;
+    try (RateWatcher watcher =
+        new RateWatcher(rateService::getCurrentRatesAsync, options.interval())) {
+      watcher.start();
+      while ((options.count() == 0 || polls < options.count()) && !(stoppable && stopRequested())) {
+        RateWatcher.Poll poll = watcher.next(STOP_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+        if (poll != null) {
+          polls++;
+          diff.write(poll, out);
+          flush(out);
+        }
+      }
+      LOGGER.info(
+          "Stopped watching FX rates after {} polls, {} skipped while a poll was in flight",
+          polls,
+          watcher.conflated());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    out.append("Stopped watching FX rates after ").append(Integer.toString(polls)).append(" polls");
+  }
+
+  private static void flush(Appendable out) throws IOException {
+    if (out instanceof Flushable flushable) {
+      flushable.flush();
+    }
+  }
+
+  /**
+   * Whether Enter was pressed. The line is read from the session's input, so it is not run as the
+   * next command once the watch ends.
+   */
+  private boolean stopRequested() throws IOException {
+    if (!console.hasInputWaiting()) {
+      return false;
+    }
+    console.readLine();
+    return true;
+  }
+
+  /** Rates of the previous poll, and what a new poll changed relative to them. */
+  private final class RateDiff {
+
+    private List<FXRate> previousRates;
+    private Map<CurrencyPair, FXRate> previous;
+    private boolean failing;
+
+    void write(RateWatcher.Poll poll, Appendable out) throws IOException {
+      if (poll.failure() != null) {
+        if (!failing) {
+          out.append(timestamp()).append("Rates unavailable: ").append(reason(poll.failure()));
+          out.append('\n');
+          failing = true;
+        }
+        return;
+      }
+      if (failing) {
+        out.append(timestamp()).append("Rates available again\n");
+        failing = false;
+      }
+
+      List<FXRate> rates = poll.rates();
+      if (rates == previousRates) {
+        // A cached repository hands out the same list until the rates change
+        return;
+      }
+
+      Map<CurrencyPair, FXRate> current = new HashMap<>(rates.size() * 2);
+      for (FXRate rate : rates) {
+        current.put(rate.ccyPair(), rate);
+      }
+
+      if (previous == null) {
+        if (rates.isEmpty()) {
+          out.append("No FX rates available at this time.\n");
+        } else {
+          writeRatesTable(rates, out);
+        }
+      } else {
+        writeChanges(rates, current, out);
+      }
+
+      previousRates = rates;
+      previous = current;
+    }
+
+    private void writeChanges(List<FXRate> rates, Map<CurrencyPair, FXRate> current, Appendable out)
+        throws IOException {
+      List<FXRate> changed = new ArrayList<>();
+      for (FXRate rate : rates) {
+        if (!rate.equals(previous.get(rate.ccyPair()))) {
+          changed.add(rate);
+        }
+      }
+      List<CurrencyPair> withdrawn = new ArrayList<>();
+      for (CurrencyPair pair : previous.keySet()) {
+        if (!current.containsKey(pair)) {
+          withdrawn.add(pair);
+        }
+      }
+      if (changed.isEmpty() && withdrawn.isEmpty()) {
+        return;
+      }
+
+      TableWriter table = TableWriter.of(out, 10, 12, 12, 12, 10);
+      int count = changed.size() + withdrawn.size();
+      table.line(timestamp() + count + (count == 1 ? " pair changed" : " pairs changed"));
+      changed.sort(BY_PAIR);
+      for (FXRate rate : changed) {
+        writeRateRow(table, rate);
+      }
+      withdrawn.sort(Comparator.comparing(CurrencyPair::toString));
+      for (CurrencyPair pair : withdrawn) {
+        table.cell(pair.toString()).cell("no longer quoted").endRow();
+      }
+    }
+
+    private String timestamp() {
+      return "[" + LocalTime.now().format(TIME_FORMAT) + "] ";
+    }
+
+    private String reason(Throwable failure) {
+      Throwable cause =
+          failure instanceof CompletionException && failure.getCause() != null
+              ? failure.getCause()
+              : failure;
+      return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+  }
+
+  /** Options of a watch; {@code count} is 0 to poll until stopped. */
+  private record WatchOptions(Duration interval, int count) {
+
+    /**
+     * @return the options, or null if the rates are to be shown once
+     */
+    static WatchOptions parse(String[] args) {
+      if (args.length == 0) {
+        return null;
+      }
+      if (!"--watch".equalsIgnoreCase(args[0])) {
+        throw invalid();
+      }
+
+      Duration interval = DEFAULT_WATCH_INTERVAL;
+      int count = 0;
+      int i = 1;
+      if (i < args.length && !args[i].startsWith("--")) {
+        interval = Duration.ofSeconds(number("Watch interval", args[i++], MAX_WATCH_SECONDS));
+      }
+      if (i < args.length) {
+        if (!"--count".equalsIgnoreCase(args[i]) || i + 2 != args.length) {
+          throw invalid();
+        }
+        count = number("--count", args[i + 1], MAX_WATCH_POLLS);
+      }
+      return new WatchOptions(interval, count);
+    }
+
+    private static int number(String name, String value, int max) {
+      try {
+        int number = Integer.parseInt(value.trim());
+        if (number >= 1 && number <= max) {
+          return number;
+        }
+      } catch (NumberFormatException e) {
+        // reported below
+      }
+      throw new IllegalArgumentException(
+          name + " must be a number between 1 and " + max + ", got: " + value);
+    }
+
+    private static IllegalArgumentException invalid() {
+      return new IllegalArgumentException("Invalid arguments for rates. Usage: " + USAGE);
+    }
   }
 }
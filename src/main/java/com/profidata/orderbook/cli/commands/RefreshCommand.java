@@ -0,0 +1,62 @@
+package com.profidata.orderbook.cli.commands;
+
+import com.profidata.orderbook.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Command for re-reading the order book from the order service on demand. */
+@Component
+public class RefreshCommand extends AbstractCommand {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RefreshCommand.class);
+
+  private static final String COMMAND_NAME = "refresh";
+  private static final int EXPECTED_ARGS = 0;
+
+  private final OrderService orderService;
+
+  public RefreshCommand(OrderService orderService) {
+    this.orderService = orderService;
+  }
+
+  @Override
+  public String execute(String[] args) throws Exception {
+    LOGGER.debug("Executing refresh command");
+
+    try {
+      validateArguments(args);
+
+      orderService.refreshOrders();
+      long orderCount = orderService.countOrders();
+
+      LOGGER.info("Refreshed order book with {} orders", orderCount);
+      return String.format("Order book refreshed: %d orders", orderCount);
+
+    } catch (Exception e) {
+      String errorMsg = formatError(COMMAND_NAME, e.getMessage());
+      LOGGER.error("Failed to refresh order book", e);
+      return errorMsg;
+    }
+  }
+
+  @Override
+  public void validateArguments(String[] args) throws IllegalArgumentException {
+    validateArgumentCount(args, EXPECTED_ARGS, COMMAND_NAME);
+  }
+
+  @Override
+  public String getCommandName() {
+    return COMMAND_NAME;
+  }
+
+  @Override
+  public String getUsage() {
+    return "refresh";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Re-reads the order book from the order service";
+  }
+}
@@ -0,0 +1,112 @@
+package com.profidata.orderbook.cli.commands;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.util.ValidationUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/** Command for displaying one or more orders by ID. */
+@Component
+public class ShowOrderCommand extends AbstractCommand {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ShowOrderCommand.class);
+
+  private static final String COMMAND_NAME = "show";
+  private static final int MIN_ARGS = 1;
+
+  private final OrderService orderService;
+
+  public ShowOrderCommand(OrderService orderService) {
+    this.orderService = orderService;
+  }
+
+  @Override
+  public String execute(String[] args) throws Exception {
+    LOGGER.debug("Executing show command with args: {}", (Object) args);
+
+    try {
+      validateArguments(args);
+
+      Set<String> orderIds = new LinkedHashSet<>();
+      for (String arg : args) {
+        String orderId = safeTrim(arg);
+        ValidationUtils.validateOrderId(orderId);
+        orderIds.add(orderId);
+      }
+
+      Map<String, Order> orders = orderService.findOrdersByIds(orderIds);
+
+      List<String> missing = new ArrayList<>();
+      for (String orderId : orderIds) {
+        if (!orders.containsKey(orderId)) {
+          missing.add(orderId);
+        }
+      }
+
+      LOGGER.info("Found {} of {} requested orders", orders.size(), orderIds.size());
+      return formatOrders(orders, missing);
+
+    } catch (Exception e) {
+      String errorMsg = formatError(COMMAND_NAME, e.getMessage());
+      LOGGER.error("Failed to show orders", e);
+      return errorMsg;
+    }
+  }
+
+  @Override
+  public void validateArguments(String[] args) throws IllegalArgumentException {
+    validateMinimumArgumentCount(args, MIN_ARGS, COMMAND_NAME);
+  }
+
+  @Override
+  public String getCommandName() {
+    return COMMAND_NAME;
+  }
+
+  @Override
+  public String getUsage() {
+    return "show <order_id> [<order_id>...]";
+  }
+
+  @Override
+  public String getDescription() {
+    return "Displays the given orders by ID. Example: show 5 7";
+  }
+
+  private String formatOrders(Map<String, Order> orders, List<String> missing) {
+    StringBuilder sb = new StringBuilder();
+
+    if (!orders.isEmpty()) {
+      sb.append(
+          String.format(
+              "%-10s %-6s %-4s %-4s %-10s %-15s%n",
+              "ID", "Type", "Inv", "Ctr", "Limit", "Valid Until"));
+      sb.append("-".repeat(55)).append("\n");
+
+      for (Order order : orders.values()) {
+        sb.append(
+            String.format(
+                "%-10s %-6s %-4s %-4s %-10s %-15s%n",
+                order.id(),
+                order.getOrderType(),
+                order.investmentCcy(),
+                order.counterCcy(),
+                order.limit() != null ? order.limit().toPlainString() : "N/A",
+                order.validUntil()));
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      sb.append(String.format("Orders not found: %s%n", String.join(", ", missing)));
+    }
+
+    return sb.toString();
+  }
+}
@@ -1,16 +1,21 @@
 package com.profidata.orderbook.cli.commands;
 
-import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import com.profidata.orderbook.domain.Price;
 import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.util.TableWriter;
+import java.io.IOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.*;
-import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-/** Command for generating order book summary using proper service layer. */
+/**
+ * Command for generating order book summary using proper service layer.
+ *
+ * <p>The summary comes ready-made from the service, which keeps it up to date as orders change, so
+ * the command only formats one row per group.
+ */
 @Component
 public class SummaryCommand extends AbstractCommand {
 
@@ -18,6 +23,8 @@ public class SummaryCommand extends AbstractCommand {
 
   private static final String COMMAND_NAME = "summary";
   private static final int EXPECTED_ARGS = 0;
+  private static final int AVERAGE_SCALE = 4;
+  private static final long AVERAGE_DIVISOR = 100L; // price units are 1e-6, averages shown to 1e-4
 
   private final OrderService orderService;
 
@@ -27,29 +34,36 @@ public class SummaryCommand extends AbstractCommand {
 
   @Override
   public String execute(String[] args) throws Exception {
+    return executeToString(args);
+  }
+
+  @Override
+  public void execute(String[] args, Appendable out) throws Exception {
     LOGGER.debug("Executing summary command");
 
+    OrderBookSummary summary;
     try {
       validateArguments(args);
 
-      LOGGER.info("Retrieving all orders for summary");
-
-      List<Order> orders = orderService.getAllOrders();
-
-      if (orders.isEmpty()) {
-        return "No orders found in the order book.";
-      }
+      LOGGER.info("Retrieving order book summary");
 
-      String result = generateOrderSummary(orders);
-
-      LOGGER.info("Successfully generated summary for {} orders", orders.size());
-      return result;
+      summary = orderService.getOrderSummary();
 
     } catch (Exception e) {
       String errorMsg = formatError(COMMAND_NAME, e.getMessage());
       LOGGER.error("Failed to generate order summary", e);
-      return errorMsg;
+      out.append(errorMsg);
+      return;
+    }
+
+    if (summary.orderCount() == 0) {
+      out.append("No orders found in the order book.");
+      return;
     }
+
+    writeOrderSummary(summary, out);
+
+    LOGGER.info("Successfully generated summary for {} orders", summary.orderCount());
   }
 
   @Override
@@ -72,102 +86,34 @@ public class SummaryCommand extends AbstractCommand {
     return "Displays order book summary grouped by investment currency, counter currency, and buy/sell";
   }
 
-  private String generateOrderSummary(List<Order> orders) {
-    StringBuilder sb = new StringBuilder();
-
-    Map<OrderGroupKey, List<Order>> groupedOrders =
-        orders.stream()
-            .collect(
-                Collectors.groupingBy(
-                    order ->
-                        new OrderGroupKey(
-                            order.investmentCcy(), order.counterCcy(), order.isBuy())));
-
-    List<OrderSummary> summaries =
-        groupedOrders.entrySet().stream()
-            .map(
-                entry -> {
-                  OrderGroupKey key = entry.getKey();
-                  List<Order> groupOrders = entry.getValue();
-
-                  int count = groupOrders.size();
-                  BigDecimal averageLimit = calculateAverageLimit(groupOrders);
-
-                  return new OrderSummary(
-                      key.orderType(), key.investmentCcy(), key.counterCcy(), count, averageLimit);
-                })
-            .collect(Collectors.toList());
-
-    summaries.sort(
-        (s1, s2) -> {
-          int invCcyComparison = s1.investmentCcy().compareTo(s2.investmentCcy());
-          if (invCcyComparison != 0) {
-            return invCcyComparison;
-          }
-
-          int counterCcyComparison = s1.counterCcy().compareTo(s2.counterCcy());
-          if (counterCcyComparison != 0) {
-            return counterCcyComparison;
-          }
-
-          return s1.orderType().compareTo(s2.orderType());
-        });
-
-    sb.append("Order Book Summary:\n");
-    sb.append("==================\n");
-    sb.append(
-        String.format("%-6s %-4s %-4s %-8s %-12s%n", "Type", "Inv", "Ctr", "Count", "Avg Limit"));
-    sb.append("-".repeat(45)).append("\n");
-
-    for (OrderSummary summary : summaries) {
-      sb.append(
-          String.format(
-              "%-6s %-4s %-4s %-8d %-12s%n",
-              summary.orderType(),
-              summary.investmentCcy(),
-              summary.counterCcy(),
-              summary.count(),
-              summary.averageLimit() != null ? summary.averageLimit().toPlainString() : "N/A"));
+  private void writeOrderSummary(OrderBookSummary summary, Appendable out) throws IOException {
+    TableWriter table = TableWriter.of(out, 6, 4, 4, 8, 12);
+
+    table.line("Order Book Summary:");
+    table.line("==================");
+    table.row("Type", "Inv", "Ctr", "Count", "Avg Limit");
+    table.rule(45);
+
+    for (OrderBookSummary.Group group : summary.groups()) {
+      table
+          .cell(group.orderType())
+          .cell(group.investmentCcy())
+          .cell(group.counterCcy())
+          .cell(group.count())
+          .cell(averageLimit(group), "N/A")
+          .endRow();
     }
 
-    sb.append("-".repeat(45)).append("\n");
-    sb.append(String.format("Total orders: %d%n", orders.size()));
-    sb.append(String.format("Unique currency pairs: %d%n", countUniqueCurrencyPairs(summaries)));
-
-    return sb.toString();
+    table.rule(45);
+    table.line("Total orders: " + summary.orderCount());
+    table.line("Unique currency pairs: " + summary.pairCount());
   }
 
-  private BigDecimal calculateAverageLimit(List<Order> orders) {
-    List<BigDecimal> limits =
-        orders.stream().map(Order::limit).filter(Objects::nonNull).collect(Collectors.toList());
-
-    if (limits.isEmpty()) {
+  private static BigDecimal averageLimit(OrderBookSummary.Group group) {
+    if (group.limitCount() == 0) {
       return null;
     }
-
-    BigDecimal sum = limits.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    return sum.divide(BigDecimal.valueOf(limits.size()), 4, RoundingMode.HALF_UP);
-  }
-
-  private int countUniqueCurrencyPairs(List<OrderSummary> summaries) {
-    return (int)
-        summaries.stream()
-            .map(summary -> summary.investmentCcy() + "/" + summary.counterCcy())
-            .distinct()
-            .count();
-  }
-
-  private record OrderGroupKey(String investmentCcy, String counterCcy, boolean isBuy) {
-    public String orderType() {
-      return isBuy ? "buy" : "sell";
-    }
+    long average = Price.divideRounded(group.limitSum(), group.limitCount() * AVERAGE_DIVISOR);
+    return BigDecimal.valueOf(average, AVERAGE_SCALE);
   }
-
-  private record OrderSummary(
-      String orderType,
-      String investmentCcy,
-      String counterCcy,
-      int count,
-      BigDecimal averageLimit) {}
 }
@@ -0,0 +1,186 @@
+package com.profidata.orderbook.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Closed / open / half-open circuit breaker guarding a single order service endpoint.
+ *
+ * <p>While closed every call is let through, and {@code failureThreshold} consecutive failures open
+ * the circuit. While open every call is rejected without touching the network. Once {@code
+ * openDuration} has passed, up to {@code halfOpenMaxCalls} trial calls are let through: if all of
+ * them succeed the circuit closes again, and a single failure re-opens it.
+ *
+ * <p>The state is published as the {@code order.service.circuit.state} gauge (0 closed, 1 open, 2
+ * half-open) and rejected calls are counted under {@code order.service.circuit.rejected}, both
+ * tagged with the endpoint name.
+ */
+public final class CircuitBreaker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  static final String STATE_METRIC = "order.service.circuit.state";
+  static final String REJECTED_METRIC = "order.service.circuit.rejected";
+
+  /** Circuit breaker state, with the value reported by the state gauge. */
+  public enum State {
+    CLOSED(0),
+    OPEN(1),
+    HALF_OPEN(2);
+
+    private final int code;
+
+    State(int code) {
+      this.code = code;
+    }
+
+    public int code() {
+      return code;
+    }
+  }
+
+  /** Thresholds shared by all endpoint breakers of a client. */
+  public record Settings(int failureThreshold, Duration openDuration, int halfOpenMaxCalls) {
+
+    public Settings {
+      if (failureThreshold < 1) {
+        throw new IllegalArgumentException("Failure threshold must be at least 1");
+      }
+      if (openDuration == null || openDuration.isNegative()) {
+        throw new IllegalArgumentException("Open duration must not be negative");
+      }
+      if (halfOpenMaxCalls < 1) {
+        throw new IllegalArgumentException("Half-open max calls must be at least 1");
+      }
+    }
+  }
+
+  private final String name;
+  private final Settings settings;
+  private final LongSupplier nanoClock;
+  private final Counter rejectedCounter;
+
+  private State state = State.CLOSED;
+  private int consecutiveFailures;
+  private long openedAtNanos;
+  private int halfOpenPermits;
+  private int halfOpenSuccesses;
+
+  public CircuitBreaker(String name, Settings settings, MeterRegistry meterRegistry) {
+    this(name, settings, meterRegistry, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, Settings settings, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.name = name;
+    this.settings = settings;
+    this.nanoClock = clock;
+
+    Gauge.builder(STATE_METRIC, this, breaker -> breaker.getState().code())
+        .tag("endpoint", name)
+        .strongReference(true)
+        .register(meterRegistry);
+    this.rejectedCounter =
+        Counter.builder(REJECTED_METRIC).tag("endpoint", name).register(meterRegistry);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Current state; an open circuit whose open duration has elapsed reports half-open. */
+  public synchronized State getState() {
+    if (state == State.OPEN && openDurationElapsed()) {
+      return State.HALF_OPEN;
+    }
+    return state;
+  }
+
+  /**
+   * Asks to let a call through. Every granted permission must be followed by exactly one call to
+   * {@link #onSuccess()} or {@link #onFailure()}.
+   *
+   * @return {@code false} if the call must be rejected without being attempted
+   */
+  public synchronized boolean tryAcquirePermission() {
+    if (state == State.OPEN && openDurationElapsed()) {
+      transitionTo(State.HALF_OPEN);
+    }
+
+    boolean permitted =
+        switch (state) {
+          case CLOSED -> true;
+          case OPEN -> false;
+          case HALF_OPEN -> {
+            if (halfOpenPermits < settings.halfOpenMaxCalls()) {
+              halfOpenPermits++;
+              yield true;
+            }
+            yield false;
+          }
+        };
+
+    if (!permitted) {
+      rejectedCounter.increment();
+    }
+    return permitted;
+  }
+
+  /** Records a call that reached the service and got an answer. */
+  public synchronized void onSuccess() {
+    switch (state) {
+      case CLOSED -> consecutiveFailures = 0;
+      case HALF_OPEN -> {
+        halfOpenSuccesses++;
+        if (halfOpenSuccesses >= settings.halfOpenMaxCalls()) {
+          transitionTo(State.CLOSED);
+        }
+      }
+      case OPEN -> {
+        // Call was let through before the circuit opened; its outcome no longer matters.
+      }
+    }
+  }
+
+  /** Records a call that failed because the service was unreachable or erroring. */
+  public synchronized void onFailure() {
+    switch (state) {
+      case CLOSED -> {
+        consecutiveFailures++;
+        if (consecutiveFailures >= settings.failureThreshold()) {
+          transitionTo(State.OPEN);
+        }
+      }
+      case HALF_OPEN -> transitionTo(State.OPEN);
+      case OPEN -> {
+        // Already open.
+      }
+    }
+  }
+
+  private boolean openDurationElapsed() {
+    return nanoClock.getAsLong() - openedAtNanos >= settings.openDuration().toNanos();
+  }
+
+  private void transitionTo(State newState) {
+    State previous = state;
+    state = newState;
+    consecutiveFailures = 0;
+    halfOpenPermits = 0;
+    halfOpenSuccesses = 0;
+
+    if (newState == State.OPEN) {
+      openedAtNanos = nanoClock.getAsLong();
+      LOGGER.warn(
+          "Circuit for {} opened, failing fast for {}ms", name, settings.openDuration().toMillis());
+    } else if (newState == State.CLOSED) {
+      LOGGER.info("Circuit for {} closed", name);
+    } else {
+      LOGGER.debug("Circuit for {} moved from {} to half-open", name, previous);
+    }
+  }
+}
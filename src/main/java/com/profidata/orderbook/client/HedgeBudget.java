@@ -0,0 +1,35 @@
+package com.profidata.orderbook.client;
+
+/**
+ * Token bucket limiting hedged requests to a percentage of primary requests.
+ *
+ * <p>Every primary request earns a fraction of a token and every hedge spends a whole one, so
+ * hedges can never exceed the configured share of traffic beyond a small burst. When the service is
+ * down the circuit breaker stops primary requests, which also stops the bucket from refilling.
+ */
+final class HedgeBudget {
+
+  private final double tokensPerRequest;
+  private final double maxTokens;
+  private double tokens;
+
+  HedgeBudget(double budgetPercent, double maxTokens) {
+    if (budgetPercent <= 0 || budgetPercent > 100) {
+      throw new IllegalArgumentException("Hedge budget must be in (0, 100]: " + budgetPercent);
+    }
+    this.tokensPerRequest = budgetPercent / 100.0;
+    this.maxTokens = maxTokens;
+  }
+
+  synchronized void onRequest() {
+    tokens = Math.min(maxTokens, tokens + tokensPerRequest);
+  }
+
+  synchronized boolean tryAcquire() {
+    if (tokens >= 1.0) {
+      tokens -= 1.0;
+      return true;
+    }
+    return false;
+  }
+}
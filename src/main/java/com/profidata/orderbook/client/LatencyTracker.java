@@ -0,0 +1,48 @@
+package com.profidata.orderbook.client;
+
+import java.util.Arrays;
+
+/** Sliding window of the most recent response times of one endpoint. */
+final class LatencyTracker {
+
+  private final long[] samples;
+  private final int minSamples;
+  private int next;
+  private int count;
+
+  LatencyTracker(int windowSize, int minSamples) {
+    if (windowSize < 1 || minSamples < 1 || minSamples > windowSize) {
+      throw new IllegalArgumentException(
+          "Invalid latency window: " + windowSize + "/" + minSamples);
+    }
+    this.samples = new long[windowSize];
+    this.minSamples = minSamples;
+  }
+
+  synchronized void record(long nanos) {
+    samples[next] = nanos;
+    next = (next + 1) % samples.length;
+    if (count < samples.length) {
+      count++;
+    }
+  }
+
+  /**
+   * Returns the given percentile of the recorded window.
+   *
+   * @param percentile percentile between 0 (exclusive) and 100 (inclusive)
+   * @return latency in nanoseconds, or -1 while fewer than the minimum samples were recorded
+   */
+  long percentile(double percentile) {
+    long[] window;
+    synchronized (this) {
+      if (count < minSamples) {
+        return -1;
+      }
+      window = Arrays.copyOf(samples, count);
+    }
+    Arrays.sort(window);
+    int rank = (int) Math.ceil(percentile / 100.0 * window.length);
+    return window[Math.max(0, Math.min(window.length, rank) - 1)];
+  }
+}
@@ -1,19 +1,43 @@
 package com.profidata.orderbook.client;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.profidata.orderbook.dto.response.CurrencyPairResponse;
 import com.profidata.orderbook.dto.response.FXRateResponse;
 import com.profidata.orderbook.dto.response.OrderResponse;
 import com.profidata.orderbook.exception.OrderBookException;
 import com.profidata.orderbook.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
+import java.io.InputStream;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
 import org.apache.hc.core5.http.HttpEntity;
 import org.apache.hc.core5.http.io.entity.EntityUtils;
@@ -22,51 +46,140 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-/** HTTP client for communicating with the Order Service API. */
+/**
+ * HTTP client for communicating with the Order Service API.
+ *
+ * <p>The {@code *Sync} methods run on the classic blocking client. The {@code *Async} methods run
+ * on the non-blocking async client, so an in-flight request holds no thread while it waits for the
+ * server, and retries are scheduled instead of sleeping.
+ *
+ * <p>Every endpoint sits behind its own {@link CircuitBreaker}. Once an endpoint keeps failing,
+ * calls to it are rejected with a {@link ServiceUnavailableException} straight away instead of
+ * going through all retry attempts, until a trial call shows the service has recovered.
+ *
+ * <p>When hedging is enabled, the idempotent GET endpoints go through a {@link RequestHedger}, and
+ * their {@code *Sync} variants wait on the async call so they are hedged too. The streaming
+ * downloads the order mirror uses are hedged up to the first byte: a second copy is sent if the
+ * response headers are slow, the body is read from whichever copy answered first and the other is
+ * aborted. Order creation and cancellation are never hedged.
+ */
 @Component
 public class OrderServiceClient {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(OrderServiceClient.class);
 
+  private static final TypeReference<List<OrderResponse>> ORDER_LIST_TYPE =
+      new TypeReference<>() {};
+  private static final TypeReference<List<FXRateResponse>> RATE_LIST_TYPE =
+      new TypeReference<>() {};
+  private static final TypeReference<List<CurrencyPairResponse>> PAIR_LIST_TYPE =
+      new TypeReference<>() {};
+
+  private static final List<String> ENDPOINTS =
+      List.of(
+          "/createOrder",
+          "/cancelOrder",
+          "/retrieveOrders",
+          "/rateSnapshot",
+          "/supportedCurrencyPairs");
+
+  /**
+   * Decodes async responses and completes their futures, so neither Jackson nor the stages callers
+   * chain on the futures run on the HTTP client's I/O dispatcher; also runs the blocking exchanges
+   * of hedged streaming downloads. Virtual threads cost next to nothing per task and need no
+   * shutdown.
+   */
+  private static final Executor RESPONSE_EXECUTOR =
+      runnable -> Thread.ofVirtual().name("order-service-response").start(runnable);
+
+  private static final long HEALTH_CHECK_FRESHNESS_SECONDS = 30;
+  private static final Duration HEALTH_CHECK_FRESHNESS =
+      Duration.ofSeconds(HEALTH_CHECK_FRESHNESS_SECONDS);
+
   private final CloseableHttpClient httpClient;
+  private final CloseableHttpAsyncClient httpAsyncClient;
   private final ObjectMapper objectMapper;
   private final String baseUrl;
   private final int retryAttempts;
   private final Duration retryDelay;
+  private final Map<String, CircuitBreaker> circuitBreakers;
+  private final RequestHedger requestHedger;
+
+  private volatile long lastAnswerNanos;
 
   public OrderServiceClient(
       CloseableHttpClient httpClient,
+      CloseableHttpAsyncClient httpAsyncClient,
       ObjectMapper objectMapper,
       String baseUrl,
       int retryAttempts,
-      Duration retryDelay) {
+      Duration retryDelay,
+      CircuitBreaker.Settings circuitBreakerSettings,
+      RequestHedger.Settings hedgingSettings,
+      MeterRegistry meterRegistry) {
     this.httpClient = httpClient;
+    this.httpAsyncClient = httpAsyncClient;
     this.objectMapper = objectMapper;
     this.baseUrl = ensureValidBaseUrl(baseUrl);
     this.retryAttempts = retryAttempts;
     this.retryDelay = retryDelay;
+    this.circuitBreakers =
+        ENDPOINTS.stream()
+            .collect(
+                Collectors.toUnmodifiableMap(
+                    Function.identity(),
+                    path ->
+                        new CircuitBreaker(
+                            path.substring(1), circuitBreakerSettings, meterRegistry)));
+    this.requestHedger = new RequestHedger(hedgingSettings, meterRegistry);
+    this.lastAnswerNanos = System.nanoTime() - HEALTH_CHECK_FRESHNESS.toNanos();
+  }
+
+  /**
+   * Returns the circuit breaker state of an endpoint.
+   *
+   * @param path endpoint path, e.g. {@code /rateSnapshot}
+   * @return current state of the endpoint's circuit
+   */
+  public CircuitBreaker.State getCircuitState(String path) {
+    CircuitBreaker circuitBreaker = circuitBreakers.get(path);
+    if (circuitBreaker == null) {
+      throw new IllegalArgumentException("Unknown endpoint: " + path);
+    }
+    return circuitBreaker.getState();
   }
 
   public CompletableFuture<OrderResponse> createOrderAsync(OrderResponse order) {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          long startTime = System.currentTimeMillis();
-          try {
-            LOGGER.debug("Creating new order: {}", order);
-            OrderResponse result = createOrderSync(order);
-            long duration = System.currentTimeMillis() - startTime;
-            LOGGER.info("Successfully created order with ID: {} in {}ms", result.id(), duration);
-            return result;
-          } catch (Exception e) {
-            long duration = System.currentTimeMillis() - startTime;
-            LOGGER.error("Failed to create order after {}ms", duration, e);
-            throw new RuntimeException(e);
-          }
-        });
+    long startTime = System.currentTimeMillis();
+    LOGGER.debug("Creating new order: {}", order);
+
+    return executeWithRetryAsync(
+            "/createOrder",
+            () ->
+                sendAsync(
+                    jsonPost("/createOrder", order, "Failed to create order"),
+                    response -> {
+                      int statusCode = response.getCode();
+                      if (statusCode == 200) {
+                        return objectMapper.readValue(response.getBodyBytes(), OrderResponse.class);
+                      }
+                      throw statusError("Failed to create order", statusCode);
+                    }))
+        .whenComplete(
+            (result, throwable) -> {
+              long duration = System.currentTimeMillis() - startTime;
+              if (throwable == null) {
+                LOGGER.info(
+                    "Successfully created order with ID: {} in {}ms", result.id(), duration);
+              } else {
+                LOGGER.error("Failed to create order after {}ms", duration, throwable);
+              }
+            });
   }
 
   public OrderResponse createOrderSync(OrderResponse order) {
     return executeWithRetry(
+        "/createOrder",
         () -> {
           HttpPost post = new HttpPost(baseUrl + "/createOrder");
 
@@ -88,7 +201,7 @@ public class OrderServiceClient {
                   if (statusCode == 200) {
                     return objectMapper.readValue(responseBody, OrderResponse.class);
                   } else {
-                    throw new OrderBookException("Failed to create order. Status: " + statusCode);
+                    throw statusError("Failed to create order", statusCode);
                   }
                 });
 
@@ -99,11 +212,24 @@ public class OrderServiceClient {
   }
 
   public CompletableFuture<Boolean> cancelOrderAsync(String orderId) {
-    return CompletableFuture.supplyAsync(() -> cancelOrderSync(orderId));
+    return executeWithRetryAsync(
+        "/cancelOrder",
+        () ->
+            sendAsync(
+                jsonPost("/cancelOrder", orderId, "Failed to cancel order"),
+                response -> {
+                  int statusCode = response.getCode();
+                  if (statusCode == 200) {
+                    String responseBody = response.getBodyText();
+                    return responseBody != null && "true".equals(responseBody.trim());
+                  }
+                  throw statusError("Failed to cancel order", statusCode);
+                }));
   }
 
   public Boolean cancelOrderSync(String orderId) {
     return executeWithRetry(
+        "/cancelOrder",
         () -> {
           HttpPost post = new HttpPost(baseUrl + "/cancelOrder");
 
@@ -121,7 +247,7 @@ public class OrderServiceClient {
                   if (statusCode == 200) {
                     return "true".equals(responseBody.trim());
                   } else {
-                    throw new OrderBookException("Failed to cancel order. Status: " + statusCode);
+                    throw statusError("Failed to cancel order", statusCode);
                   }
                 });
 
@@ -132,11 +258,24 @@ public class OrderServiceClient {
   }
 
   public CompletableFuture<List<OrderResponse>> retrieveOrdersAsync() {
-    return CompletableFuture.supplyAsync(this::retrieveOrdersSync);
+    return getAsync(
+        "/retrieveOrders",
+        response -> {
+          int statusCode = response.getCode();
+          if (statusCode == 200) {
+            return objectMapper.readValue(response.getBodyBytes(), ORDER_LIST_TYPE);
+          }
+          throw statusError("Failed to retrieve orders", statusCode);
+        });
   }
 
   public List<OrderResponse> retrieveOrdersSync() {
+    if (requestHedger.isEnabled()) {
+      return await(retrieveOrdersAsync());
+    }
+
     return executeWithRetry(
+        "/retrieveOrders",
         () -> {
           HttpGet get = new HttpGet(baseUrl + "/retrieveOrders");
 
@@ -145,15 +284,16 @@ public class OrderServiceClient {
                 get,
                 response -> {
                   int statusCode = response.getCode();
-                  HttpEntity entity = response.getEntity();
-                  String responseBody = entity != null ? EntityUtils.toString(entity) : "";
+                  if (statusCode != 200) {
+                    throw statusError("Failed to retrieve orders", statusCode);
+                  }
 
-                  if (statusCode == 200) {
-                    return objectMapper.readValue(
-                        responseBody, new TypeReference<List<OrderResponse>>() {});
-                  } else {
-                    throw new OrderBookException(
-                        "Failed to retrieve orders. Status: " + statusCode);
+                  HttpEntity entity = response.getEntity();
+                  if (entity == null) {
+                    return List.of();
+                  }
+                  try (InputStream content = entity.getContent()) {
+                    return objectMapper.readValue(content, ORDER_LIST_TYPE);
                   }
                 });
 
@@ -164,11 +304,24 @@ public class OrderServiceClient {
   }
 
   public CompletableFuture<List<FXRateResponse>> getRateSnapshotAsync() {
-    return CompletableFuture.supplyAsync(this::getRateSnapshotSync);
+    return getAsync(
+        "/rateSnapshot",
+        response -> {
+          int statusCode = response.getCode();
+          if (statusCode == 200) {
+            return objectMapper.readValue(response.getBodyBytes(), RATE_LIST_TYPE);
+          }
+          throw statusError("Failed to retrieve rates", statusCode);
+        });
   }
 
   public List<FXRateResponse> getRateSnapshotSync() {
+    if (requestHedger.isEnabled()) {
+      return await(getRateSnapshotAsync());
+    }
+
     return executeWithRetry(
+        "/rateSnapshot",
         () -> {
           HttpGet get = new HttpGet(baseUrl + "/rateSnapshot");
 
@@ -177,14 +330,16 @@ public class OrderServiceClient {
                 get,
                 response -> {
                   int statusCode = response.getCode();
-                  HttpEntity entity = response.getEntity();
-                  String responseBody = entity != null ? EntityUtils.toString(entity) : "";
+                  if (statusCode != 200) {
+                    throw statusError("Failed to retrieve rates", statusCode);
+                  }
 
-                  if (statusCode == 200) {
-                    return objectMapper.readValue(
-                        responseBody, new TypeReference<List<FXRateResponse>>() {});
-                  } else {
-                    throw new OrderBookException("Failed to retrieve rates. Status: " + statusCode);
+                  HttpEntity entity = response.getEntity();
+                  if (entity == null) {
+                    return List.of();
+                  }
+                  try (InputStream content = entity.getContent()) {
+                    return objectMapper.readValue(content, RATE_LIST_TYPE);
                   }
                 });
 
@@ -194,12 +349,172 @@ public class OrderServiceClient {
         });
   }
 
+  /**
+   * Streams {@code /retrieveOrders} to the consumer one order at a time.
+   *
+   * <p>The response body is decoded straight from the socket with a Jackson {@link JsonParser}, so
+   * neither the raw body nor the full list is ever held in memory. A failed request is retried only
+   * while nothing has been handed to the consumer yet.
+   *
+   * @param consumer receives each decoded order in response order
+   * @return number of orders streamed
+   */
+  public long streamOrdersSync(Consumer<? super OrderResponse> consumer) {
+    return streamArraySync("/retrieveOrders", OrderResponse.class, consumer, "orders");
+  }
+
+  /**
+   * Streams {@code /rateSnapshot} to the consumer one rate at a time.
+   *
+   * @param consumer receives each decoded rate in response order
+   * @return number of rates streamed
+   * @see #streamOrdersSync(Consumer)
+   */
+  public long streamRateSnapshotSync(Consumer<? super FXRateResponse> consumer) {
+    return streamArraySync("/rateSnapshot", FXRateResponse.class, consumer, "rates");
+  }
+
+  private <T> long streamArraySync(
+      String path, Class<T> elementType, Consumer<? super T> consumer, String description) {
+    ObjectReader reader = objectMapper.readerFor(elementType);
+    AtomicLong emitted = new AtomicLong();
+
+    return executeWithRetry(
+        path,
+        () -> {
+          try (ClassicHttpResponse response = open(path)) {
+            int statusCode = response.getCode();
+            HttpEntity entity = response.getEntity();
+            if (statusCode != 200) {
+              EntityUtils.consumeQuietly(entity);
+              throw statusError("Failed to retrieve " + description, statusCode);
+            }
+
+            if (entity == null) {
+              return 0L;
+            }
+            try (InputStream content = entity.getContent();
+                JsonParser parser = objectMapper.getFactory().createParser(content)) {
+              return readArray(parser, reader, consumer, emitted);
+            }
+
+          } catch (IOException e) {
+            throw new ServiceUnavailableException("Failed to retrieve " + description, e);
+          }
+        },
+        e -> emitted.get() == 0);
+  }
+
+  /**
+   * Sends a GET on the classic client and returns the response as soon as its headers arrive, with
+   * the body unread. With hedging on, each copy is opened on its own thread; the first to answer is
+   * returned and every other copy is aborted, or closed unread if it answered too late.
+   */
+  private ClassicHttpResponse open(String path) throws IOException {
+    if (!requestHedger.isEnabled()) {
+      return httpClient.executeOpen(null, new HttpGet(baseUrl + path), null);
+    }
+
+    List<CompletableFuture<ClassicHttpResponse>> attempts = new CopyOnWriteArrayList<>();
+    ClassicHttpResponse winner =
+        await(
+            requestHedger.execute(
+                path,
+                () -> {
+                  CompletableFuture<ClassicHttpResponse> attempt = openAsync(path);
+                  attempts.add(attempt);
+                  return attempt;
+                }));
+    for (CompletableFuture<ClassicHttpResponse> attempt : attempts) {
+      attempt.thenAccept(
+          response -> {
+            if (response != winner) {
+              closeQuietly(response);
+            }
+          });
+    }
+    return winner;
+  }
+
+  /** One copy of a hedged {@link #open}; cancelling the future aborts the exchange. */
+  private CompletableFuture<ClassicHttpResponse> openAsync(String path) {
+    HttpGet get = new HttpGet(baseUrl + path);
+    CompletableFuture<ClassicHttpResponse> opened = new CompletableFuture<>();
+    opened.whenComplete(
+        (response, failure) -> {
+          if (opened.isCancelled()) {
+            get.cancel();
+          }
+        });
+
+    RESPONSE_EXECUTOR.execute(
+        () -> {
+          try {
+            ClassicHttpResponse response = httpClient.executeOpen(null, get, null);
+            if (!opened.complete(response)) {
+              closeQuietly(response);
+            }
+          } catch (IOException e) {
+            opened.completeExceptionally(
+                new ServiceUnavailableException("Request to " + path + " failed", e));
+          } catch (RuntimeException e) {
+            opened.completeExceptionally(e);
+          }
+        });
+    return opened;
+  }
+
+  private static void closeQuietly(ClassicHttpResponse response) {
+    try {
+      response.close();
+    } catch (IOException e) {
+      LOGGER.debug("Failed to close unused response", e);
+    }
+  }
+
+  private <T> long readArray(
+      JsonParser parser, ObjectReader reader, Consumer<? super T> consumer, AtomicLong emitted)
+      throws IOException {
+    if (parser.nextToken() != JsonToken.START_ARRAY) {
+      throw new OrderBookException("Expected a JSON array but got: " + parser.currentToken());
+    }
+
+    long count = 0;
+    JsonToken token;
+    while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+      if (token == null) {
+        throw new OrderBookException("Unexpected end of JSON array after " + count + " elements");
+      }
+      if (token == JsonToken.VALUE_NULL) {
+        continue;
+      }
+      T element = reader.readValue(parser);
+      emitted.incrementAndGet();
+      consumer.accept(element);
+      count++;
+    }
+    return count;
+  }
+
   public CompletableFuture<List<CurrencyPairResponse>> getSupportedCurrencyPairsAsync() {
-    return CompletableFuture.supplyAsync(this::getSupportedCurrencyPairsSync);
+    return getAsync(
+        "/supportedCurrencyPairs",
+        response -> {
+          int statusCode = response.getCode();
+          if (statusCode == 200) {
+            return objectMapper.readValue(response.getBodyBytes(), PAIR_LIST_TYPE);
+          }
+          throw statusError("Failed to retrieve supported pairs", statusCode);
+        });
   }
 
   public List<CurrencyPairResponse> getSupportedCurrencyPairsSync() {
+    if (requestHedger.isEnabled()) {
+      return await(getSupportedCurrencyPairsAsync());
+    }
+
     return executeWithRetry(
+        "/supportedCurrencyPairs",
         () -> {
           HttpGet get = new HttpGet(baseUrl + "/supportedCurrencyPairs");
 
@@ -212,11 +527,9 @@ public class OrderServiceClient {
                   String responseBody = entity != null ? EntityUtils.toString(entity) : "";
 
                   if (statusCode == 200) {
-                    return objectMapper.readValue(
-                        responseBody, new TypeReference<List<CurrencyPairResponse>>() {});
+                    return objectMapper.readValue(responseBody, PAIR_LIST_TYPE);
                   } else {
-                    throw new OrderBookException(
-                        "Failed to retrieve supported pairs. Status: " + statusCode);
+                    throw statusError("Failed to retrieve supported pairs", statusCode);
                   }
                 });
 
@@ -226,27 +539,85 @@ public class OrderServiceClient {
         });
   }
 
+  /**
+   * Checks whether the order service is reachable.
+   *
+   * <p>Any answer from the service within the last {@value #HEALTH_CHECK_FRESHNESS_SECONDS} seconds
+   * counts as healthy, and an open circuit counts as unhealthy, so neither sends a request. Only
+   * otherwise is the service probed.
+   */
   public CompletableFuture<Boolean> healthCheckAsync() {
-    return CompletableFuture.supplyAsync(
-        () -> {
-          try {
-            getSupportedCurrencyPairsSync();
-            return true;
-          } catch (Exception e) {
-            LOGGER.warn("Health check failed", e);
-            return false;
-          }
-        });
+    if (System.nanoTime() - lastAnswerNanos < HEALTH_CHECK_FRESHNESS.toNanos()) {
+      return CompletableFuture.completedFuture(true);
+    }
+    if (getCircuitState("/supportedCurrencyPairs") == CircuitBreaker.State.OPEN) {
+      return CompletableFuture.completedFuture(false);
+    }
+
+    return getSupportedCurrencyPairsAsync()
+        .handle(
+            (pairs, throwable) -> {
+              if (throwable != null) {
+                LOGGER.warn("Health check failed", throwable);
+                return false;
+              }
+              return true;
+            });
   }
 
-  private <T> T executeWithRetry(SupplierWithException<T> operation) {
+  /** Sends an idempotent GET on the async client, hedged when hedging is enabled. */
+  private <T> CompletableFuture<T> getAsync(String path, ResponseDecoder<T> decoder) {
+    return executeWithRetryAsync(
+        path,
+        () ->
+            requestHedger.execute(
+                path, () -> sendAsync(SimpleRequestBuilder.get(baseUrl + path).build(), decoder)));
+  }
+
+  /** Waits for an async call on behalf of a sync caller, rethrowing its original failure. */
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException | CancellationException e) {
+      Throwable cause = unwrap(e);
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new ServiceUnavailableException("Request failed", cause);
+    }
+  }
+
+  private <T> T executeWithRetry(String path, SupplierWithException<T> operation) {
+    return executeWithRetry(path, operation, e -> true);
+  }
+
+  private <T> T executeWithRetry(
+      String path, SupplierWithException<T> operation, Predicate<Exception> retryable) {
+    CircuitBreaker circuitBreaker = circuitBreakers.get(path);
     Exception lastException = null;
 
     for (int attempt = 1; attempt <= retryAttempts; attempt++) {
+      if (!circuitBreaker.tryAcquirePermission()) {
+        throw circuitOpen(path, lastException);
+      }
+
       try {
-        return operation.get();
+        T result = operation.get();
+        recordSuccess(circuitBreaker);
+        return result;
       } catch (Exception e) {
         lastException = e;
+        recordFailure(circuitBreaker, e);
+
+        if (!retryable.test(e)) {
+          LOGGER.error("Attempt {} failed and cannot be retried", attempt);
+          break;
+        }
+
+        if (circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+          LOGGER.error("Attempt {} failed and the circuit for {} is open", attempt, path);
+          break;
+        }
 
         if (attempt < retryAttempts) {
           LOGGER.warn("Attempt {} failed, retrying in {}ms", attempt, retryDelay.toMillis());
@@ -271,6 +642,169 @@ public class OrderServiceClient {
     }
   }
 
+  /**
+   * Async counterpart of {@link #executeWithRetry}. A failed attempt schedules the next one on the
+   * delayed executor, so no thread is parked while waiting for the back-off to elapse.
+   */
+  private <T> CompletableFuture<T> executeWithRetryAsync(
+      String path, Supplier<CompletableFuture<T>> operation) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    attemptAsync(path, operation, 1, null, result);
+    return result;
+  }
+
+  private <T> void attemptAsync(
+      String path,
+      Supplier<CompletableFuture<T>> operation,
+      int attempt,
+      Throwable lastFailure,
+      CompletableFuture<T> result) {
+    CircuitBreaker circuitBreaker = circuitBreakers.get(path);
+    if (!circuitBreaker.tryAcquirePermission()) {
+      result.completeExceptionally(circuitOpen(path, lastFailure));
+      return;
+    }
+
+    CompletableFuture<T> call;
+    try {
+      call = operation.get();
+    } catch (RuntimeException e) {
+      call = CompletableFuture.failedFuture(e);
+    }
+
+    call.whenComplete(
+        (value, throwable) -> {
+          if (throwable == null) {
+            recordSuccess(circuitBreaker);
+            result.complete(value);
+            return;
+          }
+
+          Throwable cause = unwrap(throwable);
+          recordFailure(circuitBreaker, cause);
+
+          if (attempt < retryAttempts && circuitBreaker.getState() != CircuitBreaker.State.OPEN) {
+            LOGGER.warn("Attempt {} failed, retrying in {}ms", attempt, retryDelay.toMillis());
+            CompletableFuture.delayedExecutor(
+                    retryDelay.toMillis() * attempt, TimeUnit.MILLISECONDS)
+                .execute(() -> attemptAsync(path, operation, attempt + 1, cause, result));
+          } else {
+            LOGGER.error("All {} attempts failed", attempt);
+            result.completeExceptionally(
+                cause instanceof RuntimeException
+                    ? cause
+                    : new ServiceUnavailableException(
+                        "Operation failed after " + attempt + " attempts", cause));
+          }
+        });
+  }
+
+  /**
+   * Only failures that say something about the service's health count against the circuit: the
+   * service being unreachable or answering with a server error. A rejected request still proves the
+   * service is up.
+   */
+  private void recordFailure(CircuitBreaker circuitBreaker, Throwable failure) {
+    if (failure instanceof ServiceUnavailableException) {
+      circuitBreaker.onFailure();
+    } else {
+      recordSuccess(circuitBreaker);
+    }
+  }
+
+  private void recordSuccess(CircuitBreaker circuitBreaker) {
+    circuitBreaker.onSuccess();
+    lastAnswerNanos = System.nanoTime();
+  }
+
+  private static ServiceUnavailableException circuitOpen(String path, Throwable lastFailure) {
+    String message = "Order service circuit for " + path + " is open, failing fast";
+    return lastFailure != null
+        ? new ServiceUnavailableException(message, lastFailure)
+        : new ServiceUnavailableException(message);
+  }
+
+  /** Server errors mean the service is unhealthy; anything else is a problem with the request. */
+  private static OrderBookException statusError(String message, int statusCode) {
+    String fullMessage = message + ". Status: " + statusCode;
+    return statusCode >= 500
+        ? new ServiceUnavailableException(fullMessage)
+        : new OrderBookException(fullMessage);
+  }
+
+  /**
+   * Sends a request on the async client and decodes the buffered response on a {@link
+   * #RESPONSE_EXECUTOR} thread, which also completes the returned future.
+   */
+  private <T> CompletableFuture<T> sendAsync(
+      SimpleHttpRequest request, ResponseDecoder<T> decoder) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    String path = request.getPath();
+
+    LOGGER.debug("Sending async {} request to {}", request.getMethod(), path);
+
+    Future<SimpleHttpResponse> exchange =
+        httpAsyncClient.execute(
+            request,
+            new FutureCallback<SimpleHttpResponse>() {
+              @Override
+              public void completed(SimpleHttpResponse response) {
+                LOGGER.debug("Received response: status={}", response.getCode());
+                RESPONSE_EXECUTOR.execute(() -> decode(response));
+              }
+
+              @Override
+              public void failed(Exception e) {
+                RESPONSE_EXECUTOR.execute(
+                    () ->
+                        future.completeExceptionally(
+                            new ServiceUnavailableException("Request to " + path + " failed", e)));
+              }
+
+              @Override
+              public void cancelled() {
+                RESPONSE_EXECUTOR.execute(() -> future.cancel(false));
+              }
+
+              private void decode(SimpleHttpResponse response) {
+                try {
+                  future.complete(decoder.decode(response));
+                } catch (IOException e) {
+                  future.completeExceptionally(
+                      new ServiceUnavailableException("Failed to read response from " + path, e));
+                } catch (RuntimeException e) {
+                  future.completeExceptionally(e);
+                }
+              }
+            });
+
+    future.whenComplete(
+        (response, throwable) -> {
+          if (future.isCancelled()) {
+            exchange.cancel(true);
+          }
+        });
+    return future;
+  }
+
+  private SimpleHttpRequest jsonPost(String path, Object body, String errorMessage) {
+    try {
+      return SimpleRequestBuilder.post(baseUrl + path)
+          .setBody(objectMapper.writeValueAsString(body), ContentType.APPLICATION_JSON)
+          .build();
+    } catch (IOException e) {
+      throw new ServiceUnavailableException(errorMessage, e);
+    }
+  }
+
+  private static Throwable unwrap(Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause instanceof CompletionException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    return cause;
+  }
+
   private String ensureValidBaseUrl(String url) {
     if (url == null || url.trim().isEmpty()) {
       throw new IllegalArgumentException("Base URL cannot be null or empty");
@@ -288,4 +822,9 @@ public class OrderServiceClient {
   private interface SupplierWithException<T> {
     T get() throws Exception;
   }
+
+  @FunctionalInterface
+  private interface ResponseDecoder<T> {
+    T decode(SimpleHttpResponse response) throws IOException;
+  }
 }
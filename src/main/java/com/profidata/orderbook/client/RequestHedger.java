@@ -0,0 +1,205 @@
+package com.profidata.orderbook.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends a second copy of a slow idempotent request and takes whichever answer arrives first.
+ *
+ * <p>The hedge delay is the configured percentile of the endpoint's recent response times, but
+ * never less than the configured minimum. No hedge is sent until enough responses have been seen to
+ * know what slow means. Hedges are limited by a {@link HedgeBudget}, so they stay a small share of
+ * traffic even when every request is slow. The losing request is cancelled.
+ *
+ * <p>Only idempotent reads may be passed in here; order creation and cancellation never are.
+ *
+ * <p>Sent hedges, hedges that won and hedges refused by the budget are counted under {@code
+ * order.service.hedge.sent}, {@code order.service.hedge.won} and {@code
+ * order.service.hedge.denied}, tagged with the endpoint name.
+ */
+public final class RequestHedger {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RequestHedger.class);
+
+  static final String SENT_METRIC = "order.service.hedge.sent";
+  static final String WON_METRIC = "order.service.hedge.won";
+  static final String DENIED_METRIC = "order.service.hedge.denied";
+
+  private static final int LATENCY_WINDOW = 128;
+  private static final int MIN_SAMPLES = 20;
+  private static final double MAX_BURST = 10.0;
+
+  /** Hedging thresholds; hedging is off unless {@code enabled} is set. */
+  public record Settings(
+      boolean enabled, double percentile, Duration minDelay, double budgetPercent) {
+
+    public static final Settings DISABLED = new Settings(false, 95, Duration.ofMillis(50), 5);
+
+    public Settings {
+      if (percentile <= 0 || percentile > 100) {
+        throw new IllegalArgumentException("Hedge percentile must be in (0, 100]: " + percentile);
+      }
+      if (minDelay == null || minDelay.isNegative()) {
+        throw new IllegalArgumentException("Hedge minimum delay must not be negative");
+      }
+      if (budgetPercent <= 0 || budgetPercent > 100) {
+        throw new IllegalArgumentException("Hedge budget must be in (0, 100]: " + budgetPercent);
+      }
+    }
+  }
+
+  private final Settings settings;
+  private final MeterRegistry meterRegistry;
+  private final HedgeBudget budget;
+  private final ConcurrentMap<String, LatencyTracker> latencies = new ConcurrentHashMap<>();
+
+  public RequestHedger(Settings settings, MeterRegistry meterRegistry) {
+    this.settings = settings;
+    this.meterRegistry = meterRegistry;
+    this.budget = new HedgeBudget(settings.budgetPercent(), MAX_BURST);
+  }
+
+  public boolean isEnabled() {
+    return settings.enabled();
+  }
+
+  /**
+   * Runs an idempotent request, hedging it if it is slower than usual for the endpoint.
+   *
+   * @param path endpoint path, used to keep latencies and metrics apart
+   * @param request starts one copy of the request each time it is called
+   * @return the first successful answer, or the last failure if every copy failed
+   */
+  public <T> CompletableFuture<T> execute(String path, Supplier<CompletableFuture<T>> request) {
+    if (!settings.enabled()) {
+      return request.get();
+    }
+
+    LatencyTracker tracker =
+        latencies.computeIfAbsent(path, key -> new LatencyTracker(LATENCY_WINDOW, MIN_SAMPLES));
+    budget.onRequest();
+
+    HedgedCall<T> call = new HedgedCall<>(path, request, tracker);
+    call.launch(false);
+
+    long delayNanos = tracker.percentile(settings.percentile());
+    if (delayNanos >= 0 && !call.result.isDone()) {
+      delayNanos = Math.max(delayNanos, settings.minDelay().toNanos());
+      CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS)
+          .execute(() -> hedge(path, call));
+    }
+    return call.result;
+  }
+
+  private void hedge(String path, HedgedCall<?> call) {
+    if (call.result.isDone()) {
+      return;
+    }
+    if (!budget.tryAcquire()) {
+      counter(DENIED_METRIC, path).increment();
+      return;
+    }
+
+    LOGGER.debug("Hedging slow request to {}", path);
+    counter(SENT_METRIC, path).increment();
+    call.launch(true);
+  }
+
+  private Counter counter(String name, String path) {
+    return meterRegistry.counter(name, "endpoint", path.substring(1));
+  }
+
+  /** One logical request and the copies sent for it. */
+  private final class HedgedCall<T> {
+
+    private final String path;
+    private final Supplier<CompletableFuture<T>> request;
+    private final LatencyTracker tracker;
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+    private final List<CompletableFuture<T>> attempts = new ArrayList<>(2);
+    private int outstanding;
+    private boolean settled;
+
+    HedgedCall(String path, Supplier<CompletableFuture<T>> request, LatencyTracker tracker) {
+      this.path = path;
+      this.request = request;
+      this.tracker = tracker;
+      result.whenComplete((value, failure) -> cancelAttempts(null));
+    }
+
+    void launch(boolean hedge) {
+      synchronized (this) {
+        if (settled) {
+          return;
+        }
+        outstanding++;
+      }
+
+      long start = System.nanoTime();
+      CompletableFuture<T> attempt;
+      try {
+        attempt = request.get();
+      } catch (RuntimeException e) {
+        attempt = CompletableFuture.failedFuture(e);
+      }
+
+      boolean lost;
+      synchronized (this) {
+        attempts.add(attempt);
+        lost = settled;
+      }
+      if (lost) {
+        attempt.cancel(true);
+      }
+
+      CompletableFuture<T> self = attempt;
+      attempt.whenComplete((value, failure) -> onComplete(self, hedge, start, value, failure));
+    }
+
+    private void onComplete(
+        CompletableFuture<T> attempt, boolean hedge, long start, T value, Throwable failure) {
+      if (failure == null) {
+        tracker.record(System.nanoTime() - start);
+      }
+
+      synchronized (this) {
+        if (settled || (failure != null && --outstanding > 0)) {
+          return;
+        }
+        settled = true;
+      }
+
+      if (failure != null) {
+        result.completeExceptionally(failure);
+        return;
+      }
+      if (hedge) {
+        counter(WON_METRIC, path).increment();
+      }
+      cancelAttempts(attempt);
+      result.complete(value);
+    }
+
+    private void cancelAttempts(CompletableFuture<T> winner) {
+      List<CompletableFuture<T>> copies;
+      synchronized (this) {
+        copies = List.copyOf(attempts);
+      }
+      for (CompletableFuture<T> attempt : copies) {
+        if (attempt != winner && !attempt.isDone()) {
+          attempt.cancel(true);
+        }
+      }
+    }
+  }
+}
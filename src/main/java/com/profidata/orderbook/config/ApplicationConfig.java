@@ -7,29 +7,52 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.profidata.orderbook.client.CircuitBreaker;
 import com.profidata.orderbook.client.OrderServiceClient;
+import com.profidata.orderbook.client.RequestHedger;
 import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.repository.OrderRepository;
+import com.profidata.orderbook.repository.RateRepository;
+import com.profidata.orderbook.repository.impl.CachingRateRepository;
+import com.profidata.orderbook.repository.impl.CoalescingOrderRepository;
+import com.profidata.orderbook.repository.impl.CoalescingRateRepository;
+import com.profidata.orderbook.repository.impl.HeapOrderStore;
+import com.profidata.orderbook.repository.impl.HttpOrderRepository;
+import com.profidata.orderbook.repository.impl.HttpRateRepository;
+import com.profidata.orderbook.repository.impl.MirroredOrderRepository;
+import com.profidata.orderbook.repository.impl.OffHeapOrderStore;
+import com.profidata.orderbook.repository.impl.OrderStore;
+import com.profidata.orderbook.repository.impl.SupportedPairCachingRateRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.apache.hc.client5.http.config.ConnectionConfig;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.Timeout;
 import org.hibernate.validator.constraints.time.DurationMin;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.convert.DurationUnit;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.validation.annotation.Validated;
 
 /** Application configuration with production-ready defaults. */
@@ -82,6 +105,43 @@ public class ApplicationConfig {
         .build();
   }
 
+  @Bean
+  public CloseableHttpAsyncClient httpAsyncClient() {
+    var connectionConfig =
+        ConnectionConfig.custom()
+            .setSocketTimeout(Timeout.of(httpClient.getSocketTimeout()))
+            .setConnectTimeout(Timeout.of(httpClient.getConnectTimeout()))
+            .build();
+
+    var connectionManager =
+        PoolingAsyncClientConnectionManagerBuilder.create()
+            .setDefaultConnectionConfig(connectionConfig)
+            .setMaxConnTotal(httpClient.getMaxConnections())
+            .setMaxConnPerRoute(httpClient.getMaxConnectionsPerRoute())
+            .build();
+
+    var ioReactorConfig =
+        IOReactorConfig.custom()
+            .setIoThreadCount(httpClient.getIoThreadCount())
+            .setSoTimeout(Timeout.of(httpClient.getSocketTimeout()))
+            .build();
+
+    var requestConfig =
+        RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(httpClient.getConnectionRequestTimeout()))
+            .setResponseTimeout(Timeout.of(httpClient.getResponseTimeout()))
+            .build();
+
+    CloseableHttpAsyncClient client =
+        HttpAsyncClients.custom()
+            .setConnectionManager(connectionManager)
+            .setIOReactorConfig(ioReactorConfig)
+            .setDefaultRequestConfig(requestConfig)
+            .build();
+    client.start();
+    return client;
+  }
+
   @Bean
   public Cache<String, List<FXRate>> fxRateCache() {
     return Caffeine.newBuilder()
@@ -93,13 +153,70 @@ public class ApplicationConfig {
 
   @Bean
   public OrderServiceClient orderServiceClient(
-      CloseableHttpClient httpClient, ObjectMapper objectMapper) {
+      CloseableHttpClient httpClient,
+      CloseableHttpAsyncClient httpAsyncClient,
+      ObjectMapper objectMapper,
+      MeterRegistry meterRegistry) {
     return new OrderServiceClient(
         httpClient,
+        httpAsyncClient,
         objectMapper,
         orderService.getBaseUrl(),
         orderService.getRetryAttempts(),
-        orderService.getRetryDelay());
+        orderService.getRetryDelay(),
+        new CircuitBreaker.Settings(
+            orderService.getCircuitFailureThreshold(),
+            orderService.getCircuitOpenDuration(),
+            orderService.getCircuitHalfOpenMaxCalls()),
+        new RequestHedger.Settings(
+            orderService.isHedgingEnabled(),
+            orderService.getHedgingPercentile(),
+            orderService.getHedgingMinDelay(),
+            orderService.getHedgingBudgetPercent()),
+        meterRegistry);
+  }
+
+  @Bean
+  @Primary
+  public OrderRepository orderRepository(
+      HttpOrderRepository httpOrderRepository, MeterRegistry meterRegistry) {
+    var repository =
+        new MirroredOrderRepository(
+            new CoalescingOrderRepository(httpOrderRepository, meterRegistry),
+            cache.getOrderReconcileInterval(),
+            orderStoreFactory());
+    repository.start();
+    return repository;
+  }
+
+  private Supplier<OrderStore> orderStoreFactory() {
+    return switch (cache.getOrderStorage()) {
+      case HEAP -> HeapOrderStore::new;
+      case DIRECT -> OffHeapOrderStore::direct;
+      case MAPPED -> {
+        Path directory = cache.getOrderStorageDirectory();
+        yield () -> OffHeapOrderStore.mapped(directory);
+      }
+    };
+  }
+
+  @Bean
+  @Primary
+  public RateRepository rateRepository(
+      HttpRateRepository httpRateRepository,
+      Cache<String, List<FXRate>> fxRateCache,
+      MeterRegistry meterRegistry) {
+    var cachingRateRepository =
+        new CachingRateRepository(
+            new CoalescingRateRepository(httpRateRepository, meterRegistry),
+            fxRateCache,
+            cache.getRefreshAfterWrite(),
+            meterRegistry);
+    var repository =
+        new SupportedPairCachingRateRepository(
+            cachingRateRepository, cache.getSupportedPairsRefreshInterval());
+    repository.start();
+    return repository;
   }
 
   public HttpClientConfig getHttpClient() {
@@ -151,6 +268,10 @@ public class ApplicationConfig {
     @Max(100)
     private int maxConnectionsPerRoute = 10;
 
+    @Min(1)
+    @Max(64)
+    private int ioThreadCount = 2;
+
     public Duration getSocketTimeout() {
       return socketTimeout;
     }
@@ -198,6 +319,14 @@ public class ApplicationConfig {
     public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
       this.maxConnectionsPerRoute = maxConnectionsPerRoute;
     }
+
+    public int getIoThreadCount() {
+      return ioThreadCount;
+    }
+
+    public void setIoThreadCount(int ioThreadCount) {
+      this.ioThreadCount = ioThreadCount;
+    }
   }
 
   public static class CacheConfig {
@@ -207,6 +336,20 @@ public class ApplicationConfig {
 
     @NotNull private Duration expireAfterWrite = Duration.ofMinutes(5);
 
+    @NotNull private Duration refreshAfterWrite = Duration.ofSeconds(10);
+
+    @DurationMin(seconds = 1)
+    private Duration supportedPairsRefreshInterval = Duration.ofHours(1);
+
+    @DurationMin(seconds = 1)
+    private Duration orderReconcileInterval = Duration.ofSeconds(30);
+
+    /** Where the mirrored order book is kept: Order objects on the heap, or records off it. */
+    @NotNull private OrderStorage orderStorage = OrderStorage.HEAP;
+
+    /** Directory for the temporary files of {@link OrderStorage#MAPPED} storage. */
+    @NotNull private Path orderStorageDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
     public long getMaxSize() {
       return maxSize;
     }
@@ -222,6 +365,52 @@ public class ApplicationConfig {
     public void setExpireAfterWrite(Duration expireAfterWrite) {
       this.expireAfterWrite = expireAfterWrite;
     }
+
+    public Duration getRefreshAfterWrite() {
+      return refreshAfterWrite;
+    }
+
+    public void setRefreshAfterWrite(Duration refreshAfterWrite) {
+      this.refreshAfterWrite = refreshAfterWrite;
+    }
+
+    public Duration getSupportedPairsRefreshInterval() {
+      return supportedPairsRefreshInterval;
+    }
+
+    public void setSupportedPairsRefreshInterval(Duration supportedPairsRefreshInterval) {
+      this.supportedPairsRefreshInterval = supportedPairsRefreshInterval;
+    }
+
+    public Duration getOrderReconcileInterval() {
+      return orderReconcileInterval;
+    }
+
+    public void setOrderReconcileInterval(Duration orderReconcileInterval) {
+      this.orderReconcileInterval = orderReconcileInterval;
+    }
+
+    public OrderStorage getOrderStorage() {
+      return orderStorage;
+    }
+
+    public void setOrderStorage(OrderStorage orderStorage) {
+      this.orderStorage = orderStorage;
+    }
+
+    public Path getOrderStorageDirectory() {
+      return orderStorageDirectory;
+    }
+
+    public void setOrderStorageDirectory(Path orderStorageDirectory) {
+      this.orderStorageDirectory = orderStorageDirectory;
+    }
+  }
+
+  public enum OrderStorage {
+    HEAP,
+    DIRECT,
+    MAPPED
   }
 
   public static class OrderServiceConfig {
@@ -233,6 +422,28 @@ public class ApplicationConfig {
 
     @NotNull private Duration retryDelay = Duration.ofMillis(500);
 
+    @Min(1)
+    @Max(100)
+    private int circuitFailureThreshold = 5;
+
+    @NotNull private Duration circuitOpenDuration = Duration.ofSeconds(30);
+
+    @Min(1)
+    @Max(10)
+    private int circuitHalfOpenMaxCalls = 1;
+
+    private boolean hedgingEnabled = false;
+
+    @DecimalMin("50.0")
+    @DecimalMax("99.9")
+    private double hedgingPercentile = 95.0;
+
+    @NotNull private Duration hedgingMinDelay = Duration.ofMillis(50);
+
+    @Min(1)
+    @Max(50)
+    private int hedgingBudgetPercent = 5;
+
     public String getBaseUrl() {
       return baseUrl;
     }
@@ -256,6 +467,62 @@ public class ApplicationConfig {
     public void setRetryDelay(Duration retryDelay) {
       this.retryDelay = retryDelay;
     }
+
+    public int getCircuitFailureThreshold() {
+      return circuitFailureThreshold;
+    }
+
+    public void setCircuitFailureThreshold(int circuitFailureThreshold) {
+      this.circuitFailureThreshold = circuitFailureThreshold;
+    }
+
+    public Duration getCircuitOpenDuration() {
+      return circuitOpenDuration;
+    }
+
+    public void setCircuitOpenDuration(Duration circuitOpenDuration) {
+      this.circuitOpenDuration = circuitOpenDuration;
+    }
+
+    public int getCircuitHalfOpenMaxCalls() {
+      return circuitHalfOpenMaxCalls;
+    }
+
+    public void setCircuitHalfOpenMaxCalls(int circuitHalfOpenMaxCalls) {
+      this.circuitHalfOpenMaxCalls = circuitHalfOpenMaxCalls;
+    }
+
+    public boolean isHedgingEnabled() {
+      return hedgingEnabled;
+    }
+
+    public void setHedgingEnabled(boolean hedgingEnabled) {
+      this.hedgingEnabled = hedgingEnabled;
+    }
+
+    public double getHedgingPercentile() {
+      return hedgingPercentile;
+    }
+
+    public void setHedgingPercentile(double hedgingPercentile) {
+      this.hedgingPercentile = hedgingPercentile;
+    }
+
+    public Duration getHedgingMinDelay() {
+      return hedgingMinDelay;
+    }
+
+    public void setHedgingMinDelay(Duration hedgingMinDelay) {
+      this.hedgingMinDelay = hedgingMinDelay;
+    }
+
+    public int getHedgingBudgetPercent() {
+      return hedgingBudgetPercent;
+    }
+
+    public void setHedgingBudgetPercent(int hedgingBudgetPercent) {
+      this.hedgingBudgetPercent = hedgingBudgetPercent;
+    }
   }
 
   @Bean
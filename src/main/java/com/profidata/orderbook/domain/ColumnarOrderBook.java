@@ -0,0 +1,498 @@
+package com.profidata.orderbook.domain;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable order book stored column by column in primitive arrays.
+ *
+ * <p>Each order is a row: an interned {@link CurrencyPair} ID, one bit for buy or sell, the limit
+ * in fixed-point {@link Price} units plus the scale it was entered at, the validity date as an
+ * {@link ValidityDate epoch day} and the ID as Latin-1 bytes in a shared arena. An open-addressing
+ * table over the arena finds rows by ID. A typical order takes about 35 bytes rather than the 150
+ * or more of an {@link Order} with its strings, {@code BigDecimal} and boxed flag, and scans over a
+ * column touch contiguous memory.
+ *
+ * <p>Orders the columns cannot reproduce exactly, such as lower-case or unknown currency codes,
+ * limits with more than {@value Price#SCALE} decimals, unparseable dates or IDs outside Latin-1,
+ * are kept aside as {@link Order} objects. They still have their columns filled as well as
+ * possible, so scans need no special case, and {@link #order(int)} gives them back unchanged.
+ */
+public final class ColumnarOrderBook {
+
+  public static final ColumnarOrderBook EMPTY = builder(0).build();
+
+  /** {@link #pairId} of a row whose currencies cannot be interned. */
+  public static final int NO_PAIR = CurrencyPair.UNREGISTERED;
+
+  private static final int NOT_FOUND = -1;
+  private static final int MAX_ID_LENGTH = 0xFF;
+
+  private final int size;
+  private final int[] pairIds;
+  private final long[] buyBits;
+  private final long[] limitUnits;
+  private final byte[] limitScales;
+  private final int[] validUntilDays;
+  private final byte[] idBytes;
+  private final int[] idEnds;
+  private final int[] idTable;
+  private final long[] irregularBits;
+  private final Map<Integer, Order> irregular;
+
+  /** Takes over the builder's arrays, copying only those with room left over. */
+  private ColumnarOrderBook(Builder builder) {
+    this.size = builder.size;
+    this.pairIds = fitted(builder.pairIds, size);
+    this.buyBits = fitted(builder.buyBits, words(size));
+    this.limitUnits = fitted(builder.limitUnits, size);
+    this.limitScales = fitted(builder.limitScales, size);
+    this.validUntilDays = fitted(builder.validUntilDays, size);
+    this.idBytes = fitted(builder.idBytes, builder.idLength);
+    this.idEnds = fitted(builder.idEnds, size);
+    this.irregularBits = fitted(builder.irregularBits, words(size));
+    this.irregular = Map.copyOf(builder.irregular);
+    this.idTable = buildIdTable();
+  }
+
+  public static Builder builder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
+  public static ColumnarOrderBook of(Collection<Order> orders) {
+    Builder builder = builder(orders.size());
+    orders.forEach(builder::add);
+    return builder.build();
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /** Interned pair ID of the row, or {@link #NO_PAIR}. */
+  public int pairId(int row) {
+    return pairIds[checkRow(row)];
+  }
+
+  public CurrencyPair pair(int row) {
+    int pairId = pairIds[checkRow(row)];
+    return pairId != NO_PAIR ? CurrencyPair.byId(pairId) : original(row).getCurrencyPair();
+  }
+
+  public boolean isBuy(int row) {
+    checkRow(row);
+    return (buyBits[row >>> 6] & (1L << row)) != 0;
+  }
+
+  public String orderType(int row) {
+    return isBuy(row) ? "buy" : "sell";
+  }
+
+  /** Limit in {@link Price} units, or {@link Price#NONE}. */
+  public long limitUnits(int row) {
+    return limitUnits[checkRow(row)];
+  }
+
+  /** Validity date as an epoch day, or {@link ValidityDate#INVALID}. */
+  public int validUntilEpochDay(int row) {
+    return validUntilDays[checkRow(row)];
+  }
+
+  public boolean isValidOn(int row, int epochDay) {
+    int validUntil = validUntilEpochDay(row);
+    return validUntil != ValidityDate.INVALID && validUntil >= epochDay;
+  }
+
+  public String id(int row) {
+    Order original = original(checkRow(row));
+    if (original != null) {
+      return original.id();
+    }
+    int start = row == 0 ? 0 : idEnds[row - 1];
+    return new String(idBytes, start, idEnds[row] - start, StandardCharsets.ISO_8859_1);
+  }
+
+  public String investmentCcy(int row) {
+    Order original = original(checkRow(row));
+    return original != null ? original.investmentCcy() : CurrencyPair.byId(pairIds[row]).ccy1();
+  }
+
+  public String counterCcy(int row) {
+    Order original = original(checkRow(row));
+    return original != null ? original.counterCcy() : CurrencyPair.byId(pairIds[row]).ccy2();
+  }
+
+  public BigDecimal limit(int row) {
+    Order original = original(checkRow(row));
+    if (original != null) {
+      return original.limit();
+    }
+    return BigDecimal.valueOf(limitUnits[row], Price.SCALE).setScale(limitScales[row]);
+  }
+
+  public String validUntil(int row) {
+    Order original = original(checkRow(row));
+    return original != null ? original.validUntil() : ValidityDate.format(validUntilDays[row]);
+  }
+
+  /** Rebuilds the row as an {@link Order}. */
+  public Order order(int row) {
+    Order original = original(checkRow(row));
+    if (original != null) {
+      return original;
+    }
+    return new Order(
+        id(row),
+        investmentCcy(row),
+        isBuy(row),
+        counterCcy(row),
+        limit(row),
+        validUntil(row),
+        validUntilDays[row]);
+  }
+
+  /**
+   * Row holding the order with the given ID, or -1. If the ID occurs more than once, the first row
+   * is returned.
+   */
+  public int indexOf(String id) {
+    if (id == null || size == 0) {
+      return NOT_FOUND;
+    }
+
+    int found = NOT_FOUND;
+    int mask = idTable.length - 1;
+    for (int slot = mix(hash(id)) & mask; idTable[slot] != 0; slot = (slot + 1) & mask) {
+      if (idEquals(idTable[slot] - 1, id)) {
+        found = idTable[slot] - 1;
+        break;
+      }
+    }
+
+    if (!irregular.isEmpty()) {
+      int aside = indexOfIrregular(id);
+      if (aside != NOT_FOUND && (found == NOT_FOUND || aside < found)) {
+        found = aside;
+      }
+    }
+    return found;
+  }
+
+  /** Read-only list view that rebuilds each {@link Order} on access. */
+  public List<Order> asList() {
+    return new AbstractList<>() {
+      @Override
+      public Order get(int index) {
+        return order(index);
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /**
+   * Bytes held by the columns and ID index, not counting the orders kept aside. This is what the
+   * book costs per order on the heap, give or take a few array headers.
+   */
+  public long footprintBytes() {
+    return (long) pairIds.length * Integer.BYTES
+        + (long) buyBits.length * Long.BYTES
+        + (long) irregularBits.length * Long.BYTES
+        + (long) limitUnits.length * Long.BYTES
+        + limitScales.length
+        + (long) validUntilDays.length * Integer.BYTES
+        + idBytes.length
+        + (long) idEnds.length * Integer.BYTES
+        + (long) idTable.length * Integer.BYTES;
+  }
+
+  /** Number of orders kept aside as objects because the columns cannot reproduce them. */
+  public int irregularCount() {
+    return irregular.size();
+  }
+
+  /** Whether the row is one of the orders kept aside. */
+  boolean isIrregular(int row) {
+    return (irregularBits[checkRow(row) >>> 6] & (1L << row)) != 0;
+  }
+
+  /** Orders kept aside, by row. */
+  Map<Integer, Order> irregularOrders() {
+    return irregular;
+  }
+
+  /** The order as given, if the row is one of those kept aside; otherwise null. */
+  private Order original(int row) {
+    return (irregularBits[row >>> 6] & (1L << row)) != 0 ? irregular.get(row) : null;
+  }
+
+  private int indexOfIrregular(String id) {
+    int first = NOT_FOUND;
+    for (Map.Entry<Integer, Order> entry : irregular.entrySet()) {
+      if (id.equals(entry.getValue().id()) && (first == NOT_FOUND || entry.getKey() < first)) {
+        first = entry.getKey();
+      }
+    }
+    return first;
+  }
+
+  /** Slots hold row + 1 so that zero means empty; irregular rows are not in the table. */
+  private int[] buildIdTable() {
+    int capacity = Integer.highestOneBit(Math.max(size * 4 / 3, 1) * 2 - 1);
+    int[] table = new int[size == 0 ? 0 : Math.max(capacity, 2)];
+    int mask = table.length - 1;
+
+    for (int row = 0; row < size; row++) {
+      if (original(row) != null) {
+        continue;
+      }
+      int start = row == 0 ? 0 : idEnds[row - 1];
+      int slot = mix(hash(idBytes, start, idEnds[row])) & mask;
+      while (table[slot] != 0) {
+        if (sameId(table[slot] - 1, row)) {
+          break;
+        }
+        slot = (slot + 1) & mask;
+      }
+      if (table[slot] == 0) {
+        table[slot] = row + 1;
+      }
+    }
+    return table;
+  }
+
+  private boolean idEquals(int row, String id) {
+    int start = row == 0 ? 0 : idEnds[row - 1];
+    int length = idEnds[row] - start;
+    if (length != id.length()) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if ((idBytes[start + i] & 0xFF) != id.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean sameId(int row, int other) {
+    int start = row == 0 ? 0 : idEnds[row - 1];
+    int otherStart = other == 0 ? 0 : idEnds[other - 1];
+    return Arrays.equals(idBytes, start, idEnds[row], idBytes, otherStart, idEnds[other]);
+  }
+
+  private int checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+    }
+    return row;
+  }
+
+  private static int hash(String id) {
+    int hash = 0;
+    for (int i = 0; i < id.length(); i++) {
+      hash = 31 * hash + id.charAt(i);
+    }
+    return hash;
+  }
+
+  private static int hash(byte[] bytes, int from, int to) {
+    int hash = 0;
+    for (int i = from; i < to; i++) {
+      hash = 31 * hash + (bytes[i] & 0xFF);
+    }
+    return hash;
+  }
+
+  private static int mix(int hash) {
+    int mixed = hash * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  private static int words(int rows) {
+    return (rows + 63) >>> 6;
+  }
+
+  private static int[] fitted(int[] column, int length) {
+    return column.length == length ? column : Arrays.copyOf(column, length);
+  }
+
+  private static long[] fitted(long[] column, int length) {
+    return column.length == length ? column : Arrays.copyOf(column, length);
+  }
+
+  private static byte[] fitted(byte[] column, int length) {
+    return column.length == length ? column : Arrays.copyOf(column, length);
+  }
+
+  /**
+   * Appends orders one at a time, for filling a book straight from a stream.
+   *
+   * <p>Given the exact number of orders, the columns never grow and {@link #build()} hands them to
+   * the book without copying, so building takes little more memory than the finished book. A
+   * builder can therefore only be built once.
+   */
+  public static final class Builder {
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int ID_BYTES_PER_ROW = 8;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private int size;
+    private int[] pairIds;
+    private long[] buyBits;
+    private long[] limitUnits;
+    private byte[] limitScales;
+    private int[] validUntilDays;
+    private byte[] idBytes;
+    private int idLength;
+    private int[] idEnds;
+    private long[] irregularBits;
+    private final Map<Integer, Order> irregular = new HashMap<>();
+    private boolean built;
+
+    private Builder(int expectedSize) {
+      int capacity = expectedSize > 0 ? expectedSize : MIN_CAPACITY;
+      pairIds = new int[capacity];
+      buyBits = new long[words(capacity)];
+      irregularBits = new long[words(capacity)];
+      limitUnits = new long[capacity];
+      limitScales = new byte[capacity];
+      validUntilDays = new int[capacity];
+      idBytes = new byte[(int) Math.min((long) capacity * ID_BYTES_PER_ROW, MAX_ARRAY_SIZE)];
+      idEnds = new int[capacity];
+    }
+
+    public Builder add(Order order) {
+      checkNotBuilt();
+      if (size == pairIds.length) {
+        grow();
+      }
+      int row = size++;
+      boolean regular = true;
+
+      int code1 = CurrencyCode.pack(order.investmentCcy());
+      int code2 = CurrencyCode.pack(order.counterCcy());
+      if (code1 != CurrencyCode.NOT_A_CODE && code2 != CurrencyCode.NOT_A_CODE && code1 != code2) {
+        pairIds[row] = CurrencyPair.ofCodes(code1, code2).id();
+      } else {
+        pairIds[row] = NO_PAIR;
+        regular = false;
+      }
+
+      if (order.isBuy()) {
+        buyBits[row >>> 6] |= 1L << row;
+      }
+      regular &= order.buy() != null;
+
+      regular &= addLimit(row, order.limit());
+
+      validUntilDays[row] = order.validUntilEpochDay();
+      regular &= order.validUntilEpochDay() != ValidityDate.INVALID;
+
+      regular &= addId(order.id());
+      idEnds[row] = idLength;
+
+      if (!regular) {
+        irregularBits[row >>> 6] |= 1L << row;
+        irregular.put(row, order);
+      }
+      return this;
+    }
+
+    public ColumnarOrderBook build() {
+      checkNotBuilt();
+      built = true;
+      return new ColumnarOrderBook(this);
+    }
+
+    /** Bytes held by the columns so far, for comparison with {@link #footprintBytes()}. */
+    long footprintBytes() {
+      return (long) pairIds.length * Integer.BYTES
+          + (long) buyBits.length * Long.BYTES
+          + (long) irregularBits.length * Long.BYTES
+          + (long) limitUnits.length * Long.BYTES
+          + limitScales.length
+          + (long) validUntilDays.length * Integer.BYTES
+          + idBytes.length
+          + (long) idEnds.length * Integer.BYTES;
+    }
+
+    private void checkNotBuilt() {
+      if (built) {
+        throw new IllegalStateException("Order book already built from this builder");
+      }
+    }
+
+    private boolean addLimit(int row, BigDecimal limit) {
+      limitUnits[row] = Price.NONE;
+      if (limit == null) {
+        return false;
+      }
+      try {
+        limitUnits[row] = Price.of(limit);
+      } catch (IllegalArgumentException e) {
+        return false;
+      }
+      if (limit.scale() < 0 || limit.scale() > Price.SCALE) {
+        return false;
+      }
+      limitScales[row] = (byte) limit.scale();
+      return true;
+    }
+
+    /** Copies a Latin-1 ID into the arena; anything else leaves an empty entry. */
+    private boolean addId(String id) {
+      if (id == null || id.length() > MAX_ID_LENGTH) {
+        return false;
+      }
+      for (int i = 0; i < id.length(); i++) {
+        if (id.charAt(i) > 0xFF) {
+          return false;
+        }
+      }
+      if (idLength + id.length() > idBytes.length) {
+        growIdBytes(idLength + id.length());
+      }
+      for (int i = 0; i < id.length(); i++) {
+        idBytes[idLength++] = (byte) id.charAt(i);
+      }
+      return true;
+    }
+
+    /**
+     * Grows the ID arena to what the rows still to come are likely to need at the average ID length
+     * so far, so a sized builder grows it about once rather than by half again each time. It still
+     * grows by at least an eighth, in case the later IDs run longer.
+     */
+    private void growIdBytes(int needed) {
+      long projected = (long) idLength * pairIds.length / Math.max(size, 1) + ID_BYTES_PER_ROW;
+      long capacity = Math.max(projected, idBytes.length + (idBytes.length >> 3));
+      idBytes = Arrays.copyOf(idBytes, (int) Math.max(needed, Math.min(capacity, MAX_ARRAY_SIZE)));
+    }
+
+    private void grow() {
+      int capacity = Math.max(pairIds.length + (pairIds.length >> 1), MIN_CAPACITY);
+      pairIds = Arrays.copyOf(pairIds, capacity);
+      buyBits = Arrays.copyOf(buyBits, words(capacity));
+      irregularBits = Arrays.copyOf(irregularBits, words(capacity));
+      limitUnits = Arrays.copyOf(limitUnits, capacity);
+      limitScales = Arrays.copyOf(limitScales, capacity);
+      validUntilDays = Arrays.copyOf(validUntilDays, capacity);
+      idEnds = Arrays.copyOf(idEnds, capacity);
+    }
+  }
+}
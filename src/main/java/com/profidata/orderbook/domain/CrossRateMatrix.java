@@ -0,0 +1,226 @@
+package com.profidata.orderbook.domain;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dense currency-by-currency bid/ask matrix built from one rate snapshot, with unquoted pairs
+ * filled in through an intermediate currency.
+ *
+ * <p>Quoted pairs and their inverses are entered first. Every pair still missing is then crossed
+ * through the intermediate currency that gives the tightest spread, using only quoted legs: the ask
+ * of A/C is the ask of A/B times the ask of B/C, and the bid likewise. A leg that is only quoted
+ * the other way round is divided by instead of multiplied by its rounded inverse, so the bid of A/C
+ * through an inverted C/B leg is the bid of A/B over the ask of C/B. Inverting a large quote such
+ * as USD/IDR to six decimals would otherwise lose most of its digits, and with them the spread.
+ * Building is cubic in the number of currencies and happens once per snapshot; lookups are array
+ * reads.
+ */
+public final class CrossRateMatrix {
+
+  /** How a cell's price was obtained. */
+  public enum Source {
+    NONE,
+    DIRECT,
+    INVERSE,
+    CROSS
+  }
+
+  private static final Source[] SOURCES = Source.values();
+  private static final BigInteger ONE_SQUARED = BigInteger.valueOf(Price.ONE * Price.ONE);
+
+  private final int[] currencies;
+  private final long[] bids;
+  private final long[] asks;
+  private final byte[] sources;
+
+  private CrossRateMatrix(int[] currencies, long[] bids, long[] asks, byte[] sources) {
+    this.currencies = currencies;
+    this.bids = bids;
+    this.asks = asks;
+    this.sources = sources;
+  }
+
+  /**
+   * Builds the matrix for the currencies that appear in the rates. Rates with codes that are not
+   * three letters A-Z are left out.
+   */
+  public static CrossRateMatrix of(List<FXRate> rates) {
+    int[] currencies = collectCurrencies(rates);
+    int n = currencies.length;
+
+    long[] bids = new long[n * n];
+    long[] asks = new long[n * n];
+    byte[] sources = new byte[n * n];
+    Arrays.fill(bids, Price.NONE);
+    Arrays.fill(asks, Price.NONE);
+
+    for (FXRate rate : rates) {
+      int pairCode = rate.ccyPair().code();
+      if (pairCode == CurrencyCode.NOT_A_CODE) {
+        continue;
+      }
+      int from = indexOf(currencies, CurrencyCode.first(pairCode));
+      int to = indexOf(currencies, CurrencyCode.second(pairCode));
+      set(bids, asks, sources, from * n + to, rate.bidUnits(), rate.askUnits(), Source.DIRECT);
+    }
+
+    for (int from = 0; from < n; from++) {
+      for (int to = 0; to < n; to++) {
+        int cell = from * n + to;
+        int reverse = to * n + from;
+        if (sources[cell] == Source.DIRECT.ordinal() && sources[reverse] == Source.NONE.ordinal()) {
+          set(
+              bids,
+              asks,
+              sources,
+              reverse,
+              Price.inverse(asks[cell]),
+              Price.inverse(bids[cell]),
+              Source.INVERSE);
+        }
+      }
+    }
+
+    crossMissing(n, bids, asks, sources);
+    return new CrossRateMatrix(currencies, bids, asks, sources);
+  }
+
+  /** Number of currencies in the matrix. */
+  public int size() {
+    return currencies.length;
+  }
+
+  /** Packed code of the currency at the given index. */
+  public int currencyCode(int index) {
+    return currencies[index];
+  }
+
+  public long bidUnits(int from, int to) {
+    return bids[from * currencies.length + to];
+  }
+
+  public long askUnits(int from, int to) {
+    return asks[from * currencies.length + to];
+  }
+
+  public Source source(int from, int to) {
+    return SOURCES[sources[from * currencies.length + to]];
+  }
+
+  /** Index of a packed currency code, or -1 if the currency is not in the matrix. */
+  public int indexOf(int currencyCode) {
+    return indexOf(currencies, currencyCode);
+  }
+
+  private static void crossMissing(int n, long[] bids, long[] asks, byte[] sources) {
+    for (int from = 0; from < n; from++) {
+      for (int to = 0; to < n; to++) {
+        int cell = from * n + to;
+        if (from == to || sources[cell] != Source.NONE.ordinal()) {
+          continue;
+        }
+
+        long bestBid = Price.NONE;
+        long bestAsk = Price.NONE;
+        double bestSpread = Double.MAX_VALUE;
+
+        for (int via = 0; via < n; via++) {
+          int firstLeg = from * n + via;
+          int secondLeg = via * n + to;
+          if (!isQuoted(sources[firstLeg]) || !isQuoted(sources[secondLeg])) {
+            continue;
+          }
+
+          long bid = cross(n, bids, asks, sources, from, via, to, true);
+          long ask = cross(n, bids, asks, sources, from, via, to, false);
+          if (bid <= 0 || ask == Price.NONE) {
+            continue;
+          }
+
+          double spread = (double) ask / bid;
+          if (spread < bestSpread) {
+            bestSpread = spread;
+            bestBid = bid;
+            bestAsk = ask;
+          }
+        }
+
+        if (bestBid != Price.NONE) {
+          set(bids, asks, sources, cell, bestBid, bestAsk, Source.CROSS);
+        }
+      }
+    }
+  }
+
+  /**
+   * Bid or ask of from/to crossed through via, rounded once at the end. A direct leg contributes
+   * its own price; an inverse leg contributes one over the opposite side of the quote it inverts.
+   *
+   * @return the crossed price in units, or {@link Price#NONE} if a leg is unusable or the result
+   *     does not fit
+   */
+  private static long cross(
+      int n, long[] bids, long[] asks, byte[] sources, int from, int via, int to, boolean bid) {
+    if (sources[from * n + via] == Source.DIRECT.ordinal()
+        && sources[via * n + to] == Source.DIRECT.ordinal()) {
+      return bid
+          ? Price.multiply(bids[from * n + via], bids[via * n + to])
+          : Price.multiply(asks[from * n + via], asks[via * n + to]);
+    }
+
+    BigInteger numerator = BigInteger.ONE;
+    BigInteger denominator = BigInteger.valueOf(Price.ONE);
+    for (int leg = 0; leg < 2; leg++) {
+      int start = leg == 0 ? from : via;
+      int end = leg == 0 ? via : to;
+      int cell = start * n + end;
+      long price;
+      if (sources[cell] == Source.DIRECT.ordinal()) {
+        price = bid ? bids[cell] : asks[cell];
+        numerator = numerator.multiply(BigInteger.valueOf(price));
+      } else {
+        int quoted = end * n + start;
+        price = bid ? asks[quoted] : bids[quoted];
+        numerator = numerator.multiply(ONE_SQUARED);
+        denominator = denominator.multiply(BigInteger.valueOf(price));
+      }
+      if (price <= 0) {
+        return Price.NONE;
+      }
+    }
+
+    BigInteger rounded = numerator.add(denominator.shiftRight(1)).divide(denominator);
+    return rounded.bitLength() < Long.SIZE ? rounded.longValue() : Price.NONE;
+  }
+
+  private static boolean isQuoted(byte source) {
+    return source == Source.DIRECT.ordinal() || source == Source.INVERSE.ordinal();
+  }
+
+  private static void set(
+      long[] bids, long[] asks, byte[] sources, int cell, long bid, long ask, Source source) {
+    bids[cell] = bid;
+    asks[cell] = ask;
+    sources[cell] = (byte) source.ordinal();
+  }
+
+  private static int[] collectCurrencies(List<FXRate> rates) {
+    int[] codes = new int[rates.size() * 2];
+    int size = 0;
+    for (FXRate rate : rates) {
+      int pairCode = rate.ccyPair().code();
+      if (pairCode != CurrencyCode.NOT_A_CODE) {
+        codes[size++] = CurrencyCode.first(pairCode);
+        codes[size++] = CurrencyCode.second(pairCode);
+      }
+    }
+    return Arrays.stream(codes, 0, size).sorted().distinct().toArray();
+  }
+
+  private static int indexOf(int[] currencies, int code) {
+    int index = Arrays.binarySearch(currencies, code);
+    return index >= 0 ? index : -1;
+  }
+}
@@ -0,0 +1,75 @@
+package com.profidata.orderbook.domain;
+
+/**
+ * Packs three-letter ISO currency codes into small ints.
+ *
+ * <p>Each letter A-Z takes five bits, so a code fits in 15 bits and a pair of codes in one {@code
+ * int}. Packing preserves alphabetical order: comparing packed codes gives the same result as
+ * comparing the strings, and comparing packed pairs the same as comparing {@code "AAA/BBB"}.
+ */
+public final class CurrencyCode {
+
+  /** Returned for anything that is not three upper-case letters A-Z. */
+  public static final int NOT_A_CODE = -1;
+
+  /** Bits taken by one packed currency code. */
+  public static final int BITS = 15;
+
+  private static final int LETTER_BITS = 5;
+  private static final int LETTER_MASK = (1 << LETTER_BITS) - 1;
+  private static final int CODE_MASK = (1 << BITS) - 1;
+
+  private CurrencyCode() {}
+
+  /** Packs a currency code, or returns {@link #NOT_A_CODE} if it is not three letters A-Z. */
+  public static int pack(String currency) {
+    if (currency == null || currency.length() != 3) {
+      return NOT_A_CODE;
+    }
+
+    int code = 0;
+    for (int i = 0; i < 3; i++) {
+      int letter = currency.charAt(i) - 'A';
+      if (letter < 0 || letter >= 26) {
+        return NOT_A_CODE;
+      }
+      code = code << LETTER_BITS | letter;
+    }
+    return code;
+  }
+
+  /** Packs a pair of currency codes, or returns {@link #NOT_A_CODE} if either is invalid. */
+  public static int packPair(String ccy1, String ccy2) {
+    int code1 = pack(ccy1);
+    int code2 = pack(ccy2);
+    if (code1 == NOT_A_CODE || code2 == NOT_A_CODE) {
+      return NOT_A_CODE;
+    }
+    return pair(code1, code2);
+  }
+
+  /** Combines two packed currency codes into a packed pair. */
+  public static int pair(int code1, int code2) {
+    return code1 << BITS | code2;
+  }
+
+  /** First currency of a packed pair. */
+  public static int first(int pairCode) {
+    return pairCode >>> BITS;
+  }
+
+  /** Second currency of a packed pair. */
+  public static int second(int pairCode) {
+    return pairCode & CODE_MASK;
+  }
+
+  /** Turns a packed currency code back into its three letters. */
+  public static String unpack(int code) {
+    char[] letters = new char[3];
+    for (int i = 2; i >= 0; i--) {
+      letters[i] = (char) ('A' + (code & LETTER_MASK));
+      code >>>= LETTER_BITS;
+    }
+    return new String(letters);
+  }
+}
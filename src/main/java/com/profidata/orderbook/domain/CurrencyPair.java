@@ -1,22 +1,120 @@
 package com.profidata.orderbook.domain;
 
+import java.util.Arrays;
 import java.util.Objects;
 
-/** Domain entity representing a currency pair. */
-public record CurrencyPair(String ccy1, String ccy2) {
+/**
+ * Domain entity representing a currency pair.
+ *
+ * <p>{@link #intern} registers one shared instance per pair of ISO codes, with its packed code,
+ * hash, dense {@link #id()} and inverse worked out once. Lookups keyed by pair therefore compare
+ * ints and allocate nothing, and {@link #id()} can index arrays. Only pairs seen in quotes and
+ * orders are interned, so the registry stays as small as the data; {@link #of}, which also serves
+ * user input, returns the registered instance if there is one and never adds to it. Pairs built
+ * with the constructor, or returned unregistered by {@link #of}, behave the same in {@code equals},
+ * {@code hashCode} and ordering but have no ID.
+ */
+public final class CurrencyPair implements Comparable<CurrencyPair> {
 
-  public CurrencyPair {
-    if (ccy1 != null) {
-      ccy1 = ccy1.toUpperCase().trim();
+  /** ID of a pair that was not obtained through {@link #of}. */
+  public static final int UNREGISTERED = -1;
+
+  private final String ccy1;
+  private final String ccy2;
+  private final int code;
+  private final int hash;
+  private final int id;
+
+  /** Set once at registration, before the pair is published. */
+  private CurrencyPair inverse;
+
+  public CurrencyPair(String ccy1, String ccy2) {
+    this(normalize(ccy1), normalize(ccy2), UNREGISTERED);
+  }
+
+  private CurrencyPair(String ccy1, String ccy2, int id) {
+    if (Objects.equals(ccy1, ccy2)) {
+      throw new IllegalArgumentException(
+          "Currency pair cannot have the same currency for both sides");
     }
-    if (ccy2 != null) {
-      ccy2 = ccy2.toUpperCase().trim();
+
+    this.ccy1 = ccy1;
+    this.ccy2 = ccy2;
+    this.code = CurrencyCode.packPair(ccy1, ccy2);
+    this.hash = code != CurrencyCode.NOT_A_CODE ? mix(code) : Objects.hash(ccy1, ccy2);
+    this.id = id;
+  }
+
+  /**
+   * Returns the shared instance for the pair if it has been interned, or else an unregistered pair
+   * without an ID. Codes that are already three upper-case letters are looked up without any string
+   * work. Nothing is registered, so input such as a {@code --pair} option cannot grow the registry.
+   */
+  public static CurrencyPair of(String ccy1, String ccy2) {
+    return resolve(ccy1, ccy2, false);
+  }
+
+  /**
+   * Returns the shared instance for a pair seen in a quote or an order, registering it and its
+   * inverse the first time. Codes that are not three letters give an unregistered pair.
+   */
+  public static CurrencyPair intern(String ccy1, String ccy2) {
+    return resolve(ccy1, ccy2, true);
+  }
+
+  private static CurrencyPair resolve(String ccy1, String ccy2, boolean register) {
+    int code1 = CurrencyCode.pack(ccy1);
+    int code2 = CurrencyCode.pack(ccy2);
+
+    if (code1 == CurrencyCode.NOT_A_CODE || code2 == CurrencyCode.NOT_A_CODE) {
+      String normalized1 = normalize(ccy1);
+      String normalized2 = normalize(ccy2);
+      code1 = CurrencyCode.pack(normalized1);
+      code2 = CurrencyCode.pack(normalized2);
+      if (code1 == CurrencyCode.NOT_A_CODE || code2 == CurrencyCode.NOT_A_CODE) {
+        return new CurrencyPair(normalized1, normalized2, UNREGISTERED);
+      }
     }
 
-    if (Objects.equals(ccy1, ccy2)) {
+    if (code1 == code2) {
+      throw new IllegalArgumentException(
+          "Currency pair cannot have the same currency for both sides");
+    }
+    return register ? Registry.intern(code1, code2) : lookup(code1, code2);
+  }
+
+  /** The registered pair for two packed codes, or a new unregistered one. */
+  private static CurrencyPair lookup(int code1, int code2) {
+    CurrencyPair registered = Registry.lookup(CurrencyCode.pair(code1, code2));
+    return registered != null
+        ? registered
+        : new CurrencyPair(CurrencyCode.unpack(code1), CurrencyCode.unpack(code2), UNREGISTERED);
+  }
+
+  /**
+   * Returns the shared instance for two codes packed by {@link CurrencyCode#pack}, registering it
+   * the first time; for pairs seen in orders.
+   */
+  static CurrencyPair ofCodes(int code1, int code2) {
+    if (code1 == code2) {
       throw new IllegalArgumentException(
           "Currency pair cannot have the same currency for both sides");
     }
+    return Registry.intern(code1, code2);
+  }
+
+  /**
+   * Returns the registered pair with the given ID.
+   *
+   * @throws IllegalArgumentException if no pair has that ID
+   */
+  public static CurrencyPair byId(int id) {
+    return Registry.byId(id);
+  }
+
+  /** Number of pairs registered so far; every registered ID is below this. */
+  public static int registeredCount() {
+    return Registry.count;
   }
 
   public static CurrencyPair fromString(String pairString) {
@@ -31,18 +129,42 @@ public record CurrencyPair(String ccy1, String ccy2) {
       if (parts.length != 2) {
         throw new IllegalArgumentException("Invalid currency pair format: " + pairString);
       }
-      return new CurrencyPair(parts[0].trim(), parts[1].trim());
+      return of(parts[0].trim(), parts[1].trim());
     }
 
     if (normalized.length() == 6) {
-      return new CurrencyPair(normalized.substring(0, 3), normalized.substring(3, 6));
+      return of(normalized.substring(0, 3), normalized.substring(3, 6));
     }
 
     throw new IllegalArgumentException("Invalid currency pair format: " + pairString);
   }
 
+  public String ccy1() {
+    return ccy1;
+  }
+
+  public String ccy2() {
+    return ccy2;
+  }
+
+  /** Dense registry ID, or {@link #UNREGISTERED}. */
+  public int id() {
+    return id;
+  }
+
+  /** Both codes packed by {@link CurrencyCode#packPair}, or {@link CurrencyCode#NOT_A_CODE}. */
+  public int code() {
+    return code;
+  }
+
   public CurrencyPair inverse() {
-    return new CurrencyPair(ccy2, ccy1);
+    if (inverse != null) {
+      return inverse;
+    }
+    if (code != CurrencyCode.NOT_A_CODE) {
+      return lookup(CurrencyCode.second(code), CurrencyCode.first(code));
+    }
+    return new CurrencyPair(ccy2, ccy1, UNREGISTERED);
   }
 
   public boolean contains(String currency) {
@@ -60,8 +182,146 @@ public record CurrencyPair(String ccy1, String ccy2) {
     return this.equals(other) || this.equals(other.inverse());
   }
 
+  /** Orders pairs as their {@code "AAA/BBB"} strings would sort, comparing ints where possible. */
+  @Override
+  public int compareTo(CurrencyPair other) {
+    if (code != CurrencyCode.NOT_A_CODE && other.code != CurrencyCode.NOT_A_CODE) {
+      return Integer.compare(code, other.code);
+    }
+    return toString().compareTo(other.toString());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CurrencyPair other)) {
+      return false;
+    }
+    if (code != CurrencyCode.NOT_A_CODE || other.code != CurrencyCode.NOT_A_CODE) {
+      return code == other.code;
+    }
+    return Objects.equals(ccy1, other.ccy1) && Objects.equals(ccy2, other.ccy2);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
   @Override
   public String toString() {
     return ccy1 + "/" + ccy2;
   }
+
+  private static String normalize(String currency) {
+    return currency != null ? currency.toUpperCase().trim() : null;
+  }
+
+  private static int mix(int code) {
+    return code * 0x9E3779B9;
+  }
+
+  /**
+   * Registered pairs keyed by packed code. Lookups read the tables without locking; pairs are added
+   * under a lock, a new pair together with its inverse. Both tables grow by doubling, so each
+   * registration costs amortized constant time. The open-addressing table is kept at most half full
+   * and filled in place until it has to grow; a reader that misses a pair being added falls through
+   * to the lock and finds it there. Pairs only hold final fields apart from {@code inverse}, which
+   * {@link CurrencyPair#inverse()} can also look up, so a reader never sees one half built.
+   */
+  private static final class Registry {
+
+    private static final Object LOCK = new Object();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static volatile CurrencyPair[] pairs = new CurrencyPair[INITIAL_CAPACITY];
+    private static volatile CurrencyPair[] byId = new CurrencyPair[INITIAL_CAPACITY];
+
+    /** Pairs registered; written after their table entries, so it publishes them. */
+    private static volatile int count;
+
+    static CurrencyPair lookup(int code) {
+      return lookup(pairs, code);
+    }
+
+    static CurrencyPair byId(int id) {
+      int registered = count;
+      if (id < 0 || id >= registered) {
+        throw new IllegalArgumentException("Unknown currency pair ID: " + id);
+      }
+      return byId[id];
+    }
+
+    static CurrencyPair intern(int code1, int code2) {
+      int code = CurrencyCode.pair(code1, code2);
+      CurrencyPair pair = lookup(pairs, code);
+      if (pair != null) {
+        return pair;
+      }
+
+      synchronized (LOCK) {
+        pair = lookup(pairs, code);
+        if (pair != null) {
+          return pair;
+        }
+
+        int id = count;
+        String currency1 = CurrencyCode.unpack(code1);
+        String currency2 = CurrencyCode.unpack(code2);
+        CurrencyPair direct = new CurrencyPair(currency1, currency2, id);
+        CurrencyPair inverse = new CurrencyPair(currency2, currency1, id + 1);
+        direct.inverse = inverse;
+        inverse.inverse = direct;
+
+        CurrencyPair[] ids = byId;
+        if (id + 2 > ids.length) {
+          ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[id] = direct;
+        ids[id + 1] = inverse;
+        byId = ids;
+
+        CurrencyPair[] table = pairs;
+        if ((id + 2) * 2 > table.length) {
+          CurrencyPair[] grown = new CurrencyPair[table.length * 2];
+          for (int i = 0; i < id + 2; i++) {
+            insert(grown, ids[i]);
+          }
+          pairs = grown;
+        } else {
+          insert(table, direct);
+          insert(table, inverse);
+        }
+
+        count = id + 2;
+        return direct;
+      }
+    }
+
+    private static CurrencyPair lookup(CurrencyPair[] table, int code) {
+      int mask = table.length - 1;
+      for (int slot = slot(code, mask); ; slot = (slot + 1) & mask) {
+        CurrencyPair pair = table[slot];
+        if (pair == null || pair.code == code) {
+          return pair;
+        }
+      }
+    }
+
+    private static void insert(CurrencyPair[] table, CurrencyPair pair) {
+      int mask = table.length - 1;
+      int slot = slot(pair.code, mask);
+      while (table[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      table[slot] = pair;
+    }
+
+    private static int slot(int code, int mask) {
+      int h = mix(code);
+      return (h ^ h >>> 16) & mask;
+    }
+  }
 }
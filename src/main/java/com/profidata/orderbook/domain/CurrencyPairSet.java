@@ -0,0 +1,85 @@
+package com.profidata.orderbook.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of currency pairs, stored as a sorted array of packed pair codes.
+ *
+ * <p>Pairs are packed into one {@code int} by {@link CurrencyCode}, so a lookup is a binary search
+ * over a small primitive array with no string hashing or allocation.
+ */
+public final class CurrencyPairSet {
+
+  public static final CurrencyPairSet EMPTY = new CurrencyPairSet(new int[0], List.of());
+
+  private final int[] packedPairs;
+  private final List<CurrencyPair> pairs;
+
+  private CurrencyPairSet(int[] packedPairs, List<CurrencyPair> pairs) {
+    this.packedPairs = packedPairs;
+    this.pairs = pairs;
+  }
+
+  /**
+   * Builds a set from the given pairs. Pairs whose codes are not three letters A-Z are skipped.
+   *
+   * @param pairs pairs to include, duplicates allowed
+   * @return set containing each distinct pair once
+   */
+  public static CurrencyPairSet of(Collection<CurrencyPair> pairs) {
+    int[] packed = new int[pairs.size()];
+    List<CurrencyPair> kept = new ArrayList<>(pairs.size());
+    int size = 0;
+
+    for (CurrencyPair pair : pairs) {
+      int code = CurrencyCode.packPair(pair.ccy1(), pair.ccy2());
+      if (code != CurrencyCode.NOT_A_CODE) {
+        packed[size++] = code;
+        kept.add(pair);
+      }
+    }
+
+    int[] sorted = Arrays.stream(packed, 0, size).sorted().distinct().toArray();
+    return new CurrencyPairSet(sorted, Collections.unmodifiableList(kept));
+  }
+
+  /** Whether exactly this pair, in this direction, is in the set. */
+  public boolean contains(String ccy1, String ccy2) {
+    int code = CurrencyCode.packPair(ccy1, ccy2);
+    return code != CurrencyCode.NOT_A_CODE && Arrays.binarySearch(packedPairs, code) >= 0;
+  }
+
+  /** Whether exactly this pair, in this direction, is in the set. */
+  public boolean contains(CurrencyPair pair) {
+    return pair != null
+        && pair.code() != CurrencyCode.NOT_A_CODE
+        && Arrays.binarySearch(packedPairs, pair.code()) >= 0;
+  }
+
+  /** Whether the two currencies can be traded against each other, in either direction. */
+  public boolean supports(String ccy1, String ccy2) {
+    return contains(ccy1, ccy2) || contains(ccy2, ccy1);
+  }
+
+  public int size() {
+    return packedPairs.length;
+  }
+
+  public boolean isEmpty() {
+    return packedPairs.length == 0;
+  }
+
+  /** Pairs the set was built from, in their original order and including any duplicates. */
+  public List<CurrencyPair> toList() {
+    return pairs;
+  }
+
+  @Override
+  public String toString() {
+    return "CurrencyPairSet" + pairs;
+  }
+}
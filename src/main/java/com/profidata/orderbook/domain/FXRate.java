@@ -1,70 +1,79 @@
 package com.profidata.orderbook.domain;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
-import java.math.RoundingMode;
 import java.util.Objects;
 
-/** Domain entity representing an FX rate. */
-public record FXRate(CurrencyPair ccyPair, BigDecimal bid, BigDecimal ask) {
+/**
+ * Domain entity representing an FX rate.
+ *
+ * <p>Bid and ask are held as fixed-point {@link Price} units, so mid, spread and inverse are plain
+ * {@code long} arithmetic. The {@link BigDecimal} accessors are for display and JSON.
+ */
+public record FXRate(CurrencyPair ccyPair, long bidUnits, long askUnits) {
 
-  private static final MathContext MATH_CONTEXT = new MathContext(10, RoundingMode.HALF_UP);
-  private static final int PRICE_SCALE = 6;
+  private static final long PERCENT_SCALE_FACTOR = 1_000_000L;
+  private static final int PERCENT_SCALE = 4;
 
   public FXRate {
     Objects.requireNonNull(ccyPair, "Currency pair cannot be null");
-    Objects.requireNonNull(bid, "Bid price cannot be null");
-    Objects.requireNonNull(ask, "Ask price cannot be null");
 
-    if (bid.compareTo(ask) > 0) {
+    if (bidUnits > askUnits) {
       throw new IllegalArgumentException("Bid price cannot be higher than ask price");
     }
+  }
+
+  public FXRate(CurrencyPair ccyPair, BigDecimal bid, BigDecimal ask) {
+    this(
+        ccyPair,
+        Price.of(Objects.requireNonNull(bid, "Bid price cannot be null")),
+        Price.of(Objects.requireNonNull(ask, "Ask price cannot be null")));
+  }
+
+  public BigDecimal bid() {
+    return Price.toBigDecimal(bidUnits);
+  }
 
-    bid = bid.setScale(PRICE_SCALE, RoundingMode.HALF_UP);
-    ask = ask.setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+  public BigDecimal ask() {
+    return Price.toBigDecimal(askUnits);
+  }
+
+  public long midUnits() {
+    return Price.mid(bidUnits, askUnits);
   }
 
   public BigDecimal getMidPrice() {
-    return bid.add(ask)
-        .divide(BigDecimal.valueOf(2), MATH_CONTEXT)
-        .setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+    return Price.toBigDecimal(midUnits());
   }
 
   public BigDecimal getSpread() {
-    return ask.subtract(bid).setScale(PRICE_SCALE, RoundingMode.HALF_UP);
+    return Price.toBigDecimal(askUnits - bidUnits);
   }
 
   public BigDecimal getSpreadPercentage() {
-    BigDecimal spread = getSpread();
-    BigDecimal midPrice = getMidPrice();
-
-    if (midPrice.equals(BigDecimal.ZERO)) {
+    long mid = midUnits();
+    if (mid == 0) {
       return BigDecimal.ZERO;
     }
 
-    return spread
-        .divide(midPrice, MATH_CONTEXT)
-        .multiply(BigDecimal.valueOf(100))
-        .setScale(4, RoundingMode.HALF_UP);
+    long percent = Price.divideRounded((askUnits - bidUnits) * PERCENT_SCALE_FACTOR, mid);
+    return BigDecimal.valueOf(percent, PERCENT_SCALE);
   }
 
   public FXRate inverse() {
-    BigDecimal inverseBid = BigDecimal.ONE.divide(ask, MATH_CONTEXT);
-    BigDecimal inverseAsk = BigDecimal.ONE.divide(bid, MATH_CONTEXT);
+    return new FXRate(ccyPair.inverse(), Price.inverse(askUnits), Price.inverse(bidUnits));
+  }
 
-    return new FXRate(ccyPair.inverse(), inverseBid, inverseAsk);
+  /** Price a buy order is filled at (the ask) or a sell order (the bid), in units. */
+  public long rateUnitsForOrder(boolean isBuyOrder) {
+    return isBuyOrder ? askUnits : bidUnits;
   }
 
   public BigDecimal getRateForOrder(boolean isBuyOrder) {
-    return isBuyOrder ? ask : bid;
+    return Price.toBigDecimal(rateUnitsForOrder(isBuyOrder));
   }
 
   public boolean isValid() {
-    return bid != null
-        && ask != null
-        && bid.compareTo(BigDecimal.ZERO) > 0
-        && ask.compareTo(BigDecimal.ZERO) > 0
-        && bid.compareTo(ask) <= 0;
+    return bidUnits > 0 && askUnits > 0 && bidUnits <= askUnits;
   }
 
   public boolean matchesCurrencyPair(CurrencyPair pair) {
@@ -0,0 +1,84 @@
+package com.profidata.orderbook.domain;
+
+import com.profidata.orderbook.domain.OrderBookSummary.GroupKey;
+import com.profidata.orderbook.domain.OrderBookSummary.Totals;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link OrderBookSummary} kept up to date order by order.
+ *
+ * <p>Adding or removing an order touches one slot of the same {@code pairId << 1 | buy} arrays a
+ * full summary folds into, so it costs O(1). {@link #summary()} costs one step per group, however
+ * many orders there are. Orders are grouped exactly as a full summary of the same orders would
+ * group them. The caller must only remove orders it added. Thread-safe.
+ */
+public final class LiveOrderSummary {
+
+  private final Totals totals = new Totals(CurrencyPair.registeredCount());
+  private final Map<GroupKey, long[]> others = new HashMap<>();
+  private int orderCount;
+
+  public synchronized void add(Order order) {
+    int key = keyOf(order);
+    long limit = limitUnits(order.limit());
+    if (key >= 0) {
+      totals.add(key, limit);
+    } else {
+      OrderBookSummary.addOther(others, otherKey(order), limit);
+    }
+    orderCount++;
+  }
+
+  public synchronized void remove(Order order) {
+    int key = keyOf(order);
+    long limit = limitUnits(order.limit());
+    if (key >= 0) {
+      totals.remove(key, limit);
+    } else {
+      OrderBookSummary.removeOther(others, otherKey(order), limit);
+    }
+    orderCount--;
+  }
+
+  public synchronized int orderCount() {
+    return orderCount;
+  }
+
+  /** The summary as of now. */
+  public synchronized OrderBookSummary summary() {
+    return OrderBookSummary.from(orderCount, totals, others);
+  }
+
+  /** Slot of an order with canonical currencies, growing the arrays if needed; otherwise -1. */
+  private int keyOf(Order order) {
+    int code1 = CurrencyCode.pack(order.investmentCcy());
+    int code2 = CurrencyCode.pack(order.counterCcy());
+    if (code1 == CurrencyCode.NOT_A_CODE || code2 == CurrencyCode.NOT_A_CODE || code1 == code2) {
+      return -1;
+    }
+    int pairId = CurrencyPair.ofCodes(code1, code2).id();
+    if (!OrderBookSummary.isCanonical(order, pairId)) {
+      return -1;
+    }
+    totals.ensurePairs(pairId + 1);
+    return OrderBookSummary.key(pairId, order.isBuy());
+  }
+
+  private static GroupKey otherKey(Order order) {
+    return new GroupKey(order.investmentCcy(), order.counterCcy(), order.isBuy());
+  }
+
+  /** Limit in {@link Price} units as the columnar book would hold it, or {@link Price#NONE}. */
+  private static long limitUnits(BigDecimal limit) {
+    if (limit == null) {
+      return Price.NONE;
+    }
+    try {
+      return Price.of(limit);
+    } catch (IllegalArgumentException e) {
+      return Price.NONE;
+    }
+  }
+}
@@ -1,26 +1,59 @@
 package com.profidata.orderbook.domain;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
-/** Domain entity representing an FX order. */
+/**
+ * Domain entity representing an FX order.
+ *
+ * <p>{@code validUntil} is kept as given for display and JSON; {@code validUntilEpochDay} is the
+ * same date parsed once into an epoch day, or {@link ValidityDate#INVALID} if it is not a real
+ * {@code dd.MM.yyyy} date. The six-argument constructor parses it; the canonical one is for callers
+ * that already hold the parsed day, and rejects a day that does not match {@code validUntil}. The
+ * check parses the ten characters without allocating, so readers rebuilding orders from stored days
+ * pay next to nothing for it.
+ */
 public record Order(
     String id,
     String investmentCcy,
     Boolean buy,
     String counterCcy,
     BigDecimal limit,
-    String validUntil) {
+    String validUntil,
+    int validUntilEpochDay) {
   public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
 
+  public Order {
+    if (validUntilEpochDay != ValidityDate.parseEpochDay(validUntil)) {
+      throw new IllegalArgumentException(
+          "Validity day " + validUntilEpochDay + " does not match validity date " + validUntil);
+    }
+  }
+
+  public Order(
+      String id,
+      String investmentCcy,
+      Boolean buy,
+      String counterCcy,
+      BigDecimal limit,
+      String validUntil) {
+    this(
+        id,
+        investmentCcy,
+        buy,
+        counterCcy,
+        limit,
+        validUntil,
+        ValidityDate.parseEpochDay(validUntil));
+  }
+
   public static Order createNew(
       String investmentCcy, boolean buy, String counterCcy, BigDecimal limit, String validUntil) {
     return new Order(null, investmentCcy, buy, counterCcy, limit, validUntil);
   }
 
   public CurrencyPair getCurrencyPair() {
-    return new CurrencyPair(investmentCcy, counterCcy);
+    return CurrencyPair.of(investmentCcy, counterCcy);
   }
 
   public boolean isBuy() {
@@ -43,11 +76,14 @@ public record Order(
   }
 
   public boolean isValid() {
-    try {
-      LocalDate validDate = LocalDate.parse(validUntil, DATE_FORMATTER);
-      return !validDate.isBefore(LocalDate.now());
-    } catch (Exception e) {
-      return false;
-    }
+    return isValidOn(ValidityDate.today());
+  }
+
+  /**
+   * Whether the order is still valid on the given day. Pass the day in once when checking many
+   * orders.
+   */
+  public boolean isValidOn(int epochDay) {
+    return validUntilEpochDay != ValidityDate.INVALID && validUntilEpochDay >= epochDay;
   }
 }
@@ -0,0 +1,273 @@
+package com.profidata.orderbook.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Order count and limit totals of a {@link ColumnarOrderBook} per currency pair and side.
+ *
+ * <p>The book is folded in one pass into three primitive arrays indexed by {@code pairId << 1 |
+ * buy}, so no key or accumulator object is created per order. {@link #parallel} splits the rows
+ * into ranges on a fork-join pool, folds each into its own arrays and adds the arrays together as
+ * the ranges join.
+ *
+ * <p>Orders the book keeps aside are grouped by their currencies as given, like every other view of
+ * the book; those whose currencies are already in canonical form join their pair's group.
+ */
+public final class OrderBookSummary {
+
+  private static final Comparator<Group> BY_CURRENCIES_AND_SIDE =
+      Comparator.comparing(Group::investmentCcy, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(Group::counterCcy, Comparator.nullsFirst(Comparator.naturalOrder()))
+          .thenComparing(Group::orderType);
+
+  /** Books at least this large are summarized in parallel by {@link #compute}. */
+  private static final int PARALLEL_THRESHOLD = 1 << 18;
+
+  /** Rows folded by one fork-join task before it stops splitting. */
+  private static final int ROWS_PER_TASK = 1 << 16;
+
+  private final int orderCount;
+  private final List<Group> groups;
+
+  private OrderBookSummary(int orderCount, List<Group> groups) {
+    this.orderCount = orderCount;
+    this.groups = groups;
+  }
+
+  /** Summarizes the book, on the common fork-join pool if it is large. */
+  public static OrderBookSummary compute(ColumnarOrderBook book) {
+    return book.size() >= PARALLEL_THRESHOLD ? parallel(book, ForkJoinPool.commonPool()) : of(book);
+  }
+
+  /** Summarizes the book on the calling thread. */
+  public static OrderBookSummary of(ColumnarOrderBook book) {
+    Totals totals = new Totals(CurrencyPair.registeredCount());
+    totals.fold(book, 0, book.size());
+    return summarize(book, totals);
+  }
+
+  /** Summarizes the book on the given pool, one task per range of rows. */
+  public static OrderBookSummary parallel(ColumnarOrderBook book, ForkJoinPool pool) {
+    Totals totals = pool.invoke(new FoldTask(book, CurrencyPair.registeredCount(), 0, book.size()));
+    return summarize(book, totals);
+  }
+
+  public int orderCount() {
+    return orderCount;
+  }
+
+  /** Groups sorted by investment currency, counter currency and side, buy first. */
+  public List<Group> groups() {
+    return groups;
+  }
+
+  /** Number of distinct investment and counter currency combinations. */
+  public int pairCount() {
+    Set<GroupKey> pairs = new HashSet<>();
+    for (Group group : groups) {
+      pairs.add(new GroupKey(group.investmentCcy(), group.counterCcy(), false));
+    }
+    return pairs.size();
+  }
+
+  private static OrderBookSummary summarize(ColumnarOrderBook book, Totals totals) {
+    Map<GroupKey, long[]> others = new HashMap<>();
+    book.irregularOrders()
+        .forEach(
+            (row, order) -> {
+              boolean buy = book.isBuy(row);
+              long limit = book.limitUnits(row);
+              int pairId = book.pairId(row);
+              if (pairId != ColumnarOrderBook.NO_PAIR && isCanonical(order, pairId)) {
+                totals.add(key(pairId, buy), limit);
+              } else {
+                addOther(
+                    others, new GroupKey(order.investmentCcy(), order.counterCcy(), buy), limit);
+              }
+            });
+    return from(book.size(), totals, others);
+  }
+
+  /** Collects the non-empty groups of the totals and the other groups, sorted. */
+  static OrderBookSummary from(int orderCount, Totals totals, Map<GroupKey, long[]> others) {
+    List<Group> groups = new ArrayList<>();
+    for (int key = 0; key < totals.counts.length; key++) {
+      if (totals.counts[key] > 0) {
+        CurrencyPair pair = CurrencyPair.byId(key >>> 1);
+        groups.add(
+            new Group(
+                pair.ccy1(),
+                pair.ccy2(),
+                (key & 1) != 0,
+                totals.counts[key],
+                totals.limitCounts[key],
+                totals.limitSums[key]));
+      }
+    }
+    others.forEach(
+        (key, sums) ->
+            groups.add(
+                new Group(
+                    key.investmentCcy(),
+                    key.counterCcy(),
+                    key.buy(),
+                    (int) sums[0],
+                    (int) sums[1],
+                    sums[2])));
+    groups.sort(BY_CURRENCIES_AND_SIDE);
+
+    return new OrderBookSummary(orderCount, List.copyOf(groups));
+  }
+
+  /** Adds an order to a group keyed by its currencies as given: count, limit count, limit sum. */
+  static void addOther(Map<GroupKey, long[]> others, GroupKey key, long limit) {
+    long[] sums = others.computeIfAbsent(key, k -> new long[3]);
+    sums[0]++;
+    if (limit != Price.NONE) {
+      sums[1]++;
+      sums[2] += limit;
+    }
+  }
+
+  /** Takes an order out of a group added to by {@link #addOther}, dropping the group when empty. */
+  static void removeOther(Map<GroupKey, long[]> others, GroupKey key, long limit) {
+    long[] sums = others.get(key);
+    if (sums == null) {
+      return;
+    }
+    if (--sums[0] == 0) {
+      others.remove(key);
+    } else if (limit != Price.NONE) {
+      sums[1]--;
+      sums[2] -= limit;
+    }
+  }
+
+  static boolean isCanonical(Order order, int pairId) {
+    CurrencyPair pair = CurrencyPair.byId(pairId);
+    return pair.ccy1().equals(order.investmentCcy()) && pair.ccy2().equals(order.counterCcy());
+  }
+
+  static int key(int pairId, boolean buy) {
+    return pairId << 1 | (buy ? 1 : 0);
+  }
+
+  /**
+   * Orders of one currency combination and side.
+   *
+   * @param limitCount orders that have a limit
+   * @param limitSum sum of those limits in {@link Price} units
+   */
+  public record Group(
+      String investmentCcy,
+      String counterCcy,
+      boolean buy,
+      int count,
+      int limitCount,
+      long limitSum) {
+
+    public String orderType() {
+      return buy ? "buy" : "sell";
+    }
+  }
+
+  /** Group of orders whose currencies are not in canonical form. */
+  record GroupKey(String investmentCcy, String counterCcy, boolean buy) {}
+
+  /** Count, limit count and limit sum per {@code pairId << 1 | buy}. */
+  static final class Totals {
+    int[] counts;
+    int[] limitCounts;
+    long[] limitSums;
+
+    Totals(int pairCount) {
+      counts = new int[pairCount << 1];
+      limitCounts = new int[pairCount << 1];
+      limitSums = new long[pairCount << 1];
+    }
+
+    /** Makes room for every pair registered so far. */
+    void ensurePairs(int pairCount) {
+      int length = pairCount << 1;
+      if (length > counts.length) {
+        counts = Arrays.copyOf(counts, length);
+        limitCounts = Arrays.copyOf(limitCounts, length);
+        limitSums = Arrays.copyOf(limitSums, length);
+      }
+    }
+
+    /** Adds the rows the columns hold exactly; the rest are added by {@link #summarize}. */
+    void fold(ColumnarOrderBook book, int from, int to) {
+      for (int row = from; row < to; row++) {
+        if (!book.isIrregular(row)) {
+          add(key(book.pairId(row), book.isBuy(row)), book.limitUnits(row));
+        }
+      }
+    }
+
+    void add(int key, long limit) {
+      counts[key]++;
+      if (limit != Price.NONE) {
+        limitCounts[key]++;
+        limitSums[key] += limit;
+      }
+    }
+
+    void remove(int key, long limit) {
+      counts[key]--;
+      if (limit != Price.NONE) {
+        limitCounts[key]--;
+        limitSums[key] -= limit;
+      }
+    }
+
+    Totals merge(Totals other) {
+      for (int key = 0; key < counts.length; key++) {
+        counts[key] += other.counts[key];
+        limitCounts[key] += other.limitCounts[key];
+        limitSums[key] += other.limitSums[key];
+      }
+      return this;
+    }
+  }
+
+  /** Forked within one summary and never serialized, so its book need not be serializable. */
+  @SuppressWarnings("serial")
+  private static final class FoldTask extends RecursiveTask<Totals> {
+
+    private final ColumnarOrderBook book;
+    private final int pairCount;
+    private final int from;
+    private final int to;
+
+    FoldTask(ColumnarOrderBook book, int pairCount, int from, int to) {
+      this.book = book;
+      this.pairCount = pairCount;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Totals compute() {
+      if (to - from <= ROWS_PER_TASK) {
+        Totals totals = new Totals(pairCount);
+        totals.fold(book, from, to);
+        return totals;
+      }
+      int middle = (from + to) >>> 1;
+      FoldTask right = new FoldTask(book, pairCount, middle, to);
+      right.fork();
+      Totals left = new FoldTask(book, pairCount, from, middle).compute();
+      return left.merge(right.join());
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package com.profidata.orderbook.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point price arithmetic on {@code long} values counted in millionths (1e-6), the scale FX
+ * rates are quoted to.
+ *
+ * <p>Prices are kept as plain {@code long}s so hot loops over rates and orders run without
+ * allocating; {@link BigDecimal} is only produced at the display and JSON boundaries. Prices are
+ * positive in practice; {@link #NONE} marks a missing one.
+ */
+public final class Price {
+
+  /** Number of decimal places a price unit represents. */
+  public static final int SCALE = 6;
+
+  /** Units in a price of one. */
+  public static final long ONE = 1_000_000L;
+
+  /** Marks a missing price, such as an order without a limit or a pair without a quote. */
+  public static final long NONE = Long.MIN_VALUE;
+
+  private static final long ONE_SQUARED = ONE * ONE;
+
+  private Price() {}
+
+  /**
+   * Converts a decimal price to units, rounding half up to {@value #SCALE} decimal places.
+   *
+   * @return price in units, or {@link #NONE} for {@code null}
+   * @throws IllegalArgumentException if the price does not fit in a {@code long}
+   */
+  public static long of(BigDecimal value) {
+    if (value == null) {
+      return NONE;
+    }
+    try {
+      return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Price out of range: " + value.toPlainString(), e);
+    }
+  }
+
+  /**
+   * Converts units back to a decimal price with scale {@value #SCALE}.
+   *
+   * @return decimal price, or {@code null} for {@link #NONE}
+   */
+  public static BigDecimal toBigDecimal(long units) {
+    return units == NONE ? null : BigDecimal.valueOf(units, SCALE);
+  }
+
+  /** Midpoint of two prices, rounded half up. */
+  public static long mid(long bid, long ask) {
+    long sum = bid + ask;
+    return (sum >> 1) + (sum & 1);
+  }
+
+  /** Reciprocal of a positive price, rounded half up, or {@link #NONE} for zero or missing. */
+  public static long inverse(long units) {
+    if (units <= 0) {
+      return NONE;
+    }
+    return (ONE_SQUARED + units / 2) / units;
+  }
+
+  /**
+   * Product of two prices, rounded half up, or {@link #NONE} if either is missing or the result
+   * does not fit.
+   */
+  public static long multiply(long a, long b) {
+    if (a == NONE || b == NONE || a < 0 || b < 0) {
+      return NONE;
+    }
+    long high = Math.multiplyHigh(a, b);
+    long low = a * b;
+    if (high != 0 || low < 0 || low > Long.MAX_VALUE - ONE / 2) {
+      return NONE;
+    }
+    return (low + ONE / 2) / ONE;
+  }
+
+  /** Absolute difference between two prices, or {@link #NONE} if either is missing. */
+  public static long distance(long a, long b) {
+    if (a == NONE || b == NONE) {
+      return NONE;
+    }
+    return Math.abs(a - b);
+  }
+
+  /**
+   * Divides {@code numerator} by {@code denominator}, rounding half up, for non-negative values.
+   * Used for averages and ratios that stay in integer units.
+   */
+  public static long divideRounded(long numerator, long denominator) {
+    return (numerator + denominator / 2) / denominator;
+  }
+}
@@ -0,0 +1,126 @@
+package com.profidata.orderbook.domain;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable view of one rate snapshot, with a price for every pair it can quote read straight from
+ * its {@link CrossRateMatrix}.
+ *
+ * <p>Besides the quoted pairs this covers their inverses and any pair that can be crossed through a
+ * common currency; see {@link CrossRateMatrix}. All of them are calculated once when the snapshot
+ * is built. A lookup finds both currencies of the pair among the few in the matrix and reads the
+ * cell, so no pair has to be registered for the snapshot to quote it. Where the service quotes both
+ * directions of a pair, its own quote wins over the inverse of the other.
+ */
+public final class RateSnapshot {
+
+  public static final RateSnapshot EMPTY = of(List.of());
+
+  private static final int NO_CELL = -1;
+
+  private final List<FXRate> rates;
+  private final CrossRateMatrix matrix;
+  private final FXRate[] quoted;
+
+  private RateSnapshot(List<FXRate> rates, CrossRateMatrix matrix, FXRate[] quoted) {
+    this.rates = rates;
+    this.matrix = matrix;
+    this.quoted = quoted;
+  }
+
+  /**
+   * Builds a snapshot from the rates the service returned.
+   *
+   * @param rates rates as fetched; kept as-is for {@link #rates()}
+   * @return snapshot quoting every pair it can, directly, inverted or crossed
+   */
+  public static RateSnapshot of(List<FXRate> rates) {
+    CrossRateMatrix matrix = CrossRateMatrix.of(rates);
+    int n = matrix.size();
+
+    FXRate[] quoted = new FXRate[n * n];
+    for (FXRate rate : rates) {
+      int cell = cellOf(matrix, rate.ccyPair());
+      if (cell != NO_CELL && matrix.source(cell / n, cell % n) == CrossRateMatrix.Source.DIRECT) {
+        quoted[cell] = rate;
+      }
+    }
+
+    return new RateSnapshot(List.copyOf(rates), matrix, quoted);
+  }
+
+  /** Rates exactly as the service returned them. */
+  public List<FXRate> rates() {
+    return rates;
+  }
+
+  public boolean isEmpty() {
+    return rates.isEmpty();
+  }
+
+  /** Rate for the pair in the direction asked for, whether quoted, inverted or crossed. */
+  public Optional<FXRate> find(CurrencyPair pair) {
+    int cell = cellOf(matrix, pair);
+    if (cell == NO_CELL) {
+      return Optional.empty();
+    }
+    if (quoted[cell] != null) {
+      return Optional.of(quoted[cell]);
+    }
+    int n = matrix.size();
+    return Optional.of(
+        new FXRate(pair, matrix.bidUnits(cell / n, cell % n), matrix.askUnits(cell / n, cell % n)));
+  }
+
+  /**
+   * Price an order on the pair would be filled at: the ask for a buy, the bid for a sell.
+   *
+   * @return price in {@link Price} units, or {@link Price#NONE} if the pair has no rate
+   */
+  public long rateUnitsForOrder(CurrencyPair pair, boolean isBuyOrder) {
+    int cell = cellOf(matrix, pair);
+    if (cell == NO_CELL) {
+      return Price.NONE;
+    }
+    int n = matrix.size();
+    return isBuyOrder ? matrix.askUnits(cell / n, cell % n) : matrix.bidUnits(cell / n, cell % n);
+  }
+
+  /** Whether the service quotes the pair in either direction. */
+  public boolean isQuoted(CurrencyPair pair) {
+    CrossRateMatrix.Source source = sourceOf(pair);
+    return source == CrossRateMatrix.Source.DIRECT || source == CrossRateMatrix.Source.INVERSE;
+  }
+
+  /** How the rate for the pair was obtained, or {@code NONE} if there is none. */
+  public CrossRateMatrix.Source sourceOf(CurrencyPair pair) {
+    int cell = cellOf(matrix, pair);
+    if (cell == NO_CELL) {
+      return CrossRateMatrix.Source.NONE;
+    }
+    int n = matrix.size();
+    return matrix.source(cell / n, cell % n);
+  }
+
+  /**
+   * Matrix cell of the pair, or {@link #NO_CELL} if it has no price: a cell that the matrix left
+   * empty, a currency the rates do not mention, or a code that is not three letters.
+   */
+  private static int cellOf(CrossRateMatrix matrix, CurrencyPair pair) {
+    if (pair == null || pair.code() == CurrencyCode.NOT_A_CODE) {
+      return NO_CELL;
+    }
+    int from = matrix.indexOf(CurrencyCode.first(pair.code()));
+    int to = matrix.indexOf(CurrencyCode.second(pair.code()));
+    if (from < 0 || to < 0 || matrix.source(from, to) == CrossRateMatrix.Source.NONE) {
+      return NO_CELL;
+    }
+    return from * matrix.size() + to;
+  }
+
+  @Override
+  public String toString() {
+    return "RateSnapshot" + rates;
+  }
+}
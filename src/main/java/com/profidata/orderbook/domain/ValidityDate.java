@@ -0,0 +1,113 @@
+package com.profidata.orderbook.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Order validity dates as epoch-day {@code int}s, with a parser for the {@code dd.MM.yyyy} format
+ * orders use.
+ *
+ * <p>The parser reads the ten characters directly and allocates nothing, so expiry checks over
+ * large books come down to comparing ints. Dates that do not exist, such as 31.02, are rejected.
+ */
+public final class ValidityDate {
+
+  /** Returned for text that is not a real date in {@code dd.MM.yyyy} format. */
+  public static final int INVALID = Integer.MIN_VALUE;
+
+  private static final int LENGTH = 10;
+  private static final int DAYS_0000_TO_1970 = 719_528;
+
+  private ValidityDate() {}
+
+  /**
+   * Parses a {@code dd.MM.yyyy} date.
+   *
+   * @return days since 1970-01-01, or {@link #INVALID}
+   */
+  public static int parseEpochDay(CharSequence text) {
+    if (text == null || text.length() != LENGTH || text.charAt(2) != '.' || text.charAt(5) != '.') {
+      return INVALID;
+    }
+
+    int day = digits(text, 0, 2);
+    int month = digits(text, 3, 5);
+    int year = digits(text, 6, 10);
+    if (day < 1 || month < 1 || month > 12 || year < 0 || day > lengthOfMonth(year, month)) {
+      return INVALID;
+    }
+    return (int) epochDay(year, month, day);
+  }
+
+  /** Whether the text is a real date in {@code dd.MM.yyyy} format. */
+  public static boolean isValid(CharSequence text) {
+    return parseEpochDay(text) != INVALID;
+  }
+
+  /** Today's date in the system time zone, as an epoch day. */
+  public static int today() {
+    return (int) LocalDate.now().toEpochDay();
+  }
+
+  /** Formats an epoch day as {@code dd.MM.yyyy}; years past 9999 are not supported. */
+  public static String format(int epochDay) {
+    LocalDate date = LocalDate.ofEpochDay(epochDay);
+    char[] text = new char[LENGTH];
+    writeDigits(text, 0, 2, date.getDayOfMonth());
+    text[2] = '.';
+    writeDigits(text, 3, 5, date.getMonthValue());
+    text[5] = '.';
+    writeDigits(text, 6, 10, date.getYear());
+    return new String(text);
+  }
+
+  public static LocalDate toLocalDate(int epochDay) {
+    return LocalDate.ofEpochDay(epochDay);
+  }
+
+  /** Reads a run of decimal digits, or returns -1 if any character is not a digit. */
+  private static int digits(CharSequence text, int from, int to) {
+    int value = 0;
+    for (int i = from; i < to; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static void writeDigits(char[] text, int from, int to, int value) {
+    for (int i = to - 1; i >= from; i--) {
+      text[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static boolean isLeapYear(int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    return switch (month) {
+      case 2 -> isLeapYear(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  /** Same calculation as {@link LocalDate#toEpochDay()}, without building a LocalDate. */
+  private static long epochDay(int year, int month, int day) {
+    long total = 365L * year;
+    total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+}
@@ -9,7 +9,18 @@ import org.mapstruct.factory.Mappers;
 public interface OrderMapper {
   OrderMapper INSTANCE = Mappers.getMapper(OrderMapper.class);
 
-  Order fromApiResponse(OrderResponse response);
+  default Order fromApiResponse(OrderResponse response) {
+    if (response == null) {
+      return null;
+    }
+    return new Order(
+        response.id(),
+        response.investmentCcy(),
+        response.buy(),
+        response.counterCcy(),
+        response.limit(),
+        response.validUntil());
+  }
 
   OrderResponse toResponse(Order order);
 }
@@ -11,7 +11,18 @@ import org.mapstruct.factory.Mappers;
 public interface RateMapper {
   RateMapper INSTANCE = Mappers.getMapper(RateMapper.class);
 
-  FXRate fromApiResponse(FXRateResponse response);
+  default FXRate fromApiResponse(FXRateResponse response) {
+    if (response == null) {
+      return null;
+    }
+    return new FXRate(
+        currencyPairFromApiResponse(response.ccyPair()), response.bid(), response.ask());
+  }
 
-  CurrencyPair currencyPairFromApiResponse(CurrencyPairResponse response);
+  default CurrencyPair currencyPairFromApiResponse(CurrencyPairResponse response) {
+    if (response == null) {
+      return null;
+    }
+    return CurrencyPair.intern(response.ccy1(), response.ccy2());
+  }
 }
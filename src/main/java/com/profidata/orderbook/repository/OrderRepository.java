@@ -1,8 +1,16 @@
 package com.profidata.orderbook.repository;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /** Repository interface for order data access. */
 public interface OrderRepository {
@@ -17,4 +25,78 @@ public interface OrderRepository {
   CompletableFuture<List<Order>> findAll();
 
   List<Order> findAllSync();
+
+  /**
+   * Hands every order to the consumer one at a time. Implementations backed by a remote source
+   * decode incrementally, so the full book is never materialised.
+   *
+   * @return number of orders streamed
+   */
+  default long streamAll(Consumer<? super Order> consumer) {
+    List<Order> orders = findAllSync();
+    orders.forEach(consumer);
+    return orders.size();
+  }
+
+  /**
+   * Number of orders in the book. The default streams the book and counts it; repositories that
+   * keep the book locally answer from what they hold.
+   */
+  default long size() {
+    return streamAll(order -> {});
+  }
+
+  /**
+   * Number of orders if it can be told without streaming the book, for sizing what the book is
+   * streamed into; -1 otherwise. Repositories that keep the book locally answer from what they
+   * hold.
+   */
+  default long knownSize() {
+    return -1;
+  }
+
+  /**
+   * Looks up a single order. The default scans the whole book; repositories that keep an ID index
+   * answer without touching the network.
+   */
+  default Optional<Order> findById(String orderId) {
+    return findAllSync().stream().filter(order -> orderId.equals(order.id())).findFirst();
+  }
+
+  /**
+   * Looks up several orders at once. The default indexes one download of the book, so the cost is a
+   * single scan however many IDs are asked for.
+   *
+   * @return the orders found, keyed by ID in the order the IDs were given; unknown IDs are left out
+   */
+  default Map<String, Order> findByIds(Collection<String> orderIds) {
+    Map<String, Order> index = new HashMap<>();
+    findAllSync().forEach(order -> index.put(order.id(), order));
+
+    Map<String, Order> found = new LinkedHashMap<>();
+    for (String orderId : orderIds) {
+      Order order = index.get(orderId);
+      if (order != null) {
+        found.put(orderId, order);
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Summarizes the order book by currency pair and side. The default streams the whole book into
+   * columns and folds them; repositories that keep the book locally maintain the summary as orders
+   * change instead.
+   */
+  default OrderBookSummary summarize() {
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(0);
+    streamAll(builder::add);
+    return OrderBookSummary.compute(builder.build());
+  }
+
+  /**
+   * Brings any locally held copy of the order book in line with the source. Repositories that hold
+   * no local state have nothing to do.
+   */
+  default void refresh() {}
 }
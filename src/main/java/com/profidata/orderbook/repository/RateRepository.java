@@ -1,9 +1,11 @@
 package com.profidata.orderbook.repository;
 
 import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import com.profidata.orderbook.domain.FXRate;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /** Repository interface for rate data access. */
 public interface RateRepository {
@@ -11,7 +13,27 @@ public interface RateRepository {
 
   List<FXRate> getCurrentRatesSync();
 
+  /**
+   * Hands every current rate to the consumer one at a time.
+   *
+   * @return number of rates streamed
+   */
+  default long streamCurrentRates(Consumer<? super FXRate> consumer) {
+    List<FXRate> rates = getCurrentRatesSync();
+    rates.forEach(consumer);
+    return rates.size();
+  }
+
   CompletableFuture<List<CurrencyPair>> getSupportedPairs();
 
   List<CurrencyPair> getSupportedPairsSync();
+
+  /**
+   * Returns the supported pairs as a lookup set.
+   *
+   * @return supported currency pairs
+   */
+  default CurrencyPairSet getSupportedPairSet() {
+    return CurrencyPairSet.of(getSupportedPairsSync());
+  }
 }
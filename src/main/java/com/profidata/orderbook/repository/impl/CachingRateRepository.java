@@ -0,0 +1,185 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.repository.RateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RateRepository decorator that serves the rate snapshot from the {@code fxRateCache}.
+ *
+ * <p>Only the first read, or a read after the entry has expired, waits for the service. Once an
+ * entry is older than {@code refreshAfterWrite}, the next read still gets the cached snapshot
+ * straight away and kicks off a single background refresh that replaces it when it arrives. A
+ * failed refresh keeps the old snapshot until it expires. {@code refreshAfterWrite} must therefore
+ * be shorter than the cache's {@code expireAfterWrite}; otherwise entries expire before they are
+ * due for refresh and every read past expiry waits for the service.
+ *
+ * <p>The cache's hit, miss and eviction statistics are bound to the registry under the {@code
+ * fxRates} cache name, and every load from the service is timed under {@code rates.cache.load}.
+ */
+public class CachingRateRepository implements RateRepository {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CachingRateRepository.class);
+
+  static final String RATES_KEY = "rates";
+  static final String CACHE_NAME = "fxRates";
+  static final String LOAD_METRIC = "rates.cache.load";
+
+  private final RateRepository delegate;
+  private final Cache<String, List<FXRate>> cache;
+  private final Duration refreshAfterWrite;
+  private final Timer initialLoadTimer;
+  private final Timer refreshTimer;
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+
+  /**
+   * @throws IllegalArgumentException if {@code refreshAfterWrite} is not positive or not shorter
+   *     than the cache's {@code expireAfterWrite}
+   */
+  public CachingRateRepository(
+      RateRepository delegate,
+      Cache<String, List<FXRate>> cache,
+      Duration refreshAfterWrite,
+      MeterRegistry meterRegistry) {
+    validateRefreshAfterWrite(cache, refreshAfterWrite);
+    this.delegate = delegate;
+    this.cache = cache;
+    this.refreshAfterWrite = refreshAfterWrite;
+    this.initialLoadTimer = meterRegistry.timer(LOAD_METRIC, "type", "initial");
+    this.refreshTimer = meterRegistry.timer(LOAD_METRIC, "type", "refresh");
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public CompletableFuture<List<FXRate>> getCurrentRates() {
+    List<FXRate> cached = cache.getIfPresent(RATES_KEY);
+    if (cached != null) {
+      refreshIfDue();
+      return CompletableFuture.completedFuture(cached);
+    }
+
+    Timer.Sample sample = Timer.start();
+    return delegate
+        .getCurrentRates()
+        .thenApply(
+            rates -> {
+              sample.stop(initialLoadTimer);
+              return store(rates);
+            });
+  }
+
+  @Override
+  public List<FXRate> getCurrentRatesSync() {
+    List<FXRate> rates =
+        cache.get(
+            RATES_KEY,
+            key -> initialLoadTimer.record(() -> immutable(delegate.getCurrentRatesSync())));
+    refreshIfDue();
+    return rates;
+  }
+
+  @Override
+  public long streamCurrentRates(Consumer<? super FXRate> consumer) {
+    List<FXRate> cached = cache.getIfPresent(RATES_KEY);
+    if (cached == null) {
+      return delegate.streamCurrentRates(consumer);
+    }
+
+    refreshIfDue();
+    cached.forEach(consumer);
+    return cached.size();
+  }
+
+  @Override
+  public CompletableFuture<List<CurrencyPair>> getSupportedPairs() {
+    return delegate.getSupportedPairs();
+  }
+
+  @Override
+  public List<CurrencyPair> getSupportedPairsSync() {
+    return delegate.getSupportedPairsSync();
+  }
+
+  private static void validateRefreshAfterWrite(
+      Cache<String, List<FXRate>> cache, Duration refreshAfterWrite) {
+    if (refreshAfterWrite.isZero() || refreshAfterWrite.isNegative()) {
+      throw new IllegalArgumentException(
+          "refresh-after-write must be positive, got: " + refreshAfterWrite);
+    }
+    cache
+        .policy()
+        .expireAfterWrite()
+        .map(Policy.FixedExpiration::getExpiresAfter)
+        .filter(expireAfterWrite -> refreshAfterWrite.compareTo(expireAfterWrite) >= 0)
+        .ifPresent(
+            expireAfterWrite -> {
+              throw new IllegalArgumentException(
+                  "refresh-after-write ("
+                      + refreshAfterWrite
+                      + ") must be shorter than expire-after-write ("
+                      + expireAfterWrite
+                      + ")");
+            });
+  }
+
+  /** Starts a background refresh if the cached snapshot is due and none is running yet. */
+  private void refreshIfDue() {
+    boolean due =
+        cache
+            .policy()
+            .expireAfterWrite()
+            .flatMap(expiration -> expiration.ageOf(RATES_KEY))
+            .map(age -> age.compareTo(refreshAfterWrite) >= 0)
+            .orElse(false);
+
+    if (!due || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+
+    LOGGER.debug("Refreshing cached FX rates in the background");
+    Timer.Sample sample = Timer.start();
+    CompletableFuture<List<FXRate>> refresh;
+    try {
+      refresh = delegate.getCurrentRates();
+    } catch (RuntimeException e) {
+      refresh = CompletableFuture.failedFuture(e);
+    }
+
+    refresh.whenComplete(
+        (rates, throwable) -> {
+          try {
+            if (throwable == null) {
+              sample.stop(refreshTimer);
+              store(rates);
+            } else {
+              LOGGER.warn("Background refresh of FX rates failed, serving cached rates", throwable);
+            }
+          } finally {
+            refreshing.set(false);
+          }
+        });
+  }
+
+  private List<FXRate> store(List<FXRate> rates) {
+    List<FXRate> snapshot = immutable(rates);
+    cache.put(RATES_KEY, snapshot);
+    return snapshot;
+  }
+
+  private static List<FXRate> immutable(List<FXRate> rates) {
+    return Collections.unmodifiableList(rates);
+  }
+}
@@ -0,0 +1,81 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * OrderRepository decorator that lets concurrent callers of {@code findAll}/{@code findAllSync}
+ * share one in-flight {@code /retrieveOrders} request and its decoded result.
+ *
+ * <p>The shared list is unmodifiable. Successful writes detach any in-flight read, so a caller that
+ * reads after its own create or cancel always triggers a fresh request.
+ */
+public class CoalescingOrderRepository implements OrderRepository {
+
+  static final String ORDERS_KEY = "orders";
+
+  private final OrderRepository delegate;
+  private final SingleFlight singleFlight;
+
+  public CoalescingOrderRepository(OrderRepository delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.singleFlight = new SingleFlight(meterRegistry);
+  }
+
+  @Override
+  public CompletableFuture<Order> save(Order order) {
+    return delegate.save(order).whenComplete((result, throwable) -> forgetOnSuccess(throwable));
+  }
+
+  @Override
+  public Order saveSync(Order order) {
+    Order result = delegate.saveSync(order);
+    singleFlight.forget(ORDERS_KEY);
+    return result;
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String orderId) {
+    return delegate.delete(orderId).whenComplete((result, throwable) -> forgetOnSuccess(throwable));
+  }
+
+  @Override
+  public boolean deleteSync(String orderId) {
+    boolean result = delegate.deleteSync(orderId);
+    singleFlight.forget(ORDERS_KEY);
+    return result;
+  }
+
+  @Override
+  public CompletableFuture<List<Order>> findAll() {
+    return singleFlight.executeAsync(
+        ORDERS_KEY, () -> delegate.findAll().thenApply(Collections::unmodifiableList));
+  }
+
+  @Override
+  public List<Order> findAllSync() {
+    return singleFlight.execute(
+        ORDERS_KEY, () -> Collections.unmodifiableList(delegate.findAllSync()));
+  }
+
+  @Override
+  public long streamAll(Consumer<? super Order> consumer) {
+    return delegate.streamAll(consumer);
+  }
+
+  /** Number of reads that were served by sharing another caller's in-flight request. */
+  public double getCoalescedCount() {
+    return singleFlight.coalescedCount(ORDERS_KEY);
+  }
+
+  private void forgetOnSuccess(Throwable throwable) {
+    if (throwable == null) {
+      singleFlight.forget(ORDERS_KEY);
+    }
+  }
+}
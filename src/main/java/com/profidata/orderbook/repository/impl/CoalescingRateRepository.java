@@ -0,0 +1,63 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.repository.RateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * RateRepository decorator that lets concurrent callers share one in-flight {@code /rateSnapshot}
+ * or {@code /supportedCurrencyPairs} request and its decoded, unmodifiable result.
+ */
+public class CoalescingRateRepository implements RateRepository {
+
+  static final String RATES_KEY = "rates";
+  static final String SUPPORTED_PAIRS_KEY = "supportedPairs";
+
+  private final RateRepository delegate;
+  private final SingleFlight singleFlight;
+
+  public CoalescingRateRepository(RateRepository delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.singleFlight = new SingleFlight(meterRegistry);
+  }
+
+  @Override
+  public CompletableFuture<List<FXRate>> getCurrentRates() {
+    return singleFlight.executeAsync(
+        RATES_KEY, () -> delegate.getCurrentRates().thenApply(Collections::unmodifiableList));
+  }
+
+  @Override
+  public List<FXRate> getCurrentRatesSync() {
+    return singleFlight.execute(
+        RATES_KEY, () -> Collections.unmodifiableList(delegate.getCurrentRatesSync()));
+  }
+
+  @Override
+  public long streamCurrentRates(Consumer<? super FXRate> consumer) {
+    return delegate.streamCurrentRates(consumer);
+  }
+
+  @Override
+  public CompletableFuture<List<CurrencyPair>> getSupportedPairs() {
+    return singleFlight.executeAsync(
+        SUPPORTED_PAIRS_KEY,
+        () -> delegate.getSupportedPairs().thenApply(Collections::unmodifiableList));
+  }
+
+  @Override
+  public List<CurrencyPair> getSupportedPairsSync() {
+    return singleFlight.execute(
+        SUPPORTED_PAIRS_KEY, () -> Collections.unmodifiableList(delegate.getSupportedPairsSync()));
+  }
+
+  /** Number of rate snapshot reads that were served by sharing another caller's request. */
+  public double getCoalescedCount() {
+    return singleFlight.coalescedCount(RATES_KEY);
+  }
+}
@@ -0,0 +1,49 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.Order;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/** OrderStore that keeps the {@link Order} objects on the heap in a linked hash map. */
+public final class HeapOrderStore implements OrderStore {
+
+  private final Map<String, Order> ordersById = new LinkedHashMap<>();
+
+  @Override
+  public void put(Order order) {
+    if (order.id() != null) {
+      ordersById.put(order.id(), order);
+    }
+  }
+
+  @Override
+  public boolean remove(String orderId) {
+    return ordersById.remove(orderId) != null;
+  }
+
+  @Override
+  public Order get(String orderId) {
+    return ordersById.get(orderId);
+  }
+
+  @Override
+  public int size() {
+    return ordersById.size();
+  }
+
+  @Override
+  public boolean isOnHeap() {
+    return true;
+  }
+
+  @Override
+  public void forEach(Consumer<? super Order> consumer) {
+    ordersById.values().forEach(consumer);
+  }
+
+  @Override
+  public void close() {
+    ordersById.clear();
+  }
+}
@@ -6,6 +6,7 @@ import com.profidata.orderbook.mapper.OrderMapper;
 import com.profidata.orderbook.repository.OrderRepository;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Repository;
 
@@ -58,4 +59,9 @@ public class HttpOrderRepository implements OrderRepository {
         .map(mapper::fromApiResponse)
         .collect(Collectors.toList());
   }
+
+  @Override
+  public long streamAll(Consumer<? super Order> consumer) {
+    return client.streamOrdersSync(response -> consumer.accept(mapper.fromApiResponse(response)));
+  }
 }
@@ -7,6 +7,7 @@ import com.profidata.orderbook.mapper.RateMapper;
 import com.profidata.orderbook.repository.RateRepository;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Repository;
 
@@ -37,6 +38,12 @@ public class HttpRateRepository implements RateRepository {
         .collect(Collectors.toList());
   }
 
+  @Override
+  public long streamCurrentRates(Consumer<? super FXRate> consumer) {
+    return client.streamRateSnapshotSync(
+        response -> consumer.accept(mapper.fromApiResponse(response)));
+  }
+
   @Override
   public CompletableFuture<List<CurrencyPair>> getSupportedPairs() {
     return client
@@ -0,0 +1,324 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import com.profidata.orderbook.repository.OrderRepository;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * OrderRepository decorator that keeps a local mirror of the order book and serves reads from it.
+ *
+ * <p>The mirror is loaded on the first read. After that, successful saves and deletes are applied
+ * to it in place, and it is replaced wholesale with the server's view every reconcile interval or
+ * when {@link #refresh()} is called. That picks up orders placed or cancelled by other clients.
+ * Reads never go to the network once the mirror is loaded. A failed reconcile keeps the current
+ * mirror. The mirror is keyed by order ID, so single and multi-ID lookups are hash lookups rather
+ * than scans.
+ *
+ * <p>The orders are held in an {@link OrderStore}, on the heap by default. Each download fills a
+ * new store from the delegate's stream and the one it replaces is closed. A summary of the book is
+ * kept alongside the store, adjusted on every save and delete and rebuilt with each download, so
+ * {@link #summarize()} never scans the orders. Only a heap store backs the list returned by {@link
+ * #findAllSync()} with a cached copy; with an off-heap store each call decodes a fresh list, so the
+ * book is not pinned on the heap between writes.
+ *
+ * <p>A reconcile whose download overlaps a local write is retried, so a freshly created order does
+ * not vanish because an older snapshot landed after it. Only after {@value #MAX_RECONCILE_ATTEMPTS}
+ * overlapping attempts is the last download installed regardless.
+ */
+public class MirroredOrderRepository implements OrderRepository, AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MirroredOrderRepository.class);
+
+  private static final int MAX_RECONCILE_ATTEMPTS = 3;
+
+  private final OrderRepository delegate;
+  private final Duration reconcileInterval;
+  private final Supplier<OrderStore> storeFactory;
+  private final ScheduledExecutorService scheduler;
+
+  /** Orders by ID in server order, or null before the first load; guarded by {@code this}. */
+  private SummarizingOrderStore store;
+
+  /** Incremented on every local write, so a reconcile can tell it raced one. */
+  private long writeGeneration;
+
+  /**
+   * Read-only copy of a heap mirror, rebuilt lazily on the first read after a change; always null
+   * when the store is off the heap.
+   */
+  private volatile List<Order> view;
+
+  public MirroredOrderRepository(OrderRepository delegate, Duration reconcileInterval) {
+    this(delegate, reconcileInterval, HeapOrderStore::new);
+  }
+
+  public MirroredOrderRepository(
+      OrderRepository delegate, Duration reconcileInterval, Supplier<OrderStore> storeFactory) {
+    this.delegate = delegate;
+    this.reconcileInterval = reconcileInterval;
+    this.storeFactory = storeFactory;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "order-mirror-reconcile");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Loads the mirror in the background now and reconciles it once every interval. */
+  public void start() {
+    scheduler.scheduleWithFixedDelay(
+        this::reconcileQuietly, 0, reconcileInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+    synchronized (this) {
+      if (store != null) {
+        store.close();
+        store = null;
+        view = null;
+      }
+    }
+  }
+
+  @Override
+  public CompletableFuture<Order> save(Order order) {
+    return delegate.save(order).thenApply(this::applySaved);
+  }
+
+  @Override
+  public Order saveSync(Order order) {
+    return applySaved(delegate.saveSync(order));
+  }
+
+  @Override
+  public CompletableFuture<Boolean> delete(String orderId) {
+    return delegate.delete(orderId).thenApply(deleted -> applyDeleted(orderId, deleted));
+  }
+
+  @Override
+  public boolean deleteSync(String orderId) {
+    return applyDeleted(orderId, delegate.deleteSync(orderId));
+  }
+
+  @Override
+  public CompletableFuture<List<Order>> findAll() {
+    List<Order> current = currentView();
+    if (current != null) {
+      return CompletableFuture.completedFuture(current);
+    }
+
+    long generation = currentGeneration();
+    return delegate
+        .findAll()
+        .thenApply(
+            orders -> {
+              install(generation, download(consumer -> orders.forEach(consumer)), false);
+              return currentView();
+            });
+  }
+
+  @Override
+  public List<Order> findAllSync() {
+    List<Order> current = currentView();
+    if (current != null) {
+      return current;
+    }
+    refresh();
+    return currentView();
+  }
+
+  @Override
+  public long streamAll(Consumer<? super Order> consumer) {
+    List<Order> current = view;
+    if (current != null) {
+      current.forEach(consumer);
+      return current.size();
+    }
+
+    ensureLoaded();
+    synchronized (this) {
+      store.forEach(consumer);
+      return store.size();
+    }
+  }
+
+  @Override
+  public Optional<Order> findById(String orderId) {
+    ensureLoaded();
+    synchronized (this) {
+      return Optional.ofNullable(store.get(orderId));
+    }
+  }
+
+  @Override
+  public Map<String, Order> findByIds(Collection<String> orderIds) {
+    ensureLoaded();
+    Map<String, Order> found = new LinkedHashMap<>();
+    synchronized (this) {
+      for (String orderId : orderIds) {
+        Order order = store.get(orderId);
+        if (order != null) {
+          found.put(orderId, order);
+        }
+      }
+    }
+    return found;
+  }
+
+  @Override
+  public long size() {
+    ensureLoaded();
+    synchronized (this) {
+      return store.size();
+    }
+  }
+
+  /** Size of the mirror, loading it first as any read would. */
+  @Override
+  public long knownSize() {
+    return size();
+  }
+
+  /** Returns the summary kept alongside the mirror, loading the mirror first if needed. */
+  @Override
+  public OrderBookSummary summarize() {
+    ensureLoaded();
+    synchronized (this) {
+      return store.summary().summary();
+    }
+  }
+
+  /**
+   * Replaces the mirror with the server's current order book.
+   *
+   * @throws RuntimeException if the order book cannot be downloaded
+   */
+  @Override
+  public void refresh() {
+    for (int attempt = 1; attempt <= MAX_RECONCILE_ATTEMPTS; attempt++) {
+      long generation = currentGeneration();
+
+      SummarizingOrderStore downloaded = download(delegate::streamAll);
+
+      if (install(generation, downloaded, attempt == MAX_RECONCILE_ATTEMPTS)) {
+        return;
+      }
+      LOGGER.debug("Order mirror reconcile overlapped a local write, retrying");
+    }
+  }
+
+  /** Whether the mirror has been loaded at least once. */
+  public synchronized boolean isLoaded() {
+    return store != null;
+  }
+
+  private void ensureLoaded() {
+    if (!isLoaded()) {
+      refresh();
+    }
+  }
+
+  private void reconcileQuietly() {
+    try {
+      refresh();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to reconcile order mirror, keeping current orders", e);
+    }
+  }
+
+  /** Returns the mirrored orders, or null if the mirror has not been loaded yet. */
+  private List<Order> currentView() {
+    List<Order> current = view;
+    if (current != null) {
+      return current;
+    }
+
+    synchronized (this) {
+      if (store == null) {
+        return null;
+      }
+      if (view != null) {
+        return view;
+      }
+      List<Order> orders = new ArrayList<>(store.size());
+      store.forEach(orders::add);
+      List<Order> copy = Collections.unmodifiableList(orders);
+      if (store.isOnHeap()) {
+        view = copy;
+      }
+      return copy;
+    }
+  }
+
+  private synchronized long currentGeneration() {
+    return writeGeneration;
+  }
+
+  /** Fills a new store from the given source of orders, closing it if the source fails. */
+  private SummarizingOrderStore download(Consumer<Consumer<Order>> source) {
+    SummarizingOrderStore downloaded = new SummarizingOrderStore(storeFactory.get());
+    try {
+      source.accept(downloaded::put);
+      return downloaded;
+    } catch (RuntimeException e) {
+      downloaded.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Installs a downloaded order book unless a local write happened since {@code generation} was
+   * read. A first load, or a forced one, is always installed. The store that loses is closed.
+   */
+  private synchronized boolean install(
+      long generation, SummarizingOrderStore downloaded, boolean force) {
+    if (generation != writeGeneration && store != null && !force) {
+      downloaded.close();
+      return false;
+    }
+    if (store != null) {
+      store.close();
+    }
+    store = downloaded;
+    view = null;
+    LOGGER.debug("Order mirror reconciled with {} orders", downloaded.size());
+    return true;
+  }
+
+  private synchronized Order applySaved(Order saved) {
+    writeGeneration++;
+    if (store != null && saved != null && saved.id() != null) {
+      store.put(saved);
+      view = null;
+    }
+    return saved;
+  }
+
+  private synchronized boolean applyDeleted(String orderId, boolean deleted) {
+    writeGeneration++;
+    if (deleted && store != null && store.remove(orderId)) {
+      view = null;
+    }
+    return deleted;
+  }
+}
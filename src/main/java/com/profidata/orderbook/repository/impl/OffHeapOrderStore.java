@@ -0,0 +1,466 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.CurrencyCode;
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.Price;
+import com.profidata.orderbook.domain.ValidityDate;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * OrderStore that keeps orders outside the Java heap, in direct or memory-mapped buffers.
+ *
+ * <p>Each order is a fixed-width {@value #RECORD_BYTES}-byte record:
+ *
+ * <pre>
+ *  0  int   currency pair ID
+ *  4  byte  flags: buy, cancelled, kept on heap
+ *  5  byte  limit scale
+ *  6  char  ID length
+ *  8  long  limit in Price units
+ * 16  int   validity date as an epoch day
+ * 20  int   ID offset in the arena
+ * </pre>
+ *
+ * <p>IDs are Latin-1 bytes in a separate arena buffer, and an open-addressing table of record
+ * numbers, also off the heap, finds records by ID. Cancelling an order only sets its cancelled
+ * flag, and replacing one cancels the old record and appends a new one; the space is reclaimed when
+ * the mirror installs the next download into a fresh store. Orders the record cannot reproduce
+ * exactly are flagged and kept on the heap, as in {@link
+ * com.profidata.orderbook.domain.ColumnarOrderBook}.
+ *
+ * <p>A mapped store lives in a temporary file that is deleted on close. It is scratch space so the
+ * book can be paged by the operating system, not a persistence format: pair IDs are only meaningful
+ * within one run.
+ */
+public final class OffHeapOrderStore implements OrderStore {
+
+  static final int RECORD_BYTES = 24;
+
+  private static final int PAIR = 0;
+  private static final int FLAGS = 4;
+  private static final int SCALE = 5;
+  private static final int ID_LENGTH = 6;
+  private static final int LIMIT = 8;
+  private static final int VALID_UNTIL = 16;
+  private static final int ID_OFFSET = 20;
+
+  private static final byte BUY = 1;
+  private static final byte CANCELLED = 2;
+  private static final byte ON_HEAP = 4;
+
+  private static final int INITIAL_RECORDS = 1024;
+  private static final int AVERAGE_ID_BYTES = 16;
+
+  private final Region records;
+  private final Region ids;
+  private final Map<Integer, Order> onHeap = new HashMap<>();
+
+  /** Slots hold record number + 1, so zero is empty; cancelled records are skipped on lookup. */
+  private ByteBuffer index;
+
+  private int indexEntries;
+  private int count;
+  private int live;
+  private int idBytes;
+
+  private OffHeapOrderStore(Region records, Region ids) {
+    this.records = records;
+    this.ids = ids;
+    this.index = ByteBuffer.allocateDirect(2 * INITIAL_RECORDS * Integer.BYTES);
+  }
+
+  /** Store backed by direct buffers. */
+  public static OffHeapOrderStore direct() {
+    return new OffHeapOrderStore(
+        new DirectRegion(INITIAL_RECORDS * RECORD_BYTES),
+        new DirectRegion(INITIAL_RECORDS * AVERAGE_ID_BYTES));
+  }
+
+  /**
+   * Store backed by temporary files mapped into memory.
+   *
+   * @param directory where to create the files
+   * @throws UncheckedIOException if the files cannot be created or mapped
+   */
+  public static OffHeapOrderStore mapped(Path directory) {
+    MappedRegion records = new MappedRegion(directory, INITIAL_RECORDS * RECORD_BYTES);
+    try {
+      return new OffHeapOrderStore(
+          records, new MappedRegion(directory, INITIAL_RECORDS * AVERAGE_ID_BYTES));
+    } catch (RuntimeException e) {
+      records.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public void put(Order order) {
+    if (order.id() == null) {
+      return;
+    }
+    int existing = find(order.id());
+    if (existing >= 0) {
+      cancel(existing);
+    }
+    insertIntoIndex(append(order));
+  }
+
+  @Override
+  public boolean remove(String orderId) {
+    int record = orderId != null ? find(orderId) : -1;
+    if (record < 0) {
+      return false;
+    }
+    cancel(record);
+    return true;
+  }
+
+  @Override
+  public Order get(String orderId) {
+    int record = orderId != null ? find(orderId) : -1;
+    return record >= 0 ? read(record) : null;
+  }
+
+  @Override
+  public int size() {
+    return live;
+  }
+
+  @Override
+  public void forEach(Consumer<? super Order> consumer) {
+    ByteBuffer buffer = records.buffer();
+    for (int record = 0; record < count; record++) {
+      if ((buffer.get(record * RECORD_BYTES + FLAGS) & CANCELLED) == 0) {
+        consumer.accept(read(record));
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    onHeap.clear();
+    records.close();
+    ids.close();
+  }
+
+  /** Bytes held off the heap by records, IDs and the index, including spare capacity. */
+  long offHeapBytes() {
+    return (long) records.buffer().capacity() + ids.buffer().capacity() + index.capacity();
+  }
+
+  /** Records written, including cancelled ones. */
+  int recordCount() {
+    return count;
+  }
+
+  private int append(Order order) {
+    int record = count;
+    ByteBuffer buffer =
+        records.ensureCapacity((long) (record + 1) * RECORD_BYTES, count * RECORD_BYTES);
+    int base = record * RECORD_BYTES;
+
+    boolean regular = true;
+    int code1 = CurrencyCode.pack(order.investmentCcy());
+    int code2 = CurrencyCode.pack(order.counterCcy());
+    int pairId = CurrencyPair.UNREGISTERED;
+    if (code1 != CurrencyCode.NOT_A_CODE && code2 != CurrencyCode.NOT_A_CODE && code1 != code2) {
+      pairId = CurrencyPair.intern(order.investmentCcy(), order.counterCcy()).id();
+    }
+    regular &= pairId != CurrencyPair.UNREGISTERED;
+    regular &= order.buy() != null;
+
+    long limitUnits = Price.NONE;
+    BigDecimal limit = order.limit();
+    if (limit != null && limit.scale() >= 0 && limit.scale() <= Price.SCALE) {
+      try {
+        limitUnits = Price.of(limit);
+      } catch (IllegalArgumentException e) {
+        regular = false;
+      }
+    } else {
+      regular = false;
+    }
+    regular &= order.validUntilEpochDay() != ValidityDate.INVALID;
+
+    String id = order.id();
+    boolean latin1 = id.length() <= Character.MAX_VALUE;
+    for (int i = 0; latin1 && i < id.length(); i++) {
+      latin1 = id.charAt(i) <= 0xFF;
+    }
+    regular &= latin1;
+
+    byte flags = order.isBuy() ? BUY : 0;
+    if (!regular) {
+      flags |= ON_HEAP;
+      onHeap.put(record, order);
+    }
+
+    buffer.putInt(base + PAIR, pairId);
+    buffer.put(base + FLAGS, flags);
+    buffer.put(base + SCALE, regular ? (byte) limit.scale() : 0);
+    buffer.putChar(base + ID_LENGTH, latin1 ? (char) id.length() : 0);
+    buffer.putLong(base + LIMIT, limitUnits);
+    buffer.putInt(base + VALID_UNTIL, order.validUntilEpochDay());
+    buffer.putInt(base + ID_OFFSET, idBytes);
+    if (latin1) {
+      writeId(id);
+    }
+
+    count++;
+    live++;
+    return record;
+  }
+
+  private void writeId(String id) {
+    ByteBuffer arena = ids.ensureCapacity((long) idBytes + id.length(), idBytes);
+    for (int i = 0; i < id.length(); i++) {
+      arena.put(idBytes++, (byte) id.charAt(i));
+    }
+  }
+
+  private Order read(int record) {
+    ByteBuffer buffer = records.buffer();
+    int base = record * RECORD_BYTES;
+    byte flags = buffer.get(base + FLAGS);
+    if ((flags & ON_HEAP) != 0) {
+      return onHeap.get(record);
+    }
+
+    CurrencyPair pair = CurrencyPair.byId(buffer.getInt(base + PAIR));
+    BigDecimal limit =
+        BigDecimal.valueOf(buffer.getLong(base + LIMIT), Price.SCALE)
+            .setScale(buffer.get(base + SCALE));
+    int validUntil = buffer.getInt(base + VALID_UNTIL);
+    return new Order(
+        readId(record),
+        pair.ccy1(),
+        (flags & BUY) != 0,
+        pair.ccy2(),
+        limit,
+        ValidityDate.format(validUntil),
+        validUntil);
+  }
+
+  private String readId(int record) {
+    ByteBuffer buffer = records.buffer();
+    int base = record * RECORD_BYTES;
+    byte[] bytes = new byte[buffer.getChar(base + ID_LENGTH)];
+    ids.buffer().get(buffer.getInt(base + ID_OFFSET), bytes);
+    return new String(bytes, StandardCharsets.ISO_8859_1);
+  }
+
+  private void cancel(int record) {
+    ByteBuffer buffer = records.buffer();
+    int offset = record * RECORD_BYTES + FLAGS;
+    buffer.put(offset, (byte) (buffer.get(offset) | CANCELLED));
+    onHeap.remove(record);
+    live--;
+  }
+
+  /** Live record with the given ID, or -1. */
+  private int find(String id) {
+    ByteBuffer buffer = records.buffer();
+    int mask = slots() - 1;
+    for (int slot = mix(hash(id)) & mask; ; slot = (slot + 1) & mask) {
+      int entry = index.getInt(slot * Integer.BYTES);
+      if (entry == 0) {
+        return -1;
+      }
+      int record = entry - 1;
+      if ((buffer.get(record * RECORD_BYTES + FLAGS) & CANCELLED) == 0 && idEquals(record, id)) {
+        return record;
+      }
+    }
+  }
+
+  private boolean idEquals(int record, String id) {
+    ByteBuffer buffer = records.buffer();
+    int base = record * RECORD_BYTES;
+    if ((buffer.get(base + FLAGS) & ON_HEAP) != 0) {
+      return id.equals(onHeap.get(record).id());
+    }
+    int length = buffer.getChar(base + ID_LENGTH);
+    if (length != id.length()) {
+      return false;
+    }
+    ByteBuffer arena = ids.buffer();
+    int offset = buffer.getInt(base + ID_OFFSET);
+    for (int i = 0; i < length; i++) {
+      if ((arena.get(offset + i) & 0xFF) != id.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void insertIntoIndex(int record) {
+    if ((indexEntries + 1) * 4L > slots() * 3L) {
+      rebuildIndex();
+      return;
+    }
+    placeInIndex(index, record, mix(hash(readKey(record))));
+    indexEntries++;
+  }
+
+  /**
+   * Rehashes the live records, including any just appended, into a table with room for twice as
+   * many. Entries for cancelled records are dropped.
+   */
+  private void rebuildIndex() {
+    int slots = Integer.highestOneBit(Math.max(live, INITIAL_RECORDS) * 4 - 1);
+    index = ByteBuffer.allocateDirect(slots * Integer.BYTES);
+    indexEntries = 0;
+
+    ByteBuffer buffer = records.buffer();
+    for (int record = 0; record < count; record++) {
+      if ((buffer.get(record * RECORD_BYTES + FLAGS) & CANCELLED) == 0) {
+        placeInIndex(index, record, mix(hash(readKey(record))));
+        indexEntries++;
+      }
+    }
+  }
+
+  private static void placeInIndex(ByteBuffer table, int record, int hash) {
+    int mask = table.capacity() / Integer.BYTES - 1;
+    int slot = hash & mask;
+    while (table.getInt(slot * Integer.BYTES) != 0) {
+      slot = (slot + 1) & mask;
+    }
+    table.putInt(slot * Integer.BYTES, record + 1);
+  }
+
+  private String readKey(int record) {
+    Order original = onHeap.get(record);
+    return original != null ? original.id() : readId(record);
+  }
+
+  private int slots() {
+    return index.capacity() / Integer.BYTES;
+  }
+
+  private static int hash(String id) {
+    int hash = 0;
+    for (int i = 0; i < id.length(); i++) {
+      hash = 31 * hash + id.charAt(i);
+    }
+    return hash;
+  }
+
+  private static int mix(int hash) {
+    int mixed = hash * 0x9E3779B9;
+    return mixed ^ (mixed >>> 16);
+  }
+
+  /** Growable buffer; growth keeps the first {@code used} bytes. */
+  private interface Region {
+
+    ByteBuffer buffer();
+
+    ByteBuffer ensureCapacity(long required, int used);
+
+    void close();
+
+    static int grownCapacity(int current, long required) {
+      long grown = Math.max(required, current + (current >> 1));
+      if (grown > Integer.MAX_VALUE - 8) {
+        if (required > Integer.MAX_VALUE - 8) {
+          throw new IllegalStateException("Off-heap order store is full");
+        }
+        grown = Integer.MAX_VALUE - 8;
+      }
+      return (int) grown;
+    }
+  }
+
+  private static final class DirectRegion implements Region {
+
+    private ByteBuffer buffer;
+
+    DirectRegion(int capacity) {
+      this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+      return buffer;
+    }
+
+    @Override
+    public ByteBuffer ensureCapacity(long required, int used) {
+      if (required > buffer.capacity()) {
+        ByteBuffer grown =
+            ByteBuffer.allocateDirect(Region.grownCapacity(buffer.capacity(), required));
+        grown.put(0, buffer, 0, used);
+        buffer = grown;
+      }
+      return buffer;
+    }
+
+    @Override
+    public void close() {
+      // Direct memory is released when the buffer is collected.
+      buffer = ByteBuffer.allocateDirect(0);
+    }
+  }
+
+  private static final class MappedRegion implements Region {
+
+    private final Path file;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+
+    MappedRegion(Path directory, int capacity) {
+      try {
+        this.file = Files.createTempFile(directory, "orders-", ".dat");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = map(capacity);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to map order store file in " + directory, e);
+      }
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+      return buffer;
+    }
+
+    @Override
+    public ByteBuffer ensureCapacity(long required, int used) {
+      if (required > buffer.capacity()) {
+        try {
+          buffer = map(Region.grownCapacity(buffer.capacity(), required));
+        } catch (IOException e) {
+          throw new UncheckedIOException("Failed to grow order store file " + file, e);
+        }
+      }
+      return buffer;
+    }
+
+    /** Mapping a larger region extends the file and keeps what was written to it. */
+    private ByteBuffer map(int capacity) throws IOException {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    @Override
+    public void close() {
+      try {
+        channel.close();
+        Files.deleteIfExists(file);
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to delete order store file " + file, e);
+      }
+    }
+  }
+}
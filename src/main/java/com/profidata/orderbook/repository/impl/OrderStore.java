@@ -0,0 +1,45 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.Order;
+import java.util.function.Consumer;
+
+/**
+ * Storage for the order book that {@link MirroredOrderRepository} keeps locally, keyed by order ID.
+ *
+ * <p>Implementations are not thread-safe; the mirror only touches a store while holding its own
+ * lock. A store is filled once from a download and then kept up to date with local saves and
+ * cancels until the next download replaces it, at which point it is closed.
+ */
+public interface OrderStore extends AutoCloseable {
+
+  /** Adds the order, replacing any order with the same ID. Orders without an ID are ignored. */
+  void put(Order order);
+
+  /**
+   * Removes the order with the given ID.
+   *
+   * @return whether an order was removed
+   */
+  boolean remove(String orderId);
+
+  /** Returns the order with the given ID, or null. */
+  Order get(String orderId);
+
+  /** Number of orders held. */
+  int size();
+
+  /**
+   * Whether the orders are held as {@link Order} objects on the heap, so a list of them costs no
+   * more than references. Stores that encode orders elsewhere return false.
+   */
+  default boolean isOnHeap() {
+    return false;
+  }
+
+  /** Passes every order to the consumer, in the order they were added. */
+  void forEach(Consumer<? super Order> consumer);
+
+  /** Releases the storage; the store must not be used afterwards. */
+  @Override
+  void close();
+}
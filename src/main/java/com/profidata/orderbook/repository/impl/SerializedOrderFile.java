@@ -0,0 +1,114 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.Order;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.io.Serial;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Reads the order service's own snapshot file, {@code orders.ser}, so a local store can be filled
+ * without the service running.
+ *
+ * <p>The file is Java serialization of the date it was written followed by an array of the
+ * service's order class, which does not exist on this side. Its class descriptor is swapped for
+ * {@link SnapshotOrder}, which has the same serialized fields, and a filter admits nothing but
+ * those fields' types.
+ */
+public final class SerializedOrderFile {
+
+  private static final String ORDER_CLASS = "com.profidata.interview.order.order.Order";
+  private static final String ORDER_ARRAY_CLASS = "[L" + ORDER_CLASS + ";";
+
+  private static final ObjectInputFilter FILTER =
+      ObjectInputFilter.Config.createFilter(
+          "maxdepth=10;java.time.Ser;java.time.LocalDate;"
+              + "java.math.BigDecimal;java.math.BigInteger;java.lang.Number;"
+              + SnapshotOrder.class.getName()
+              + ";!*");
+
+  private SerializedOrderFile() {}
+
+  /**
+   * Passes every order in the file to the consumer, one at a time.
+   *
+   * @return number of orders read
+   * @throws UncheckedIOException if the file cannot be read or is not an order snapshot
+   */
+  public static long read(Path file, Consumer<? super Order> consumer) {
+    try (InputStream input = new BufferedInputStream(Files.newInputStream(file));
+        ObjectInputStream objects = new SnapshotInputStream(input)) {
+      objects.setObjectInputFilter(FILTER);
+
+      Object content = objects.readObject();
+      while (!(content instanceof SnapshotOrder[])) {
+        content = objects.readObject();
+      }
+
+      SnapshotOrder[] orders = (SnapshotOrder[]) content;
+      for (SnapshotOrder order : orders) {
+        consumer.accept(order.toOrder());
+      }
+      return orders.length;
+    } catch (IOException | ClassNotFoundException e) {
+      throw new UncheckedIOException(
+          "Failed to read order snapshot " + file,
+          e instanceof IOException io ? io : new IOException(e));
+    }
+  }
+
+  /** Resolves the service's order class, and arrays of it, to {@link SnapshotOrder}. */
+  private static final class SnapshotInputStream extends ObjectInputStream {
+
+    SnapshotInputStream(InputStream input) throws IOException {
+      super(input);
+    }
+
+    @Override
+    protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+      ObjectStreamClass descriptor = super.readClassDescriptor();
+      return switch (descriptor.getName()) {
+        case ORDER_CLASS -> checked(descriptor, ObjectStreamClass.lookup(SnapshotOrder.class));
+        case ORDER_ARRAY_CLASS -> ObjectStreamClass.lookup(SnapshotOrder[].class);
+        default -> descriptor;
+      };
+    }
+
+    private static ObjectStreamClass checked(ObjectStreamClass stream, ObjectStreamClass local)
+        throws InvalidClassException {
+      if (stream.getSerialVersionUID() != local.getSerialVersionUID()) {
+        throw new InvalidClassException(
+            stream.getName(), "unexpected serialVersionUID " + stream.getSerialVersionUID());
+      }
+      return local;
+    }
+  }
+
+  /** Field-for-field stand-in for the service's serialized order. */
+  @SuppressWarnings("unused")
+  private static final class SnapshotOrder implements Serializable {
+
+    @Serial private static final long serialVersionUID = 0xF7A70397CFB98661L;
+
+    private boolean buy;
+    private String counterCcy;
+    private String id;
+    private String investmentCcy;
+    private BigDecimal limit;
+    private String validUntil;
+
+    Order toOrder() {
+      return new Order(id, investmentCcy, buy, counterCcy, limit, validUntil);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.profidata.orderbook.repository.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same resource into a single in-flight call.
+ *
+ * <p>The first caller for a key runs the call; everyone arriving while it is still running waits
+ * for and shares its result. Sync and async callers share the same in-flight slot. Each call is
+ * counted under {@code repository.requests.executed} or {@code repository.requests.coalesced},
+ * tagged with the resource key.
+ */
+final class SingleFlight {
+
+  static final String EXECUTED_METRIC = "repository.requests.executed";
+  static final String COALESCED_METRIC = "repository.requests.coalesced";
+
+  private final ConcurrentMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+  private final MeterRegistry meterRegistry;
+
+  SingleFlight(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  /** Runs the call on the calling thread, or waits for an identical call already in flight. */
+  <V> V execute(String key, Supplier<V> call) {
+    CompletableFuture<V> promise = new CompletableFuture<>();
+    CompletableFuture<V> existing = register(key, promise);
+
+    if (existing != null) {
+      return await(existing);
+    }
+
+    try {
+      V value = call.get();
+      promise.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      promise.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, promise);
+    }
+  }
+
+  /** Starts the async call, or returns a view of an identical call already in flight. */
+  <V> CompletableFuture<V> executeAsync(String key, Supplier<CompletableFuture<V>> call) {
+    CompletableFuture<V> promise = new CompletableFuture<>();
+    CompletableFuture<V> existing = register(key, promise);
+
+    if (existing != null) {
+      return existing.copy();
+    }
+
+    CompletableFuture<V> source;
+    try {
+      source = call.get();
+    } catch (RuntimeException e) {
+      source = CompletableFuture.failedFuture(e);
+    }
+
+    source.whenComplete(
+        (value, throwable) -> {
+          inFlight.remove(key, promise);
+          if (throwable == null) {
+            promise.complete(value);
+          } else {
+            promise.completeExceptionally(throwable);
+          }
+        });
+
+    return promise.copy();
+  }
+
+  /**
+   * Detaches the in-flight call for a key so later callers start a fresh one. Callers already
+   * waiting still receive its result. Used after writes so a read cannot return data fetched before
+   * the write completed.
+   */
+  void forget(String key) {
+    inFlight.remove(key);
+  }
+
+  double coalescedCount(String key) {
+    return meterRegistry.counter(COALESCED_METRIC, "resource", key).count();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <V> CompletableFuture<V> register(String key, CompletableFuture<V> promise) {
+    CompletableFuture<V> existing = (CompletableFuture<V>) inFlight.putIfAbsent(key, promise);
+    meterRegistry
+        .counter(existing == null ? EXECUTED_METRIC : COALESCED_METRIC, "resource", key)
+        .increment();
+    return existing;
+  }
+
+  private static <V> V await(CompletableFuture<V> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+      throw e;
+    }
+  }
+}
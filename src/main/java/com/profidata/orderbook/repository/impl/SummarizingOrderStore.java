@@ -0,0 +1,74 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.LiveOrderSummary;
+import com.profidata.orderbook.domain.Order;
+import java.util.function.Consumer;
+
+/**
+ * OrderStore decorator that keeps a {@link LiveOrderSummary} of what the store holds.
+ *
+ * <p>Every put and remove adjusts the summary by the order added or taken away, including the order
+ * a put replaces. A fresh download fills a fresh store, so the summary is rebuilt from scratch
+ * exactly when the mirror takes a new snapshot.
+ */
+final class SummarizingOrderStore implements OrderStore {
+
+  private final OrderStore store;
+  private final LiveOrderSummary summary = new LiveOrderSummary();
+
+  SummarizingOrderStore(OrderStore store) {
+    this.store = store;
+  }
+
+  LiveOrderSummary summary() {
+    return summary;
+  }
+
+  @Override
+  public void put(Order order) {
+    if (order.id() == null) {
+      return;
+    }
+    Order replaced = store.get(order.id());
+    if (replaced != null) {
+      summary.remove(replaced);
+    }
+    store.put(order);
+    summary.add(order);
+  }
+
+  @Override
+  public boolean remove(String orderId) {
+    Order removed = store.get(orderId);
+    if (removed == null || !store.remove(orderId)) {
+      return false;
+    }
+    summary.remove(removed);
+    return true;
+  }
+
+  @Override
+  public Order get(String orderId) {
+    return store.get(orderId);
+  }
+
+  @Override
+  public int size() {
+    return store.size();
+  }
+
+  @Override
+  public boolean isOnHeap() {
+    return store.isOnHeap();
+  }
+
+  @Override
+  public void forEach(Consumer<? super Order> consumer) {
+    store.forEach(consumer);
+  }
+
+  @Override
+  public void close() {
+    store.close();
+  }
+}
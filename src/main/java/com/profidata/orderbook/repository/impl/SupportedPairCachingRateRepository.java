@@ -0,0 +1,113 @@
+package com.profidata.orderbook.repository.impl;
+
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
+import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.repository.RateRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RateRepository decorator that keeps the supported currency pairs in memory as a {@link
+ * CurrencyPairSet}.
+ *
+ * <p>The pair list hardly ever changes, so it is loaded once and then refreshed in the background
+ * at a fixed interval rather than on demand. Readers never wait for a refresh; only a read before
+ * the first load has finished goes to the service. A failed refresh keeps the previous set. Rate
+ * reads pass straight through to the delegate.
+ */
+public class SupportedPairCachingRateRepository implements RateRepository, AutoCloseable {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(SupportedPairCachingRateRepository.class);
+
+  private final RateRepository delegate;
+  private final Duration refreshInterval;
+  private final ScheduledExecutorService scheduler;
+
+  private volatile CurrencyPairSet supportedPairs;
+
+  public SupportedPairCachingRateRepository(RateRepository delegate, Duration refreshInterval) {
+    this.delegate = delegate;
+    this.refreshInterval = refreshInterval;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "supported-pairs-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Loads the pairs in the background now and then once every refresh interval. */
+  public void start() {
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void close() {
+    scheduler.shutdownNow();
+  }
+
+  @Override
+  public CompletableFuture<List<FXRate>> getCurrentRates() {
+    return delegate.getCurrentRates();
+  }
+
+  @Override
+  public List<FXRate> getCurrentRatesSync() {
+    return delegate.getCurrentRatesSync();
+  }
+
+  @Override
+  public long streamCurrentRates(Consumer<? super FXRate> consumer) {
+    return delegate.streamCurrentRates(consumer);
+  }
+
+  @Override
+  public CompletableFuture<List<CurrencyPair>> getSupportedPairs() {
+    CurrencyPairSet cached = supportedPairs;
+    if (cached != null) {
+      return CompletableFuture.completedFuture(cached.toList());
+    }
+    return delegate.getSupportedPairs().thenApply(this::store).thenApply(CurrencyPairSet::toList);
+  }
+
+  @Override
+  public List<CurrencyPair> getSupportedPairsSync() {
+    return getSupportedPairSet().toList();
+  }
+
+  @Override
+  public CurrencyPairSet getSupportedPairSet() {
+    CurrencyPairSet cached = supportedPairs;
+    if (cached != null) {
+      return cached;
+    }
+    return store(delegate.getSupportedPairsSync());
+  }
+
+  /** Reloads the pairs from the delegate, keeping the current set if that fails. */
+  void refresh() {
+    try {
+      CurrencyPairSet refreshed = store(delegate.getSupportedPairsSync());
+      LOGGER.debug("Refreshed {} supported currency pairs", refreshed.size());
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to refresh supported currency pairs, keeping cached set", e);
+    }
+  }
+
+  private CurrencyPairSet store(List<CurrencyPair> pairs) {
+    CurrencyPairSet loaded = CurrencyPairSet.of(pairs);
+    supportedPairs = loaded;
+    return loaded;
+  }
+}
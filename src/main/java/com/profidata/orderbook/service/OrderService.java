@@ -1,7 +1,11 @@
 package com.profidata.orderbook.service;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -19,5 +23,31 @@ public interface OrderService {
 
   List<Order> getAllOrders();
 
+  /**
+   * Returns the whole order book in columnar form. The orders are streamed into the columns, so the
+   * book is never held as a list of {@link Order} objects on the way.
+   */
+  ColumnarOrderBook getOrderBook();
+
+  /**
+   * Returns the order book summarized by currency pair and side. When the book is mirrored locally
+   * the summary is kept up to date as orders are created and cancelled, so this does not depend on
+   * the size of the book.
+   */
+  OrderBookSummary getOrderSummary();
+
   Optional<Order> findOrderById(String orderId);
+
+  /**
+   * Looks up several orders at once.
+   *
+   * @return the orders found, keyed by ID in the order the IDs were given; unknown IDs are left out
+   */
+  Map<String, Order> findOrdersByIds(Collection<String> orderIds);
+
+  /** Number of orders in the book, counted without copying it into a list. */
+  long countOrders();
+
+  /** Re-reads the order book from the order service, discarding any locally held copy. */
+  void refreshOrders();
 }
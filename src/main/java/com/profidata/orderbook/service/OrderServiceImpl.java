@@ -1,8 +1,12 @@
 package com.profidata.orderbook.service;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
 import com.profidata.orderbook.repository.OrderRepository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
@@ -72,19 +76,52 @@ public class OrderServiceImpl implements OrderService {
     return orderRepository.findAllSync();
   }
 
+  @Override
+  public ColumnarOrderBook getOrderBook() {
+    LOGGER.debug("Retrieving order book in columnar form");
+
+    ColumnarOrderBook.Builder builder =
+        ColumnarOrderBook.builder(Math.clamp(orderRepository.knownSize(), 0, Integer.MAX_VALUE));
+    orderRepository.streamAll(builder::add);
+    return builder.build();
+  }
+
+  @Override
+  public OrderBookSummary getOrderSummary() {
+    LOGGER.debug("Retrieving order book summary");
+    return orderRepository.summarize();
+  }
+
   @Override
   public Optional<Order> findOrderById(String orderId) {
     LOGGER.debug("Finding order by ID: {}", orderId);
 
     try {
-      List<Order> orders = orderRepository.findAllSync();
-      return orders.stream().filter(order -> orderId.equals(order.id())).findFirst();
+      return orderRepository.findById(orderId);
     } catch (Exception e) {
       LOGGER.error("Error finding order by ID: {}", orderId, e);
       return Optional.empty();
     }
   }
 
+  @Override
+  public Map<String, Order> findOrdersByIds(Collection<String> orderIds) {
+    LOGGER.debug("Finding {} orders by ID", orderIds.size());
+    return orderRepository.findByIds(orderIds);
+  }
+
+  @Override
+  public long countOrders() {
+    LOGGER.debug("Counting orders");
+    return orderRepository.size();
+  }
+
+  @Override
+  public void refreshOrders() {
+    LOGGER.debug("Refreshing orders from the order service");
+    orderRepository.refresh();
+  }
+
   private CompletableFuture<Order> validateOrderForCreation(Order order) {
     return CompletableFuture.supplyAsync(
         () -> {
@@ -1,8 +1,11 @@
 package com.profidata.orderbook.service;
 
 import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.domain.RateSnapshot;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 /** Service interface for FX rate operations. */
@@ -11,7 +14,20 @@ public interface RateService {
 
   List<FXRate> getCurrentRates();
 
+  /**
+   * Returns the current rates as a snapshot with inverse quotes precomputed. The snapshot is built
+   * once per set of rates fetched and shared by every caller until the rates change.
+   */
+  RateSnapshot getRateSnapshot();
+
   CompletableFuture<List<CurrencyPair>> getSupportedPairsAsync();
 
   List<CurrencyPair> getSupportedPairs();
+
+  /**
+   * Returns the supported pairs for local validation, or empty if they cannot be loaded.
+   *
+   * @return supported pair set, if available
+   */
+  Optional<CurrencyPairSet> findSupportedPairSet();
 }
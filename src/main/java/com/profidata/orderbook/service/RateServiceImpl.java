@@ -1,9 +1,13 @@
 package com.profidata.orderbook.service;
 
 import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.domain.RateSnapshot;
+import com.profidata.orderbook.exception.OrderBookException;
 import com.profidata.orderbook.repository.RateRepository;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +21,9 @@ public class RateServiceImpl implements RateService {
 
   private final RateRepository rateRepository;
 
+  /** Last snapshot built, with the rate list it was built from. */
+  private volatile SnapshotHolder lastSnapshot;
+
   public RateServiceImpl(RateRepository rateRepository) {
     this.rateRepository = rateRepository;
   }
@@ -46,6 +53,21 @@ public class RateServiceImpl implements RateService {
     return rates;
   }
 
+  @Override
+  public RateSnapshot getRateSnapshot() {
+    List<FXRate> rates = getCurrentRates();
+
+    SnapshotHolder holder = lastSnapshot;
+    if (holder != null && holder.source() == rates) {
+      return holder.snapshot();
+    }
+
+    RateSnapshot snapshot = RateSnapshot.of(rates);
+    lastSnapshot = new SnapshotHolder(rates, snapshot);
+    LOGGER.debug("Built rate snapshot from {} FX rates", rates.size());
+    return snapshot;
+  }
+
   @Override
   public CompletableFuture<List<CurrencyPair>> getSupportedPairsAsync() {
     LOGGER.debug("Retrieving supported currency pairs asynchronously");
@@ -70,4 +92,20 @@ public class RateServiceImpl implements RateService {
     LOGGER.info("Successfully retrieved {} supported currency pairs", pairs.size());
     return pairs;
   }
+
+  @Override
+  public Optional<CurrencyPairSet> findSupportedPairSet() {
+    try {
+      return Optional.of(rateRepository.getSupportedPairSet());
+    } catch (OrderBookException e) {
+      LOGGER.warn("Supported currency pairs unavailable, skipping local pair validation", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Snapshot keyed by the identity of the rate list. Cached repositories hand out the same list
+   * until they refresh, so identity tells whether the rates have changed.
+   */
+  private record SnapshotHolder(List<FXRate> source, RateSnapshot snapshot) {}
 }
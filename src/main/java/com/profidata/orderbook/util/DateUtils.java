@@ -1,5 +1,6 @@
 package com.profidata.orderbook.util;
 
+import com.profidata.orderbook.domain.ValidityDate;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
@@ -27,12 +28,8 @@ public final class DateUtils {
 
   /** Checks if a date string represents a future date. */
   public static boolean isFutureDate(String dateString) {
-    try {
-      LocalDate date = parseDate(dateString);
-      return date != null && date.isAfter(LocalDate.now());
-    } catch (Exception e) {
-      return false;
-    }
+    int epochDay = ValidityDate.parseEpochDay(dateString);
+    return epochDay != ValidityDate.INVALID && epochDay > ValidityDate.today();
   }
 
   /** Checks if a date is within a valid range for orders. */
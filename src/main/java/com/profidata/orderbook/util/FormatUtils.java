@@ -1,5 +1,7 @@
 package com.profidata.orderbook.util;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -14,23 +16,53 @@ public final class FormatUtils {
 
   /** Creates a formatted table with headers and data rows. */
   public static String createTable(String[] headers, List<String[]> rows) {
-    if (headers == null || headers.length == 0) {
-      return "";
+    StringBuilder sb = new StringBuilder();
+    try {
+      writeTable(sb, headers, rows);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e); // StringBuilder does not throw
     }
+    return sb.toString();
+  }
 
-    int[] widths = calculateColumnWidths(headers, rows);
-
-    StringBuilder sb = new StringBuilder();
+  /**
+   * Writes a formatted table with headers and data rows to the output, row by row. Each row is
+   * trimmed of leading and trailing blanks, so empty edge cells leave no padding behind.
+   *
+   * @throws IOException if the output cannot be written
+   */
+  public static void writeTable(Appendable out, String[] headers, List<String[]> rows)
+      throws IOException {
+    if (headers == null || headers.length == 0) {
+      return;
+    }
 
-    sb.append(formatRow(headers, widths)).append("\n");
+    StringBuilder line = new StringBuilder();
+    TableWriter table = TableWriter.unseparated(line, calculateColumnWidths(headers, rows));
 
-    sb.append(createSeparator(widths)).append("\n");
+    table.row(headers);
+    writeTrimmed(line, out);
+    table.rule(table.width());
+    writeTrimmed(line, out);
 
     for (String[] row : rows) {
-      sb.append(formatRow(row, widths)).append("\n");
+      table.row(row);
+      writeTrimmed(line, out);
     }
+  }
 
-    return sb.toString();
+  /** Writes one buffered row, ending in a newline, without its outer blanks; then clears it. */
+  private static void writeTrimmed(StringBuilder line, Appendable out) throws IOException {
+    int start = 0;
+    int end = line.length() - 1;
+    while (start < end && line.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && line.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    out.append(line, start, end).append('\n');
+    line.setLength(0);
   }
 
   /** Calculates optimal column widths for table formatting. */
@@ -56,25 +88,6 @@ public final class FormatUtils {
     return widths;
   }
 
-  /** Formats a single table row. */
-  private static String formatRow(String[] columns, int[] widths) {
-    StringBuilder sb = new StringBuilder();
-
-    for (int i = 0; i < columns.length; i++) {
-      String column = columns[i] != null ? columns[i] : "";
-      int width = i < widths.length ? widths[i] : column.length() + 2;
-
-      sb.append(String.format("%-" + width + "s", column));
-    }
-
-    return sb.toString().trim();
-  }
-
-  /** Creates a separator line for tables. */
-  private static String createSeparator(int[] widths) {
-    return "-".repeat(java.util.Arrays.stream(widths).sum());
-  }
-
   /** Formats a number with specified decimal places. */
   public static String formatDecimal(BigDecimal number, int decimalPlaces) {
     if (number == null) return "N/A";
@@ -0,0 +1,110 @@
+package com.profidata.orderbook.util;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Writes fixed-width table rows straight to an output, one cell at a time.
+ *
+ * <p>Column widths are given up front, so a row is written as soon as its cells are known and
+ * nothing is held back for the table as a whole. Cells are left-aligned and padded with spaces
+ * copied from a constant, without {@code String.format}. Padding is only written once the next cell
+ * arrives, so rows carry no trailing blanks.
+ *
+ * @author Profidata Developer
+ */
+public final class TableWriter {
+
+  private static final String SPACES = " ".repeat(64);
+  private static final String DASHES = "-".repeat(64);
+
+  private final Appendable out;
+  private final int[] widths;
+  private final int gap;
+  private int column;
+  private int pendingPadding;
+
+  private TableWriter(Appendable out, int gap, int[] widths) {
+    this.out = out;
+    this.gap = gap;
+    this.widths = widths.clone();
+  }
+
+  /** Table whose columns are padded to the given widths and separated by a single space. */
+  public static TableWriter of(Appendable out, int... widths) {
+    return new TableWriter(out, 1, widths);
+  }
+
+  /** Table whose columns are padded to the given widths and written with no separator. */
+  public static TableWriter unseparated(Appendable out, int... widths) {
+    return new TableWriter(out, 0, widths);
+  }
+
+  /** Writes the next cell of the current row; null is written as an empty cell. */
+  public TableWriter cell(CharSequence text) throws IOException {
+    CharSequence value = text != null ? text : "";
+    if (column > 0) {
+      repeat(SPACES, pendingPadding + gap);
+    }
+    out.append(value);
+    int width = column < widths.length ? widths[column] : value.length();
+    pendingPadding = Math.max(0, width - value.length());
+    column++;
+    return this;
+  }
+
+  /** Writes a whole-number cell. */
+  public TableWriter cell(long value) throws IOException {
+    return cell(Long.toString(value));
+  }
+
+  /** Writes a decimal cell in plain notation, or {@code missing} when there is no value. */
+  public TableWriter cell(BigDecimal value, String missing) throws IOException {
+    return cell(value != null ? value.toPlainString() : missing);
+  }
+
+  /** Ends the current row. */
+  public TableWriter endRow() throws IOException {
+    out.append('\n');
+    column = 0;
+    pendingPadding = 0;
+    return this;
+  }
+
+  /** Writes a complete row of cells. */
+  public TableWriter row(String... cells) throws IOException {
+    for (String cell : cells) {
+      cell(cell);
+    }
+    return endRow();
+  }
+
+  /** Writes a line of dashes as wide as the given length. */
+  public TableWriter rule(int length) throws IOException {
+    repeat(DASHES, length);
+    return endRow();
+  }
+
+  /** Writes a line of text outside the columns. */
+  public TableWriter line(CharSequence text) throws IOException {
+    out.append(text);
+    return endRow();
+  }
+
+  /** Sum of the column widths and separators, the width of a fully padded row. */
+  public int width() {
+    int total = Math.max(0, widths.length - 1) * gap;
+    for (int width : widths) {
+      total += width;
+    }
+    return total;
+  }
+
+  private void repeat(String source, int count) throws IOException {
+    while (count > 0) {
+      int chunk = Math.min(count, source.length());
+      out.append(source, 0, chunk);
+      count -= chunk;
+    }
+  }
+}
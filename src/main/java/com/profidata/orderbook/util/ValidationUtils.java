@@ -1,8 +1,9 @@
 package com.profidata.orderbook.util;
 
+import com.profidata.orderbook.domain.CurrencyPairSet;
+import com.profidata.orderbook.domain.ValidityDate;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -47,6 +48,22 @@ public final class ValidationUtils {
     if (!COMMON_CURRENCY_CODES.contains(normalizedCode)) {}
   }
 
+  /**
+   * Validates that a currency pair can be traded, in either direction.
+   *
+   * @param supportedPairs Pairs supported by the order service
+   * @param investmentCcy Investment currency code
+   * @param counterCcy Counter currency code
+   * @throws IllegalArgumentException if the pair is not supported
+   */
+  public static void validateSupportedCurrencyPair(
+      CurrencyPairSet supportedPairs, String investmentCcy, String counterCcy) {
+    if (!supportedPairs.supports(investmentCcy, counterCcy)) {
+      throw new IllegalArgumentException(
+          "Currency pair " + investmentCcy + "/" + counterCcy + " is not supported");
+    }
+  }
+
   /**
    * Validates a date string in dd.MM.yyyy format.
    *
@@ -60,12 +77,12 @@ public final class ValidationUtils {
       throw new IllegalArgumentException(fieldName + " cannot be null or empty");
     }
 
-    try {
-      return LocalDate.parse(dateStr.trim(), DATE_FORMATTER);
-    } catch (DateTimeParseException e) {
+    int epochDay = ValidityDate.parseEpochDay(dateStr.trim());
+    if (epochDay == ValidityDate.INVALID) {
       throw new IllegalArgumentException(
-          fieldName + " must be in format dd.MM.yyyy, got: " + dateStr, e);
+          fieldName + " must be in format dd.MM.yyyy, got: " + dateStr);
     }
+    return ValidityDate.toLocalDate(epochDay);
   }
 
   /**
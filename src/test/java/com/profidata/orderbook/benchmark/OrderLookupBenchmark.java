@@ -0,0 +1,150 @@
+package com.profidata.orderbook.benchmark;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.repository.OrderRepository;
+import com.profidata.orderbook.repository.impl.MirroredOrderRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares looking orders up by scanning the book with looking them up in the mirror's ID index.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderLookupBenchmark {
+
+  private static final int IDS_PER_MULTI_LOOKUP = 10;
+  private static final int LOOKUP_KEYS = 1024;
+
+  @Param({"10000", "100000", "1000000"})
+  private int orderCount;
+
+  private OrderRepository scanning;
+  private MirroredOrderRepository indexed;
+  private String[] keys;
+  private int next;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    List<Order> orders = new ArrayList<>(orderCount);
+    for (int i = 0; i < orderCount; i++) {
+      orders.add(
+          new Order(
+              Integer.toString(i), "EUR", i % 2 == 0, "USD", new BigDecimal("1.10"), "31.12.2030"));
+    }
+
+    scanning = new InMemoryOrderRepository(orders);
+    indexed = new MirroredOrderRepository(scanning, Duration.ofHours(1));
+    indexed.refresh();
+
+    SplittableRandom random = new SplittableRandom(42);
+    keys = new String[LOOKUP_KEYS];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = Integer.toString(random.nextInt(orderCount));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    indexed.close();
+  }
+
+  @Benchmark
+  public Optional<Order> scanById() {
+    return scanning.findById(nextKey());
+  }
+
+  @Benchmark
+  public Optional<Order> indexById() {
+    return indexed.findById(nextKey());
+  }
+
+  @Benchmark
+  public Map<String, Order> scanByIds() {
+    return scanning.findByIds(nextKeys());
+  }
+
+  @Benchmark
+  public Map<String, Order> indexByIds() {
+    return indexed.findByIds(nextKeys());
+  }
+
+  private String nextKey() {
+    next = (next + 1) % keys.length;
+    return keys[next];
+  }
+
+  private List<String> nextKeys() {
+    List<String> ids = new ArrayList<>(IDS_PER_MULTI_LOOKUP);
+    for (int i = 0; i < IDS_PER_MULTI_LOOKUP; i++) {
+      ids.add(nextKey());
+    }
+    return ids;
+  }
+
+  /** Repository over a fixed list, relying on the interface's scanning lookups. */
+  private static final class InMemoryOrderRepository implements OrderRepository {
+
+    private final List<Order> orders;
+
+    InMemoryOrderRepository(List<Order> orders) {
+      this.orders = List.copyOf(orders);
+    }
+
+    @Override
+    public CompletableFuture<Order> save(Order order) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Order saveSync(Order order) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> delete(String orderId) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean deleteSync(String orderId) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public CompletableFuture<List<Order>> findAll() {
+      return CompletableFuture.completedFuture(orders);
+    }
+
+    @Override
+    public List<Order> findAllSync() {
+      return orders;
+    }
+  }
+}
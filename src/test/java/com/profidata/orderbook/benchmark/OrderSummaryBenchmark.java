@@ -0,0 +1,69 @@
+package com.profidata.orderbook.benchmark;
+
+import com.profidata.orderbook.domain.ColumnarOrderBook;
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares summarizing the columnar book on one thread with summarizing it on the common pool.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class OrderSummaryBenchmark {
+
+  private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY", "SEK"};
+
+  @Param({"100000", "1000000", "10000000"})
+  private int orderCount;
+
+  private ColumnarOrderBook book;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(orderCount);
+    for (int i = 0; i < orderCount; i++) {
+      String ccy1 = CURRENCIES[i % CURRENCIES.length];
+      String ccy2 = CURRENCIES[(i + 1 + i / CURRENCIES.length % 5) % CURRENCIES.length];
+      builder.add(
+          new Order(
+              Integer.toString(i),
+              ccy1,
+              i % 2 == 0,
+              ccy2,
+              BigDecimal.valueOf(1_000_000 + i % 500_000, 6),
+              "31.12.2030"));
+    }
+    book = builder.build();
+  }
+
+  @Benchmark
+  public OrderBookSummary sequential() {
+    return OrderBookSummary.of(book);
+  }
+
+  @Benchmark
+  public OrderBookSummary parallel() {
+    return OrderBookSummary.parallel(book, ForkJoinPool.commonPool());
+  }
+}
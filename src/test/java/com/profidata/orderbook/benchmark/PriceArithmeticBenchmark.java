@@ -0,0 +1,113 @@
+package com.profidata.orderbook.benchmark;
+
+import com.profidata.orderbook.domain.Price;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares ranking orders by distance to market with {@link BigDecimal} against fixed-point {@link
+ * Price} units, and the per-rate inverse and mid calculations behind it.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark.args=PriceArithmetic}; add
+ * {@code -prof gc} to see the allocation rate of each path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PriceArithmeticBenchmark {
+
+  private static final MathContext MATH_CONTEXT = new MathContext(10, RoundingMode.HALF_UP);
+
+  @Param({"1000000"})
+  private int orderCount;
+
+  private BigDecimal[] decimalLimits;
+  private long[] unitLimits;
+  private BigDecimal decimalMarket;
+  private long unitMarket;
+
+  private BigDecimal[] decimalDistances;
+  private long[] unitDistances;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    SplittableRandom random = new SplittableRandom(42);
+    decimalLimits = new BigDecimal[orderCount];
+    unitLimits = new long[orderCount];
+    for (int i = 0; i < orderCount; i++) {
+      long units = 900_000L + random.nextLong(600_000L);
+      decimalLimits[i] = Price.toBigDecimal(units);
+      unitLimits[i] = units;
+    }
+    decimalMarket = new BigDecimal("1.160000");
+    unitMarket = Price.of(decimalMarket);
+
+    decimalDistances = new BigDecimal[orderCount];
+    unitDistances = new long[orderCount];
+  }
+
+  @Benchmark
+  public BigDecimal[] rankDecimal() {
+    for (int i = 0; i < orderCount; i++) {
+      decimalDistances[i] = decimalLimits[i].subtract(decimalMarket).abs();
+    }
+    Arrays.sort(decimalDistances);
+    return decimalDistances;
+  }
+
+  @Benchmark
+  public long[] rankFixedPoint() {
+    for (int i = 0; i < orderCount; i++) {
+      unitDistances[i] = Price.distance(unitLimits[i], unitMarket);
+    }
+    Arrays.sort(unitDistances);
+    return unitDistances;
+  }
+
+  @Benchmark
+  public BigDecimal inverseAndMidDecimal() {
+    BigDecimal total = BigDecimal.ZERO;
+    for (int i = 0; i < 1_000; i++) {
+      BigDecimal bid = decimalLimits[i];
+      BigDecimal ask = decimalLimits[i + 1].max(bid);
+      BigDecimal inverseBid =
+          BigDecimal.ONE.divide(ask, MATH_CONTEXT).setScale(Price.SCALE, RoundingMode.HALF_UP);
+      BigDecimal mid =
+          bid.add(ask)
+              .divide(BigDecimal.valueOf(2), MATH_CONTEXT)
+              .setScale(Price.SCALE, RoundingMode.HALF_UP);
+      total = total.add(inverseBid).add(mid);
+    }
+    return total;
+  }
+
+  @Benchmark
+  public long inverseAndMidFixedPoint() {
+    long total = 0;
+    for (int i = 0; i < 1_000; i++) {
+      long bid = unitLimits[i];
+      long ask = Math.max(unitLimits[i + 1], bid);
+      total += Price.inverse(ask) + Price.mid(bid, ask);
+    }
+    return total;
+  }
+}
@@ -0,0 +1,211 @@
+package com.profidata.orderbook.cli;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.profidata.orderbook.exception.CommandParsingException;
+import java.io.BufferedReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BatchRunnerTest {
+
+  @Mock private CommandParser commandParser;
+
+  private BatchRunner runner;
+  private StringWriter out;
+  private StringWriter err;
+
+  @BeforeEach
+  void setUp() {
+    runner = new BatchRunner(commandParser);
+    out = new StringWriter();
+    err = new StringWriter();
+  }
+
+  @Test
+  void shouldPrintOutputInScriptOrder() throws Exception {
+    doAnswer(
+            invocation -> {
+              String command = invocation.getArgument(0);
+              // later commands finish first
+              Thread.sleep(command.endsWith("1") ? 60 : command.endsWith("2") ? 30 : 0);
+              invocation.<Appendable>getArgument(1).append("result of " + command);
+              return true;
+            })
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    BatchRunner.Report report = run("show 1\nshow 2\nshow 3\n", 4);
+
+    assertThat(out.toString())
+        .isEqualTo(
+            "fx-orderbook> show 1\nresult of show 1\n"
+                + "fx-orderbook> show 2\nresult of show 2\n"
+                + "fx-orderbook> show 3\nresult of show 3\n");
+    assertThat(report.commands()).isEqualTo(3);
+    assertThat(report.failed()).isZero();
+  }
+
+  @Test
+  void shouldRunIndependentCommandsConcurrently() throws Exception {
+    CountDownLatch allStarted = new CountDownLatch(4);
+    doAnswer(
+            invocation -> {
+              allStarted.countDown();
+              return allStarted.await(5, TimeUnit.SECONDS);
+            })
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    run("rates\nnew buy EUR USD 1.1 31.12.2030\ncancel 1\ncancel 2\n", 4);
+
+    assertThat(allStarted.getCount()).isZero();
+  }
+
+  @Test
+  void shouldKeepConflictingCommandsInScriptOrder() throws Exception {
+    List<String> script =
+        List.of(
+            "orders",
+            "cancel 1",
+            "new buy EUR USD 1.1 31.12.2030",
+            "summary",
+            "show 7",
+            "cancel 7",
+            "refresh",
+            "rates");
+    ConcurrentHashMap<String, long[]> spans = new ConcurrentHashMap<>();
+    doAnswer(
+            invocation -> {
+              long start = System.nanoTime();
+              Thread.sleep(20);
+              spans.put(invocation.getArgument(0), new long[] {start, System.nanoTime()});
+              return true;
+            })
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    run(String.join("\n", script), 8);
+
+    assertThat(spans).hasSize(script.size());
+    assertRunsAfter(spans, "cancel 1", "orders");
+    assertRunsAfter(spans, "new buy EUR USD 1.1 31.12.2030", "orders");
+    assertRunsAfter(spans, "summary", "cancel 1");
+    assertRunsAfter(spans, "summary", "new buy EUR USD 1.1 31.12.2030");
+    assertRunsAfter(spans, "show 7", "new buy EUR USD 1.1 31.12.2030");
+    assertRunsAfter(spans, "cancel 7", "show 7");
+    assertRunsAfter(spans, "cancel 7", "summary");
+    for (String earlier : script.subList(0, 6)) {
+      assertRunsAfter(spans, "refresh", earlier);
+    }
+    assertRunsAfter(spans, "rates", "refresh");
+  }
+
+  @Test
+  void shouldNotRunMoreThanParallelismAtOnce() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    doAnswer(
+            invocation -> {
+              peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.sleep(5);
+              running.decrementAndGet();
+              return true;
+            })
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    BatchRunner.Report report = run("rates\n".repeat(40), 3);
+
+    assertThat(report.commands()).isEqualTo(40);
+    assertThat(peak.get()).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void shouldSkipCommentsAndStopAtExit() throws Exception {
+    doAnswer(invocation -> invocation.<Appendable>getArgument(1).append("rates table") != null)
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    BatchRunner.Report report = run("# morning check\n\nrates\nexit\nsummary\n", 2);
+
+    assertThat(report.commands()).isEqualTo(1);
+    assertThat(out.toString()).isEqualTo("fx-orderbook> rates\nrates table\n");
+    verify(commandParser, never()).parseAndExecute(eq("summary"), any(Appendable.class));
+  }
+
+  @Test
+  void shouldReportFailedCommandsOnErrorOutput() throws Exception {
+    doAnswer(
+            invocation -> {
+              if (invocation.<String>getArgument(0).startsWith("bogus")) {
+                throw new CommandParsingException("Unknown command: bogus");
+              }
+              return true;
+            })
+        .when(commandParser)
+        .parseAndExecute(anyString(), any(Appendable.class));
+
+    BatchRunner.Report report = run("bogus\nrates\n", 2);
+
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(err.toString()).contains("Command error: Unknown command: bogus");
+    assertThat(report.toString())
+        .startsWith("Batch complete: 2 commands (1 failed) in ")
+        .contains("commands/sec", "latency p50 ", "p99 ");
+  }
+
+  @Test
+  void shouldParseBatchOptions() {
+    assertThat(BatchRunner.Options.parse()).isNull();
+    assertThat(BatchRunner.Options.parse("--parallelism", "4")).isNull();
+    assertThat(BatchRunner.Options.parse("--batch", "-"))
+        .isEqualTo(new BatchRunner.Options("-", BatchRunner.DEFAULT_PARALLELISM));
+    assertThat(BatchRunner.Options.parse("--batch=script.txt", "--parallelism", "16"))
+        .isEqualTo(new BatchRunner.Options("script.txt", 16));
+  }
+
+  @Test
+  void shouldRejectInvalidBatchOptions() {
+    assertThatThrownBy(() -> BatchRunner.Options.parse("--batch"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--batch requires a value");
+    assertThatThrownBy(() -> BatchRunner.Options.parse("--batch", "-", "--parallelism=0"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("--parallelism must be a positive number, got: 0");
+  }
+
+  private BatchRunner.Report run(String script, int parallelism) throws Exception {
+    return runner.run(
+        new BufferedReader(new StringReader(script)),
+        new PrintWriter(out),
+        new PrintWriter(err, true),
+        parallelism);
+  }
+
+  private static void assertRunsAfter(
+      ConcurrentHashMap<String, long[]> spans, String later, String earlier) {
+    assertThat(spans.get(later)[0])
+        .as("%s starts after %s finishes", later, earlier)
+        .isGreaterThanOrEqualTo(spans.get(earlier)[1]);
+  }
+}
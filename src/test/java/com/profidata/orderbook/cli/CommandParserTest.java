@@ -3,6 +3,8 @@ package com.profidata.orderbook.cli;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import com.profidata.orderbook.cli.commands.*;
@@ -21,6 +23,9 @@ class CommandParserTest {
   @Mock private RatesCommand ratesCommand;
   @Mock private OrdersCommand ordersCommand;
   @Mock private SummaryCommand summaryCommand;
+  @Mock private RefreshCommand refreshCommand;
+  @Mock private ShowOrderCommand showOrderCommand;
+  @Mock private ImportCommand importCommand;
 
   private CommandParser parser;
 
@@ -31,21 +36,54 @@ class CommandParserTest {
     when(ratesCommand.getCommandName()).thenReturn("rates");
     when(ordersCommand.getCommandName()).thenReturn("orders");
     when(summaryCommand.getCommandName()).thenReturn("summary");
+    when(refreshCommand.getCommandName()).thenReturn("refresh");
+    when(showOrderCommand.getCommandName()).thenReturn("show");
+    when(importCommand.getCommandName()).thenReturn("import");
 
     parser =
         new CommandParser(
-            newOrderCommand, cancelOrderCommand, ratesCommand, ordersCommand, summaryCommand);
+            newOrderCommand,
+            cancelOrderCommand,
+            ratesCommand,
+            ordersCommand,
+            summaryCommand,
+            refreshCommand,
+            showOrderCommand,
+            importCommand);
   }
 
   @Test
   void shouldParseValidCommand() throws Exception {
-    when(ratesCommand.execute(any())).thenReturn("Rate data");
+    doAnswer(invocation -> invocation.<Appendable>getArgument(1).append("Rate data"))
+        .when(ratesCommand)
+        .execute(any(String[].class), any(Appendable.class));
 
     String result = parser.parseAndExecute("rates");
 
     assertThat(result).isEqualTo("Rate data");
   }
 
+  @Test
+  void shouldStreamCommandOutput() throws Exception {
+    StringBuilder out = new StringBuilder();
+    doAnswer(invocation -> invocation.<Appendable>getArgument(1).append("Rate data"))
+        .when(ratesCommand)
+        .execute(any(String[].class), eq(out));
+
+    boolean keepRunning = parser.parseAndExecute("rates", out);
+
+    assertThat(keepRunning).isTrue();
+    assertThat(out).hasToString("Rate data");
+  }
+
+  @Test
+  void shouldStopStreamingOnExit() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    assertThat(parser.parseAndExecute("quit", out)).isFalse();
+    assertThat(out).isEmpty();
+  }
+
   @Test
   void shouldHandleHelpCommand() throws Exception {
     String result = parser.parseAndExecute("help");
@@ -77,7 +115,7 @@ class CommandParserTest {
   @Test
   void shouldReturnAvailableCommands() {
     assertThat(parser.getAvailableCommands())
-        .contains("new", "cancel", "rates", "orders", "summary");
+        .contains("new", "cancel", "rates", "orders", "summary", "refresh", "show");
   }
 
   @Test
@@ -1,12 +1,27 @@
 package com.profidata.orderbook.cli.commands;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
+import com.profidata.orderbook.domain.Order;
 import com.profidata.orderbook.service.OrderService;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -15,6 +30,8 @@ class CancelOrderCommandTest {
 
   @Mock private OrderService orderService;
 
+  @TempDir Path tempDir;
+
   private CancelOrderCommand command;
 
   @BeforeEach
@@ -59,4 +76,113 @@ class CancelOrderCommandTest {
     assertThat(result).contains("Error executing");
     assertThat(result).contains("Expected: 1, Provided: 0");
   }
+
+  @Test
+  void shouldCancelOrdersMatchingAllFilters() throws Exception {
+    when(orderService.getOrderBook()).thenReturn(book());
+    Set<String> cancelled = ConcurrentHashMap.newKeySet();
+    when(orderService.cancelOrderAsync(anyString()))
+        .thenAnswer(
+            invocation -> {
+              cancelled.add(invocation.getArgument(0));
+              return CompletableFuture.completedFuture(true);
+            });
+
+    String result =
+        command.execute(
+            new String[] {"--pair", "EUR/USD", "--side", "sell", "--expires-before", "01.01.2030"});
+
+    assertThat(cancelled).containsExactlyInAnyOrder("2", "4");
+    assertThat(result)
+        .startsWith("Cancelled 2 of 2 matching orders in ")
+        .contains("orders/sec")
+        .doesNotContain("not found");
+  }
+
+  @Test
+  void shouldCancelIdsFromFileThatAreInTheBook() throws Exception {
+    when(orderService.getOrderBook()).thenReturn(book());
+    when(orderService.cancelOrderAsync("1")).thenReturn(CompletableFuture.completedFuture(true));
+    when(orderService.cancelOrderAsync("5")).thenReturn(CompletableFuture.completedFuture(false));
+    when(orderService.cancelOrderAsync("6"))
+        .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("boom")));
+    Path ids = Files.write(tempDir.resolve("ids.txt"), List.of("# stale", "1", "", "5", "6", "99"));
+
+    String result = command.execute(new String[] {"--ids-from", ids.toString()});
+
+    assertThat(result)
+        .startsWith("Cancelled 1 of 3 matching orders")
+        .contains(
+            "1 orders were not found or could not be cancelled",
+            "1 cancellations failed, see the log for details",
+            "1 IDs from " + ids + " are not in the order book");
+    verify(orderService, never()).cancelOrderAsync("99");
+  }
+
+  @Test
+  void shouldNotExceedCancelWindow() throws Exception {
+    when(orderService.getOrderBook()).thenReturn(book());
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    when(orderService.cancelOrderAsync(anyString()))
+        .thenAnswer(
+            invocation -> {
+              peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    sleep(5);
+                    inFlight.decrementAndGet();
+                    return true;
+                  });
+            });
+
+    String result = command.execute(new String[] {"--side", "buy", "--window", "2"});
+
+    assertThat(result).startsWith("Cancelled 3 of 3 matching orders");
+    assertThat(peak.get()).isBetween(1, 2);
+  }
+
+  @Test
+  void shouldReportWhenNoOrdersMatch() throws Exception {
+    when(orderService.getOrderBook()).thenReturn(book());
+
+    String result = command.execute(new String[] {"--pair", "USD/JPY"});
+
+    assertThat(result).isEqualTo("No orders match pair USD/JPY");
+    verify(orderService, never()).cancelOrderAsync(anyString());
+  }
+
+  @Test
+  void shouldRejectInvalidFilters() throws Exception {
+    assertThat(command.execute(new String[] {"--window", "8"}))
+        .contains("At least one of --pair, --side, --expires-before or --ids-from is required");
+    assertThat(command.execute(new String[] {"--side", "hold"}))
+        .contains("--side must be either 'buy' or 'sell', got: hold");
+    assertThat(command.execute(new String[] {"--pair"})).contains("Invalid option: --pair");
+    verifyNoInteractions(orderService);
+  }
+
+  private static ColumnarOrderBook book() {
+    return ColumnarOrderBook.of(
+        List.of(
+            order("1", "EUR", true, "USD", "31.12.2025"),
+            order("2", "EUR", false, "USD", "31.12.2025"),
+            order("3", "EUR", false, "USD", "31.12.2030"),
+            order("4", "EUR", false, "USD", "15.06.2029"),
+            order("5", "GBP", true, "USD", "31.12.2025"),
+            order("6", "GBP", true, "USD", "31.12.2025")));
+  }
+
+  private static Order order(
+      String id, String investmentCcy, boolean buy, String counterCcy, String validUntil) {
+    return new Order(id, investmentCcy, buy, counterCcy, new BigDecimal("1.10"), validUntil);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
 }
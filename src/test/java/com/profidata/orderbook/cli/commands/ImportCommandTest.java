@@ -0,0 +1,182 @@
+package com.profidata.orderbook.cli.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.exception.OrderBookException;
+import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.service.RateService;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ImportCommandTest {
+
+  @Mock private OrderService orderService;
+  @Mock private RateService rateService;
+
+  @TempDir Path tempDir;
+
+  private ImportCommand command;
+
+  @BeforeEach
+  void setUp() {
+    command = new ImportCommand(orderService, rateService);
+  }
+
+  @Test
+  void shouldImportValidRows() throws Exception {
+    when(orderService.createOrderAsync(any()))
+        .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.getArgument(0)));
+    Path csv =
+        write(
+            "type,investment,counter,limit,validity",
+            "buy,EUR,USD,1.10,31.12.2030",
+            "",
+            "# hedge",
+            "sell,gbp,chf,1.15,31.12.2030");
+
+    String result = command.execute(new String[] {csv.toString()});
+
+    assertThat(result)
+        .startsWith("Import complete: 2 accepted, 0 rejected in ")
+        .contains("orders/sec")
+        .doesNotContain("Rejected rows");
+    verify(orderService, times(2)).createOrderAsync(any());
+    assertThat(Path.of(csv + ".errors.csv")).doesNotExist();
+  }
+
+  @Test
+  void shouldWriteRejectedRowsToErrorFile() throws Exception {
+    when(rateService.findSupportedPairSet())
+        .thenReturn(Optional.of(CurrencyPairSet.of(List.of(new CurrencyPair("EUR", "USD")))));
+    when(orderService.createOrderAsync(any()))
+        .thenAnswer(
+            invocation -> {
+              Order order = invocation.getArgument(0);
+              return order.isBuy()
+                  ? CompletableFuture.completedFuture(order)
+                  : CompletableFuture.failedFuture(new OrderBookException("Server refused order"));
+            });
+    Path csv =
+        write(
+            "buy,EUR,USD,1.10,31.12.2030",
+            "hold,EUR,USD,1.10,31.12.2030",
+            "buy,EUR,JPY,1.10,31.12.2030",
+            "buy,EUR,USD,-1,31.12.2030",
+            "buy,EUR,USD,1.10",
+            "sell,EUR,USD,1.10,31.12.2030");
+
+    String result = command.execute(new String[] {csv.toString()});
+
+    assertThat(result)
+        .startsWith("Import complete: 1 accepted, 5 rejected")
+        .endsWith("Rejected rows written to " + csv + ".errors.csv");
+    List<String> errors = Files.readAllLines(Path.of(csv + ".errors.csv"));
+    assertThat(errors.get(0)).isEqualTo("line,error,row");
+    assertThat(errors.subList(1, errors.size()))
+        .containsExactlyInAnyOrder(
+            "2,\"Order type must be either 'buy' or 'sell', got: hold\",hold,EUR,USD,1.10,31.12.2030",
+            "3,\"Currency pair EUR/JPY is not supported\",buy,EUR,JPY,1.10,31.12.2030",
+            "4,\"Limit price must be positive, got: -1\",buy,EUR,USD,-1,31.12.2030",
+            "5,\"Expected 5 columns but found 4\",buy,EUR,USD,1.10",
+            "6,\"Server refused order\",sell,EUR,USD,1.10,31.12.2030");
+  }
+
+  @Test
+  void shouldNotExceedInFlightWindow() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    when(orderService.createOrderAsync(any()))
+        .thenAnswer(
+            invocation -> {
+              peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    sleep(2);
+                    inFlight.decrementAndGet();
+                    return invocation.<Order>getArgument(0);
+                  });
+            });
+    Path csv = write("buy,EUR,USD,1.10,31.12.2030\n".repeat(60).split("\n"));
+
+    String result = command.execute(new String[] {csv.toString(), "--window", "4"});
+
+    assertThat(result).startsWith("Import complete: 60 accepted, 0 rejected");
+    assertThat(peak.get()).isBetween(1, 4);
+  }
+
+  @Test
+  void shouldRecordRowsInFlightWhenInterrupted() throws Exception {
+    Thread importer = Thread.currentThread();
+    when(orderService.createOrderAsync(any()))
+        .thenAnswer(
+            invocation -> {
+              importer.interrupt();
+              return CompletableFuture.supplyAsync(
+                  () -> {
+                    sleep(50);
+                    throw new OrderBookException("Server refused order");
+                  });
+            });
+    Path csv = write("buy,EUR,USD,1.10,31.12.2030", "buy,EUR,USD,1.20,31.12.2030");
+
+    String result;
+    try {
+      result = command.execute(new String[] {csv.toString(), "--window", "1"});
+    } finally {
+      Thread.interrupted();
+    }
+
+    assertThat(result).contains("Error executing import: InterruptedException");
+    assertThat(Files.readAllLines(Path.of(csv + ".errors.csv")))
+        .containsExactly(
+            "line,error,row", "1,\"Server refused order\",buy,EUR,USD,1.10,31.12.2030");
+  }
+
+  @Test
+  void shouldReportMissingFile() throws Exception {
+    String result = command.execute(new String[] {tempDir.resolve("missing.csv").toString()});
+
+    assertThat(result).contains("Error executing import: File not found: ");
+    verify(orderService, never()).createOrderAsync(any());
+  }
+
+  @Test
+  void shouldRejectInvalidArguments() throws Exception {
+    assertThat(command.execute(new String[] {})).contains("Usage: import <csv file>");
+    assertThat(command.execute(new String[] {"orders.csv", "--window", "0"}))
+        .contains("--window must be a number between 1 and 4096, got: 0");
+    verifyNoInteractions(orderService, rateService);
+  }
+
+  private Path write(String... lines) throws Exception {
+    return Files.write(tempDir.resolve("orders.csv"), List.of(lines));
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.profidata.orderbook.cli.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.profidata.orderbook.domain.Price;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class NearestOrderHeapTest {
+
+  @Test
+  void shouldKeepNearestRowsInOrder() {
+    NearestOrderHeap heap = new NearestOrderHeap(3);
+    long[] distances = {50, 10, 40, 20, 30};
+    for (int row = 0; row < distances.length; row++) {
+      heap.offer(row, distances[row]);
+    }
+
+    heap.sortNearestFirst();
+
+    assertThat(heap.size()).isEqualTo(3);
+    assertThat(rowsNearestFirst(heap)).containsExactly(1, 3, 4);
+    assertThat(heap.distance(0)).isEqualTo(10);
+    assertThat(heap.distance(2)).isEqualTo(30);
+  }
+
+  @Test
+  void shouldRankMissingDistancesLastAndTiesByRow() {
+    NearestOrderHeap heap = new NearestOrderHeap(4);
+    heap.offer(0, Price.NONE);
+    heap.offer(1, 5);
+    heap.offer(2, 5);
+    heap.offer(3, 1);
+
+    heap.sortNearestFirst();
+
+    assertThat(rowsNearestFirst(heap)).containsExactly(3, 1, 2, 0);
+    assertThat(heap.distance(3)).isEqualTo(Price.NONE);
+  }
+
+  @Test
+  void shouldMatchFullSortOnRandomDistances() {
+    Random random = new Random(42);
+    long[] distances = random.longs(10_000, 0, 500).toArray();
+    NearestOrderHeap heap = new NearestOrderHeap(100);
+    for (int row = 0; row < distances.length; row++) {
+      heap.offer(row, distances[row]);
+    }
+
+    int[] expected =
+        IntStream.range(0, distances.length)
+            .boxed()
+            .sorted(Comparator.comparingLong((Integer row) -> distances[row]))
+            .limit(100)
+            .mapToInt(Integer::intValue)
+            .toArray();
+    heap.sortNearestFirst();
+
+    assertThat(rowsNearestFirst(heap)).containsExactly(expected);
+    for (int i = 0; i < heap.size(); i++) {
+      assertThat(heap.distance(i)).isEqualTo(distances[heap.row(i)]);
+    }
+  }
+
+  @Test
+  void shouldRejectNonPositiveCapacity() {
+    assertThatThrownBy(() -> new NearestOrderHeap(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldOnlyBeReadOnceSorted() {
+    NearestOrderHeap heap = new NearestOrderHeap(2);
+    heap.offer(0, 10);
+
+    assertThatThrownBy(() -> heap.row(0)).isInstanceOf(IllegalStateException.class);
+    heap.sortNearestFirst();
+    assertThatThrownBy(() -> heap.offer(1, 5)).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static int[] rowsNearestFirst(NearestOrderHeap heap) {
+    return IntStream.range(0, heap.size()).map(heap::row).toArray();
+  }
+}
@@ -2,11 +2,19 @@ package com.profidata.orderbook.cli.commands;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import com.profidata.orderbook.domain.Order;
 import com.profidata.orderbook.service.OrderService;
+import com.profidata.orderbook.service.RateService;
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -17,12 +25,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class NewOrderCommandTest {
 
   @Mock private OrderService orderService;
+  @Mock private RateService rateService;
 
   private NewOrderCommand command;
 
   @BeforeEach
   void setUp() {
-    command = new NewOrderCommand(orderService);
+    command = new NewOrderCommand(orderService, rateService);
   }
 
   @Test
@@ -62,4 +71,53 @@ class NewOrderCommandTest {
     assertThat(result).contains("Error executing");
     assertThat(result).contains("cannot be the same");
   }
+
+  @Test
+  void shouldRejectInvalidLimitAndDateBeforeLookingUpPairs() throws Exception {
+    assertThat(command.execute(new String[] {"buy", "EUR", "USD", "-1", "31.12.2030"}))
+        .contains("Limit price must be positive");
+    assertThat(command.execute(new String[] {"buy", "EUR", "USD", "1.20", "31.12.2000"}))
+        .contains("Validity date cannot be in the past");
+
+    verifyNoInteractions(rateService, orderService);
+  }
+
+  @Test
+  void shouldRejectUnsupportedPairWithoutCallingService() throws Exception {
+    when(rateService.findSupportedPairSet())
+        .thenReturn(Optional.of(CurrencyPairSet.of(List.of(new CurrencyPair("EUR", "USD")))));
+    String[] args = {"buy", "EUR", "JPY", "1.20", "31.12.2030"};
+
+    String result = command.execute(args);
+
+    assertThat(result).contains("Error executing");
+    assertThat(result).contains("EUR/JPY is not supported");
+    verify(orderService, never()).createOrder(any());
+  }
+
+  @Test
+  void shouldAcceptSupportedPairInEitherDirection() throws Exception {
+    when(rateService.findSupportedPairSet())
+        .thenReturn(Optional.of(CurrencyPairSet.of(List.of(new CurrencyPair("EUR", "USD")))));
+    Order createdOrder =
+        new Order("123", "USD", false, "EUR", new BigDecimal("0.80"), "31.12.2030");
+    when(orderService.createOrder(any())).thenReturn(createdOrder);
+    String[] args = {"sell", "USD", "EUR", "0.80", "31.12.2030"};
+
+    String result = command.execute(args);
+
+    assertThat(result).contains("Order created successfully with ID: 123");
+  }
+
+  @Test
+  void shouldLeavePairCheckToServerWhenPairsUnavailable() throws Exception {
+    when(rateService.findSupportedPairSet()).thenReturn(Optional.empty());
+    Order createdOrder = new Order("123", "EUR", true, "JPY", new BigDecimal("160"), "31.12.2030");
+    when(orderService.createOrder(any())).thenReturn(createdOrder);
+    String[] args = {"buy", "EUR", "JPY", "160", "31.12.2030"};
+
+    String result = command.execute(args);
+
+    assertThat(result).contains("Order created successfully with ID: 123");
+  }
 }
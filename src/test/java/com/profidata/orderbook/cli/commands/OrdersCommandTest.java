@@ -1,24 +1,32 @@
 package com.profidata.orderbook.cli.commands;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.CurrencyPair;
 import com.profidata.orderbook.domain.FXRate;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.RateSnapshot;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
 import com.profidata.orderbook.service.OrderService;
 import com.profidata.orderbook.service.RateService;
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, OutputCaptureExtension.class})
 class OrdersCommandTest {
 
   @Mock private OrderService orderService;
@@ -27,9 +35,24 @@ class OrdersCommandTest {
 
   @InjectMocks private OrdersCommand command;
 
+  @AfterEach
+  void tearDown() {
+    command.close();
+  }
+
+  @Test
+  void shouldStopFetchingOnceClosed() throws Exception {
+    command.close();
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result).startsWith("Error executing orders: ");
+    verifyNoInteractions(orderService, rateService);
+  }
+
   @Test
   void shouldExecuteWithNoOrders() throws Exception {
-    when(orderService.getAllOrders()).thenReturn(Collections.emptyList());
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.EMPTY);
 
     String result = command.execute(new String[] {});
 
@@ -48,8 +71,8 @@ class OrdersCommandTest {
             new FXRate(
                 new CurrencyPair("EUR", "USD"), new BigDecimal("1.15"), new BigDecimal("1.16")));
 
-    when(orderService.getAllOrders()).thenReturn(orders);
-    when(rateService.getCurrentRates()).thenReturn(rates);
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot()).thenReturn(RateSnapshot.of(rates));
 
     String result = command.execute(new String[] {});
 
@@ -65,7 +88,210 @@ class OrdersCommandTest {
   @Test
   void shouldReturnCorrectCommandInfo() {
     assertThat(command.getCommandName()).isEqualTo("orders");
-    assertThat(command.getUsage()).isEqualTo("orders");
+    assertThat(command.getUsage()).isEqualTo("orders [--top N] [--pair CCY1/CCY2] [--page K]");
     assertThat(command.getDescription()).contains("Displays all orders");
   }
+
+  @Test
+  void shouldRankByDistanceAndShowUnquotedPairsAsNotAvailable() throws Exception {
+    List<Order> orders =
+        Arrays.asList(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"),
+            new Order("2", "EUR", true, "USD", new BigDecimal("1.17"), "31.12.2030"),
+            new Order("3", "SEK", true, "NOK", new BigDecimal("0.98"), "31.12.2030"));
+
+    List<FXRate> rates =
+        List.of(
+            new FXRate(
+                new CurrencyPair("EUR", "USD"), new BigDecimal("1.15"), new BigDecimal("1.16")));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot()).thenReturn(RateSnapshot.of(rates));
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result.indexOf("0.010000")).isLessThan(result.indexOf("0.060000"));
+    assertThat(result).contains("N/A");
+  }
+
+  @Test
+  void shouldShowDistanceForCrossedPair() throws Exception {
+    List<Order> orders =
+        List.of(new Order("1", "SEK", false, "NOK", new BigDecimal("1.05"), "31.12.2030"));
+
+    List<FXRate> rates =
+        List.of(
+            new FXRate(
+                new CurrencyPair("EUR", "SEK"), new BigDecimal("11.00"), new BigDecimal("11.02")),
+            new FXRate(
+                new CurrencyPair("EUR", "NOK"), new BigDecimal("11.50"), new BigDecimal("11.52")));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot()).thenReturn(RateSnapshot.of(rates));
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result).contains("0.006443").doesNotContain("N/A");
+  }
+
+  @Test
+  void shouldShowOrdersWithoutDistancesWhenRatesFail() throws Exception {
+    List<Order> orders =
+        List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot())
+        .thenThrow(new ServiceUnavailableException("Rate service down"));
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result)
+        .contains("Total orders: 1")
+        .contains("N/A")
+        .contains("Market rates unavailable")
+        .doesNotContain("Error");
+  }
+
+  @Test
+  void shouldNotWarnPerOrderWhenRatesFail(CapturedOutput output) throws Exception {
+    List<Order> orders =
+        List.of(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"),
+            new Order("2", "EUR", true, "USD", new BigDecimal("1.11"), "31.12.2030"));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot())
+        .thenThrow(new ServiceUnavailableException("Rate service down"));
+
+    command.execute(new String[] {});
+
+    assertThat(output).doesNotContain("No market rate found");
+  }
+
+  @Test
+  void shouldWarnOncePerUnquotedPair(CapturedOutput output) throws Exception {
+    List<Order> orders =
+        List.of(
+            new Order("1", "SEK", true, "NOK", new BigDecimal("0.98"), "31.12.2030"),
+            new Order("2", "SEK", false, "NOK", new BigDecimal("0.99"), "31.12.2030"),
+            new Order("3", "SEK", true, "NOK", new BigDecimal("1.00"), "31.12.2030"));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot()).thenReturn(RateSnapshot.EMPTY);
+
+    command.execute(new String[] {"--top", "2"});
+
+    assertThat(output.getAll().split("No market rate found", -1)).hasSize(2);
+  }
+
+  @Test
+  void shouldFailWhenOrdersCannotBeFetched() throws Exception {
+    when(orderService.getOrderBook())
+        .thenThrow(new ServiceUnavailableException("Order service down"));
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result).isEqualTo("Error executing orders: Order service down");
+  }
+
+  @Test
+  void shouldFetchOrdersAndRatesConcurrently() throws Exception {
+    CountDownLatch ratesStarted = new CountDownLatch(1);
+    List<Order> orders =
+        List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"));
+
+    when(orderService.getOrderBook())
+        .thenAnswer(
+            invocation -> {
+              assertThat(ratesStarted.await(5, TimeUnit.SECONDS)).isTrue();
+              return ColumnarOrderBook.of(orders);
+            });
+    when(rateService.getRateSnapshot())
+        .thenAnswer(
+            invocation -> {
+              ratesStarted.countDown();
+              return RateSnapshot.EMPTY;
+            });
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result).contains("Total orders: 1").doesNotContain("Market rates unavailable");
+  }
+
+  @Test
+  void shouldShowOnlyNearestOrdersPerPair() throws Exception {
+    stubBookWithTwoPairs();
+
+    String result = command.execute(new String[] {"--top", "2"});
+
+    assertThat(result)
+        .contains("1.151")
+        .contains("1.152")
+        .doesNotContain("1.153")
+        .contains("1.301")
+        .contains("1.302")
+        .doesNotContain("1.303")
+        .contains("Total orders: 6")
+        .contains("Showing 4 orders: top 2 per pair, page 1");
+    assertThat(result.indexOf("1.151")).isLessThan(result.indexOf("1.152"));
+  }
+
+  @Test
+  void shouldShowRequestedPageOfNearestOrders() throws Exception {
+    stubBookWithTwoPairs();
+
+    String result = command.execute(new String[] {"--top", "2", "--page", "2"});
+
+    assertThat(result)
+        .contains("1.153")
+        .doesNotContain("1.151")
+        .doesNotContain("1.152")
+        .contains("1.303")
+        .contains("Showing 2 orders: top 2 per pair, page 2");
+  }
+
+  @Test
+  void shouldFilterOrdersByPair() throws Exception {
+    stubBookWithTwoPairs();
+
+    String result = command.execute(new String[] {"--pair", "gbp/usd"});
+
+    assertThat(result)
+        .contains("1.301")
+        .contains("1.303")
+        .doesNotContain("1.151")
+        .contains("Showing 3 orders: GBP/USD");
+  }
+
+  @Test
+  void shouldRejectInvalidOptions() throws Exception {
+    assertThat(command.execute(new String[] {"--top"})).contains("Error").contains("Usage");
+    assertThat(command.execute(new String[] {"--top", "0"}))
+        .contains("--top must be a positive number, got: 0");
+    assertThat(command.execute(new String[] {"--top", "x"})).contains("positive number");
+    assertThat(command.execute(new String[] {"--page", "2"})).contains("--page requires --top");
+    assertThat(command.execute(new String[] {"--top", "1000", "--page", "1001"}))
+        .contains("cannot exceed");
+    assertThat(command.execute(new String[] {"--pair", "EURUSDX"})).contains("Error");
+  }
+
+  private void stubBookWithTwoPairs() {
+    List<Order> orders =
+        List.of(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.153"), "31.12.2030"),
+            new Order("2", "GBP", true, "USD", new BigDecimal("1.303"), "31.12.2030"),
+            new Order("3", "EUR", true, "USD", new BigDecimal("1.151"), "31.12.2030"),
+            new Order("4", "GBP", true, "USD", new BigDecimal("1.301"), "31.12.2030"),
+            new Order("5", "EUR", true, "USD", new BigDecimal("1.152"), "31.12.2030"),
+            new Order("6", "GBP", true, "USD", new BigDecimal("1.302"), "31.12.2030"));
+    List<FXRate> rates =
+        List.of(
+            new FXRate(
+                new CurrencyPair("EUR", "USD"), new BigDecimal("1.14"), new BigDecimal("1.15")),
+            new FXRate(
+                new CurrencyPair("GBP", "USD"), new BigDecimal("1.29"), new BigDecimal("1.30")));
+
+    when(orderService.getOrderBook()).thenReturn(ColumnarOrderBook.of(orders));
+    when(rateService.getRateSnapshot()).thenReturn(RateSnapshot.of(rates));
+  }
 }
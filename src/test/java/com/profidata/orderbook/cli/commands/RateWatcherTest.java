@@ -0,0 +1,76 @@
+package com.profidata.orderbook.cli.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.FXRate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RateWatcherTest {
+
+  private static final List<FXRate> RATES =
+      List.of(
+          new FXRate(
+              new CurrencyPair("EUR", "USD"), new BigDecimal("1.19"), new BigDecimal("1.21")));
+
+  @Test
+  void shouldSkipPollsWhileFetchIsInFlight() throws Exception {
+    AtomicInteger fetches = new AtomicInteger();
+    CompletableFuture<List<FXRate>> pending = new CompletableFuture<>();
+
+    try (RateWatcher watcher =
+        new RateWatcher(
+            () -> {
+              fetches.incrementAndGet();
+              return pending;
+            },
+            Duration.ofSeconds(1))) {
+      watcher.poll();
+      watcher.poll();
+      watcher.poll();
+
+      assertThat(fetches.get()).isEqualTo(1);
+      assertThat(watcher.conflated()).isEqualTo(2);
+      assertThat(watcher.next(10, TimeUnit.MILLISECONDS)).isNull();
+
+      pending.complete(RATES);
+
+      assertThat(watcher.next(1, TimeUnit.SECONDS)).isEqualTo(new RateWatcher.Poll(RATES, null));
+      watcher.poll();
+      assertThat(fetches.get()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void shouldKeepOnlyLatestUnreadPoll() throws Exception {
+    List<FXRate> newer = List.of();
+    AtomicInteger fetches = new AtomicInteger();
+    IllegalStateException failure = new IllegalStateException("service down");
+
+    try (RateWatcher watcher =
+        new RateWatcher(
+            () ->
+                switch (fetches.incrementAndGet()) {
+                  case 1 -> CompletableFuture.completedFuture(RATES);
+                  case 2 -> CompletableFuture.completedFuture(newer);
+                  default -> throw failure;
+                },
+            Duration.ofSeconds(1))) {
+      watcher.poll();
+      watcher.poll();
+
+      assertThat(watcher.next(1, TimeUnit.SECONDS).rates()).isSameAs(newer);
+      assertThat(watcher.next(10, TimeUnit.MILLISECONDS)).isNull();
+
+      watcher.poll();
+
+      assertThat(watcher.next(1, TimeUnit.SECONDS).failure()).isSameAs(failure);
+    }
+  }
+}
@@ -3,11 +3,16 @@ package com.profidata.orderbook.cli.commands;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
+import com.profidata.orderbook.cli.ConsoleInput;
 import com.profidata.orderbook.domain.CurrencyPair;
 import com.profidata.orderbook.domain.FXRate;
 import com.profidata.orderbook.service.RateService;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,7 +28,7 @@ class RatesCommandTest {
 
   @BeforeEach
   void setUp() {
-    command = new RatesCommand(rateService);
+    command = new RatesCommand(rateService, console("", false));
   }
 
   @Test
@@ -43,6 +48,30 @@ class RatesCommandTest {
     verify(rateService).getCurrentRates();
   }
 
+  @Test
+  void shouldStreamRatesTableToOutput() throws Exception {
+    var rates =
+        List.of(
+            new FXRate(
+                new CurrencyPair("GBP", "USD"), new BigDecimal("1.30"), new BigDecimal("1.32")),
+            new FXRate(
+                new CurrencyPair("EUR", "USD"), new BigDecimal("1.19"), new BigDecimal("1.21")));
+    when(rateService.getCurrentRates()).thenReturn(rates);
+
+    StringWriter out = new StringWriter();
+    command.execute(new String[] {}, out);
+
+    assertThat(out.toString().lines())
+        .containsExactly(
+            "Current FX Exchange Rates:",
+            "=========================",
+            "Pair       Bid          Ask          Mid          Spread %",
+            "-".repeat(65),
+            "EUR/USD    1.190000     1.210000     1.200000     1.6667",
+            "GBP/USD    1.300000     1.320000     1.310000     1.5267");
+    assertThat(command.execute(new String[] {})).isEqualTo(out.toString());
+  }
+
   @Test
   void shouldHandleEmptyRates() throws Exception {
     when(rateService.getCurrentRates()).thenReturn(List.of());
@@ -60,4 +89,81 @@ class RatesCommandTest {
     assertThat(command.getUsage()).contains("rates");
     assertThat(command.getDescription()).contains("Displays current FX exchange rates");
   }
+
+  @Test
+  void shouldWatchRatesAndWriteOnlyChangedPairs() throws Exception {
+    FXRate eurUsd =
+        new FXRate(new CurrencyPair("EUR", "USD"), new BigDecimal("1.19"), new BigDecimal("1.21"));
+    FXRate gbpUsd =
+        new FXRate(new CurrencyPair("GBP", "USD"), new BigDecimal("1.30"), new BigDecimal("1.32"));
+    FXRate eurUsdMoved =
+        new FXRate(new CurrencyPair("EUR", "USD"), new BigDecimal("1.20"), new BigDecimal("1.22"));
+    when(rateService.getCurrentRatesAsync())
+        .thenReturn(
+            CompletableFuture.completedFuture(List.of(eurUsd, gbpUsd)),
+            CompletableFuture.completedFuture(List.of(gbpUsd, eurUsd)),
+            CompletableFuture.completedFuture(List.of(eurUsdMoved)));
+
+    StringWriter out = new StringWriter();
+    command.execute(new String[] {"--watch", "1", "--count", "3"}, out);
+
+    assertThat(out.toString().lines())
+        .containsExactly(
+            "Watching FX rates every 1s for 3 polls",
+            "Current FX Exchange Rates:",
+            "=========================",
+            "Pair       Bid          Ask          Mid          Spread %",
+            "-".repeat(65),
+            "EUR/USD    1.190000     1.210000     1.200000     1.6667",
+            "GBP/USD    1.300000     1.320000     1.310000     1.5267",
+            out.toString().lines().toList().get(7),
+            "EUR/USD    1.200000     1.220000     1.210000     1.6529",
+            "GBP/USD    no longer quoted",
+            "Stopped watching FX rates after 3 polls");
+    assertThat(out.toString().lines().toList().get(7))
+        .matches("\\[\\d\\d:\\d\\d:\\d\\d] 2 pairs changed");
+    verify(rateService, never()).getCurrentRates();
+  }
+
+  @Test
+  void shouldStopWatchingOnEnterAndConsumeTheLine() throws Exception {
+    ConsoleInput console = console("\nrates\n", true);
+    command = new RatesCommand(rateService, console);
+
+    StringWriter out = new StringWriter();
+    command.execute(new String[] {"--watch"}, out);
+
+    assertThat(out.toString())
+        .startsWith("Watching FX rates every 1s, press Enter to stop")
+        .endsWith("Stopped watching FX rates after 0 polls");
+    assertThat(console.readLine()).isEqualTo("rates");
+  }
+
+  @Test
+  void shouldRequireCountWhenNotInteractive() throws Exception {
+    StringWriter piped = new StringWriter();
+    command.execute(new String[] {"--watch"}, piped);
+    String batch =
+        new RatesCommand(rateService, console("\n", true)).execute(new String[] {"--watch", "5"});
+
+    assertThat(piped.toString())
+        .isEqualTo(
+            "Error executing rates: --watch needs --count N when not typed at a terminal. Usage:"
+                + " rates [--watch [seconds]] [--count N]");
+    assertThat(batch).contains("--watch needs --count N when not typed at a terminal");
+    verifyNoInteractions(rateService);
+  }
+
+  @Test
+  void shouldRejectInvalidWatchOptions() throws Exception {
+    assertThat(command.execute(new String[] {"--count", "3"}))
+        .contains("Invalid arguments for rates. Usage: rates [--watch [seconds]] [--count N]");
+    assertThat(command.execute(new String[] {"--watch", "0"}))
+        .contains("Watch interval must be a number between 1 and 3600, got: 0");
+    verifyNoInteractions(rateService);
+  }
+
+  private static ConsoleInput console(String typed, boolean interactive) {
+    return new ConsoleInput(new BufferedReader(new StringReader(typed)), interactive);
+  }
 }
@@ -0,0 +1,61 @@
+package com.profidata.orderbook.cli.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import com.profidata.orderbook.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshCommandTest {
+
+  @Mock private OrderService orderService;
+
+  private RefreshCommand command;
+
+  @BeforeEach
+  void setUp() {
+    command = new RefreshCommand(orderService);
+  }
+
+  @Test
+  void shouldRefreshAndReportOrderCount() throws Exception {
+    when(orderService.countOrders()).thenReturn(3L);
+
+    String result = command.execute(new String[0]);
+
+    assertThat(result).isEqualTo("Order book refreshed: 3 orders");
+    verify(orderService).refreshOrders();
+    verify(orderService, never()).getAllOrders();
+  }
+
+  @Test
+  void shouldReportRefreshFailure() throws Exception {
+    doThrow(new ServiceUnavailableException("Order service down"))
+        .when(orderService)
+        .refreshOrders();
+
+    String result = command.execute(new String[0]);
+
+    assertThat(result).contains("Order service down");
+    verify(orderService, never()).countOrders();
+  }
+
+  @Test
+  void shouldRejectArguments() throws Exception {
+    String result = command.execute(new String[] {"now"});
+
+    assertThat(result).contains("Error");
+    verifyNoInteractions(orderService);
+  }
+
+  @Test
+  void shouldHaveCorrectCommandName() {
+    assertThat(command.getCommandName()).isEqualTo("refresh");
+  }
+}
@@ -0,0 +1,76 @@
+package com.profidata.orderbook.cli.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.service.OrderService;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ShowOrderCommandTest {
+
+  private static final Order ORDER =
+      new Order("5", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+
+  @Mock private OrderService orderService;
+
+  private ShowOrderCommand command;
+
+  @BeforeEach
+  void setUp() {
+    command = new ShowOrderCommand(orderService);
+  }
+
+  @Test
+  void shouldShowRequestedOrders() throws Exception {
+    when(orderService.findOrdersByIds(Set.of("5"))).thenReturn(Map.of("5", ORDER));
+
+    String result = command.execute(new String[] {"5"});
+
+    assertThat(result).contains("5", "buy", "EUR", "USD", "1.20", "31.12.2030");
+    assertThat(result).doesNotContain("not found");
+  }
+
+  @Test
+  void shouldListOrdersNotFound() throws Exception {
+    when(orderService.findOrdersByIds(any())).thenReturn(Map.of("5", ORDER));
+
+    String result = command.execute(new String[] {"5", "8", "9"});
+
+    assertThat(result).contains("EUR").contains("Orders not found: 8, 9");
+  }
+
+  @Test
+  void shouldLookUpRepeatedIdOnce() throws Exception {
+    when(orderService.findOrdersByIds(Set.of("5"))).thenReturn(Map.of("5", ORDER));
+
+    command.execute(new String[] {"5", "5"});
+
+    verify(orderService).findOrdersByIds(Set.of("5"));
+  }
+
+  @Test
+  void shouldRejectMissingOrderId() throws Exception {
+    String result = command.execute(new String[0]);
+
+    assertThat(result).contains("Error executing show");
+    verifyNoInteractions(orderService);
+  }
+
+  @Test
+  void shouldRejectInvalidOrderId() throws Exception {
+    String result = command.execute(new String[] {"5;DROP"});
+
+    assertThat(result).contains("Order ID can only contain");
+    verifyNoInteractions(orderService);
+  }
+}
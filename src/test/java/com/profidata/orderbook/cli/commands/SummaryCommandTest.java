@@ -3,11 +3,12 @@ package com.profidata.orderbook.cli.commands;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
 import com.profidata.orderbook.service.OrderService;
 import java.math.BigDecimal;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -24,7 +25,7 @@ class SummaryCommandTest {
 
   @Test
   void shouldExecuteWithNoOrders() throws Exception {
-    when(orderService.getAllOrders()).thenReturn(Collections.emptyList());
+    when(orderService.getOrderSummary()).thenReturn(OrderBookSummary.of(ColumnarOrderBook.EMPTY));
 
     String result = command.execute(new String[] {});
 
@@ -39,7 +40,8 @@ class SummaryCommandTest {
             new Order("2", "EUR", true, "USD", new BigDecimal("1.15"), "31.12.2025"),
             new Order("3", "EUR", false, "CHF", new BigDecimal("1.05"), "31.12.2025"));
 
-    when(orderService.getAllOrders()).thenReturn(orders);
+    when(orderService.getOrderSummary())
+        .thenReturn(OrderBookSummary.of(ColumnarOrderBook.of(orders)));
 
     String result = command.execute(new String[] {});
 
@@ -59,4 +61,20 @@ class SummaryCommandTest {
     assertThat(command.getUsage()).isEqualTo("summary");
     assertThat(command.getDescription()).contains("order book summary");
   }
+
+  @Test
+  void shouldAverageLimitsPerGroup() throws Exception {
+    List<Order> orders =
+        Arrays.asList(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"),
+            new Order("2", "EUR", true, "USD", new BigDecimal("1.15"), "31.12.2030"),
+            new Order("3", "EUR", true, "USD", new BigDecimal("1.15"), "31.12.2030"));
+
+    when(orderService.getOrderSummary())
+        .thenReturn(OrderBookSummary.of(ColumnarOrderBook.of(orders)));
+
+    String result = command.execute(new String[] {});
+
+    assertThat(result).contains("1.1333");
+  }
 }
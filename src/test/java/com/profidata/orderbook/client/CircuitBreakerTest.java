@@ -0,0 +1,124 @@
+package com.profidata.orderbook.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+  private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+  private final AtomicLong clock = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private CircuitBreaker circuitBreaker;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    circuitBreaker =
+        new CircuitBreaker(
+            "rateSnapshot",
+            new CircuitBreaker.Settings(3, OPEN_DURATION, 2),
+            meterRegistry,
+            clock::get);
+  }
+
+  @Test
+  void shouldOpenAfterConsecutiveFailures() {
+    fail(2);
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+    fail(1);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  void shouldResetFailureCountOnSuccess() {
+    fail(2);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    circuitBreaker.onSuccess();
+    fail(2);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldLimitTrialCallsOnceOpenDurationElapsed() {
+    fail(3);
+    clock.addAndGet(OPEN_DURATION.toNanos());
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  void shouldCloseWhenAllTrialCallsSucceed() {
+    fail(3);
+    clock.addAndGet(OPEN_DURATION.toNanos());
+
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.onSuccess();
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    circuitBreaker.onSuccess();
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldReopenWhenTrialCallFails() {
+    fail(3);
+    clock.addAndGet(OPEN_DURATION.toNanos());
+
+    fail(1);
+
+    assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    clock.addAndGet(OPEN_DURATION.toNanos() - 1);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  void shouldReportStateAndRejectionsToMeterRegistry() {
+    fail(3);
+    circuitBreaker.tryAcquirePermission();
+
+    assertThat(
+            meterRegistry
+                .get(CircuitBreaker.STATE_METRIC)
+                .tag("endpoint", "rateSnapshot")
+                .gauge()
+                .value())
+        .isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .get(CircuitBreaker.REJECTED_METRIC)
+                .tag("endpoint", "rateSnapshot")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  void shouldRejectInvalidSettings() {
+    assertThatThrownBy(() -> new CircuitBreaker.Settings(0, OPEN_DURATION, 1))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new CircuitBreaker.Settings(1, OPEN_DURATION, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void fail(int times) {
+    for (int i = 0; i < times; i++) {
+      assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+      circuitBreaker.onFailure();
+    }
+  }
+}
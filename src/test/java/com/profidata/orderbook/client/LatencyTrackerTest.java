@@ -0,0 +1,45 @@
+package com.profidata.orderbook.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTest {
+
+  @Test
+  void shouldReportUnknownBelowMinimumSamples() {
+    var tracker = new LatencyTracker(10, 3);
+    tracker.record(100);
+    tracker.record(200);
+
+    assertThat(tracker.percentile(95)).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldComputeNearestRankPercentile() {
+    var tracker = new LatencyTracker(100, 1);
+    for (int i = 100; i >= 1; i--) {
+      tracker.record(i);
+    }
+
+    assertThat(tracker.percentile(50)).isEqualTo(50);
+    assertThat(tracker.percentile(95)).isEqualTo(95);
+    assertThat(tracker.percentile(100)).isEqualTo(100);
+  }
+
+  @Test
+  void shouldOnlyKeepMostRecentWindow() {
+    var tracker = new LatencyTracker(4, 1);
+    for (long latency : new long[] {1000, 1000, 1, 2, 3, 4}) {
+      tracker.record(latency);
+    }
+
+    assertThat(tracker.percentile(100)).isEqualTo(4);
+  }
+
+  @Test
+  void shouldRejectInvalidWindow() {
+    assertThatThrownBy(() -> new LatencyTracker(4, 5)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
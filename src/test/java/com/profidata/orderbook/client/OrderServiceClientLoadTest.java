@@ -0,0 +1,112 @@
+package com.profidata.orderbook.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.config.ApplicationConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives the non-blocking transport against a local stand-in that answers every request after a
+ * fixed delay, checking that requests overlap without a platform thread per request.
+ */
+@Tag("performance")
+class OrderServiceClientLoadTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OrderServiceClientLoadTest.class);
+
+  private static final int REQUESTS = 256;
+  private static final int POOL_SIZE = 64;
+  private static final Duration SERVER_DELAY = Duration.ofMillis(20);
+
+  private StubOrderService stub;
+  private CloseableHttpClient httpClient;
+  private CloseableHttpAsyncClient httpAsyncClient;
+  private OrderServiceClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = new StubOrderService().respond("/retrieveOrders", 200, "[]", SERVER_DELAY);
+
+    var config = new ApplicationConfig();
+    config.getHttpClient().setMaxConnections(POOL_SIZE);
+    config.getHttpClient().setMaxConnectionsPerRoute(POOL_SIZE);
+    config.getHttpClient().setIoThreadCount(1);
+    config.getOrderService().setBaseUrl(stub.baseUrl());
+
+    httpClient = config.httpClient();
+    httpAsyncClient = config.httpAsyncClient();
+    client =
+        config.orderServiceClient(
+            httpClient, httpAsyncClient, config.objectMapper(), new SimpleMeterRegistry());
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    httpAsyncClient.close();
+    httpClient.close();
+    stub.close();
+  }
+
+  @Test
+  void shouldKeepManyRequestsInFlightWithoutExtraThreads() {
+    runLoad(() -> client.retrieveOrdersAsync().thenApply(r -> 1));
+
+    LoadResult nonBlocking = runLoad(() -> client.retrieveOrdersAsync().thenApply(r -> 1));
+
+    LOGGER.info("non-blocking: {}", nonBlocking);
+
+    assertThat(nonBlocking.completed()).isEqualTo(REQUESTS);
+    assertThat(nonBlocking.peakServerInFlight()).isGreaterThan(1);
+    assertThat(nonBlocking.extraThreads()).isLessThan(8);
+  }
+
+  private LoadResult runLoad(Supplier<CompletableFuture<Integer>> call) {
+    stub.resetStatistics();
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    threads.resetPeakThreadCount();
+    int baselineThreads = threads.getThreadCount();
+
+    long[] latencies = new long[REQUESTS];
+    List<CompletableFuture<Integer>> futures = new ArrayList<>(REQUESTS);
+    long start = System.nanoTime();
+
+    for (int i = 0; i < REQUESTS; i++) {
+      int index = i;
+      long requestStart = System.nanoTime();
+      futures.add(
+          call.get().whenComplete((r, t) -> latencies[index] = System.nanoTime() - requestStart));
+    }
+
+    int completed = futures.stream().map(CompletableFuture::join).mapToInt(Integer::intValue).sum();
+    long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+    long p99 = latencies[(int) Math.ceil(REQUESTS * 0.99) - 1];
+
+    return new LoadResult(
+        completed,
+        stub.peakInFlight(),
+        threads.getPeakThreadCount() - baselineThreads,
+        Duration.ofNanos(p99).toMillis(),
+        Duration.ofNanos(elapsed).toMillis());
+  }
+
+  private record LoadResult(
+      int completed, int peakServerInFlight, int extraThreads, long p99Millis, long totalMillis) {}
+}
@@ -0,0 +1,284 @@
+package com.profidata.orderbook.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.profidata.orderbook.config.ApplicationConfig;
+import com.profidata.orderbook.dto.response.FXRateResponse;
+import com.profidata.orderbook.dto.response.OrderResponse;
+import com.profidata.orderbook.exception.OrderBookException;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class OrderServiceClientTest {
+
+  private StubOrderService stub;
+  private CloseableHttpClient httpClient;
+  private CloseableHttpAsyncClient httpAsyncClient;
+  private SimpleMeterRegistry meterRegistry;
+  private OrderServiceClient client;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    stub = new StubOrderService();
+
+    var config = new ApplicationConfig();
+    config.getOrderService().setBaseUrl(stub.baseUrl());
+    config.getOrderService().setRetryDelay(Duration.ofMillis(10));
+    config.getOrderService().setCircuitFailureThreshold(2);
+
+    httpClient = config.httpClient();
+    httpAsyncClient = config.httpAsyncClient();
+    meterRegistry = new SimpleMeterRegistry();
+    client =
+        config.orderServiceClient(
+            httpClient, httpAsyncClient, config.objectMapper(), meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    httpAsyncClient.close();
+    httpClient.close();
+    stub.close();
+  }
+
+  @Test
+  void shouldStreamLargeOrderBook() {
+    int orderCount = 100_000;
+    stub.respond("/retrieveOrders", 200, ordersJson(orderCount));
+
+    AtomicLong limitSum = new AtomicLong();
+    long streamed = client.streamOrdersSync(order -> limitSum.addAndGet(order.limit().intValue()));
+
+    assertThat(streamed).isEqualTo(orderCount);
+    assertThat(limitSum.get()).isEqualTo(orderCount);
+  }
+
+  @Test
+  void shouldStreamRateSnapshot() {
+    stub.respond(
+        "/rateSnapshot",
+        200,
+        """
+        [{"ccyPair":{"ccy1":"EUR","ccy2":"USD"},"bid":1.19,"ask":1.21},
+         null,
+         {"ccyPair":{"ccy1":"GBP","ccy2":"USD"},"bid":1.25,"ask":1.27}]
+        """);
+
+    List<FXRateResponse> rates = new ArrayList<>();
+    long streamed = client.streamRateSnapshotSync(rates::add);
+
+    assertThat(streamed).isEqualTo(2);
+    assertThat(rates).extracting(rate -> rate.ccyPair().ccy1()).containsExactly("EUR", "GBP");
+  }
+
+  @Test
+  void shouldRejectNonArrayBody() {
+    stub.respond("/retrieveOrders", 200, "{\"id\":\"1\"}");
+
+    assertThatThrownBy(() -> client.streamOrdersSync(order -> {}))
+        .isInstanceOf(OrderBookException.class)
+        .hasMessageContaining("Expected a JSON array");
+  }
+
+  @Test
+  void shouldNotRetryOnceElementsWereEmitted() {
+    stub.respond("/retrieveOrders", 200, "[" + orderJson(1) + ",");
+
+    List<String> ids = new ArrayList<>();
+    assertThatThrownBy(() -> client.streamOrdersSync(order -> ids.add(order.id())))
+        .isInstanceOf(OrderBookException.class);
+
+    assertThat(ids).containsExactly("1");
+    assertThat(stub.requestCount("/retrieveOrders")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldDecodeOrdersWithoutBufferingBody() {
+    stub.respond("/retrieveOrders", 200, ordersJson(3));
+
+    var orders = client.retrieveOrdersSync();
+
+    assertThat(orders).hasSize(3);
+    assertThat(orders.get(2).id()).isEqualTo("3");
+  }
+
+  @Test
+  void shouldCompleteAsyncCallsOffTheIoDispatcher() {
+    stub.respond("/retrieveOrders", 200, ordersJson(2), Duration.ofMillis(50));
+
+    boolean virtual =
+        client.retrieveOrdersAsync().thenApply(orders -> Thread.currentThread().isVirtual()).join();
+
+    assertThat(virtual).isTrue();
+  }
+
+  @Test
+  void shouldFailFastOnceCircuitOpens() {
+    stub.respond("/rateSnapshot", 500, "");
+
+    assertThatThrownBy(client::getRateSnapshotSync)
+        .isInstanceOf(ServiceUnavailableException.class)
+        .hasMessageContaining("Status: 500");
+    assertThat(stub.requestCount("/rateSnapshot")).isEqualTo(2);
+    assertThat(client.getCircuitState("/rateSnapshot")).isEqualTo(CircuitBreaker.State.OPEN);
+
+    assertThatThrownBy(client::getRateSnapshotSync)
+        .isInstanceOf(ServiceUnavailableException.class)
+        .hasMessageContaining("circuit for /rateSnapshot is open");
+    assertThatThrownBy(() -> client.getRateSnapshotAsync().join())
+        .hasCauseInstanceOf(ServiceUnavailableException.class);
+    assertThat(stub.requestCount("/rateSnapshot")).isEqualTo(2);
+
+    assertThat(
+            meterRegistry
+                .get(CircuitBreaker.STATE_METRIC)
+                .tag("endpoint", "rateSnapshot")
+                .gauge()
+                .value())
+        .isEqualTo(CircuitBreaker.State.OPEN.code());
+    assertThat(
+            meterRegistry
+                .get(CircuitBreaker.REJECTED_METRIC)
+                .tag("endpoint", "rateSnapshot")
+                .counter()
+                .count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  void shouldOpenCircuitFromAsyncCalls() {
+    stub.respond("/retrieveOrders", 502, "");
+
+    assertThatThrownBy(() -> client.retrieveOrdersAsync().join())
+        .hasCauseInstanceOf(ServiceUnavailableException.class);
+
+    assertThat(stub.requestCount("/retrieveOrders")).isEqualTo(2);
+    assertThat(client.getCircuitState("/retrieveOrders")).isEqualTo(CircuitBreaker.State.OPEN);
+  }
+
+  @Test
+  void shouldKeepOtherEndpointsAvailableWhileOneCircuitIsOpen() {
+    stub.respond("/rateSnapshot", 500, "").respond("/retrieveOrders", 200, ordersJson(1));
+
+    assertThatThrownBy(client::getRateSnapshotSync).isInstanceOf(ServiceUnavailableException.class);
+
+    assertThat(client.retrieveOrdersSync()).hasSize(1);
+    assertThat(client.getCircuitState("/retrieveOrders")).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldNotCountClientErrorsAgainstCircuit() {
+    stub.respond("/cancelOrder", 400, "");
+
+    for (int i = 0; i < 3; i++) {
+      assertThatThrownBy(() -> client.cancelOrderSync("1"))
+          .isInstanceOf(OrderBookException.class)
+          .isNotInstanceOf(ServiceUnavailableException.class);
+    }
+
+    assertThat(client.getCircuitState("/cancelOrder")).isEqualTo(CircuitBreaker.State.CLOSED);
+  }
+
+  @Test
+  void shouldHedgeSlowReadsButNeverWrites() throws Exception {
+    var config = new ApplicationConfig();
+    config.getOrderService().setBaseUrl(stub.baseUrl());
+    config.getOrderService().setHedgingEnabled(true);
+    config.getOrderService().setHedgingMinDelay(Duration.ofMillis(20));
+    config.getOrderService().setHedgingBudgetPercent(50);
+    var hedgedClient =
+        config.orderServiceClient(
+            httpClient, httpAsyncClient, config.objectMapper(), meterRegistry);
+
+    stub.respond("/supportedCurrencyPairs", 200, "[]");
+    for (int i = 0; i < 20; i++) {
+      hedgedClient.getSupportedCurrencyPairsSync();
+    }
+    stub.resetStatistics();
+    stub.respond("/supportedCurrencyPairs", 200, "[]", Duration.ofMillis(200))
+        .respond("/createOrder", 200, orderJson(1), Duration.ofMillis(200));
+
+    assertThat(hedgedClient.getSupportedCurrencyPairsSync()).isEmpty();
+    hedgedClient.createOrderSync(
+        new OrderResponse(null, "EUR", true, "USD", BigDecimal.ONE, "31.12.2030"));
+
+    assertThat(stub.requestCount("/supportedCurrencyPairs")).isEqualTo(2);
+    assertThat(stub.requestCount("/createOrder")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldHedgeStreamingDownloadUpToFirstByte() throws Exception {
+    var config = new ApplicationConfig();
+    config.getOrderService().setBaseUrl(stub.baseUrl());
+    config.getOrderService().setHedgingEnabled(true);
+    config.getOrderService().setHedgingMinDelay(Duration.ofMillis(20));
+    config.getOrderService().setHedgingBudgetPercent(50);
+    var hedgedClient =
+        config.orderServiceClient(
+            httpClient, httpAsyncClient, config.objectMapper(), meterRegistry);
+
+    stub.respond("/retrieveOrders", 200, ordersJson(3));
+    for (int i = 0; i < 20; i++) {
+      assertThat(hedgedClient.streamOrdersSync(order -> {})).isEqualTo(3);
+    }
+    stub.resetStatistics();
+    stub.respond("/retrieveOrders", 200, ordersJson(3), Duration.ofMillis(200));
+
+    List<String> ids = new ArrayList<>();
+    assertThat(hedgedClient.streamOrdersSync(order -> ids.add(order.id()))).isEqualTo(3);
+
+    assertThat(ids).containsExactly("1", "2", "3");
+    assertThat(stub.requestCount("/retrieveOrders")).isEqualTo(2);
+
+    stub.respond("/retrieveOrders", 200, ordersJson(3));
+    for (int i = 0; i < 20; i++) {
+      assertThat(hedgedClient.streamOrdersSync(order -> {})).isEqualTo(3);
+    }
+  }
+
+  @Test
+  void shouldAnswerHealthCheckFromRecentResponse() {
+    stub.respond("/retrieveOrders", 200, "[]");
+    client.retrieveOrdersSync();
+
+    assertThat(client.healthCheckAsync().join()).isTrue();
+    assertThat(stub.requestCount("/supportedCurrencyPairs")).isZero();
+  }
+
+  @Test
+  void shouldProbeServiceWhenNoRecentResponse() {
+    stub.respond("/supportedCurrencyPairs", 200, "[]");
+
+    assertThat(client.healthCheckAsync().join()).isTrue();
+    assertThat(stub.requestCount("/supportedCurrencyPairs")).isEqualTo(1);
+  }
+
+  private static String ordersJson(int count) {
+    StringBuilder sb = new StringBuilder(count * 110).append('[');
+    for (int i = 1; i <= count; i++) {
+      if (i > 1) {
+        sb.append(',');
+      }
+      sb.append(orderJson(i));
+    }
+    return sb.append(']').toString();
+  }
+
+  private static String orderJson(int id) {
+    return "{\"id\":\""
+        + id
+        + "\",\"investmentCcy\":\"EUR\",\"buy\":true,\"counterCcy\":\"USD\","
+        + "\"limit\":1.2,\"validUntil\":\"31.12.2030\"}";
+  }
+}
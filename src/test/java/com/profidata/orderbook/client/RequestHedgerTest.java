@@ -0,0 +1,185 @@
+package com.profidata.orderbook.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RequestHedgerTest {
+
+  private static final String PATH = "/rateSnapshot";
+  private static final Duration MIN_DELAY = Duration.ofMillis(10);
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void shouldPassThroughWhenDisabled() {
+    var hedger = new RequestHedger(RequestHedger.Settings.DISABLED, meterRegistry);
+    CompletableFuture<String> primary = new CompletableFuture<>();
+
+    assertThat(hedger.execute(PATH, () -> primary)).isSameAs(primary);
+  }
+
+  @Test
+  void shouldNotHedgeBeforeLatencyIsKnown() throws Exception {
+    var hedger = hedger(100);
+    var requests = new Requests(new CompletableFuture<>(), CompletableFuture.completedFuture("b"));
+
+    var result = hedger.execute(PATH, requests);
+    Thread.sleep(MIN_DELAY.toMillis() * 5);
+
+    assertThat(result).isNotDone();
+    assertThat(requests.sent()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotHedgeFastRequests() {
+    var hedger = warmedUp(hedger(100));
+    var requests = new Requests(CompletableFuture.completedFuture("a"));
+
+    assertThat(hedger.execute(PATH, requests).join()).isEqualTo("a");
+    assertThat(requests.sent()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldTakeHedgeAndCancelSlowPrimary() throws Exception {
+    var hedger = warmedUp(hedger(100));
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    var requests = new Requests(primary, CompletableFuture.completedFuture("hedge"));
+
+    var result = hedger.execute(PATH, requests);
+
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+    assertThat(primary).isCancelled();
+    assertThat(count(RequestHedger.SENT_METRIC)).isEqualTo(1);
+    assertThat(count(RequestHedger.WON_METRIC)).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCancelHedgeWhenPrimaryAnswersFirst() throws Exception {
+    var hedger = warmedUp(hedger(100));
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    CompletableFuture<String> hedge = new CompletableFuture<>();
+    var requests = new Requests(primary, hedge);
+
+    var result = hedger.execute(PATH, requests);
+    requests.awaitSent(2);
+    primary.complete("primary");
+
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("primary");
+    assertThat(hedge).isCancelled();
+    assertThat(count(RequestHedger.WON_METRIC)).isZero();
+  }
+
+  @Test
+  void shouldWaitForHedgeWhenPrimaryFails() throws Exception {
+    var hedger = warmedUp(hedger(100));
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    CompletableFuture<String> hedge = new CompletableFuture<>();
+    var requests = new Requests(primary, hedge);
+
+    var result = hedger.execute(PATH, requests);
+    requests.awaitSent(2);
+    primary.completeExceptionally(new IllegalStateException("primary failed"));
+
+    assertThat(result).isNotDone();
+    hedge.complete("hedge");
+    assertThat(result.get(1, TimeUnit.SECONDS)).isEqualTo("hedge");
+  }
+
+  @Test
+  void shouldFailWhenEveryCopyFails() throws Exception {
+    var hedger = warmedUp(hedger(100));
+    CompletableFuture<String> primary = new CompletableFuture<>();
+    CompletableFuture<String> hedge = new CompletableFuture<>();
+    var requests = new Requests(primary, hedge);
+
+    var result = hedger.execute(PATH, requests);
+    requests.awaitSent(2);
+    primary.completeExceptionally(new IllegalStateException("primary failed"));
+    hedge.completeExceptionally(new IllegalStateException("hedge failed"));
+
+    assertThatThrownBy(() -> result.get(1, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCauseMessage("hedge failed");
+  }
+
+  @Test
+  void shouldNotHedgeBeyondBudget() throws Exception {
+    var hedger = warmedUp(hedger(1));
+    var requests = new Requests(new CompletableFuture<>(), CompletableFuture.completedFuture("b"));
+
+    var result = hedger.execute(PATH, requests);
+    awaitCount(RequestHedger.DENIED_METRIC, 1);
+
+    assertThat(result).isNotDone();
+    assertThat(requests.sent()).isEqualTo(1);
+    assertThat(count(RequestHedger.SENT_METRIC)).isZero();
+  }
+
+  private RequestHedger hedger(double budgetPercent) {
+    return new RequestHedger(
+        new RequestHedger.Settings(true, 95, MIN_DELAY, budgetPercent), meterRegistry);
+  }
+
+  private static RequestHedger warmedUp(RequestHedger hedger) {
+    for (int i = 0; i < 20; i++) {
+      hedger.execute(PATH, () -> CompletableFuture.completedFuture("warm-up")).join();
+    }
+    return hedger;
+  }
+
+  private double count(String metric) {
+    var counter = meterRegistry.find(metric).tag("endpoint", "rateSnapshot").counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private void awaitCount(String metric, double expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (count(metric) < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+
+  /** Hands out the given futures in order, one per request copy sent. */
+  private static final class Requests implements Supplier<CompletableFuture<String>> {
+
+    private final List<CompletableFuture<String>> responses;
+    private final AtomicInteger sent = new AtomicInteger();
+
+    @SafeVarargs
+    Requests(CompletableFuture<String>... responses) {
+      this.responses = List.of(responses);
+    }
+
+    @Override
+    public CompletableFuture<String> get() {
+      return responses.get(sent.getAndIncrement());
+    }
+
+    int sent() {
+      return sent.get();
+    }
+
+    void awaitSent(int expected) throws InterruptedException {
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (sent.get() < expected && System.nanoTime() < deadline) {
+        Thread.sleep(5);
+      }
+    }
+  }
+}
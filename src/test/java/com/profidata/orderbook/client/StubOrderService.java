@@ -0,0 +1,93 @@
+package com.profidata.orderbook.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Local stand-in for the order service, serving canned responses with an optional delay. */
+class StubOrderService implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Map<String, Route> routes = new ConcurrentHashMap<>();
+  private final Map<String, AtomicInteger> requestCounts = new ConcurrentHashMap<>();
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger peakInFlight = new AtomicInteger();
+
+  StubOrderService() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    server.setExecutor(executor);
+    server.createContext("/", this::handle);
+    server.start();
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  StubOrderService respond(String path, int status, String body) {
+    return respond(path, status, body, Duration.ZERO);
+  }
+
+  StubOrderService respond(String path, int status, String body, Duration delay) {
+    routes.put(path, new Route(status, body.getBytes(StandardCharsets.UTF_8), delay));
+    return this;
+  }
+
+  int requestCount(String path) {
+    AtomicInteger count = requestCounts.get(path);
+    return count != null ? count.get() : 0;
+  }
+
+  int peakInFlight() {
+    return peakInFlight.get();
+  }
+
+  void resetStatistics() {
+    requestCounts.clear();
+    peakInFlight.set(0);
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    requestCounts.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+    try (exchange) {
+      exchange.getRequestBody().readAllBytes();
+      Route route = routes.getOrDefault(path, new Route(404, new byte[0], Duration.ZERO));
+
+      if (!route.delay().isZero()) {
+        Thread.sleep(route.delay().toMillis());
+      }
+
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(route.status(), route.body().length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(route.body());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private record Route(int status, byte[] body, Duration delay) {}
+}
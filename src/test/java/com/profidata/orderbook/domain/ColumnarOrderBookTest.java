@@ -0,0 +1,196 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for ColumnarOrderBook. */
+class ColumnarOrderBookTest {
+
+  private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY", "SEK"};
+
+  @Test
+  void shouldGiveBackOrdersUnchanged() {
+    List<Order> orders =
+        List.of(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"),
+            new Order("2", "GBP", false, "CHF", new BigDecimal("1.123456"), "01.01.2031"),
+            new Order("3", "USD", true, "JPY", new BigDecimal("150"), "29.02.2032"));
+
+    ColumnarOrderBook book = ColumnarOrderBook.of(orders);
+
+    assertThat(book.size()).isEqualTo(3);
+    assertThat(book.asList()).containsExactlyElementsOf(orders);
+    assertThat(book.limit(0).toPlainString()).isEqualTo("1.20");
+    assertThat(book.irregularCount()).isZero();
+  }
+
+  @Test
+  void shouldExposeColumnsAsPrimitives() {
+    ColumnarOrderBook book =
+        ColumnarOrderBook.of(
+            List.of(
+                new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"),
+                new Order("2", "EUR", false, "USD", null, "31.12.2030")));
+
+    assertThat(book.pairId(0)).isEqualTo(CurrencyPair.of("EUR", "USD").id());
+    assertThat(book.pair(1)).isSameAs(CurrencyPair.of("EUR", "USD"));
+    assertThat(book.isBuy(0)).isTrue();
+    assertThat(book.isBuy(1)).isFalse();
+    assertThat(book.orderType(1)).isEqualTo("sell");
+    assertThat(book.limitUnits(0)).isEqualTo(1_200_000L);
+    assertThat(book.limitUnits(1)).isEqualTo(Price.NONE);
+    assertThat(book.validUntilEpochDay(0)).isEqualTo(LocalDate.of(2030, 12, 31).toEpochDay());
+  }
+
+  @Test
+  void shouldCheckValidityAgainstGivenDay() {
+    ColumnarOrderBook book =
+        ColumnarOrderBook.of(
+            List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030")));
+    int lastDay = (int) LocalDate.of(2030, 12, 31).toEpochDay();
+
+    assertThat(book.isValidOn(0, lastDay)).isTrue();
+    assertThat(book.isValidOn(0, lastDay + 1)).isFalse();
+  }
+
+  @Test
+  void shouldKeepOrdersTheColumnsCannotHoldAside() {
+    List<Order> orders =
+        List.of(
+            new Order("1", "eur", true, "usd", new BigDecimal("1.20"), "31.12.2030"),
+            new Order("2", "EUR", true, "USD", new BigDecimal("1.1234567"), "31.12.2030"),
+            new Order("3", "EUR", null, "USD", new BigDecimal("1.20"), "31.02.2030"),
+            new Order(null, "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"),
+            new Order("€4", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"),
+            new Order("6", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"));
+
+    ColumnarOrderBook book = ColumnarOrderBook.of(orders);
+
+    assertThat(book.irregularCount()).isEqualTo(5);
+    assertThat(book.asList()).containsExactlyElementsOf(orders);
+    assertThat(book.investmentCcy(0)).isEqualTo("eur");
+    assertThat(book.pair(0)).isEqualTo(CurrencyPair.of("EUR", "USD"));
+    assertThat(book.limitUnits(1)).isEqualTo(1_123_457L);
+    assertThat(book.isBuy(2)).isFalse();
+    assertThat(book.validUntil(2)).isEqualTo("31.02.2030");
+    assertThat(book.id(3)).isNull();
+    assertThat(book.indexOf("€4")).isEqualTo(4);
+    assertThat(book.indexOf("6")).isEqualTo(5);
+  }
+
+  @Test
+  void shouldFindRowsById() {
+    List<Order> orders = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      orders.add(order(i));
+    }
+    orders.add(new Order("500", "GBP", false, "USD", BigDecimal.ONE, "31.12.2030"));
+
+    ColumnarOrderBook book = ColumnarOrderBook.of(orders);
+
+    assertThat(book.indexOf("ORD-0")).isZero();
+    assertThat(book.indexOf("ORD-999")).isEqualTo(999);
+    assertThat(book.indexOf("500")).isEqualTo(1000);
+    assertThat(book.indexOf("ORD-1000")).isEqualTo(-1);
+    assertThat(book.indexOf(null)).isEqualTo(-1);
+    assertThat(book.id(123)).isEqualTo("ORD-123");
+  }
+
+  @Test
+  void shouldReturnFirstRowForDuplicateIds() {
+    ColumnarOrderBook book =
+        ColumnarOrderBook.of(
+            List.of(
+                new Order("1", "EUR", true, "USD", BigDecimal.ONE, "31.12.2030"),
+                new Order("1", "GBP", true, "USD", BigDecimal.ONE, "31.12.2030")));
+
+    assertThat(book.indexOf("1")).isZero();
+  }
+
+  @Test
+  void shouldGrowWhileStreaming() {
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(0);
+    for (int i = 0; i < 200; i++) {
+      builder.add(order(i));
+    }
+
+    ColumnarOrderBook book = builder.build();
+
+    assertThat(book.size()).isEqualTo(200);
+    for (int i = 0; i < 200; i++) {
+      assertThat(book.order(i)).isEqualTo(order(i));
+    }
+  }
+
+  @Test
+  void shouldRejectRowsOutOfRange() {
+    assertThat(ColumnarOrderBook.EMPTY.isEmpty()).isTrue();
+    assertThat(ColumnarOrderBook.EMPTY.indexOf("1")).isEqualTo(-1);
+    assertThatThrownBy(() -> ColumnarOrderBook.EMPTY.isBuy(0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void shouldHoldAMillionOrdersInUnderFortyFiveBytesEach() {
+    int orders = 1_000_000;
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(orders);
+    for (int i = 0; i < orders; i++) {
+      builder.add(order(i));
+    }
+
+    ColumnarOrderBook book = builder.build();
+
+    assertThat(book.irregularCount()).isZero();
+    assertThat(book.footprintBytes() / orders).isLessThan(45);
+    // Ten million such orders stay within a few hundred megabytes.
+    assertThat(book.footprintBytes() * 10).isLessThan(450L * 1024 * 1024);
+  }
+
+  @Test
+  void shouldBuildASizedBookWithoutCopyingItsColumns() {
+    int orders = 1_000_000;
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(orders);
+    for (int i = 0; i < orders; i++) {
+      builder.add(order(i));
+    }
+
+    long building = builder.footprintBytes();
+    long allocatedBefore = allocatedBytes();
+    ColumnarOrderBook book = builder.build();
+    long allocatedByBuild = allocatedBytes() - allocatedBefore;
+
+    // The builder's columns and what build() adds are live at once; copying every column again
+    // would double the book.
+    assertThat(building + allocatedByBuild).isLessThan(book.footprintBytes() * 3 / 2);
+  }
+
+  @Test
+  void shouldRejectOrdersOnceBuilt() {
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(1).add(order(0));
+    ColumnarOrderBook book = builder.build();
+
+    assertThatThrownBy(() -> builder.add(order(1))).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(builder::build).isInstanceOf(IllegalStateException.class);
+    assertThat(book.order(0)).isEqualTo(order(0));
+  }
+
+  private static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+        .getCurrentThreadAllocatedBytes();
+  }
+
+  private static Order order(int i) {
+    String ccy1 = CURRENCIES[i % CURRENCIES.length];
+    String ccy2 = CURRENCIES[(i + 1 + i / CURRENCIES.length % 5) % CURRENCIES.length];
+    BigDecimal limit = BigDecimal.valueOf(1_000_000 + i % 500_000, 6);
+    String validUntil = ValidityDate.format(20_000 + i % 3_000);
+    return new Order("ORD-" + i, ccy1, i % 3 == 0, ccy2, limit, validUntil);
+  }
+}
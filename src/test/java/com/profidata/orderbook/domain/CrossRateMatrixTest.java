@@ -0,0 +1,104 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.domain.CrossRateMatrix.Source;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CrossRateMatrixTest {
+
+  @Test
+  void shouldEnterQuotedPairsAndTheirInverses() {
+    var matrix = CrossRateMatrix.of(List.of(rate("EUR", "USD", "1.20", "1.22")));
+    int eur = index(matrix, "EUR");
+    int usd = index(matrix, "USD");
+
+    assertThat(matrix.size()).isEqualTo(2);
+    assertThat(matrix.source(eur, usd)).isEqualTo(Source.DIRECT);
+    assertThat(matrix.askUnits(eur, usd)).isEqualTo(1_220_000L);
+    assertThat(matrix.source(usd, eur)).isEqualTo(Source.INVERSE);
+    assertThat(matrix.askUnits(usd, eur)).isEqualTo(833_333L);
+    assertThat(matrix.bidUnits(usd, eur)).isEqualTo(819_672L);
+    assertThat(matrix.source(eur, eur)).isEqualTo(Source.NONE);
+  }
+
+  @Test
+  void shouldCrossThroughCommonCurrency() {
+    var matrix =
+        CrossRateMatrix.of(
+            List.of(rate("EUR", "SEK", "11.00", "11.02"), rate("EUR", "NOK", "11.50", "11.52")));
+    int sek = index(matrix, "SEK");
+    int nok = index(matrix, "NOK");
+
+    assertThat(matrix.source(sek, nok)).isEqualTo(Source.CROSS);
+    assertThat(matrix.bidUnits(sek, nok)).isEqualTo(1_043_557L);
+    assertThat(matrix.askUnits(sek, nok)).isEqualTo(1_047_273L);
+    assertThat(matrix.source(nok, sek)).isEqualTo(Source.CROSS);
+  }
+
+  @Test
+  void shouldCrossThroughIntermediateWithTightestSpread() {
+    var matrix =
+        CrossRateMatrix.of(
+            List.of(
+                rate("EUR", "SEK", "10.00", "10.50"),
+                rate("EUR", "NOK", "10.00", "10.50"),
+                rate("USD", "SEK", "10.00", "10.01"),
+                rate("USD", "NOK", "10.00", "10.01")));
+    int sek = index(matrix, "SEK");
+    int nok = index(matrix, "NOK");
+
+    long bid = matrix.bidUnits(sek, nok);
+    long ask = matrix.askUnits(sek, nok);
+
+    assertThat((double) ask / bid).isLessThan(1.003);
+  }
+
+  @Test
+  void shouldKeepSpreadWhenCrossingThroughLargeQuote() {
+    var matrix =
+        CrossRateMatrix.of(
+            List.of(
+                rate("USD", "IDR", "15600.00", "15610.00"),
+                rate("USD", "JPY", "150.00", "150.10")));
+    int idr = index(matrix, "IDR");
+    int jpy = index(matrix, "JPY");
+
+    // 150.00 / 15610 and 150.10 / 15600, not the rounded 1 / 15600 = 0.000064 times 150
+    assertThat(matrix.source(idr, jpy)).isEqualTo(Source.CROSS);
+    assertThat(matrix.bidUnits(idr, jpy)).isEqualTo(9_609L);
+    assertThat(matrix.askUnits(idr, jpy)).isEqualTo(9_622L);
+    assertThat(matrix.bidUnits(jpy, idr)).isEqualTo(103_930_713L);
+    assertThat(matrix.askUnits(jpy, idr)).isEqualTo(104_066_667L);
+  }
+
+  @Test
+  void shouldNotChainCrosses() {
+    var matrix =
+        CrossRateMatrix.of(
+            List.of(
+                rate("EUR", "USD", "1.20", "1.22"),
+                rate("USD", "JPY", "150.00", "150.10"),
+                rate("JPY", "KRW", "9.00", "9.10")));
+
+    assertThat(matrix.source(index(matrix, "EUR"), index(matrix, "JPY"))).isEqualTo(Source.CROSS);
+    assertThat(matrix.source(index(matrix, "EUR"), index(matrix, "KRW"))).isEqualTo(Source.NONE);
+  }
+
+  @Test
+  void shouldSkipNonIsoCodes() {
+    var matrix = CrossRateMatrix.of(List.of(rate("EURO", "USD", "1.20", "1.22")));
+
+    assertThat(matrix.size()).isZero();
+  }
+
+  private static int index(CrossRateMatrix matrix, String currency) {
+    return matrix.indexOf(CurrencyCode.pack(currency));
+  }
+
+  private static FXRate rate(String ccy1, String ccy2, String bid, String ask) {
+    return new FXRate(new CurrencyPair(ccy1, ccy2), new BigDecimal(bid), new BigDecimal(ask));
+  }
+}
@@ -0,0 +1,39 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class CurrencyCodeTest {
+
+  @Test
+  void shouldRoundTripCurrencyCodes() {
+    assertThat(CurrencyCode.unpack(CurrencyCode.pack("EUR"))).isEqualTo("EUR");
+    assertThat(CurrencyCode.unpack(CurrencyCode.pack("AAA"))).isEqualTo("AAA");
+    assertThat(CurrencyCode.unpack(CurrencyCode.pack("ZZZ"))).isEqualTo("ZZZ");
+  }
+
+  @Test
+  void shouldRejectAnythingButThreeUpperCaseLetters() {
+    assertThat(CurrencyCode.pack("eur")).isEqualTo(CurrencyCode.NOT_A_CODE);
+    assertThat(CurrencyCode.pack("EURO")).isEqualTo(CurrencyCode.NOT_A_CODE);
+    assertThat(CurrencyCode.pack("E1R")).isEqualTo(CurrencyCode.NOT_A_CODE);
+    assertThat(CurrencyCode.pack(null)).isEqualTo(CurrencyCode.NOT_A_CODE);
+    assertThat(CurrencyCode.packPair("EUR", "us")).isEqualTo(CurrencyCode.NOT_A_CODE);
+  }
+
+  @Test
+  void shouldKeepAlphabeticalOrder() {
+    assertThat(CurrencyCode.pack("CHF")).isLessThan(CurrencyCode.pack("EUR"));
+    assertThat(CurrencyCode.packPair("EUR", "USD")).isLessThan(CurrencyCode.packPair("GBP", "CHF"));
+    assertThat(CurrencyCode.packPair("EUR", "CHF")).isLessThan(CurrencyCode.packPair("EUR", "USD"));
+  }
+
+  @Test
+  void shouldSplitPackedPair() {
+    int pair = CurrencyCode.packPair("GBP", "JPY");
+
+    assertThat(CurrencyCode.unpack(CurrencyCode.first(pair))).isEqualTo("GBP");
+    assertThat(CurrencyCode.unpack(CurrencyCode.second(pair))).isEqualTo("JPY");
+  }
+}
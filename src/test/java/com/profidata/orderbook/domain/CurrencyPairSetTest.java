@@ -0,0 +1,52 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CurrencyPairSetTest {
+
+  private final CurrencyPairSet pairs =
+      CurrencyPairSet.of(
+          List.of(
+              new CurrencyPair("EUR", "USD"),
+              new CurrencyPair("GBP", "CHF"),
+              new CurrencyPair("EUR", "USD"),
+              new CurrencyPair("USD", "JPY")));
+
+  @Test
+  void shouldContainPairsInGivenDirection() {
+    assertThat(pairs.contains("EUR", "USD")).isTrue();
+    assertThat(pairs.contains(new CurrencyPair("USD", "JPY"))).isTrue();
+    assertThat(pairs.contains("USD", "EUR")).isFalse();
+    assertThat(pairs.contains("EUR", "JPY")).isFalse();
+  }
+
+  @Test
+  void shouldSupportPairsInEitherDirection() {
+    assertThat(pairs.supports("USD", "EUR")).isTrue();
+    assertThat(pairs.supports("CHF", "GBP")).isTrue();
+    assertThat(pairs.supports("EUR", "CHF")).isFalse();
+  }
+
+  @Test
+  void shouldCountDistinctPairs() {
+    assertThat(pairs.size()).isEqualTo(3);
+    assertThat(pairs.toList()).hasSize(4);
+  }
+
+  @Test
+  void shouldNotMatchMalformedCodes() {
+    assertThat(pairs.contains(null, "USD")).isFalse();
+    assertThat(pairs.contains("eur", "usd")).isFalse();
+    assertThat(pairs.contains("EURO", "USD")).isFalse();
+    assertThat(pairs.contains((CurrencyPair) null)).isFalse();
+  }
+
+  @Test
+  void shouldBeEmptyWhenNoPairs() {
+    assertThat(CurrencyPairSet.EMPTY.isEmpty()).isTrue();
+    assertThat(CurrencyPairSet.EMPTY.supports("EUR", "USD")).isFalse();
+  }
+}
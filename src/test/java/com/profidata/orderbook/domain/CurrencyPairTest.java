@@ -3,6 +3,11 @@ package com.profidata.orderbook.domain;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for CurrencyPair domain entity. */
@@ -71,4 +76,103 @@ class CurrencyPairTest {
     assertThrows(IllegalArgumentException.class, () -> CurrencyPair.fromString(""));
     assertThrows(IllegalArgumentException.class, () -> CurrencyPair.fromString(null));
   }
+
+  @Test
+  void shouldReturnSharedInstanceWithInverse() {
+    var pair = CurrencyPair.intern("EUR", "USD");
+
+    assertThat(CurrencyPair.intern("EUR", "USD")).isSameAs(pair);
+    assertThat(CurrencyPair.of("EUR", "USD")).isSameAs(pair);
+    assertThat(CurrencyPair.of(" eur", "usd ")).isSameAs(pair);
+    assertThat(pair.inverse()).isSameAs(CurrencyPair.of("USD", "EUR"));
+    assertThat(pair.inverse().inverse()).isSameAs(pair);
+    assertThat(CurrencyPair.byId(pair.id())).isSameAs(pair);
+    assertThat(pair.id()).isLessThan(CurrencyPair.registeredCount());
+  }
+
+  @Test
+  void shouldEqualConstructedPair() {
+    var constructed = new CurrencyPair("gbp", "chf");
+    var shared = CurrencyPair.intern("GBP", "CHF");
+
+    assertThat(constructed).isEqualTo(shared).hasSameHashCodeAs(shared);
+    assertThat(constructed.id()).isEqualTo(CurrencyPair.UNREGISTERED);
+    assertThat(constructed.inverse()).isSameAs(shared.inverse());
+  }
+
+  @Test
+  void shouldKeepNonIsoCodesUnregistered() {
+    var pair = CurrencyPair.of("EURO", "USD");
+
+    assertThat(pair.id()).isEqualTo(CurrencyPair.UNREGISTERED);
+    assertThat(pair).isEqualTo(new CurrencyPair("EURO", "USD"));
+    assertThat(pair.inverse()).isEqualTo(new CurrencyPair("USD", "EURO"));
+  }
+
+  @Test
+  void shouldNotRegisterPairsThatAreOnlyLookedUp() {
+    int registered = CurrencyPair.registeredCount();
+
+    var pair = CurrencyPair.of("XAG", "XPD");
+
+    assertThat(pair.id()).isEqualTo(CurrencyPair.UNREGISTERED);
+    assertThat(pair.inverse().id()).isEqualTo(CurrencyPair.UNREGISTERED);
+    assertThat(CurrencyPair.fromString("XPD/XAG").id()).isEqualTo(CurrencyPair.UNREGISTERED);
+    assertThat(CurrencyPair.registeredCount()).isEqualTo(registered);
+  }
+
+  @Test
+  void shouldKeepIdsAndLookupsConsistentWhileGrowing() {
+    List<CurrencyPair> interned = new ArrayList<>();
+    for (char second = 'A'; second <= 'Z'; second++) {
+      for (char third = 'A'; third <= 'J'; third++) {
+        interned.add(CurrencyPair.intern("Q" + second + third, "ZZZ"));
+      }
+    }
+
+    for (CurrencyPair pair : interned) {
+      assertThat(CurrencyPair.byId(pair.id())).isSameAs(pair);
+      assertThat(CurrencyPair.byId(pair.inverse().id())).isSameAs(pair.inverse());
+      assertThat(CurrencyPair.of(pair.ccy1(), "ZZZ")).isSameAs(pair);
+      assertThat(CurrencyPair.of("ZZZ", pair.ccy1())).isSameAs(pair.inverse());
+    }
+    assertThat(CurrencyPair.registeredCount()).isGreaterThanOrEqualTo(2 * interned.size());
+    assertThrows(
+        IllegalArgumentException.class, () -> CurrencyPair.byId(CurrencyPair.registeredCount()));
+  }
+
+  @Test
+  void shouldSortLikePairStrings() {
+    var pairs =
+        new ArrayList<>(
+            List.of(
+                CurrencyPair.of("USD", "JPY"),
+                CurrencyPair.of("EUR", "USD"),
+                new CurrencyPair("EUR", "CHF"),
+                CurrencyPair.of("GBP", "USD")));
+
+    Collections.sort(pairs);
+
+    assertThat(pairs)
+        .extracting(CurrencyPair::toString)
+        .containsExactly("EUR/CHF", "EUR/USD", "GBP/USD", "USD/JPY");
+  }
+
+  @Test
+  void shouldRegisterEachPairOnceUnderContention() throws Exception {
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<CurrencyPair>> futures = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        futures.add(executor.submit(() -> CurrencyPair.intern("NZD", "SGD")));
+      }
+
+      CurrencyPair first = futures.get(0).get();
+      for (Future<CurrencyPair> future : futures) {
+        assertThat(future.get()).isSameAs(first);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
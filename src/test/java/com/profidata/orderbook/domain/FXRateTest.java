@@ -100,4 +100,24 @@ class FXRateTest {
     assertThat(rate.matchesCurrencyPair(pair1)).isTrue();
     assertThat(rate.matchesCurrencyPair(pair2)).isTrue();
   }
+
+  @Test
+  void shouldHoldPricesAsFixedPointUnits() {
+    var pair = new CurrencyPair("EUR", "USD");
+    var rate = new FXRate(pair, new BigDecimal("1.19"), new BigDecimal("1.2100004"));
+
+    assertThat(rate.bidUnits()).isEqualTo(1_190_000L);
+    assertThat(rate.askUnits()).isEqualTo(1_210_000L);
+    assertThat(rate).isEqualTo(new FXRate(pair, 1_190_000L, 1_210_000L));
+  }
+
+  @Test
+  void shouldInvertInFixedPoint() {
+    var pair = new CurrencyPair("EUR", "USD");
+    var inverse = new FXRate(pair, new BigDecimal("1.20"), new BigDecimal("1.22")).inverse();
+
+    assertThat(inverse.bid()).isEqualTo(new BigDecimal("0.819672"));
+    assertThat(inverse.ask()).isEqualTo(new BigDecimal("0.833333"));
+    assertThat(inverse.rateUnitsForOrder(true)).isEqualTo(833_333L);
+  }
 }
@@ -0,0 +1,93 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.domain.OrderBookSummary.Group;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for LiveOrderSummary. */
+class LiveOrderSummaryTest {
+
+  private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY", "eur", "XX"};
+
+  @Test
+  void shouldUpdateGroupsOnAddAndRemove() {
+    LiveOrderSummary live = new LiveOrderSummary();
+    Order first = new Order("1", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030");
+    Order second = new Order("2", "EUR", true, "USD", new BigDecimal("1.30"), "31.12.2030");
+
+    live.add(first);
+    live.add(second);
+    assertThat(live.summary().groups())
+        .containsExactly(new Group("EUR", "USD", true, 2, 2, 2_400_000L));
+
+    live.remove(first);
+    assertThat(live.summary().groups())
+        .containsExactly(new Group("EUR", "USD", true, 1, 1, 1_300_000L));
+
+    live.remove(second);
+    assertThat(live.summary().groups()).isEmpty();
+    assertThat(live.orderCount()).isZero();
+  }
+
+  @Test
+  void shouldDropEmptiedGroupsOfNonCanonicalCurrencies() {
+    LiveOrderSummary live = new LiveOrderSummary();
+    Order lowerCase = new Order("1", "eur", false, "usd", null, "31.12.2030");
+
+    live.add(lowerCase);
+    assertThat(live.summary().groups()).containsExactly(new Group("eur", "usd", false, 1, 0, 0L));
+
+    live.remove(lowerCase);
+    assertThat(live.summary().groups()).isEmpty();
+  }
+
+  @Test
+  void shouldMatchFullRecomputeAfterRandomCreatesAndCancels() {
+    SplittableRandom random = new SplittableRandom(7);
+    LiveOrderSummary live = new LiveOrderSummary();
+    List<Order> book = new ArrayList<>();
+
+    for (int step = 0; step < 20_000; step++) {
+      if (!book.isEmpty() && random.nextInt(3) == 0) {
+        live.remove(book.remove(random.nextInt(book.size())));
+      } else {
+        Order order = randomOrder(random, step);
+        book.add(order);
+        live.add(order);
+      }
+      if (step % 1_000 == 0) {
+        assertConsistent(live, book);
+      }
+    }
+    assertConsistent(live, book);
+  }
+
+  /** Compares the incrementally kept summary with one recomputed from every order held. */
+  static void assertConsistent(LiveOrderSummary live, List<Order> orders) {
+    OrderBookSummary recomputed = OrderBookSummary.of(ColumnarOrderBook.of(orders));
+    OrderBookSummary incremental = live.summary();
+
+    assertThat(incremental.groups()).isEqualTo(recomputed.groups());
+    assertThat(incremental.orderCount()).isEqualTo(recomputed.orderCount());
+    assertThat(incremental.pairCount()).isEqualTo(recomputed.pairCount());
+  }
+
+  private static Order randomOrder(SplittableRandom random, int step) {
+    String ccy1 = CURRENCIES[random.nextInt(CURRENCIES.length)];
+    String ccy2 = CURRENCIES[random.nextInt(CURRENCIES.length)];
+    BigDecimal limit =
+        switch (random.nextInt(10)) {
+          case 0 -> null;
+          case 1 -> new BigDecimal("1.1234567");
+          default -> BigDecimal.valueOf(random.nextLong(500_000, 2_000_000), 6);
+        };
+    String validUntil = random.nextInt(20) == 0 ? "31.02.2030" : "31.12.2030";
+    Boolean buy = random.nextInt(20) == 0 ? null : random.nextBoolean();
+    return new Order("ORD-" + step, ccy1, buy, ccy2, limit, validUntil);
+  }
+}
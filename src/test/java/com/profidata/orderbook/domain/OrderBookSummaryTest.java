@@ -0,0 +1,89 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.domain.OrderBookSummary.Group;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+/** Unit tests for OrderBookSummary. */
+class OrderBookSummaryTest {
+
+  private static final String[] CURRENCIES = {"EUR", "USD", "GBP", "CHF", "JPY"};
+
+  @Test
+  void shouldGroupByPairAndSideInOnePass() {
+    ColumnarOrderBook book =
+        ColumnarOrderBook.of(
+            List.of(
+                new Order("1", "GBP", true, "USD", new BigDecimal("1.30"), "31.12.2030"),
+                new Order("2", "EUR", false, "USD", new BigDecimal("1.20"), "31.12.2030"),
+                new Order("3", "EUR", true, "USD", new BigDecimal("1.10"), "31.12.2030"),
+                new Order("4", "EUR", true, "USD", null, "31.12.2030"),
+                new Order("5", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030")));
+
+    OrderBookSummary summary = OrderBookSummary.of(book);
+
+    assertThat(summary.orderCount()).isEqualTo(5);
+    assertThat(summary.pairCount()).isEqualTo(2);
+    assertThat(summary.groups())
+        .containsExactly(
+            new Group("EUR", "USD", true, 3, 2, 2_300_000L),
+            new Group("EUR", "USD", false, 1, 1, 1_200_000L),
+            new Group("GBP", "USD", true, 1, 1, 1_300_000L));
+  }
+
+  @Test
+  void shouldGroupOrdersKeptAsideByTheirCurrenciesAsGiven() {
+    ColumnarOrderBook book =
+        ColumnarOrderBook.of(
+            List.of(
+                new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"),
+                new Order("2", "EUR", true, "USD", new BigDecimal("1.1234567"), "31.12.2030"),
+                new Order("3", "eur", true, "usd", new BigDecimal("1.20"), "31.12.2030"),
+                new Order("4", "XX", false, "USD", null, "31.12.2030")));
+
+    OrderBookSummary summary = OrderBookSummary.of(book);
+
+    assertThat(summary.groups())
+        .containsExactly(
+            new Group("EUR", "USD", true, 2, 2, 2_323_457L),
+            new Group("XX", "USD", false, 1, 0, 0L),
+            new Group("eur", "usd", true, 1, 1, 1_200_000L));
+    assertThat(summary.pairCount()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldMergePartialResultsOfParallelFold() {
+    ColumnarOrderBook.Builder builder = ColumnarOrderBook.builder(500_000);
+    for (int i = 0; i < 500_000; i++) {
+      String ccy1 = CURRENCIES[i % CURRENCIES.length];
+      String ccy2 = CURRENCIES[(i + 1 + i / 7 % 4) % CURRENCIES.length];
+      BigDecimal limit = i % 11 == 0 ? null : BigDecimal.valueOf(1_000_000 + i % 9_999, 6);
+      builder.add(new Order("ORD-" + i, ccy1, i % 3 == 0, ccy2, limit, "31.12.2030"));
+    }
+    ColumnarOrderBook book = builder.build();
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      OrderBookSummary sequential = OrderBookSummary.of(book);
+      OrderBookSummary parallel = OrderBookSummary.parallel(book, pool);
+
+      assertThat(parallel.groups()).isEqualTo(sequential.groups());
+      assertThat(parallel.groups().stream().mapToInt(Group::count).sum()).isEqualTo(500_000);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void shouldSummarizeEmptyBook() {
+    OrderBookSummary summary =
+        OrderBookSummary.parallel(ColumnarOrderBook.EMPTY, ForkJoinPool.commonPool());
+
+    assertThat(summary.groups()).isEmpty();
+    assertThat(summary.pairCount()).isZero();
+  }
+}
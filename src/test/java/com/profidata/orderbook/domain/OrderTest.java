@@ -1,8 +1,10 @@
 package com.profidata.orderbook.domain;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import org.junit.jupiter.api.Test;
 
 /** Unit tests for Order domain entity. */
@@ -60,4 +62,43 @@ class OrderTest {
     assertThat(pair.ccy1()).isEqualTo("EUR");
     assertThat(pair.ccy2()).isEqualTo("USD");
   }
+
+  @Test
+  void shouldParseValidityDateOnce() {
+    var order = new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+
+    assertThat(order.validUntilEpochDay()).isEqualTo(LocalDate.of(2030, 12, 31).toEpochDay());
+  }
+
+  @Test
+  void shouldCheckValidityAgainstGivenDay() {
+    var order = new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+    int lastDay = (int) LocalDate.of(2030, 12, 31).toEpochDay();
+
+    assertThat(order.isValidOn(lastDay)).isTrue();
+    assertThat(order.isValidOn(lastDay + 1)).isFalse();
+  }
+
+  @Test
+  void shouldTreatUnparseableValidityDateAsExpired() {
+    var order = new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.02.2030");
+
+    assertThat(order.validUntilEpochDay()).isEqualTo(ValidityDate.INVALID);
+    assertThat(order.isValid()).isFalse();
+    assertThat(order.isValidOn(Integer.MIN_VALUE)).isFalse();
+  }
+
+  @Test
+  void shouldRejectValidityDayThatDoesNotMatchDate() {
+    int lastDay = (int) LocalDate.of(2030, 12, 31).toEpochDay();
+
+    assertThat(new Order("1", "EUR", true, "USD", BigDecimal.ONE, "31.12.2030", lastDay))
+        .isEqualTo(new Order("1", "EUR", true, "USD", BigDecimal.ONE, "31.12.2030"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new Order("1", "EUR", true, "USD", BigDecimal.ONE, "31.12.2030", lastDay + 1));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new Order("1", "EUR", true, "USD", BigDecimal.ONE, "31.02.2030", lastDay));
+  }
 }
@@ -0,0 +1,68 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.jupiter.api.Test;
+
+class PriceTest {
+
+  @Test
+  void shouldConvertToUnitsRoundingHalfUp() {
+    assertThat(Price.of(new BigDecimal("1.2"))).isEqualTo(1_200_000L);
+    assertThat(Price.of(new BigDecimal("0.0000005"))).isEqualTo(1L);
+    assertThat(Price.of(new BigDecimal("0.00000049"))).isZero();
+    assertThat(Price.of(null)).isEqualTo(Price.NONE);
+  }
+
+  @Test
+  void shouldConvertBackWithPriceScale() {
+    assertThat(Price.toBigDecimal(1_190_000L)).isEqualTo(new BigDecimal("1.190000"));
+    assertThat(Price.toBigDecimal(Price.NONE)).isNull();
+  }
+
+  @Test
+  void shouldRejectPriceOutOfRange() {
+    assertThrows(IllegalArgumentException.class, () -> Price.of(new BigDecimal("1e20")));
+  }
+
+  @Test
+  void shouldRoundMidHalfUp() {
+    assertThat(Price.mid(1_190_000L, 1_210_000L)).isEqualTo(1_200_000L);
+    assertThat(Price.mid(1L, 2L)).isEqualTo(2L);
+  }
+
+  @Test
+  void shouldInvertPrice() {
+    assertThat(Price.inverse(Price.ONE)).isEqualTo(Price.ONE);
+    assertThat(Price.inverse(1_220_000L)).isEqualTo(819_672L);
+    assertThat(Price.inverse(1_200_000L)).isEqualTo(833_333L);
+    assertThat(Price.inverse(0L)).isEqualTo(Price.NONE);
+  }
+
+  @Test
+  void shouldMatchBigDecimalInverse() {
+    for (long units = 1_000L; units < 200_000_000L; units += 7_919L) {
+      BigDecimal expected =
+          BigDecimal.ONE.divide(Price.toBigDecimal(units), Price.SCALE, RoundingMode.HALF_UP);
+
+      assertThat(Price.inverse(units)).as("1 / %d", units).isEqualTo(Price.of(expected));
+    }
+  }
+
+  @Test
+  void shouldMeasureDistance() {
+    assertThat(Price.distance(1_100_000L, 1_160_000L)).isEqualTo(60_000L);
+    assertThat(Price.distance(1_160_000L, 1_100_000L)).isEqualTo(60_000L);
+    assertThat(Price.distance(Price.NONE, 1_100_000L)).isEqualTo(Price.NONE);
+    assertThat(Price.distance(1_100_000L, Price.NONE)).isEqualTo(Price.NONE);
+  }
+
+  @Test
+  void shouldDivideRoundingHalfUp() {
+    assertThat(Price.divideRounded(5, 2)).isEqualTo(3);
+    assertThat(Price.divideRounded(4, 3)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,96 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RateSnapshotTest {
+
+  private static final FXRate EUR_USD =
+      new FXRate(new CurrencyPair("EUR", "USD"), new BigDecimal("1.20"), new BigDecimal("1.22"));
+
+  @Test
+  void shouldQuoteDirectPair() {
+    var snapshot = RateSnapshot.of(List.of(EUR_USD));
+
+    assertThat(snapshot.rateUnitsForOrder(CurrencyPair.of("EUR", "USD"), true))
+        .isEqualTo(1_220_000L);
+    assertThat(snapshot.rateUnitsForOrder(CurrencyPair.of("EUR", "USD"), false))
+        .isEqualTo(1_200_000L);
+    assertThat(snapshot.find(CurrencyPair.of("EUR", "USD"))).contains(EUR_USD);
+  }
+
+  @Test
+  void shouldQuoteInversePairFromPrecomputedInverse() {
+    var snapshot = RateSnapshot.of(List.of(EUR_USD));
+    var usdEur = new CurrencyPair("USD", "EUR");
+
+    assertThat(snapshot.isQuoted(usdEur)).isTrue();
+    assertThat(snapshot.rateUnitsForOrder(usdEur, true)).isEqualTo(833_333L);
+    assertThat(snapshot.rateUnitsForOrder(usdEur, false)).isEqualTo(819_672L);
+    assertThat(snapshot.find(usdEur)).contains(EUR_USD.inverse());
+  }
+
+  @Test
+  void shouldPreferDirectQuoteOverInverse() {
+    var usdEur =
+        new FXRate(CurrencyPair.of("USD", "EUR"), new BigDecimal("0.80"), new BigDecimal("0.81"));
+    var snapshot = RateSnapshot.of(List.of(EUR_USD, usdEur));
+
+    assertThat(snapshot.rateUnitsForOrder(CurrencyPair.of("USD", "EUR"), true)).isEqualTo(810_000L);
+    assertThat(snapshot.rateUnitsForOrder(CurrencyPair.of("EUR", "USD"), true))
+        .isEqualTo(1_220_000L);
+  }
+
+  @Test
+  void shouldReportUnquotedPairs() {
+    var snapshot = RateSnapshot.of(List.of(EUR_USD));
+
+    assertThat(snapshot.isQuoted(CurrencyPair.of("SEK", "NOK"))).isFalse();
+    assertThat(snapshot.rateUnitsForOrder(CurrencyPair.of("SEK", "NOK"), true))
+        .isEqualTo(Price.NONE);
+    assertThat(snapshot.find(new CurrencyPair("EURO", "USD"))).isEmpty();
+    assertThat(RateSnapshot.EMPTY.isQuoted(CurrencyPair.of("EUR", "USD"))).isFalse();
+  }
+
+  @Test
+  void shouldKeepRatesAsFetched() {
+    var snapshot = RateSnapshot.of(List.of(EUR_USD));
+
+    assertThat(snapshot.rates()).containsExactly(EUR_USD);
+    assertThat(snapshot.isEmpty()).isFalse();
+  }
+
+  @Test
+  void shouldQuoteCrossedPairs() {
+    var eurSek =
+        new FXRate(CurrencyPair.of("EUR", "SEK"), new BigDecimal("11.00"), new BigDecimal("11.02"));
+    var eurNok =
+        new FXRate(CurrencyPair.of("EUR", "NOK"), new BigDecimal("11.50"), new BigDecimal("11.52"));
+    var snapshot = RateSnapshot.of(List.of(eurSek, eurNok));
+    var sekNok = CurrencyPair.of("SEK", "NOK");
+
+    assertThat(snapshot.isQuoted(sekNok)).isFalse();
+    assertThat(snapshot.sourceOf(sekNok)).isEqualTo(CrossRateMatrix.Source.CROSS);
+    assertThat(snapshot.rateUnitsForOrder(sekNok, false)).isEqualTo(1_043_557L);
+    assertThat(snapshot.find(sekNok).map(FXRate::ask)).contains(new BigDecimal("1.047273"));
+  }
+
+  @Test
+  void shouldQuoteCrossesWithoutRegisteringPairs() {
+    var audNzd =
+        new FXRate(new CurrencyPair("AUD", "NZD"), new BigDecimal("1.08"), new BigDecimal("1.09"));
+    var audSgd =
+        new FXRate(new CurrencyPair("AUD", "SGD"), new BigDecimal("0.88"), new BigDecimal("0.89"));
+    int registered = CurrencyPair.registeredCount();
+
+    var snapshot = RateSnapshot.of(List.of(audNzd, audSgd));
+
+    assertThat(CurrencyPair.registeredCount()).isEqualTo(registered);
+    assertThat(snapshot.sourceOf(new CurrencyPair("NZD", "SGD")))
+        .isEqualTo(CrossRateMatrix.Source.CROSS);
+    assertThat(snapshot.find(new CurrencyPair("NZD", "AUD"))).isPresent();
+  }
+}
@@ -0,0 +1,72 @@
+package com.profidata.orderbook.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Unit tests for ValidityDate. */
+class ValidityDateTest {
+
+  @Test
+  void shouldParseToSameEpochDayAsLocalDate() {
+    assertThat(ValidityDate.parseEpochDay("01.01.1970")).isZero();
+    assertThat(ValidityDate.parseEpochDay("31.12.2025"))
+        .isEqualTo(LocalDate.of(2025, 12, 31).toEpochDay());
+    assertThat(ValidityDate.parseEpochDay("29.02.2024"))
+        .isEqualTo(LocalDate.of(2024, 2, 29).toEpochDay());
+    assertThat(ValidityDate.parseEpochDay("01.03.1900"))
+        .isEqualTo(LocalDate.of(1900, 3, 1).toEpochDay());
+  }
+
+  @Test
+  void shouldMatchLocalDateForEveryDayOfSeveralYears() {
+    LocalDate date = LocalDate.of(1999, 1, 1);
+    LocalDate end = LocalDate.of(2101, 1, 1);
+
+    while (date.isBefore(end)) {
+      String text = date.format(Order.DATE_FORMATTER);
+      assertThat(ValidityDate.parseEpochDay(text)).as(text).isEqualTo(date.toEpochDay());
+      date = date.plusDays(1);
+    }
+  }
+
+  @ParameterizedTest
+  @NullAndEmptySource
+  @ValueSource(
+      strings = {
+        "31.02.2025",
+        "29.02.2025",
+        "29.02.2100",
+        "31.04.2025",
+        "00.01.2025",
+        "01.13.2025",
+        "1.1.2025",
+        "2025-12-31",
+        "31/12/2025",
+        "3a.12.2025",
+        "31.12.20255"
+      })
+  void shouldRejectInvalidDates(String text) {
+    assertThat(ValidityDate.parseEpochDay(text)).isEqualTo(ValidityDate.INVALID);
+    assertThat(ValidityDate.isValid(text)).isFalse();
+  }
+
+  @Test
+  void shouldFormatEpochDayBackToText() {
+    assertThat(ValidityDate.format(ValidityDate.parseEpochDay("01.03.2024")))
+        .isEqualTo("01.03.2024");
+    assertThat(ValidityDate.format(0)).isEqualTo("01.01.1970");
+    assertThat(ValidityDate.format((int) LocalDate.of(999, 7, 4).toEpochDay()))
+        .isEqualTo("04.07.0999");
+  }
+
+  @Test
+  void shouldReturnTodayAsEpochDay() {
+    assertThat(ValidityDate.today()).isEqualTo(LocalDate.now().toEpochDay());
+    assertThat(ValidityDate.toLocalDate(ValidityDate.today())).isEqualTo(LocalDate.now());
+  }
+}
@@ -0,0 +1,186 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import com.profidata.orderbook.repository.RateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingRateRepositoryTest {
+
+  private static final Duration REFRESH_AFTER = Duration.ofSeconds(10);
+  private static final Duration EXPIRE_AFTER = Duration.ofMinutes(5);
+
+  private static final List<FXRate> OLD_RATES = List.of(rate("1.19", "1.21"));
+  private static final List<FXRate> NEW_RATES = List.of(rate("1.20", "1.22"));
+
+  @Mock private RateRepository delegate;
+
+  private final AtomicLong ticker = new AtomicLong();
+  private SimpleMeterRegistry meterRegistry;
+  private CachingRateRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    Cache<String, List<FXRate>> cache =
+        Caffeine.newBuilder()
+            .ticker(ticker::get)
+            .expireAfterWrite(EXPIRE_AFTER)
+            .recordStats()
+            .build();
+    meterRegistry = new SimpleMeterRegistry();
+    repository = new CachingRateRepository(delegate, cache, REFRESH_AFTER, meterRegistry);
+  }
+
+  @Test
+  void shouldRejectRefreshThatIsNotShorterThanExpiry() {
+    Cache<String, List<FXRate>> cache =
+        Caffeine.newBuilder().expireAfterWrite(EXPIRE_AFTER).build();
+
+    assertThatThrownBy(
+            () -> new CachingRateRepository(delegate, cache, EXPIRE_AFTER, meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("refresh-after-write (PT5M) must be shorter than expire-after-write (PT5M)");
+    assertThatThrownBy(
+            () -> new CachingRateRepository(delegate, cache, Duration.ZERO, meterRegistry))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldServeRepeatedReadsFromCache() {
+    when(delegate.getCurrentRatesSync()).thenReturn(OLD_RATES);
+
+    repository.getCurrentRatesSync();
+    var rates = repository.getCurrentRatesSync();
+
+    assertThat(rates).isEqualTo(OLD_RATES);
+    verify(delegate, times(1)).getCurrentRatesSync();
+    assertThat(cacheGets("hit")).isEqualTo(1);
+    assertThat(cacheGets("miss")).isEqualTo(1);
+    assertThat(meterRegistry.get(CachingRateRepository.LOAD_METRIC).timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldServeStaleRatesWhileRefreshing() {
+    when(delegate.getCurrentRatesSync()).thenReturn(OLD_RATES);
+    CompletableFuture<List<FXRate>> refresh = new CompletableFuture<>();
+    when(delegate.getCurrentRates()).thenReturn(refresh);
+
+    repository.getCurrentRatesSync();
+    advance(REFRESH_AFTER);
+
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(OLD_RATES);
+    assertThat(repository.getCurrentRates().join()).isEqualTo(OLD_RATES);
+    verify(delegate, times(1)).getCurrentRates();
+
+    refresh.complete(NEW_RATES);
+
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(NEW_RATES);
+    verify(delegate, times(1)).getCurrentRatesSync();
+  }
+
+  @Test
+  void shouldKeepCachedRatesWhenRefreshFails() {
+    when(delegate.getCurrentRatesSync()).thenReturn(OLD_RATES);
+    when(delegate.getCurrentRates())
+        .thenReturn(CompletableFuture.failedFuture(new ServiceUnavailableException("down")))
+        .thenReturn(CompletableFuture.completedFuture(NEW_RATES));
+
+    repository.getCurrentRatesSync();
+    advance(REFRESH_AFTER);
+
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(OLD_RATES);
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(OLD_RATES);
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(NEW_RATES);
+    verify(delegate, times(2)).getCurrentRates();
+  }
+
+  @Test
+  void shouldLoadAgainOnceExpired() {
+    when(delegate.getCurrentRatesSync()).thenReturn(OLD_RATES, NEW_RATES);
+
+    repository.getCurrentRatesSync();
+    advance(EXPIRE_AFTER);
+
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(NEW_RATES);
+    verify(delegate, never()).getCurrentRates();
+  }
+
+  @Test
+  void shouldPopulateCacheFromAsyncRead() {
+    when(delegate.getCurrentRates()).thenReturn(CompletableFuture.completedFuture(OLD_RATES));
+
+    assertThat(repository.getCurrentRates().join()).isEqualTo(OLD_RATES);
+    assertThat(repository.getCurrentRatesSync()).isEqualTo(OLD_RATES);
+
+    verify(delegate, never()).getCurrentRatesSync();
+  }
+
+  @Test
+  void shouldStreamCachedRates() {
+    when(delegate.getCurrentRatesSync()).thenReturn(OLD_RATES);
+    repository.getCurrentRatesSync();
+
+    List<FXRate> streamed = new ArrayList<>();
+    long count = repository.streamCurrentRates(streamed::add);
+
+    assertThat(count).isEqualTo(1);
+    assertThat(streamed).isEqualTo(OLD_RATES);
+    verify(delegate, never()).streamCurrentRates(any());
+  }
+
+  @Test
+  void shouldStreamFromDelegateWhenNothingCached() {
+    when(delegate.streamCurrentRates(any())).thenReturn(0L);
+
+    repository.streamCurrentRates(rate -> {});
+
+    verify(delegate).streamCurrentRates(any());
+  }
+
+  @Test
+  void shouldNotCacheSupportedPairs() {
+    var pairs = List.of(new CurrencyPair("EUR", "USD"));
+    when(delegate.getSupportedPairsSync()).thenReturn(pairs);
+
+    repository.getSupportedPairsSync();
+    repository.getSupportedPairsSync();
+
+    verify(delegate, times(2)).getSupportedPairsSync();
+  }
+
+  private void advance(Duration duration) {
+    ticker.addAndGet(duration.toNanos());
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", CachingRateRepository.CACHE_NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static FXRate rate(String bid, String ask) {
+    return new FXRate(new CurrencyPair("EUR", "USD"), new BigDecimal(bid), new BigDecimal(ask));
+  }
+}
@@ -0,0 +1,157 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import com.profidata.orderbook.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingOrderRepositoryTest {
+
+  private static final List<Order> ORDERS =
+      List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"));
+
+  @Mock private OrderRepository delegate;
+
+  private SimpleMeterRegistry meterRegistry;
+  private CoalescingOrderRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    repository = new CoalescingOrderRepository(delegate, meterRegistry);
+  }
+
+  @Test
+  void shouldShareOneRequestAcrossConcurrentSyncCallers() throws Exception {
+    int callers = 8;
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.findAllSync())
+        .thenAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return new ArrayList<>(ORDERS);
+            });
+
+    ExecutorService executor = Executors.newFixedThreadPool(callers);
+    try {
+      List<Future<List<Order>>> results = new ArrayList<>();
+      for (int i = 0; i < callers; i++) {
+        results.add(executor.submit(repository::findAllSync));
+      }
+
+      awaitCoalesced(callers - 1);
+      release.countDown();
+
+      for (Future<List<Order>> result : results) {
+        assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(ORDERS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(delegate, times(1)).findAllSync();
+    assertThat(repository.getCoalescedCount()).isEqualTo(callers - 1);
+  }
+
+  @Test
+  void shouldShareInFlightAsyncRequest() {
+    CompletableFuture<List<Order>> pending = new CompletableFuture<>();
+    when(delegate.findAll()).thenReturn(pending);
+
+    var first = repository.findAll();
+    var second = repository.findAll();
+    pending.complete(ORDERS);
+
+    assertThat(first.join()).isEqualTo(ORDERS);
+    assertThat(second.join()).isEqualTo(ORDERS);
+    verify(delegate, times(1)).findAll();
+    assertThat(repository.getCoalescedCount()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotLetOneCallerCancelSharedRequest() {
+    CompletableFuture<List<Order>> pending = new CompletableFuture<>();
+    when(delegate.findAll()).thenReturn(pending);
+
+    var first = repository.findAll();
+    var second = repository.findAll();
+    first.cancel(true);
+    pending.complete(ORDERS);
+
+    assertThat(second.join()).isEqualTo(ORDERS);
+  }
+
+  @Test
+  void shouldIssueNewRequestOnceFirstHasCompleted() {
+    when(delegate.findAllSync()).thenReturn(ORDERS);
+
+    repository.findAllSync();
+    repository.findAllSync();
+
+    verify(delegate, times(2)).findAllSync();
+    assertThat(repository.getCoalescedCount()).isZero();
+  }
+
+  @Test
+  void shouldStartFreshReadAfterWrite() {
+    CompletableFuture<List<Order>> stale = new CompletableFuture<>();
+    when(delegate.findAll()).thenReturn(stale, CompletableFuture.completedFuture(ORDERS));
+    when(delegate.saveSync(any())).thenReturn(ORDERS.get(0));
+
+    var beforeWrite = repository.findAll();
+    repository.saveSync(Order.createNew("EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030"));
+    var afterWrite = repository.findAll();
+    stale.complete(List.of());
+
+    assertThat(beforeWrite.join()).isEmpty();
+    assertThat(afterWrite.join()).isEqualTo(ORDERS);
+    verify(delegate, times(2)).findAll();
+  }
+
+  @Test
+  void shouldPropagateFailureAndAllowRetry() {
+    when(delegate.findAllSync())
+        .thenThrow(new ServiceUnavailableException("down"))
+        .thenReturn(ORDERS);
+
+    assertThatThrownBy(repository::findAllSync).isInstanceOf(ServiceUnavailableException.class);
+    assertThat(repository.findAllSync()).isEqualTo(ORDERS);
+  }
+
+  @Test
+  void shouldReturnUnmodifiableSharedList() {
+    when(delegate.findAllSync()).thenReturn(new ArrayList<>(ORDERS));
+
+    var result = repository.findAllSync();
+
+    assertThatThrownBy(() -> result.add(ORDERS.get(0)))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  private void awaitCoalesced(int expected) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (repository.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+      Thread.sleep(5);
+    }
+  }
+}
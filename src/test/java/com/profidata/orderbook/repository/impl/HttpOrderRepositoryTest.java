@@ -8,8 +8,10 @@ import com.profidata.orderbook.client.OrderServiceClient;
 import com.profidata.orderbook.domain.Order;
 import com.profidata.orderbook.dto.response.OrderResponse;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -80,4 +82,26 @@ class HttpOrderRepositoryTest {
     assertThat(result).hasSize(1);
     verify(client).retrieveOrdersSync();
   }
+
+  @Test
+  void shouldStreamOrdersFromClient() {
+    when(client.streamOrdersSync(any()))
+        .thenAnswer(
+            invocation -> {
+              Consumer<OrderResponse> consumer = invocation.getArgument(0);
+              consumer.accept(
+                  new OrderResponse("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2025"));
+              consumer.accept(
+                  new OrderResponse(
+                      "2", "GBP", false, "USD", new BigDecimal("1.30"), "31.12.2025"));
+              return 2L;
+            });
+
+    List<Order> received = new ArrayList<>();
+    long count = repository.streamAll(received::add);
+
+    assertThat(count).isEqualTo(2);
+    assertThat(received).extracting(Order::id).containsExactly("1", "2");
+    verify(client, never()).retrieveOrdersSync();
+  }
 }
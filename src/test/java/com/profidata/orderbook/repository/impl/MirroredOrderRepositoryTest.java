@@ -0,0 +1,295 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.profidata.orderbook.domain.ColumnarOrderBook;
+import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import com.profidata.orderbook.repository.OrderRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MirroredOrderRepositoryTest {
+
+  private static final Order EUR_USD = order("1", "EUR", "USD");
+  private static final Order GBP_CHF = order("2", "GBP", "CHF");
+  private static final Order USD_JPY = order("3", "USD", "JPY");
+
+  @Mock private OrderRepository delegate;
+
+  private MirroredOrderRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new MirroredOrderRepository(delegate, Duration.ofHours(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.close();
+  }
+
+  @Test
+  void shouldLoadOnceAndServeReadsFromMemory() {
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD, GBP_CHF);
+    assertThat(repository.findAll().join()).containsExactly(EUR_USD, GBP_CHF);
+    assertThat(repository.isLoaded()).isTrue();
+
+    verify(delegate, times(1)).streamAll(any());
+    verify(delegate, never()).findAll();
+    verify(delegate, never()).findAllSync();
+  }
+
+  @Test
+  void shouldLoadFromAsyncReadWhenNotLoaded() {
+    when(delegate.findAll()).thenReturn(CompletableFuture.completedFuture(List.of(EUR_USD)));
+
+    assertThat(repository.findAll().join()).containsExactly(EUR_USD);
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD);
+
+    verify(delegate, times(1)).findAll();
+    verify(delegate, never()).streamAll(any());
+  }
+
+  @Test
+  void shouldApplySavesAndDeletesInPlace() {
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+    repository.findAllSync();
+
+    when(delegate.saveSync(USD_JPY)).thenReturn(USD_JPY);
+    when(delegate.delete("1")).thenReturn(CompletableFuture.completedFuture(true));
+
+    repository.saveSync(USD_JPY);
+    repository.delete("1").join();
+
+    assertThat(repository.findAllSync()).containsExactly(GBP_CHF, USD_JPY);
+    verify(delegate, times(1)).streamAll(any());
+  }
+
+  @Test
+  void shouldIgnoreUnsuccessfulDelete() {
+    serverHolds(List.of(EUR_USD));
+    repository.findAllSync();
+    when(delegate.deleteSync("1")).thenReturn(false);
+
+    assertThat(repository.deleteSync("1")).isFalse();
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD);
+  }
+
+  @Test
+  void shouldReplaceMirrorOnRefresh() {
+    serverHolds(List.of(EUR_USD, GBP_CHF), List.of(USD_JPY));
+
+    repository.findAllSync();
+    repository.refresh();
+
+    assertThat(repository.findAllSync()).containsExactly(USD_JPY);
+  }
+
+  @Test
+  void shouldKeepMirrorWhenRefreshFails() {
+    serverHolds(List.of(EUR_USD));
+    repository.findAllSync();
+
+    doThrow(new ServiceUnavailableException("Order service down")).when(delegate).streamAll(any());
+
+    assertThatThrownBy(repository::refresh).isInstanceOf(ServiceUnavailableException.class);
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD);
+  }
+
+  @Test
+  void shouldRetryRefreshThatOverlapsLocalWrite() {
+    serverHolds(List.of(EUR_USD));
+    repository.findAllSync();
+    when(delegate.saveSync(GBP_CHF)).thenReturn(GBP_CHF);
+
+    doAnswer(
+            invocation -> {
+              // A local save lands while the stale snapshot is being downloaded.
+              repository.saveSync(GBP_CHF);
+              invocation.<Consumer<Order>>getArgument(0).accept(EUR_USD);
+              return 1L;
+            })
+        .doAnswer(
+            invocation -> {
+              Consumer<Order> consumer = invocation.getArgument(0);
+              consumer.accept(EUR_USD);
+              consumer.accept(GBP_CHF);
+              return 2L;
+            })
+        .when(delegate)
+        .streamAll(any());
+
+    repository.refresh();
+
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD, GBP_CHF);
+  }
+
+  @Test
+  void shouldLookUpOrdersByIdFromMirror() {
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+
+    assertThat(repository.findById("2")).contains(GBP_CHF);
+    assertThat(repository.findById("9")).isEmpty();
+    assertThat(repository.findByIds(List.of("2", "9", "1")))
+        .containsExactly(entry("2", GBP_CHF), entry("1", EUR_USD));
+
+    verify(delegate, times(1)).streamAll(any());
+  }
+
+  @Test
+  void shouldKeepIdIndexCurrentWithLocalWrites() {
+    serverHolds(List.of(EUR_USD));
+    repository.findById("1");
+    when(delegate.saveSync(USD_JPY)).thenReturn(USD_JPY);
+    when(delegate.deleteSync("1")).thenReturn(true);
+
+    repository.saveSync(USD_JPY);
+    repository.deleteSync("1");
+
+    assertThat(repository.findById("3")).contains(USD_JPY);
+    assertThat(repository.findById("1")).isEmpty();
+  }
+
+  @Test
+  void shouldReturnUnmodifiableView() {
+    serverHolds(List.of(EUR_USD));
+
+    List<Order> orders = repository.findAllSync();
+
+    assertThatThrownBy(() -> orders.add(GBP_CHF)).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void shouldMirrorIntoOffHeapStore() {
+    repository.close();
+    repository =
+        new MirroredOrderRepository(delegate, Duration.ofHours(1), OffHeapOrderStore::direct);
+    serverHolds(List.of(EUR_USD, GBP_CHF), List.of(GBP_CHF, USD_JPY));
+    when(delegate.deleteSync("2")).thenReturn(true);
+
+    assertThat(repository.findById("1")).contains(EUR_USD);
+
+    repository.deleteSync("2");
+    List<Order> streamed = new ArrayList<>();
+    assertThat(repository.streamAll(streamed::add)).isEqualTo(1);
+    assertThat(streamed).containsExactly(EUR_USD);
+
+    repository.refresh();
+    assertThat(repository.findAllSync()).containsExactly(GBP_CHF, USD_JPY);
+    assertThat(repository.findById("1")).isEmpty();
+  }
+
+  @Test
+  void shouldKeepSummaryInStepWithSavesDeletesAndRefresh() {
+    Order replacement = new Order("2", "GBP", false, "CHF", new BigDecimal("1.10"), "31.12.2030");
+    serverHolds(List.of(EUR_USD, GBP_CHF), List.of(USD_JPY));
+    when(delegate.saveSync(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(delegate.deleteSync("1")).thenReturn(true);
+
+    assertSummaryMatchesMirror();
+
+    repository.saveSync(USD_JPY);
+    repository.saveSync(replacement);
+    assertSummaryMatchesMirror();
+
+    repository.deleteSync("1");
+    assertSummaryMatchesMirror();
+    assertThat(repository.summarize().orderCount()).isEqualTo(2);
+
+    repository.refresh();
+    assertSummaryMatchesMirror();
+    assertThat(repository.summarize().groups()).hasSize(1);
+    verify(delegate, times(2)).streamAll(any());
+  }
+
+  @Test
+  void shouldNotPinHeapCopyOfOffHeapStore() {
+    repository.close();
+    repository =
+        new MirroredOrderRepository(delegate, Duration.ofHours(1), OffHeapOrderStore::direct);
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+
+    assertThat(repository.size()).isEqualTo(2);
+    List<Order> first = repository.findAllSync();
+    assertThat(first).containsExactly(EUR_USD, GBP_CHF);
+    assertThat(repository.findAllSync()).isEqualTo(first).isNotSameAs(first);
+    verify(delegate, times(1)).streamAll(any());
+  }
+
+  @Test
+  void shouldCacheHeapCopyUntilNextWrite() {
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+    when(delegate.deleteSync("2")).thenReturn(true);
+
+    List<Order> first = repository.findAllSync();
+    assertThat(repository.findAllSync()).isSameAs(first);
+
+    repository.deleteSync("2");
+    assertThat(repository.size()).isEqualTo(1);
+    assertThat(repository.findAllSync()).containsExactly(EUR_USD);
+  }
+
+  @Test
+  void shouldKeepSummaryOfOffHeapStore() {
+    repository.close();
+    repository =
+        new MirroredOrderRepository(delegate, Duration.ofHours(1), OffHeapOrderStore::direct);
+    serverHolds(List.of(EUR_USD, GBP_CHF));
+    when(delegate.saveSync(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    when(delegate.deleteSync("2")).thenReturn(true);
+
+    repository.saveSync(new Order("1", "EUR", false, "USD", new BigDecimal("1.5"), "31.12.2030"));
+    repository.deleteSync("2");
+
+    assertSummaryMatchesMirror();
+  }
+
+  /** Checks the incrementally kept summary against a full recompute of the mirrored orders. */
+  private void assertSummaryMatchesMirror() {
+    OrderBookSummary recomputed =
+        OrderBookSummary.of(ColumnarOrderBook.of(repository.findAllSync()));
+
+    assertThat(repository.summarize().groups()).isEqualTo(recomputed.groups());
+    assertThat(repository.summarize().orderCount()).isEqualTo(recomputed.orderCount());
+  }
+
+  @SafeVarargs
+  private void serverHolds(List<Order>... snapshots) {
+    var stubbing = doAnswer(streaming(snapshots[0]));
+    for (int i = 1; i < snapshots.length; i++) {
+      stubbing = stubbing.doAnswer(streaming(snapshots[i]));
+    }
+    stubbing.when(delegate).streamAll(any());
+  }
+
+  private static org.mockito.stubbing.Answer<Long> streaming(List<Order> orders) {
+    return invocation -> {
+      Consumer<Order> consumer = invocation.getArgument(0);
+      orders.forEach(consumer);
+      return (long) orders.size();
+    };
+  }
+
+  private static Order order(String id, String investment, String counter) {
+    return new Order(id, investment, true, counter, new BigDecimal("1.20"), "31.12.2030");
+  }
+}
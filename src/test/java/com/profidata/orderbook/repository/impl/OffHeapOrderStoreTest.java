@@ -0,0 +1,172 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.profidata.orderbook.domain.Order;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class OffHeapOrderStoreTest {
+
+  private static final Order EUR_USD =
+      new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+  private static final Order GBP_CHF =
+      new Order("2", "GBP", false, "CHF", new BigDecimal("1.123456"), "01.01.2031");
+
+  @TempDir static Path directory;
+
+  static Stream<Arguments> stores() {
+    Function<Path, OffHeapOrderStore> direct = dir -> OffHeapOrderStore.direct();
+    Function<Path, OffHeapOrderStore> mapped = OffHeapOrderStore::mapped;
+    return Stream.of(Arguments.of("direct", direct), Arguments.of("mapped", mapped));
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldGiveBackOrdersUnchanged(String kind, Function<Path, OffHeapOrderStore> factory) {
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      store.put(EUR_USD);
+      store.put(GBP_CHF);
+
+      assertThat(store.size()).isEqualTo(2);
+      assertThat(store.get("1")).isEqualTo(EUR_USD);
+      assertThat(store.get("2")).isEqualTo(GBP_CHF);
+      assertThat(store.get("3")).isNull();
+      assertThat(contents(store)).containsExactly(EUR_USD, GBP_CHF);
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldTombstoneCancelledOrders(String kind, Function<Path, OffHeapOrderStore> factory) {
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      store.put(EUR_USD);
+      store.put(GBP_CHF);
+
+      assertThat(store.remove("1")).isTrue();
+      assertThat(store.remove("1")).isFalse();
+
+      assertThat(store.get("1")).isNull();
+      assertThat(store.size()).isEqualTo(1);
+      assertThat(store.recordCount()).isEqualTo(2);
+      assertThat(contents(store)).containsExactly(GBP_CHF);
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldReplaceOrderWithSameId(String kind, Function<Path, OffHeapOrderStore> factory) {
+    Order replacement = new Order("1", "EUR", false, "USD", new BigDecimal("1.30"), "31.12.2031");
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      store.put(EUR_USD);
+      store.put(GBP_CHF);
+      store.put(replacement);
+
+      assertThat(store.get("1")).isEqualTo(replacement);
+      assertThat(contents(store)).containsExactly(GBP_CHF, replacement);
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldGrowPastInitialCapacity(String kind, Function<Path, OffHeapOrderStore> factory) {
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      for (int i = 0; i < 10_000; i++) {
+        store.put(order(i));
+      }
+      for (int i = 0; i < 10_000; i += 2) {
+        store.remove("ORDER-" + i);
+      }
+
+      assertThat(store.size()).isEqualTo(5_000);
+      assertThat(store.get("ORDER-9999")).isEqualTo(order(9999));
+      assertThat(store.get("ORDER-9998")).isNull();
+      assertThat(contents(store)).hasSize(5_000).startsWith(order(1), order(3));
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldKeepOrdersTheRecordCannotHoldOnHeap(
+      String kind, Function<Path, OffHeapOrderStore> factory) {
+    Order lowerCase = new Order("3", "eur", true, "usd", new BigDecimal("1.20"), "31.12.2030");
+    Order unicodeId = new Order("€4", "EUR", null, "USD", new BigDecimal("1.2"), "31.02.2030");
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      store.put(lowerCase);
+      store.put(unicodeId);
+      store.put(EUR_USD);
+
+      assertThat(store.get("3")).isSameAs(lowerCase);
+      assertThat(store.get("€4")).isSameAs(unicodeId);
+      assertThat(store.remove("€4")).isTrue();
+      assertThat(contents(store)).containsExactly(lowerCase, EUR_USD);
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldIgnoreOrdersWithoutId(String kind, Function<Path, OffHeapOrderStore> factory) {
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      store.put(Order.createNew("EUR", true, "USD", BigDecimal.ONE, "31.12.2030"));
+
+      assertThat(store.size()).isZero();
+      assertThat(store.get(null)).isNull();
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("stores")
+  void shouldKeepOrdersOffHeapInFixedWidthRecords(
+      String kind, Function<Path, OffHeapOrderStore> factory) {
+    try (OffHeapOrderStore store = factory.apply(directory)) {
+      for (int i = 0; i < 100_000; i++) {
+        store.put(order(i));
+      }
+
+      // Records, ID bytes and index, with up to half again as spare capacity.
+      assertThat(store.offHeapBytes() / 100_000)
+          .isLessThan((OffHeapOrderStore.RECORD_BYTES + 11 + 16) * 3 / 2);
+    }
+  }
+
+  @Test
+  void shouldDeleteMappedFilesOnClose() throws Exception {
+    Path own = Files.createDirectory(directory.resolve("close"));
+    OffHeapOrderStore store = OffHeapOrderStore.mapped(own);
+    store.put(EUR_USD);
+
+    try (Stream<Path> files = Files.list(own)) {
+      assertThat(files).hasSize(2);
+    }
+    store.close();
+    try (Stream<Path> files = Files.list(own)) {
+      assertThat(files).isEmpty();
+    }
+  }
+
+  private static List<Order> contents(OffHeapOrderStore store) {
+    List<Order> orders = new ArrayList<>();
+    store.forEach(orders::add);
+    return orders;
+  }
+
+  private static Order order(int i) {
+    return new Order(
+        "ORDER-" + i,
+        i % 2 == 0 ? "EUR" : "GBP",
+        i % 3 == 0,
+        "USD",
+        BigDecimal.valueOf(1_000_000 + i, 6),
+        "31.12.2030");
+  }
+}
@@ -0,0 +1,68 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.profidata.orderbook.domain.Order;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SerializedOrderFileTest {
+
+  private static final Path SNAPSHOT = Path.of("order-service", "orders.ser");
+
+  @TempDir Path directory;
+
+  @Test
+  void shouldReadOrderServiceSnapshot() {
+    List<Order> orders = new ArrayList<>();
+
+    long read = SerializedOrderFile.read(SNAPSHOT, orders::add);
+
+    assertThat(read).isEqualTo(20);
+    assertThat(orders).hasSize(20);
+    assertThat(orders)
+        .allSatisfy(
+            order -> {
+              assertThat(order.id()).isNotBlank();
+              assertThat(order.investmentCcy()).hasSize(3);
+              assertThat(order.counterCcy()).hasSize(3);
+              assertThat(order.limit()).isNotNull();
+            });
+    assertThat(orders).extracting(Order::id).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void shouldFillOffHeapStoreFromSnapshot() {
+    List<Order> expected = new ArrayList<>();
+    SerializedOrderFile.read(SNAPSHOT, expected::add);
+
+    try (OffHeapOrderStore store = OffHeapOrderStore.direct()) {
+      SerializedOrderFile.read(SNAPSHOT, store::put);
+
+      List<Order> stored = new ArrayList<>();
+      store.forEach(stored::add);
+      assertThat(stored).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void shouldRejectOtherSerializedClasses() throws Exception {
+    Path file = directory.resolve("other.ser");
+    try (OutputStream output = Files.newOutputStream(file);
+        ObjectOutputStream objects = new ObjectOutputStream(output)) {
+      objects.writeObject(new ArrayList<>(List.of("not an order")));
+    }
+
+    assertThatThrownBy(() -> SerializedOrderFile.read(file, order -> {}))
+        .isInstanceOf(UncheckedIOException.class)
+        .hasMessageContaining("other.ser");
+  }
+}
@@ -0,0 +1,108 @@
+package com.profidata.orderbook.repository.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
+import com.profidata.orderbook.repository.RateRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SupportedPairCachingRateRepositoryTest {
+
+  private static final List<CurrencyPair> PAIRS =
+      List.of(new CurrencyPair("EUR", "USD"), new CurrencyPair("GBP", "CHF"));
+
+  @Mock private RateRepository delegate;
+
+  private SupportedPairCachingRateRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new SupportedPairCachingRateRepository(delegate, Duration.ofHours(1));
+  }
+
+  @AfterEach
+  void tearDown() {
+    repository.close();
+  }
+
+  @Test
+  void shouldLoadPairsOnceAndServeFromMemory() {
+    when(delegate.getSupportedPairsSync()).thenReturn(PAIRS);
+
+    repository.getSupportedPairsSync();
+    var pairSet = repository.getSupportedPairSet();
+    var asyncPairs = repository.getSupportedPairs().join();
+
+    assertThat(pairSet.supports("USD", "EUR")).isTrue();
+    assertThat(asyncPairs).isEqualTo(PAIRS);
+    verify(delegate, times(1)).getSupportedPairsSync();
+    verify(delegate, never()).getSupportedPairs();
+  }
+
+  @Test
+  void shouldLoadPairsFromAsyncReadWhenNothingCached() {
+    when(delegate.getSupportedPairs()).thenReturn(CompletableFuture.completedFuture(PAIRS));
+
+    assertThat(repository.getSupportedPairs().join()).isEqualTo(PAIRS);
+    assertThat(repository.getSupportedPairSet().size()).isEqualTo(2);
+
+    verify(delegate, never()).getSupportedPairsSync();
+  }
+
+  @Test
+  void shouldReplacePairsOnRefresh() {
+    when(delegate.getSupportedPairsSync())
+        .thenReturn(PAIRS)
+        .thenReturn(List.of(new CurrencyPair("EUR", "JPY")));
+
+    repository.refresh();
+    assertThat(repository.getSupportedPairSet().supports("EUR", "USD")).isTrue();
+
+    repository.refresh();
+    assertThat(repository.getSupportedPairSet().supports("EUR", "USD")).isFalse();
+    assertThat(repository.getSupportedPairSet().supports("EUR", "JPY")).isTrue();
+  }
+
+  @Test
+  void shouldKeepPairsWhenRefreshFails() {
+    when(delegate.getSupportedPairsSync())
+        .thenReturn(PAIRS)
+        .thenThrow(new ServiceUnavailableException("down"));
+
+    repository.refresh();
+    repository.refresh();
+
+    assertThat(repository.getSupportedPairSet().size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldLoadInBackgroundOnceStarted() throws Exception {
+    when(delegate.getSupportedPairsSync()).thenReturn(PAIRS);
+
+    repository.start();
+
+    verify(delegate, timeout(5000)).getSupportedPairsSync();
+    assertThat(repository.getSupportedPairSet().size()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldPassRateReadsThrough() {
+    when(delegate.getCurrentRatesSync()).thenReturn(List.of());
+
+    repository.getCurrentRatesSync();
+    repository.getCurrentRatesSync();
+
+    verify(delegate, times(2)).getCurrentRatesSync();
+  }
+}
@@ -3,12 +3,17 @@ package com.profidata.orderbook.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import com.profidata.orderbook.domain.ColumnarOrderBook;
 import com.profidata.orderbook.domain.Order;
+import com.profidata.orderbook.domain.OrderBookSummary;
 import com.profidata.orderbook.repository.OrderRepository;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -138,12 +143,39 @@ class OrderServiceImplTest {
     verify(orderRepository).findAll();
   }
 
+  @Test
+  void shouldStreamOrdersIntoColumnarBook() {
+    var orders =
+        List.of(
+            new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2025"),
+            new Order("2", "GBP", false, "USD", new BigDecimal("1.30"), "31.12.2025"));
+    when(orderRepository.streamAll(any())).thenCallRealMethod();
+    when(orderRepository.findAllSync()).thenReturn(orders);
+
+    var book = orderService.getOrderBook();
+
+    assertThat(book.size()).isEqualTo(2);
+    assertThat(book.asList()).containsExactlyElementsOf(orders);
+  }
+
+  @Test
+  void shouldTakeSummaryFromRepository() {
+    var summary =
+        OrderBookSummary.of(
+            ColumnarOrderBook.of(
+                List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2025"))));
+    when(orderRepository.summarize()).thenReturn(summary);
+
+    assertThat(orderService.getOrderSummary()).isSameAs(summary);
+  }
+
   @Test
   void shouldFindOrderById() {
     var orders =
         List.of(
             new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2025"),
             new Order("2", "GBP", false, "USD", new BigDecimal("1.30"), "31.12.2025"));
+    when(orderRepository.findById(anyString())).thenCallRealMethod();
     when(orderRepository.findAllSync()).thenReturn(orders);
 
     var result = orderService.findOrderById("1");
@@ -156,6 +188,7 @@ class OrderServiceImplTest {
   @Test
   void shouldReturnEmptyWhenOrderNotFound() {
     var orders = List.of(new Order("1", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2025"));
+    when(orderRepository.findById(anyString())).thenCallRealMethod();
     when(orderRepository.findAllSync()).thenReturn(orders);
 
     var result = orderService.findOrderById("999");
@@ -165,6 +198,7 @@ class OrderServiceImplTest {
 
   @Test
   void shouldHandleRepositoryExceptionInFindById() {
+    when(orderRepository.findById(anyString())).thenCallRealMethod();
     when(orderRepository.findAllSync()).thenThrow(new RuntimeException("Repository error"));
 
     var result = orderService.findOrderById("1");
@@ -182,4 +216,32 @@ class OrderServiceImplTest {
     assertThat(result).isEmpty();
     verify(orderRepository).findAllSync();
   }
+
+  @Test
+  void shouldRefreshOrdersFromRepository() {
+    orderService.refreshOrders();
+
+    verify(orderRepository).refresh();
+  }
+
+  @Test
+  void shouldFindOrderByIdThroughRepositoryIndex() {
+    var order = new Order("7", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+    when(orderRepository.findById("7")).thenReturn(Optional.of(order));
+
+    var result = orderService.findOrderById("7");
+
+    assertThat(result).contains(order);
+    verify(orderRepository, never()).findAllSync();
+  }
+
+  @Test
+  void shouldFindOrdersByIds() {
+    var order = new Order("7", "EUR", true, "USD", new BigDecimal("1.20"), "31.12.2030");
+    when(orderRepository.findByIds(List.of("7", "8"))).thenReturn(Map.of("7", order));
+
+    var result = orderService.findOrdersByIds(List.of("7", "8"));
+
+    assertThat(result).containsOnlyKeys("7");
+  }
 }
@@ -4,7 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import com.profidata.orderbook.domain.FXRate;
+import com.profidata.orderbook.exception.ServiceUnavailableException;
 import com.profidata.orderbook.repository.RateRepository;
 import java.math.BigDecimal;
 import java.util.List;
@@ -105,4 +107,53 @@ class RateServiceImplTest {
         });
     verify(rateRepository).getCurrentRatesSync();
   }
+
+  @Test
+  void shouldFindSupportedPairSet() {
+    var pairs = CurrencyPairSet.of(List.of(new CurrencyPair("EUR", "USD")));
+    when(rateRepository.getSupportedPairSet()).thenReturn(pairs);
+
+    var result = rateService.findSupportedPairSet();
+
+    assertThat(result).containsSame(pairs);
+  }
+
+  @Test
+  void shouldReturnEmptyPairSetWhenServiceUnavailable() {
+    when(rateRepository.getSupportedPairSet())
+        .thenThrow(new ServiceUnavailableException("Service down"));
+
+    var result = rateService.findSupportedPairSet();
+
+    assertThat(result).isEmpty();
+  }
+
+  @Test
+  void shouldBuildSnapshotOncePerRateList() {
+    var rates =
+        List.of(
+            new FXRate(
+                new CurrencyPair("EUR", "USD"), new BigDecimal("1.19"), new BigDecimal("1.21")));
+    when(rateRepository.getCurrentRatesSync()).thenReturn(rates);
+
+    var first = rateService.getRateSnapshot();
+    var second = rateService.getRateSnapshot();
+
+    assertThat(second).isSameAs(first);
+    assertThat(first.isQuoted(CurrencyPair.of("USD", "EUR"))).isTrue();
+  }
+
+  @Test
+  void shouldRebuildSnapshotWhenRatesChange() {
+    var pair = new CurrencyPair("EUR", "USD");
+    when(rateRepository.getCurrentRatesSync())
+        .thenReturn(List.of(new FXRate(pair, new BigDecimal("1.19"), new BigDecimal("1.21"))))
+        .thenReturn(List.of(new FXRate(pair, new BigDecimal("1.20"), new BigDecimal("1.22"))));
+
+    var first = rateService.getRateSnapshot();
+    var second = rateService.getRateSnapshot();
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.rateUnitsForOrder(pair, true)).isEqualTo(1_220_000L);
+  }
 }
@@ -22,6 +22,18 @@ class FormatUtilsTest {
     assertThat(table).contains("-----");
   }
 
+  @Test
+  void shouldTrimRowsLikeBaselineFormatting() {
+    String[] headers = {"Name", "Note"};
+    List<String[]> rows =
+        List.of(new String[] {"John", ""}, new String[] {null, "late"}, new String[] {"Jane "});
+
+    String table = FormatUtils.createTable(headers, rows);
+
+    assertThat(table.lines())
+        .containsExactly("Name   Note", "-------------", "John", "late", "Jane");
+  }
+
   @Test
   void shouldReturnEmptyStringForNullHeaders() {
     String table = FormatUtils.createTable(null, List.of());
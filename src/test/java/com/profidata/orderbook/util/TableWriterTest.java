@@ -0,0 +1,76 @@
+package com.profidata.orderbook.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+class TableWriterTest {
+
+  @Test
+  void shouldPadCellsToColumnWidths() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    TableWriter.of(out, 6, 4, 8).row("Type", "Inv", "Count").row("buy", "EUR", "12");
+
+    assertThat(out).hasToString("Type   Inv  Count\nbuy    EUR  12\n");
+  }
+
+  @Test
+  void shouldMatchFormatPaddingWithoutTrailingBlanks() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    TableWriter.of(out, 10, 12)
+        .cell("EUR/USD")
+        .cell(new BigDecimal("1.19"), "N/A")
+        .endRow()
+        .cell("GBP/USD")
+        .cell(null, "N/A")
+        .endRow();
+
+    assertThat(out)
+        .hasToString(
+            String.format("%-10s %-12s", "EUR/USD", "1.19").stripTrailing()
+                + "\n"
+                + String.format("%-10s %-12s", "GBP/USD", "N/A").stripTrailing()
+                + "\n");
+  }
+
+  @Test
+  void shouldLetCellsOverflowTheirColumn() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    TableWriter.of(out, 2, 2).cell("ABCD").cell(7).endRow();
+
+    assertThat(out).hasToString("ABCD 7\n");
+  }
+
+  @Test
+  void shouldPadWiderThanTheSpaceConstant() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    TableWriter.unseparated(out, 100, 1).row("a", "b");
+
+    assertThat(out).hasToString("a" + " ".repeat(99) + "b\n");
+  }
+
+  @Test
+  void shouldWriteRulesAndLines() throws Exception {
+    StringWriter out = new StringWriter();
+
+    TableWriter table = TableWriter.of(out, 3, 3);
+    table.line("Title").rule(table.width()).rule(70);
+
+    assertThat(out).hasToString("Title\n-------\n" + "-".repeat(70) + "\n");
+  }
+
+  @Test
+  void shouldWriteNullCellsAsEmpty() throws Exception {
+    StringBuilder out = new StringBuilder();
+
+    TableWriter.of(out, 3, 3).row(null, "x");
+
+    assertThat(out).hasToString("    x\n");
+  }
+}
@@ -3,7 +3,10 @@ package com.profidata.orderbook.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import com.profidata.orderbook.domain.CurrencyPair;
+import com.profidata.orderbook.domain.CurrencyPairSet;
 import java.time.LocalDate;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 class ValidationUtilsTest {
@@ -149,4 +152,15 @@ class ValidationUtilsTest {
         .isInstanceOf(IllegalArgumentException.class)
         .hasMessage("Currency codes must be different, got: USD and USD");
   }
+
+  @Test
+  void shouldValidateSupportedCurrencyPair() {
+    var supported = CurrencyPairSet.of(List.of(new CurrencyPair("EUR", "USD")));
+
+    ValidationUtils.validateSupportedCurrencyPair(supported, "EUR", "USD");
+    ValidationUtils.validateSupportedCurrencyPair(supported, "USD", "EUR");
+    assertThatThrownBy(() -> ValidationUtils.validateSupportedCurrencyPair(supported, "EUR", "GBP"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("EUR/GBP is not supported");
+  }
 }